@@ -15,13 +15,12 @@
  */
 package io.netty.handler.codec.http;
 
-import io.netty.buffer.ByteBuf;
-import io.netty.handler.codec.MessageToByteEncoder;
+import io.netty.handler.codec.compression.Compressor;
 
 /**
- * Compression Encoder Factory for create {@link MessageToByteEncoder}
+ * Compression Encoder Factory for create {@link Compressor}
  * used to compress http content
  */
 interface CompressionEncoderFactory {
-    MessageToByteEncoder<ByteBuf> createEncoder();
+    Compressor createCompressor();
 }
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.codec.compression.Compressor;
+import io.netty.util.internal.ObjectUtil;
+
+/**
+ * Compresses the {@link ByteBuf}s written to it with a {@link Compressor}, which is finished when the channel is
+ * closed and closed when this handler is removed. This backs {@link HttpContentEncoder.Result#contentEncoder()} for
+ * a {@link HttpContentEncoder.Result} that was created with a {@link Compressor}.
+ */
+final class CompressorEncoder extends ChannelOutboundHandlerAdapter {
+
+    private final Compressor compressor;
+
+    CompressorEncoder(Compressor compressor) {
+        this.compressor = ObjectUtil.checkNotNull(compressor, "compressor");
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        if (!(msg instanceof ByteBuf)) {
+            ctx.write(msg, promise);
+            return;
+        }
+        ByteBuf buf = (ByteBuf) msg;
+        ByteBuf out;
+        try {
+            out = compressor.compress(buf, ctx.alloc());
+        } finally {
+            buf.release();
+        }
+        ctx.write(out, promise);
+    }
+
+    @Override
+    public void close(ChannelHandlerContext ctx, ChannelPromise promise) throws Exception {
+        if (!compressor.isFinished()) {
+            ctx.write(compressor.finish(ctx.alloc()));
+            ctx.flush();
+        }
+        ctx.close(promise);
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) {
+        compressor.close();
+    }
+}
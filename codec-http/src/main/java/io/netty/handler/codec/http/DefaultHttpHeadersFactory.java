@@ -71,17 +71,18 @@ public final class DefaultHttpHeadersFactory implements HttpHeadersFactory {
             (ValueValidator<CharSequence>) ValueValidator.NO_VALIDATION;
 
     private static final DefaultHttpHeadersFactory DEFAULT =
-            new DefaultHttpHeadersFactory(DEFAULT_NAME_VALIDATOR, DEFAULT_VALUE_VALIDATOR, false);
+            new DefaultHttpHeadersFactory(DEFAULT_NAME_VALIDATOR, DEFAULT_VALUE_VALIDATOR, false, false);
     private static final DefaultHttpHeadersFactory DEFAULT_TRAILER =
-            new DefaultHttpHeadersFactory(DEFAULT_TRAILER_NAME_VALIDATOR, DEFAULT_VALUE_VALIDATOR, false);
+            new DefaultHttpHeadersFactory(DEFAULT_TRAILER_NAME_VALIDATOR, DEFAULT_VALUE_VALIDATOR, false, false);
     private static final DefaultHttpHeadersFactory DEFAULT_COMBINING =
-            new DefaultHttpHeadersFactory(DEFAULT.nameValidator, DEFAULT.valueValidator, true);
+            new DefaultHttpHeadersFactory(DEFAULT.nameValidator, DEFAULT.valueValidator, true, false);
     private static final DefaultHttpHeadersFactory DEFAULT_NO_VALIDATION =
-            new DefaultHttpHeadersFactory(NO_NAME_VALIDATOR, NO_VALUE_VALIDATOR, false);
+            new DefaultHttpHeadersFactory(NO_NAME_VALIDATOR, NO_VALUE_VALIDATOR, false, false);
 
     private final NameValidator<CharSequence> nameValidator;
     private final ValueValidator<CharSequence> valueValidator;
     private final boolean combiningHeaders;
+    private final boolean lazyParsing;
 
     /**
      * Create a header builder with the given settings.
@@ -89,14 +90,17 @@ public final class DefaultHttpHeadersFactory implements HttpHeadersFactory {
      * @param nameValidator The name validator to use, not null.
      * @param valueValidator The value validator to use, not null.
      * @param combiningHeaders {@code true} if multi-valued headers should be combined into single lines.
+     * @param lazyParsing {@code true} if decoded headers should be kept in their received form.
      */
     private DefaultHttpHeadersFactory(
             NameValidator<CharSequence> nameValidator,
             ValueValidator<CharSequence> valueValidator,
-            boolean combiningHeaders) {
+            boolean combiningHeaders,
+            boolean lazyParsing) {
         this.nameValidator = checkNotNull(nameValidator, "nameValidator");
         this.valueValidator = checkNotNull(valueValidator, "valueValidator");
         this.combiningHeaders = combiningHeaders;
+        this.lazyParsing = lazyParsing;
     }
 
     /**
@@ -124,6 +128,9 @@ public final class DefaultHttpHeadersFactory implements HttpHeadersFactory {
         if (isCombiningHeaders()) {
             return new CombinedHttpHeaders(getNameValidator(), getValueValidator());
         }
+        if (isLazyParsing()) {
+            return new LazyHttpHeaders(this);
+        }
         return new DefaultHttpHeaders(getNameValidator(), getValueValidator());
     }
 
@@ -173,10 +180,10 @@ public final class DefaultHttpHeadersFactory implements HttpHeadersFactory {
         if (nameValidator == checkNotNull(validator, "validator")) {
             return this;
         }
-        if (validator == DEFAULT_NAME_VALIDATOR && valueValidator == DEFAULT_VALUE_VALIDATOR) {
+        if (validator == DEFAULT_NAME_VALIDATOR && valueValidator == DEFAULT_VALUE_VALIDATOR && !lazyParsing) {
             return combiningHeaders ? DEFAULT_COMBINING : DEFAULT;
         }
-        return new DefaultHttpHeadersFactory(validator, valueValidator, combiningHeaders);
+        return new DefaultHttpHeadersFactory(validator, valueValidator, combiningHeaders, lazyParsing);
     }
 
     /**
@@ -217,10 +224,10 @@ public final class DefaultHttpHeadersFactory implements HttpHeadersFactory {
         if (valueValidator == checkNotNull(validator, "validator")) {
             return this;
         }
-        if (nameValidator == DEFAULT_NAME_VALIDATOR && validator == DEFAULT_VALUE_VALIDATOR) {
+        if (nameValidator == DEFAULT_NAME_VALIDATOR && validator == DEFAULT_VALUE_VALIDATOR && !lazyParsing) {
             return combiningHeaders ? DEFAULT_COMBINING : DEFAULT;
         }
-        return new DefaultHttpHeadersFactory(nameValidator, validator, combiningHeaders);
+        return new DefaultHttpHeadersFactory(nameValidator, validator, combiningHeaders, lazyParsing);
     }
 
     /**
@@ -259,7 +266,29 @@ public final class DefaultHttpHeadersFactory implements HttpHeadersFactory {
         if (this.combiningHeaders == combiningHeaders) {
             return this;
         }
-        return new DefaultHttpHeadersFactory(nameValidator, valueValidator, combiningHeaders);
+        return new DefaultHttpHeadersFactory(nameValidator, valueValidator, combiningHeaders, lazyParsing);
+    }
+
+    /**
+     * Create a new builder that will build {@link HttpHeaders} objects which keep the headers received by a
+     * {@link HttpObjectDecoder} in their received form, or not.
+     * <p>
+     * Lazily parsed headers keep the received header block together with the offsets of each name and value, instead
+     * of creating {@link String}s for every header while decoding. A value is only converted to a {@link String} when
+     * it is accessed, and headers which are not modified are encoded again by copying the block. This reduces the
+     * allocations of proxies which forward most headers untouched. Adding headers keeps the received ones as they
+     * are, while replacing or removing a received header copies all headers into regular {@link DefaultHttpHeaders}.
+     * This setting has no effect if headers are combined.
+     *
+     * @param lazyParsing {@code true} if decoded headers should be kept in their received form, otherwise
+     * {@code false}.
+     * @return The new builder.
+     */
+    public DefaultHttpHeadersFactory withLazyParsing(boolean lazyParsing) {
+        if (this.lazyParsing == lazyParsing) {
+            return this;
+        }
+        return new DefaultHttpHeadersFactory(nameValidator, valueValidator, combiningHeaders, lazyParsing);
     }
 
     /**
@@ -293,6 +322,15 @@ public final class DefaultHttpHeadersFactory implements HttpHeadersFactory {
         return combiningHeaders;
     }
 
+    /**
+     * Check whether decoded headers are kept in their received form.
+     *
+     * @return {@code true} if lazy parsing is enabled, otherwise {@code false}.
+     */
+    public boolean isLazyParsing() {
+        return lazyParsing;
+    }
+
     /**
      * Check whether header name validation is enabled.
      *
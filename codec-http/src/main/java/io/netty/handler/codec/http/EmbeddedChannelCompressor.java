@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFactory;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.compression.Compressor;
+import io.netty.util.internal.ObjectUtil;
+
+/**
+ * {@link Compressor} that delegates to the encoder of an {@link EmbeddedChannel}. This keeps the
+ * {@link EmbeddedChannel} based APIs of {@link HttpContentEncoder} and of the HTTP/2 codec working.
+ * <p>
+ * As the handlers of a channel can not be reset, {@link #reset()} replaces the channel with a new one created by
+ * the given {@link ChannelFactory}.
+ */
+public final class EmbeddedChannelCompressor implements Compressor {
+
+    private final ChannelFactory<? extends EmbeddedChannel> channelFactory;
+    private EmbeddedChannel channel;
+    private boolean finished;
+
+    /**
+     * Creates a new instance which writes the content to compress to the given {@link EmbeddedChannel} and reads
+     * the compressed content from its outbound buffer. The channel is finished once this instance is closed or reset.
+     *
+     * @param channel           the channel to use until this instance is reset
+     * @param channelFactory    creates the channel to use after a {@link #reset()}
+     */
+    public EmbeddedChannelCompressor(EmbeddedChannel channel,
+                                     ChannelFactory<? extends EmbeddedChannel> channelFactory) {
+        this.channel = ObjectUtil.checkNotNull(channel, "channel");
+        this.channelFactory = ObjectUtil.checkNotNull(channelFactory, "channelFactory");
+    }
+
+    /**
+     * Creates a new instance for a channel which can not be created again, so {@link #reset()} is not supported.
+     */
+    EmbeddedChannelCompressor(EmbeddedChannel channel) {
+        this.channel = ObjectUtil.checkNotNull(channel, "channel");
+        channelFactory = null;
+    }
+
+    /**
+     * Returns the {@link EmbeddedChannel} which compresses the content.
+     */
+    public EmbeddedChannel channel() {
+        return channel;
+    }
+
+    @Override
+    public ByteBuf compress(ByteBuf input, ByteBufAllocator allocator) {
+        // The channel releases what is written to it and a handler may pass it on as is, so write a retained slice
+        // which is not affected by consuming the input.
+        channel.writeOutbound(input.retainedSlice());
+        input.skipBytes(input.readableBytes());
+        return readOutbound(allocator);
+    }
+
+    @Override
+    public ByteBuf finish(ByteBufAllocator allocator) {
+        finished = true;
+        if (channel.finish()) {
+            return readOutbound(allocator);
+        }
+        return Unpooled.EMPTY_BUFFER;
+    }
+
+    private ByteBuf readOutbound(ByteBufAllocator allocator) {
+        ByteBuf result = null;
+        CompositeByteBuf composite = null;
+        for (;;) {
+            ByteBuf buf = channel.readOutbound();
+            if (buf == null) {
+                break;
+            }
+            if (!buf.isReadable()) {
+                buf.release();
+                continue;
+            }
+            if (result == null) {
+                result = buf;
+            } else {
+                if (composite == null) {
+                    composite = allocator.compositeBuffer();
+                    composite.addComponent(true, result);
+                    result = composite;
+                }
+                composite.addComponent(true, buf);
+            }
+        }
+        return result == null ? Unpooled.EMPTY_BUFFER : result;
+    }
+
+    @Override
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * Finishes the current channel and replaces it with a new one created by the {@link ChannelFactory}.
+     *
+     * @throws UnsupportedOperationException if this instance was created for a channel which can not be created
+     *                                       again, like the one of a {@link HttpContentEncoder.Result}
+     */
+    @Override
+    public void reset() {
+        if (channelFactory == null) {
+            throw new UnsupportedOperationException("The EmbeddedChannel can not be created again");
+        }
+        channel.finishAndReleaseAll();
+        channel = ObjectUtil.checkNotNull(channelFactory.newChannel(), "channel");
+        finished = false;
+    }
+
+    @Override
+    public void close() {
+        finished = true;
+        channel.finishAndReleaseAll();
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFactory;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.compression.Decompressor;
+import io.netty.util.internal.ObjectUtil;
+
+/**
+ * {@link Decompressor} that delegates to the decoder of an {@link EmbeddedChannel}. This keeps the
+ * {@link EmbeddedChannel} based APIs of {@link HttpContentDecoder} and of the HTTP/2 codec working.
+ * <p>
+ * As the handlers of a channel can not be reset, {@link #reset()} replaces the channel with a new one created by
+ * the given {@link ChannelFactory}.
+ */
+public final class EmbeddedChannelDecompressor implements Decompressor {
+
+    private static final int MAX_INPUT_CHUNK_SIZE = 1024;
+
+    private final ChannelFactory<? extends EmbeddedChannel> channelFactory;
+    private EmbeddedChannel channel;
+    private ByteBuf pending;
+    private boolean finished;
+
+    /**
+     * Creates a new instance which writes the content to decompress to the given {@link EmbeddedChannel} and reads
+     * the decompressed content from its inbound buffer. The channel is finished once this instance is closed or reset.
+     *
+     * @param channel           the channel to use until this instance is reset
+     * @param channelFactory    creates the channel to use after a {@link #reset()}
+     */
+    public EmbeddedChannelDecompressor(EmbeddedChannel channel,
+                                       ChannelFactory<? extends EmbeddedChannel> channelFactory) {
+        this.channel = ObjectUtil.checkNotNull(channel, "channel");
+        this.channelFactory = ObjectUtil.checkNotNull(channelFactory, "channelFactory");
+    }
+
+    /**
+     * Returns the {@link EmbeddedChannel} which decompresses the content.
+     */
+    public EmbeddedChannel channel() {
+        return channel;
+    }
+
+    @Override
+    public ByteBuf decompress(ByteBuf input, ByteBufAllocator allocator) {
+        // The channel releases what is written to it and a handler may pass it on as is, so write a retained slice
+        // which is not affected by consuming the input.
+        channel.writeInbound(input.retainedSlice());
+        input.skipBytes(input.readableBytes());
+        return readInbound(allocator);
+    }
+
+    /**
+     * The decoder of the {@link EmbeddedChannel} decompresses all input that is written to it, so the input is written
+     * in chunks of at most {@value #MAX_INPUT_CHUNK_SIZE} bytes until {@code maxOutputLength} bytes were decompressed.
+     * The decompressed bytes which are kept until the next call are thus bounded by what one chunk decompresses to.
+     */
+    @Override
+    public ByteBuf decompress(ByteBuf input, ByteBufAllocator allocator, int maxOutputLength) {
+        ObjectUtil.checkPositive(maxOutputLength, "maxOutputLength");
+        CompositeByteBuf composite = null;
+        while ((pending == null || pending.readableBytes() < maxOutputLength) && input.isReadable()) {
+            ByteBuf decompressed = decompress(
+                    input.readSlice(Math.min(MAX_INPUT_CHUNK_SIZE, input.readableBytes())), allocator);
+            if (!decompressed.isReadable()) {
+                decompressed.release();
+            } else if (pending == null) {
+                pending = decompressed;
+            } else {
+                if (composite == null) {
+                    // Slices of pending may still be in use, so add its components to a new buffer instead of
+                    // modifying it.
+                    composite = allocator.compositeBuffer();
+                    composite.addFlattenedComponents(true, pending);
+                    pending = composite;
+                }
+                composite.addComponent(true, decompressed);
+            }
+        }
+        if (pending == null) {
+            return Unpooled.EMPTY_BUFFER;
+        }
+        ByteBuf out = pending.readRetainedSlice(Math.min(maxOutputLength, pending.readableBytes()));
+        if (!pending.isReadable()) {
+            releasePending();
+        }
+        return out;
+    }
+
+    private void releasePending() {
+        if (pending != null) {
+            pending.release();
+            pending = null;
+        }
+    }
+
+    /**
+     * Finishes the {@link EmbeddedChannel} and returns the remaining decoded bytes, as the decoder may produce
+     * output once it is closed. The returned {@link ByteBuf} may be empty and must be released by the caller.
+     */
+    public ByteBuf finish(ByteBufAllocator allocator) {
+        finished = true;
+        if (channel.finish()) {
+            return readInbound(allocator);
+        }
+        return Unpooled.EMPTY_BUFFER;
+    }
+
+    private ByteBuf readInbound(ByteBufAllocator allocator) {
+        ByteBuf result = null;
+        CompositeByteBuf composite = null;
+        for (;;) {
+            ByteBuf buf = channel.readInbound();
+            if (buf == null) {
+                break;
+            }
+            if (!buf.isReadable()) {
+                buf.release();
+                continue;
+            }
+            if (result == null) {
+                result = buf;
+            } else {
+                if (composite == null) {
+                    composite = allocator.compositeBuffer();
+                    composite.addComponent(true, result);
+                    result = composite;
+                }
+                composite.addComponent(true, buf);
+            }
+        }
+        return result == null ? Unpooled.EMPTY_BUFFER : result;
+    }
+
+    @Override
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * Finishes the current channel and replaces it with a new one created by the {@link ChannelFactory}.
+     */
+    @Override
+    public void reset() {
+        releasePending();
+        channel.finishAndReleaseAll();
+        channel = ObjectUtil.checkNotNull(channelFactory.newChannel(), "channel");
+        finished = false;
+    }
+
+    @Override
+    public void close() {
+        finished = true;
+        releasePending();
+        channel.finishAndReleaseAll();
+    }
+}
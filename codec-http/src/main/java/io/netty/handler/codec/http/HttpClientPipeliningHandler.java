@@ -0,0 +1,339 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.pool.ChannelPool;
+import io.netty.channel.pool.MultiplexedChannelPool;
+import io.netty.handler.codec.PrematureChannelClosureException;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
+import io.netty.util.concurrent.Promise;
+
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayDeque;
+
+import static io.netty.util.internal.ObjectUtil.checkNotNull;
+import static io.netty.util.internal.ObjectUtil.checkPositive;
+import static io.netty.util.internal.ObjectUtil.checkPositiveOrZero;
+
+/**
+ * HttpClientPipeliningHandler lets a client send
+ * <a href="https://tools.ietf.org/html/rfc7230#section-6.3.2">pipelined</a> requests over a single connection and
+ * correlates the responses with the requests.
+ * <p>
+ * Requests are sent with {@link #send(FullHttpRequest)}, which returns a {@link Future} that is completed with the
+ * response. At most {@code maxOutstandingRequests} requests are written without having received their response.
+ * Further requests are queued and written as soon as responses arrive. As the server answers pipelined requests in
+ * order, the futures are completed in the order the requests were sent. All requests of the connection must be sent
+ * through this handler, as a request written directly to the {@link Channel} would break the correlation.
+ * <p>
+ * If the connection is closed, queued requests were never sent and outstanding requests may or may not have been
+ * processed by the server. If a {@link ChannelPool} is given, queued requests and outstanding requests with an
+ * <a href="https://tools.ietf.org/html/rfc7231#section-4.2.2">idempotent</a> method are retried on a
+ * {@link Channel} acquired from the pool, which must contain an {@link HttpClientPipeliningHandler} as well. The
+ * channel is released to the pool once the response was received. A {@link MultiplexedChannelPool} lets requests
+ * share the connections of the pool. All other requests are failed with a {@link PrematureChannelClosureException}.
+ * After receiving a response with {@code Connection: close}, no further requests are written to the connection, so
+ * they are retried once the server closes it.
+ * <p>
+ * Since {@link HttpClientPipeliningHandler} expects {@link FullHttpResponse}s it should be added after
+ * {@link HttpObjectAggregator}. Other inbound messages are passed on untouched. <blockquote>
+ * <pre>
+ *  {@link ChannelPipeline} p = ...;
+ *  ...
+ *  p.addLast("clientCodec", new {@link HttpClientCodec}());
+ *  p.addLast("aggregator", new {@link HttpObjectAggregator}(1048576));
+ *  p.addLast("pipelining", <b>new {@link HttpClientPipeliningHandler}(16)</b>);
+ *  ...
+ *  Future&lt;FullHttpResponse&gt; response = p.get(HttpClientPipeliningHandler.class).send(request);
+ *  </pre>
+ * </blockquote>
+ */
+public class HttpClientPipeliningHandler extends ChannelDuplexHandler {
+
+    private final int maxOutstandingRequests;
+    private final ChannelPool retryPool;
+    private final int maxRetries;
+    private final ArrayDeque<PendingRequest> queuedRequests = new ArrayDeque<PendingRequest>();
+    private final ArrayDeque<PendingRequest> outstandingRequests = new ArrayDeque<PendingRequest>();
+    private ChannelHandlerContext ctx;
+    private boolean closing;
+    private boolean closed;
+
+    /**
+     * Creates a new instance which does not retry requests.
+     *
+     * @param maxOutstandingRequests the maximum number of requests which are written without having received their
+     *        response.
+     */
+    public HttpClientPipeliningHandler(int maxOutstandingRequests) {
+        this.maxOutstandingRequests = checkPositive(maxOutstandingRequests, "maxOutstandingRequests");
+        retryPool = null;
+        maxRetries = 0;
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param maxOutstandingRequests the maximum number of requests which are written without having received their
+     *        response.
+     * @param retryPool the pool from which channels are acquired to retry requests when the connection is closed.
+     * @param maxRetries the maximum number of times a request is retried.
+     */
+    public HttpClientPipeliningHandler(int maxOutstandingRequests, ChannelPool retryPool, int maxRetries) {
+        this.maxOutstandingRequests = checkPositive(maxOutstandingRequests, "maxOutstandingRequests");
+        this.retryPool = checkNotNull(retryPool, "retryPool");
+        this.maxRetries = checkPositiveOrZero(maxRetries, "maxRetries");
+    }
+
+    /**
+     * Returns the number of requests which were written but did not receive their response yet.
+     */
+    public int outstandingRequests() {
+        return outstandingRequests.size();
+    }
+
+    /**
+     * Returns the number of requests which are queued because there are {@code maxOutstandingRequests} outstanding
+     * requests.
+     */
+    public int queuedRequests() {
+        return queuedRequests.size();
+    }
+
+    /**
+     * Sends the given request. This handler takes over the ownership of the request, and the caller of this method
+     * has to release the response.
+     *
+     * @return the {@link Future} which is completed with the response. If it is cancelled before the request was
+     *         written, the request is not sent.
+     */
+    public Future<FullHttpResponse> send(FullHttpRequest request) {
+        return send(request, 0);
+    }
+
+    private Future<FullHttpResponse> send(final FullHttpRequest request, final int attempts) {
+        checkNotNull(request, "request");
+        final ChannelHandlerContext ctx = this.ctx;
+        if (ctx == null) {
+            ReferenceCountUtil.release(request);
+            throw new IllegalStateException(getClass().getSimpleName() + " was not added to a pipeline");
+        }
+        final Promise<FullHttpResponse> promise = ctx.executor().newPromise();
+        if (ctx.executor().inEventLoop()) {
+            enqueue(new PendingRequest(request, promise, attempts));
+        } else {
+            ctx.executor().execute(new Runnable() {
+                @Override
+                public void run() {
+                    enqueue(new PendingRequest(request, promise, attempts));
+                }
+            });
+        }
+        return promise;
+    }
+
+    private void enqueue(PendingRequest request) {
+        if (closed) {
+            retryOrFail(request, true, new ClosedChannelException());
+            return;
+        }
+        queuedRequests.add(request);
+        writeQueuedRequests();
+    }
+
+    private void writeQueuedRequests() {
+        boolean written = false;
+        while (!closing && outstandingRequests.size() < maxOutstandingRequests) {
+            PendingRequest request = queuedRequests.poll();
+            if (request == null) {
+                break;
+            }
+            if (!request.promise.setUncancellable()) {
+                request.release();
+                continue;
+            }
+            outstandingRequests.add(request);
+            FullHttpRequest msg = request.request;
+            if (isRetryable(request, false)) {
+                // Keep the request until the response was received, so it can be retried.
+                msg = msg.retainedDuplicate();
+            } else {
+                request.request = null;
+            }
+            ctx.write(msg).addListener(ChannelFutureListener.CLOSE_ON_FAILURE);
+            written = true;
+        }
+        if (written) {
+            ctx.flush();
+        }
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
+        this.ctx = ctx;
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        if (!(msg instanceof FullHttpResponse)) {
+            ctx.fireChannelRead(msg);
+            return;
+        }
+        FullHttpResponse response = (FullHttpResponse) msg;
+        if (response.status().codeClass() == HttpStatusClass.INFORMATIONAL &&
+                response.status().code() != HttpResponseStatus.SWITCHING_PROTOCOLS.code()) {
+            // Interim responses precede the final response to the same request.
+            response.release();
+            return;
+        }
+        PendingRequest request = outstandingRequests.poll();
+        if (request == null) {
+            response.release();
+            ctx.fireExceptionCaught(new IllegalStateException("received a response without an outstanding request"));
+            return;
+        }
+        request.release();
+        if (!request.promise.trySuccess(response)) {
+            response.release();
+        }
+        if (!HttpUtil.isKeepAlive(response)) {
+            closing = true;
+        }
+        writeQueuedRequests();
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        destroy(new PrematureChannelClosureException("channel gone inactive with " + outstandingRequests.size() +
+                " outstanding request(s)"));
+        ctx.fireChannelInactive();
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+        destroy(new ClosedChannelException());
+    }
+
+    private void destroy(Throwable cause) {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (;;) {
+            PendingRequest request = outstandingRequests.poll();
+            if (request == null) {
+                break;
+            }
+            retryOrFail(request, false, cause);
+        }
+        for (;;) {
+            PendingRequest request = queuedRequests.poll();
+            if (request == null) {
+                break;
+            }
+            retryOrFail(request, true, cause);
+        }
+    }
+
+    private void retryOrFail(final PendingRequest request, boolean queued, Throwable cause) {
+        if (request.promise.isDone()) {
+            request.release();
+        } else if (isRetryable(request, queued) && request.attempts < maxRetries) {
+            retryPool.acquire().addListener(new FutureListener<Channel>() {
+                @Override
+                public void operationComplete(Future<Channel> future) {
+                    if (future.isSuccess()) {
+                        retry(request, future.getNow());
+                    } else {
+                        request.fail(future.cause());
+                    }
+                }
+            });
+        } else {
+            request.fail(cause);
+        }
+    }
+
+    private void retry(final PendingRequest request, final Channel channel) {
+        HttpClientPipeliningHandler handler = channel.pipeline().get(HttpClientPipeliningHandler.class);
+        if (handler == null) {
+            retryPool.release(channel);
+            request.fail(new IllegalStateException("no " + HttpClientPipeliningHandler.class.getSimpleName() +
+                    " in the pipeline of " + channel));
+            return;
+        }
+        FullHttpRequest msg = request.request;
+        request.request = null;
+        handler.send(msg, request.attempts + 1).addListener(new FutureListener<FullHttpResponse>() {
+            @Override
+            public void operationComplete(Future<FullHttpResponse> future) {
+                retryPool.release(channel);
+                if (future.isSuccess()) {
+                    if (!request.promise.trySuccess(future.getNow())) {
+                        future.getNow().release();
+                    }
+                } else {
+                    request.promise.tryFailure(future.cause());
+                }
+            }
+        });
+    }
+
+    private boolean isRetryable(PendingRequest request, boolean queued) {
+        // A request which was never written can always be sent again.
+        return retryPool != null && (queued || isIdempotent(request.method));
+    }
+
+    private static boolean isIdempotent(HttpMethod method) {
+        return HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method) || HttpMethod.PUT.equals(method) ||
+                HttpMethod.DELETE.equals(method) || HttpMethod.OPTIONS.equals(method) ||
+                HttpMethod.TRACE.equals(method);
+    }
+
+    private static final class PendingRequest {
+        final HttpMethod method;
+        final Promise<FullHttpResponse> promise;
+        final int attempts;
+        // The request, as long as it may still be written or retried.
+        FullHttpRequest request;
+
+        PendingRequest(FullHttpRequest request, Promise<FullHttpResponse> promise, int attempts) {
+            this.request = request;
+            method = request.method();
+            this.promise = promise;
+            this.attempts = attempts;
+        }
+
+        void release() {
+            if (request != null) {
+                request.release();
+                request = null;
+            }
+        }
+
+        void fail(Throwable cause) {
+            release();
+            promise.tryFailure(cause);
+        }
+    }
+}
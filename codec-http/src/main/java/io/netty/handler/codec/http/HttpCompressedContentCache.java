@@ -0,0 +1,239 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.util.internal.ObjectUtil;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A size-bounded cache of compressed HTTP content which can be shared by the {@link HttpContentCompressor}s of
+ * all channels, so the same content is only compressed once per content encoding.
+ * <p>
+ * Entries are identified by a content key (see {@link HttpContentCompressor#contentCacheKey(HttpResponse)}) and
+ * the content encoding. They are stored in direct buffers and the least recently used ones are evicted once the
+ * total size of all entries exceeds {@link #maxSize()}. Cached content is served as retained duplicates, so an
+ * evicted entry stays valid until all responses using it were written.
+ */
+public final class HttpCompressedContentCache {
+
+    private final ByteBufAllocator allocator;
+    private final long maxSize;
+    private final int maxEntrySize;
+    private final LinkedHashMap<Key, ByteBuf> entries = new LinkedHashMap<Key, ByteBuf>(16, 0.75f, true);
+    private long size;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Creates a new instance which can hold up to {@code maxSize} bytes, each entry being at most
+     * {@code maxSize / 8} bytes.
+     */
+    public HttpCompressedContentCache(long maxSize) {
+        this(maxSize, (int) Math.min(Integer.MAX_VALUE, maxSize / 8));
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param maxSize       the maximum number of bytes of all cached content
+     * @param maxEntrySize  the maximum number of bytes of a single cached content, bigger content is not cached
+     */
+    public HttpCompressedContentCache(long maxSize, int maxEntrySize) {
+        this(maxSize, maxEntrySize, UnpooledByteBufAllocator.DEFAULT);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param maxSize       the maximum number of bytes of all cached content
+     * @param maxEntrySize  the maximum number of bytes of a single cached content, bigger content is not cached
+     * @param allocator     the {@link ByteBufAllocator} which allocates the direct buffers holding cached content
+     */
+    public HttpCompressedContentCache(long maxSize, int maxEntrySize, ByteBufAllocator allocator) {
+        this.maxSize = ObjectUtil.checkPositive(maxSize, "maxSize");
+        this.maxEntrySize = ObjectUtil.checkInRange(maxEntrySize, 0, (int) Math.min(Integer.MAX_VALUE, maxSize),
+                "maxEntrySize");
+        this.allocator = ObjectUtil.checkNotNull(allocator, "allocator");
+    }
+
+    /**
+     * Returns a retained duplicate of the cached content for the given key and content encoding, or {@code null}
+     * if it is not cached. The caller is responsible for releasing it.
+     */
+    public ByteBuf get(String contentKey, String contentEncoding) {
+        Key key = new Key(contentKey, contentEncoding);
+        synchronized (entries) {
+            ByteBuf content = entries.get(key);
+            if (content == null) {
+                misses++;
+                return null;
+            }
+            hits++;
+            return content.retainedDuplicate();
+        }
+    }
+
+    /**
+     * Caches a copy of the readable bytes of {@code content} for the given key and content encoding, replacing a
+     * previous entry. The reader index and the reference count of {@code content} are not modified.
+     *
+     * @return a retained duplicate of the cached copy, or {@code null} if {@code content} is too big to be cached.
+     */
+    public ByteBuf put(String contentKey, String contentEncoding, ByteBuf content) {
+        Key key = new Key(contentKey, contentEncoding);
+        int length = content.readableBytes();
+        if (length > maxEntrySize) {
+            return null;
+        }
+        ByteBuf copy = allocator.directBuffer(length, length);
+        copy.writeBytes(content, content.readerIndex(), length);
+        synchronized (entries) {
+            ByteBuf old = entries.put(key, copy);
+            if (old != null) {
+                size -= old.readableBytes();
+                old.release();
+            }
+            size += length;
+            evict();
+            return copy.retainedDuplicate();
+        }
+    }
+
+    private void evict() {
+        Iterator<ByteBuf> iterator = entries.values().iterator();
+        while (size > maxSize && iterator.hasNext()) {
+            ByteBuf evicted = iterator.next();
+            iterator.remove();
+            size -= evicted.readableBytes();
+            evictions++;
+            evicted.release();
+        }
+    }
+
+    /**
+     * Removes the cached content for the given key in all content encodings.
+     */
+    public void invalidate(String contentKey) {
+        ObjectUtil.checkNotNull(contentKey, "contentKey");
+        synchronized (entries) {
+            Iterator<Map.Entry<Key, ByteBuf>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Key, ByteBuf> entry = iterator.next();
+                if (entry.getKey().contentKey.equals(contentKey)) {
+                    iterator.remove();
+                    size -= entry.getValue().readableBytes();
+                    entry.getValue().release();
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes all cached content.
+     */
+    public void clear() {
+        synchronized (entries) {
+            for (ByteBuf content : entries.values()) {
+                content.release();
+            }
+            entries.clear();
+            size = 0;
+        }
+    }
+
+    /**
+     * Returns the maximum number of bytes of all cached content.
+     */
+    public long maxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Returns the number of bytes of all cached content.
+     */
+    public long size() {
+        synchronized (entries) {
+            return size;
+        }
+    }
+
+    /**
+     * Returns the number of cached entries.
+     */
+    public int entries() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Returns how often {@link #get(String, String)} found cached content.
+     */
+    public long hits() {
+        synchronized (entries) {
+            return hits;
+        }
+    }
+
+    /**
+     * Returns how often {@link #get(String, String)} did not find cached content.
+     */
+    public long misses() {
+        synchronized (entries) {
+            return misses;
+        }
+    }
+
+    /**
+     * Returns the number of entries that were evicted to stay within {@link #maxSize()}.
+     */
+    public long evictions() {
+        synchronized (entries) {
+            return evictions;
+        }
+    }
+
+    private static final class Key {
+        final String contentKey;
+        final String contentEncoding;
+
+        Key(String contentKey, String contentEncoding) {
+            this.contentKey = ObjectUtil.checkNotNull(contentKey, "contentKey");
+            this.contentEncoding = ObjectUtil.checkNotNull(contentEncoding, "contentEncoding");
+        }
+
+        @Override
+        public int hashCode() {
+            return contentKey.hashCode() * 31 + contentEncoding.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return contentKey.equals(other.contentKey) && contentEncoding.equals(other.contentEncoding);
+        }
+    }
+}
@@ -15,31 +15,40 @@
  */
 package io.netty.handler.codec.http;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFactory;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.embedded.EmbeddedChannel;
-import io.netty.handler.codec.MessageToByteEncoder;
 import io.netty.handler.codec.compression.Brotli;
-import io.netty.handler.codec.compression.BrotliEncoder;
+import io.netty.handler.codec.compression.BrotliCompressor;
 import io.netty.handler.codec.compression.BrotliOptions;
 import io.netty.handler.codec.compression.CompressionOptions;
+import io.netty.handler.codec.compression.Compressor;
+import io.netty.handler.codec.compression.CompressorPool;
 import io.netty.handler.codec.compression.DeflateOptions;
 import io.netty.handler.codec.compression.GzipOptions;
 import io.netty.handler.codec.compression.StandardCompressionOptions;
 import io.netty.handler.codec.compression.ZlibCodecFactory;
+import io.netty.handler.codec.compression.ZlibCompressor;
 import io.netty.handler.codec.compression.ZlibEncoder;
 import io.netty.handler.codec.compression.ZlibWrapper;
 import io.netty.handler.codec.compression.Zstd;
-import io.netty.handler.codec.compression.ZstdEncoder;
+import io.netty.handler.codec.compression.ZstdCompressor;
 import io.netty.handler.codec.compression.ZstdOptions;
-import io.netty.handler.codec.compression.SnappyFrameEncoder;
+import io.netty.handler.codec.compression.SnappyCompressor;
 import io.netty.handler.codec.compression.SnappyOptions;
 import io.netty.util.internal.ObjectUtil;
+import io.netty.util.internal.PlatformDependent;
 
 import static io.netty.util.internal.ObjectUtil.checkInRange;
 
@@ -51,6 +60,9 @@ import static io.netty.util.internal.ObjectUtil.checkInRange;
  * {@link HttpContentEncoder}.
  */
 public class HttpContentCompressor extends HttpContentEncoder {
+    // The JDK only supports the default window size and memory level.
+    private static final int DEFAULT_ZLIB_WINDOW_BITS = 15;
+    private static final int DEFAULT_ZLIB_MEM_LEVEL = 8;
 
     private final BrotliOptions brotliOptions;
     private final GzipOptions gzipOptions;
@@ -59,6 +71,10 @@ public class HttpContentCompressor extends HttpContentEncoder {
     private final SnappyOptions snappyOptions;
 
     private final int contentSizeThreshold;
+    private final HttpCompressedContentCache contentCache;
+    // Only used if there is a contentCache, polled in sync with the accept-encoding of the requests.
+    private final Queue<String> requestTargetQueue = new ArrayDeque<String>();
+    private String requestTarget;
     private ChannelHandlerContext ctx;
     private final Map<String, CompressionEncoderFactory> factories;
 
@@ -173,7 +189,27 @@ public class HttpContentCompressor extends HttpContentEncoder {
      *        if the default should be used.
      */
     public HttpContentCompressor(int contentSizeThreshold, CompressionOptions... compressionOptions) {
+        this(contentSizeThreshold, null, compressionOptions);
+    }
+
+    /**
+     * Create a new {@link HttpContentCompressor} instance with specified
+     * {@link CompressionOptions}s which serves the content of full responses from the given
+     * {@link HttpCompressedContentCache} if they have a {@link #contentCacheKey(HttpResponse) content key}.
+     *
+     * @param contentSizeThreshold
+     *        The response body is compressed when the size of the response
+     *        body exceeds the threshold. The value should be a non negative
+     *        number. {@code 0} will enable compression for all responses.
+     * @param contentCache the {@link HttpCompressedContentCache}, which is usually shared by all channels,
+     *        or {@code null} if no content should be cached.
+     * @param compressionOptions {@link CompressionOptions} or {@code null}
+     *        if the default should be used.
+     */
+    public HttpContentCompressor(int contentSizeThreshold, HttpCompressedContentCache contentCache,
+                                 CompressionOptions... compressionOptions) {
         this.contentSizeThreshold = ObjectUtil.checkPositiveOrZero(contentSizeThreshold, "contentSizeThreshold");
+        this.contentCache = contentCache;
         BrotliOptions brotliOptions = null;
         GzipOptions gzipOptions = null;
         DeflateOptions deflateOptions = null;
@@ -254,6 +290,25 @@ public class HttpContentCompressor extends HttpContentEncoder {
         this.ctx = ctx;
     }
 
+    @Override
+    protected void decode(ChannelHandlerContext ctx, HttpRequest msg, List<Object> out) throws Exception {
+        if (contentCache != null) {
+            String host = msg.headers().get(HttpHeaderNames.HOST);
+            requestTargetQueue.add(host == null ? msg.uri() : host + ' ' + msg.uri());
+        }
+        super.decode(ctx, msg, out);
+    }
+
+    @Override
+    protected void encode(ChannelHandlerContext ctx, HttpObject msg, List<Object> out) throws Exception {
+        // A response is only accepted while awaiting the headers, which is where the accept-encoding is polled.
+        if (contentCache != null && msg instanceof HttpResponse &&
+                ((HttpResponse) msg).status().codeClass() != HttpStatusClass.INFORMATIONAL) {
+            requestTarget = requestTargetQueue.poll();
+        }
+        super.encode(ctx, msg, out);
+    }
+
     @Override
     protected Result beginEncode(HttpResponse httpResponse, String acceptEncoding) throws Exception {
         if (this.contentSizeThreshold > 0) {
@@ -281,9 +336,61 @@ public class HttpContentCompressor extends HttpContentEncoder {
             throw new IllegalStateException("Couldn't find CompressionEncoderFactory: " + targetContentEncoding);
         }
 
-        return new Result(targetContentEncoding,
-                new EmbeddedChannel(ctx.channel().id(), ctx.channel().metadata().hasDisconnect(),
-                        ctx.channel().config(), encoderFactory.createEncoder()));
+        if (contentCache != null && httpResponse instanceof LastHttpContent) {
+            String contentKey = contentCacheKey(httpResponse);
+            if (contentKey != null) {
+                ByteBuf cached = contentCache.get(contentKey, targetContentEncoding);
+                if (cached == null) {
+                    cached = compressAndCache(contentKey, targetContentEncoding, encoderFactory,
+                            ((HttpContent) httpResponse).content());
+                }
+                return new Result(targetContentEncoding, new CachedContentCompressor(cached));
+            }
+        }
+
+        return new Result(targetContentEncoding, encoderFactory.createCompressor());
+    }
+
+    /**
+     * Returns the key which identifies the content of the given full response in the
+     * {@link HttpCompressedContentCache}, or {@code null} if it should not be cached. Responses with the same key
+     * must have the same content, even if they are sent by different channels sharing the same cache.
+     * <p>
+     * By default the {@code Host} header and the request target of the request are combined with the value of a
+     * strong {@code ETag} header, as an entity tag only identifies the content of a single resource.
+     */
+    protected String contentCacheKey(HttpResponse httpResponse) {
+        String etag = httpResponse.headers().get(HttpHeaderNames.ETAG);
+        // A weak validator does not guarantee that the content is the same.
+        if (etag == null || etag.startsWith("W/") || requestTarget == null) {
+            return null;
+        }
+        return requestTarget + ' ' + etag;
+    }
+
+    private ByteBuf compressAndCache(String contentKey, String contentEncoding,
+                                     CompressionEncoderFactory encoderFactory, ByteBuf content) {
+        ByteBufAllocator alloc = ctx.alloc();
+        Compressor compressor = encoderFactory.createCompressor();
+        CompositeByteBuf compressed = alloc.compositeBuffer(2);
+        try {
+            // Use a duplicate as the content is consumed once it is written.
+            compressed.addComponent(true, compressor.compress(content.duplicate(), alloc));
+            compressed.addComponent(true, compressor.finish(alloc));
+            ByteBuf cached = contentCache.put(contentKey, contentEncoding, compressed);
+            if (cached == null) {
+                // Too big to be cached, use it only for this response.
+                return compressed;
+            }
+            compressed.release();
+            return cached;
+        } catch (Throwable cause) {
+            compressed.release();
+            PlatformDependent.throwException(cause);
+            return null;
+        } finally {
+            compressor.close();
+        }
     }
 
     @SuppressWarnings("FloatingPointEquality")
@@ -396,67 +503,136 @@ public class HttpContentCompressor extends HttpContentEncoder {
     }
 
     /**
-     * Compression Encoder Factory that creates {@link ZlibEncoder}s
+     * Returns a {@link ZlibCompressor} of the shared {@link CompressorPool} if the JDK supports the given options,
+     * otherwise the {@link ZlibEncoder} of {@link ZlibCodecFactory} is used.
+     */
+    private Compressor newZlibCompressor(final ZlibWrapper wrapper, final int compressionLevel, final int windowBits,
+                                         final int memLevel) {
+        if (windowBits == DEFAULT_ZLIB_WINDOW_BITS && memLevel == DEFAULT_ZLIB_MEM_LEVEL) {
+            return CompressorPool.zlib(wrapper, compressionLevel).acquire();
+        }
+        ChannelFactory<EmbeddedChannel> channelFactory = new ChannelFactory<EmbeddedChannel>() {
+            @Override
+            public EmbeddedChannel newChannel() {
+                return new EmbeddedChannel(ctx.channel().id(), ctx.channel().metadata().hasDisconnect(),
+                        ctx.channel().config(),
+                        ZlibCodecFactory.newZlibEncoder(wrapper, compressionLevel, windowBits, memLevel));
+            }
+        };
+        return new EmbeddedChannelCompressor(channelFactory.newChannel(), channelFactory);
+    }
+
+    /**
+     * Compression Encoder Factory that creates {@link ZlibCompressor}s
      * used to compress http content for gzip content encoding
      */
     private final class GzipEncoderFactory implements CompressionEncoderFactory {
 
         @Override
-        public MessageToByteEncoder<ByteBuf> createEncoder() {
-            return ZlibCodecFactory.newZlibEncoder(
+        public Compressor createCompressor() {
+            return newZlibCompressor(
                     ZlibWrapper.GZIP, gzipOptions.compressionLevel(),
                     gzipOptions.windowBits(), gzipOptions.memLevel());
         }
     }
 
     /**
-     * Compression Encoder Factory that creates {@link ZlibEncoder}s
+     * Compression Encoder Factory that creates {@link ZlibCompressor}s
      * used to compress http content for deflate content encoding
      */
     private final class DeflateEncoderFactory implements CompressionEncoderFactory {
 
         @Override
-        public MessageToByteEncoder<ByteBuf> createEncoder() {
-            return ZlibCodecFactory.newZlibEncoder(
+        public Compressor createCompressor() {
+            return newZlibCompressor(
                     ZlibWrapper.ZLIB, deflateOptions.compressionLevel(),
                     deflateOptions.windowBits(), deflateOptions.memLevel());
         }
     }
 
     /**
-     * Compression Encoder Factory that creates {@link BrotliEncoder}s
+     * Compression Encoder Factory that creates {@link BrotliCompressor}s
      * used to compress http content for br content encoding
      */
     private final class BrEncoderFactory implements CompressionEncoderFactory {
 
         @Override
-        public MessageToByteEncoder<ByteBuf> createEncoder() {
-            return new BrotliEncoder(brotliOptions.parameters());
+        public Compressor createCompressor() {
+            return new BrotliCompressor(brotliOptions.parameters());
         }
     }
 
     /**
-     * Compression Encoder Factory for create {@link ZstdEncoder}
+     * Compression Encoder Factory for create {@link ZstdCompressor}
      * used to compress http content for zstd content encoding
      */
     private final class ZstdEncoderFactory implements CompressionEncoderFactory {
 
         @Override
-        public MessageToByteEncoder<ByteBuf> createEncoder() {
-            return new ZstdEncoder(zstdOptions.compressionLevel(),
-                    zstdOptions.blockSize(), zstdOptions.maxEncodeSize());
+        public Compressor createCompressor() {
+            return CompressorPool.zstd(zstdOptions.compressionLevel(),
+                    zstdOptions.blockSize(), zstdOptions.maxEncodeSize(), zstdOptions.dictionary()).acquire();
         }
     }
 
     /**
-     * Compression Encoder Factory for create {@link SnappyFrameEncoder}
+     * Compression Encoder Factory for create {@link SnappyCompressor}
      * used to compress http content for snappy content encoding
      */
     private static final class SnappyEncoderFactory implements CompressionEncoderFactory {
 
         @Override
-        public MessageToByteEncoder<ByteBuf> createEncoder() {
-            return new SnappyFrameEncoder();
+        public Compressor createCompressor() {
+            return new SnappyCompressor();
+        }
+    }
+
+    /**
+     * {@link Compressor} which discards the content and writes the already compressed content instead.
+     */
+    private static final class CachedContentCompressor implements Compressor {
+        private ByteBuf compressed;
+        private boolean finished;
+
+        CachedContentCompressor(ByteBuf compressed) {
+            this.compressed = compressed;
+        }
+
+        @Override
+        public ByteBuf compress(ByteBuf input, ByteBufAllocator allocator) {
+            input.skipBytes(input.readableBytes());
+            ByteBuf compressed = this.compressed;
+            if (compressed == null) {
+                return Unpooled.EMPTY_BUFFER;
+            }
+            this.compressed = null;
+            return compressed;
+        }
+
+        @Override
+        public ByteBuf finish(ByteBufAllocator allocator) {
+            finished = true;
+            return Unpooled.EMPTY_BUFFER;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished;
+        }
+
+        @Override
+        public void reset() {
+            // The cached content can only be written once.
+            close();
+        }
+
+        @Override
+        public void close() {
+            finished = true;
+            if (compressed != null) {
+                compressed.release();
+                compressed = null;
+            }
         }
     }
 }
@@ -16,24 +16,27 @@
 package io.netty.handler.codec.http;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelFactory;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.embedded.EmbeddedChannel;
 import io.netty.handler.codec.CodecException;
 import io.netty.handler.codec.DecoderResult;
 import io.netty.handler.codec.MessageToMessageDecoder;
+import io.netty.handler.codec.compression.Decompressor;
 import io.netty.util.ReferenceCountUtil;
+import io.netty.util.internal.PlatformDependent;
 
 import java.util.List;
 
 /**
  * Decodes the content of the received {@link HttpRequest} and {@link HttpContent}.
  * The original content is replaced with the new content decoded by the
- * {@link EmbeddedChannel}, which is created by {@link #newContentDecoder(String)}.
+ * {@link Decompressor}, which is created by {@link #newContentDecompressor(String)}.
  * Once decoding is finished, the value of the <tt>'Content-Encoding'</tt>
  * header is set to the target content encoding, as returned by {@link #getTargetContentEncoding(String)}.
  * Also, the <tt>'Content-Length'</tt> header is updated to the length of the
  * decoded content.  If the content encoding of the original is not supported
- * by the decoder, {@link #newContentDecoder(String)} should return {@code null}
+ * by the decoder, {@link #newContentDecompressor(String)} should return {@code null}
  * so that no decoding occurs (i.e. pass-through).
  * <p>
  * Please note that this is an abstract class.  You have to extend this class
@@ -49,7 +52,7 @@ public abstract class HttpContentDecoder extends MessageToMessageDecoder<HttpObj
     static final String IDENTITY = HttpHeaderValues.IDENTITY.toString();
 
     protected ChannelHandlerContext ctx;
-    private EmbeddedChannel decoder;
+    private Decompressor decoder;
     private boolean continueResponse;
     private boolean needRead = true;
 
@@ -97,7 +100,7 @@ public abstract class HttpContentDecoder extends MessageToMessageDecoder<HttpObj
                         contentEncoding = IDENTITY;
                     }
                 }
-                decoder = newContentDecoder(contentEncoding);
+                decoder = newContentDecompressor(contentEncoding);
 
                 if (decoder == null) {
                     if (message instanceof HttpContent) {
@@ -199,6 +202,37 @@ public abstract class HttpContentDecoder extends MessageToMessageDecoder<HttpObj
         }
     }
 
+    /**
+     * Returns a new {@link Decompressor} that decodes the HTTP message
+     * content encoded in the specified <tt>contentEncoding</tt>. The {@link Decompressor} is closed once the
+     * content was decoded.
+     * <p>
+     * By default the {@link EmbeddedChannel} returned by {@link #newContentDecoder(String)} is used. Override this
+     * method to decode the content without creating a channel per message.
+     *
+     * @param contentEncoding the value of the {@code "Content-Encoding"} header
+     * @return a new {@link Decompressor} if the specified encoding is supported.
+     *         {@code null} otherwise (alternatively, you can throw an exception
+     *         to block unknown encoding).
+     */
+    protected Decompressor newContentDecompressor(final String contentEncoding) throws Exception {
+        EmbeddedChannel channel = newContentDecoder(contentEncoding);
+        if (channel == null) {
+            return null;
+        }
+        return new EmbeddedChannelDecompressor(channel, new ChannelFactory<EmbeddedChannel>() {
+            @Override
+            public EmbeddedChannel newChannel() {
+                try {
+                    return newContentDecoder(contentEncoding);
+                } catch (Exception e) {
+                    PlatformDependent.throwException(e);
+                    return null;
+                }
+            }
+        });
+    }
+
     /**
      * Returns a new {@link EmbeddedChannel} that decodes the HTTP message
      * content encoded in the specified <tt>contentEncoding</tt>.
@@ -244,8 +278,9 @@ public abstract class HttpContentDecoder extends MessageToMessageDecoder<HttpObj
     private void cleanup() {
         if (decoder != null) {
             // Clean-up the previous decoder if not cleaned up correctly.
-            decoder.finishAndReleaseAll();
-            decoder = null;
+            Decompressor decoder = this.decoder;
+            this.decoder = null;
+            decoder.close();
         }
     }
 
@@ -260,29 +295,27 @@ public abstract class HttpContentDecoder extends MessageToMessageDecoder<HttpObj
     }
 
     private void decode(ByteBuf in, List<Object> out) {
-        // call retain here as it will call release after its written to the channel
-        decoder.writeInbound(in.retain());
-        fetchDecoderOutput(out);
+        addContent(decoder.decompress(in, ctx.alloc()), out);
     }
 
     private void finishDecode(List<Object> out) {
-        if (decoder.finish()) {
-            fetchDecoderOutput(out);
+        Decompressor decoder = this.decoder;
+        this.decoder = null;
+        try {
+            if (decoder instanceof EmbeddedChannelDecompressor) {
+                // The decoder of the channel may produce the last product on closure.
+                addContent(((EmbeddedChannelDecompressor) decoder).finish(ctx.alloc()), out);
+            }
+        } finally {
+            decoder.close();
         }
-        decoder = null;
     }
 
-    private void fetchDecoderOutput(List<Object> out) {
-        for (;;) {
-            ByteBuf buf = decoder.readInbound();
-            if (buf == null) {
-                break;
-            }
-            if (!buf.isReadable()) {
-                buf.release();
-                continue;
-            }
+    private static void addContent(ByteBuf buf, List<Object> out) {
+        if (buf.isReadable()) {
             out.add(new DefaultHttpContent(buf));
+        } else {
+            buf.release();
         }
     }
 }
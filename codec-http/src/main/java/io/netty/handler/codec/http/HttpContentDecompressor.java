@@ -26,11 +26,18 @@ import static io.netty.handler.codec.http.HttpHeaderValues.ZSTD;
 import io.netty.channel.embedded.EmbeddedChannel;
 import io.netty.handler.codec.compression.Brotli;
 import io.netty.handler.codec.compression.BrotliDecoder;
+import io.netty.handler.codec.compression.BrotliDecompressor;
+import io.netty.handler.codec.compression.Decompressor;
+import io.netty.handler.codec.compression.SnappyDecompressor;
 import io.netty.handler.codec.compression.SnappyFrameDecoder;
 import io.netty.handler.codec.compression.ZlibCodecFactory;
+import io.netty.handler.codec.compression.DecompressorPool;
 import io.netty.handler.codec.compression.ZlibWrapper;
 import io.netty.handler.codec.compression.Zstd;
 import io.netty.handler.codec.compression.ZstdDecoder;
+import io.netty.handler.codec.compression.ZstdDecompressor;
+import io.netty.handler.codec.compression.ZstdDictionary;
+import io.netty.util.internal.ReflectionUtil;
 
 /**
  * Decompresses an {@link HttpMessage} and an {@link HttpContent} compressed in
@@ -40,6 +47,8 @@ import io.netty.handler.codec.compression.ZstdDecoder;
 public class HttpContentDecompressor extends HttpContentDecoder {
 
     private final boolean strict;
+    private final ZstdDictionary[] zstdDictionaries;
+    private final boolean overridesNewContentDecoder;
 
     /**
      * Create a new {@link HttpContentDecompressor} in non-strict mode.
@@ -55,7 +64,53 @@ public class HttpContentDecompressor extends HttpContentDecoder {
      *                  more lenient fashion.
      */
     public HttpContentDecompressor(boolean strict) {
+        this(strict, (ZstdDictionary[]) null);
+    }
+
+    /**
+     * Create a new {@link HttpContentDecompressor} which decompresses {@code zstd} content that was compressed
+     * with one of the given dictionaries.
+     *
+     * @param strict    if {@code true} use strict handling of deflate if used, otherwise handle it in a
+     *                  more lenient fashion.
+     * @param zstdDictionaries the {@link ZstdDictionary}s, which must have distinct {@link ZstdDictionary#id()}s
+     */
+    public HttpContentDecompressor(boolean strict, ZstdDictionary... zstdDictionaries) {
         this.strict = strict;
+        this.zstdDictionaries = zstdDictionaries == null ? null : zstdDictionaries.clone();
+        overridesNewContentDecoder = ReflectionUtil.isOverridden(
+                getClass(), HttpContentDecompressor.class, "newContentDecoder", String.class);
+    }
+
+    /**
+     * Returns a {@link Decompressor} for the supported content encodings, which does not need an
+     * {@link EmbeddedChannel}. Other encodings are looked up with {@link #newContentDecoder(String)}. If a subclass
+     * overrides {@link #newContentDecoder(String)}, it is used for all encodings so that the override keeps working.
+     */
+    @Override
+    protected Decompressor newContentDecompressor(String contentEncoding) throws Exception {
+        if (overridesNewContentDecoder) {
+            return super.newContentDecompressor(contentEncoding);
+        }
+        if (GZIP.contentEqualsIgnoreCase(contentEncoding) ||
+            X_GZIP.contentEqualsIgnoreCase(contentEncoding)) {
+            return DecompressorPool.zlib(ZlibWrapper.GZIP, false).acquire();
+        }
+        if (DEFLATE.contentEqualsIgnoreCase(contentEncoding) ||
+            X_DEFLATE.contentEqualsIgnoreCase(contentEncoding)) {
+            // To be strict, 'deflate' means ZLIB, but some servers were not implemented correctly.
+            return DecompressorPool.zlib(strict ? ZlibWrapper.ZLIB : ZlibWrapper.ZLIB_OR_NONE, false).acquire();
+        }
+        if (Brotli.isAvailable() && BR.contentEqualsIgnoreCase(contentEncoding)) {
+            return new BrotliDecompressor();
+        }
+        if (SNAPPY.contentEqualsIgnoreCase(contentEncoding)) {
+            return new SnappyDecompressor();
+        }
+        if (Zstd.isAvailable() && ZSTD.contentEqualsIgnoreCase(contentEncoding)) {
+            return new ZstdDecompressor(zstdDictionaries);
+        }
+        return super.newContentDecompressor(contentEncoding);
     }
 
     @Override
@@ -84,7 +139,7 @@ public class HttpContentDecompressor extends HttpContentDecoder {
 
         if (Zstd.isAvailable() && ZSTD.contentEqualsIgnoreCase(contentEncoding)) {
             return new EmbeddedChannel(ctx.channel().id(), ctx.channel().metadata().hasDisconnect(),
-                    ctx.channel().config(), new ZstdDecoder());
+                    ctx.channel().config(), new ZstdDecoder(zstdDictionaries));
         }
 
         // 'identity' or unsupported
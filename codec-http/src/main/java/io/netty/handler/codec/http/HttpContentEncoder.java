@@ -16,12 +16,14 @@
 package io.netty.handler.codec.http;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.ByteBufHolder;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.embedded.EmbeddedChannel;
 import io.netty.handler.codec.DecoderResult;
 import io.netty.handler.codec.MessageToMessageCodec;
+import io.netty.handler.codec.compression.Compressor;
 import io.netty.util.ReferenceCountUtil;
 import io.netty.util.internal.ObjectUtil;
 import io.netty.util.internal.StringUtil;
@@ -35,7 +37,7 @@ import static io.netty.handler.codec.http.HttpHeaderNames.*;
 /**
  * Encodes the content of the outbound {@link HttpResponse} and {@link HttpContent}.
  * The original content is replaced with the new content encoded by the
- * {@link EmbeddedChannel}, which is created by {@link #beginEncode(HttpResponse, String)}.
+ * {@link Compressor}, which is created by {@link #beginEncode(HttpResponse, String)}.
  * Once encoding is finished, the value of the <tt>'Content-Encoding'</tt> header
  * is set to the target content encoding, as returned by
  * {@link #beginEncode(HttpResponse, String)}.
@@ -66,7 +68,7 @@ public abstract class HttpContentEncoder extends MessageToMessageCodec<HttpReque
     private static final CharSequence ZERO_LENGTH_CONNECT = "CONNECT";
 
     private final Queue<CharSequence> acceptEncodingQueue = new ArrayDeque<CharSequence>();
-    private EmbeddedChannel encoder;
+    private Compressor encoder;
     private State state = State.AWAIT_HEADERS;
 
     @Override
@@ -174,7 +176,7 @@ public abstract class HttpContentEncoder extends MessageToMessageCodec<HttpReque
                     break;
                 }
 
-                encoder = result.contentEncoder();
+                encoder = result.compressor();
 
                 // Encode the content and remove or replace the existing headers
                 // so that the message looks like a decoded message.
@@ -188,7 +190,7 @@ public abstract class HttpContentEncoder extends MessageToMessageCodec<HttpReque
                     out.add(newRes);
 
                     ensureContent(res);
-                    encodeFullResponse(newRes, (HttpContent) res, out);
+                    encodeFullResponse(ctx.alloc(), newRes, (HttpContent) res, out);
                     break;
                 } else {
                     // Make the response chunked to simplify content transformation.
@@ -207,7 +209,7 @@ public abstract class HttpContentEncoder extends MessageToMessageCodec<HttpReque
             }
             case AWAIT_CONTENT: {
                 ensureContent(msg);
-                if (encodeContent((HttpContent) msg, out)) {
+                if (encodeContent(ctx.alloc(), (HttpContent) msg, out)) {
                     state = State.AWAIT_HEADERS;
                 } else if (out.isEmpty()) {
                     // MessageToMessageCodec needs at least one output message
@@ -227,9 +229,10 @@ public abstract class HttpContentEncoder extends MessageToMessageCodec<HttpReque
         }
     }
 
-    private void encodeFullResponse(HttpResponse newRes, HttpContent content, List<Object> out) {
+    private void encodeFullResponse(ByteBufAllocator alloc, HttpResponse newRes, HttpContent content,
+                                    List<Object> out) {
         int existingMessages = out.size();
-        encodeContent(content, out);
+        encodeContent(alloc, content, out);
 
         if (HttpUtil.isContentLengthSet(newRes)) {
             // adjust the content-length header
@@ -268,13 +271,13 @@ public abstract class HttpContentEncoder extends MessageToMessageCodec<HttpReque
         }
     }
 
-    private boolean encodeContent(HttpContent c, List<Object> out) {
+    private boolean encodeContent(ByteBufAllocator alloc, HttpContent c, List<Object> out) {
         ByteBuf content = c.content();
 
-        encode(content, out);
+        encode(alloc, content, out);
 
         if (c instanceof LastHttpContent) {
-            finishEncode(out);
+            finishEncode(alloc, out);
             LastHttpContent last = (LastHttpContent) c;
 
             // Generate an additional chunk if the decoder produced
@@ -299,7 +302,7 @@ public abstract class HttpContentEncoder extends MessageToMessageCodec<HttpReque
      *        the value of the {@code "Accept-Encoding"} header
      *
      * @return the result of preparation, which is composed of the determined
-     *         target content encoding and a new {@link EmbeddedChannel} that
+     *         target content encoding and a new {@link Compressor} that
      *         encodes the content into the target content encoding.
      *         {@code null} if {@code acceptEncoding} is unsupported or rejected
      *         and thus the content should be handled as-is (i.e. no encoding).
@@ -321,8 +324,9 @@ public abstract class HttpContentEncoder extends MessageToMessageCodec<HttpReque
     private void cleanup() {
         if (encoder != null) {
             // Clean-up the previous encoder if not cleaned up correctly.
-            encoder.finishAndReleaseAll();
-            encoder = null;
+            Compressor encoder = this.encoder;
+            this.encoder = null;
+            encoder.close();
         }
     }
 
@@ -336,48 +340,81 @@ public abstract class HttpContentEncoder extends MessageToMessageCodec<HttpReque
         }
     }
 
-    private void encode(ByteBuf in, List<Object> out) {
-        // call retain here as it will call release after its written to the channel
-        encoder.writeOutbound(in.retain());
-        fetchEncoderOutput(out);
+    private void encode(ByteBufAllocator alloc, ByteBuf in, List<Object> out) {
+        addContent(encoder.compress(in, alloc), out);
     }
 
-    private void finishEncode(List<Object> out) {
-        if (encoder.finish()) {
-            fetchEncoderOutput(out);
+    private void finishEncode(ByteBufAllocator alloc, List<Object> out) {
+        Compressor encoder = this.encoder;
+        this.encoder = null;
+        try {
+            addContent(encoder.finish(alloc), out);
+        } finally {
+            encoder.close();
         }
-        encoder = null;
     }
 
-    private void fetchEncoderOutput(List<Object> out) {
-        for (;;) {
-            ByteBuf buf = encoder.readOutbound();
-            if (buf == null) {
-                break;
-            }
-            if (!buf.isReadable()) {
-                buf.release();
-                continue;
-            }
+    private static void addContent(ByteBuf buf, List<Object> out) {
+        if (buf.isReadable()) {
             out.add(new DefaultHttpContent(buf));
+        } else {
+            buf.release();
         }
     }
 
     public static final class Result {
         private final String targetContentEncoding;
-        private final EmbeddedChannel contentEncoder;
+        private final Compressor compressor;
+        private EmbeddedChannel contentEncoder;
 
+        /**
+         * Creates a new instance which encodes the content with the handlers of the given {@link EmbeddedChannel}.
+         * Prefer {@link #Result(String, Compressor)}, which does not need a channel per message.
+         */
         public Result(String targetContentEncoding, EmbeddedChannel contentEncoder) {
             this.targetContentEncoding = ObjectUtil.checkNotNull(targetContentEncoding, "targetContentEncoding");
             this.contentEncoder = ObjectUtil.checkNotNull(contentEncoder, "contentEncoder");
+            compressor = new EmbeddedChannelCompressor(contentEncoder);
+        }
+
+        /**
+         * Creates a new instance which encodes the content with the given {@link Compressor}. The
+         * {@link Compressor} is closed once the content was encoded.
+         */
+        public Result(String targetContentEncoding, Compressor compressor) {
+            this.targetContentEncoding = ObjectUtil.checkNotNull(targetContentEncoding, "targetContentEncoding");
+            this.compressor = ObjectUtil.checkNotNull(compressor, "compressor");
         }
 
         public String targetContentEncoding() {
             return targetContentEncoding;
         }
 
+        /**
+         * Returns the {@link EmbeddedChannel} that encodes the content.
+         * <p>
+         * If this {@link Result} was created with a {@link Compressor}, a channel which compresses the content with
+         * it is created on the first call. The {@link Compressor} is then closed once the channel is closed, and
+         * should only be used through the channel anymore.
+         */
         public EmbeddedChannel contentEncoder() {
+            EmbeddedChannel contentEncoder = this.contentEncoder;
+            if (contentEncoder == null) {
+                if (compressor instanceof EmbeddedChannelCompressor) {
+                    contentEncoder = ((EmbeddedChannelCompressor) compressor).channel();
+                } else {
+                    contentEncoder = new EmbeddedChannel(new CompressorEncoder(compressor));
+                }
+                this.contentEncoder = contentEncoder;
+            }
             return contentEncoder;
         }
+
+        /**
+         * Returns the {@link Compressor} that encodes the content.
+         */
+        public Compressor compressor() {
+            return compressor;
+        }
     }
 }
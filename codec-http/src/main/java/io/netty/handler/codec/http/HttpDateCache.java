@@ -0,0 +1,63 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http;
+
+import io.netty.handler.codec.DateFormatter;
+import io.netty.util.AsciiString;
+import io.netty.util.concurrent.FastThreadLocal;
+
+import java.util.Date;
+
+/**
+ * Provides the current date formatted as required for the {@code Date} header of HTTP responses.
+ * <p>
+ * The {@code Date} header has a resolution of one second, so the formatted date is cached per thread and only
+ * formatted again once the second changes. Servers writing many responses per second therefore format the date at
+ * most once per second and event loop, and the returned {@link AsciiString} is encoded without any conversion.
+ *
+ * @see HttpServerDateHandler
+ */
+public final class HttpDateCache {
+
+    private static final FastThreadLocal<HttpDateCache> CACHES = new FastThreadLocal<HttpDateCache>() {
+        @Override
+        protected HttpDateCache initialValue() {
+            return new HttpDateCache();
+        }
+    };
+
+    private long second = Long.MIN_VALUE;
+    private AsciiString date;
+
+    HttpDateCache() {
+    }
+
+    /**
+     * Returns the current date in RFC1123 format, e.g. {@code Sun, 06 Nov 1994 08:49:37 GMT}.
+     */
+    public static AsciiString currentDate() {
+        return CACHES.get().date(System.currentTimeMillis());
+    }
+
+    AsciiString date(long millis) {
+        long second = millis / 1000;
+        if (second != this.second) {
+            date = new AsciiString(DateFormatter.format(new Date(second * 1000)));
+            this.second = second;
+        }
+        return date;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http;
+
+import io.netty.util.AsciiString;
+
+import java.util.Iterator;
+import java.util.Map.Entry;
+
+import static io.netty.util.internal.ObjectUtil.checkNotNull;
+
+/**
+ * A {@link HttpHeadersFactory} which creates {@link HttpHeaders} that already contain a fixed set of headers, like
+ * {@code Server}, {@code Content-Type} or security headers which are the same for every response.
+ * <p>
+ * The fixed headers are encoded once when the template is created. All {@link HttpHeaders} created by the template
+ * share the encoded headers, which the {@link HttpObjectEncoder} writes with a single copy instead of encoding every
+ * header again. Headers which differ per message, like {@code Date} or {@code Content-Length}, are added to the
+ * created {@link HttpHeaders} as usual and encoded after the fixed headers:
+ *
+ * <pre>{@code
+ * static final HttpHeadersTemplate TEMPLATE = new HttpHeadersTemplate(new DefaultHttpHeaders()
+ *         .add(HttpHeaderNames.SERVER, "Netty")
+ *         .add(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.TEXT_PLAIN));
+ *
+ * FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK, content,
+ *         TEMPLATE, DefaultHttpHeadersFactory.trailersFactory());
+ * response.headers().setInt(HttpHeaderNames.CONTENT_LENGTH, content.readableBytes());
+ * }</pre>
+ *
+ * Replacing or removing one of the fixed headers is supported as well, but it copies all headers of this message, so
+ * it is no faster than using {@link DefaultHttpHeaders}.
+ */
+public final class HttpHeadersTemplate implements HttpHeadersFactory {
+
+    private final LazyHttpHeaders template;
+
+    /**
+     * Creates a new template from the given headers, validating them and the headers added later with the default
+     * validation of {@link DefaultHttpHeadersFactory#headersFactory()}.
+     *
+     * @param headers the headers to be contained in every {@link HttpHeaders} created by this template.
+     */
+    public HttpHeadersTemplate(HttpHeaders headers) {
+        this(headers, DefaultHttpHeadersFactory.headersFactory());
+    }
+
+    /**
+     * Creates a new template from the given headers.
+     *
+     * @param headers the headers to be contained in every {@link HttpHeaders} created by this template.
+     * @param validation the factory whose validators are used for the given headers and the headers added later.
+     */
+    public HttpHeadersTemplate(HttpHeaders headers, DefaultHttpHeadersFactory validation) {
+        checkNotNull(headers, "headers");
+        template = new LazyHttpHeaders(checkNotNull(validation, "validation"));
+        Iterator<Entry<CharSequence, CharSequence>> iter = headers.iteratorCharSequence();
+        while (iter.hasNext()) {
+            Entry<CharSequence, CharSequence> header = iter.next();
+            AsciiString name = AsciiString.of(header.getKey());
+            AsciiString value = AsciiString.of(header.getValue());
+            template.addRaw(name.array(), name.arrayOffset(), name.length(),
+                    value.array(), value.arrayOffset(), value.length());
+        }
+    }
+
+    /**
+     * Returns the number of headers contained in the template.
+     */
+    public int size() {
+        return template.size();
+    }
+
+    @Override
+    public HttpHeaders newHeaders() {
+        return template.copy();
+    }
+
+    @Override
+    public HttpHeaders newEmptyHeaders() {
+        return template.copy();
+    }
+
+    @Override
+    public String toString() {
+        return "HttpHeadersTemplate(size: " + template.size() + ')';
+    }
+}
@@ -177,6 +177,10 @@ public abstract class HttpObjectDecoder extends ByteToMessageDecoder {
     // These will be updated by splitHeader(...)
     private AsciiString name;
     private String value;
+    // These will be updated by splitHeaderBounds(...)
+    private int headerNameEnd;
+    private int headerValueStart;
+    private int headerValueEnd;
     private LastHttpContent trailer;
 
     @Override
@@ -720,6 +724,7 @@ public abstract class HttpObjectDecoder extends ByteToMessageDecoder {
     private State readHeaders(ByteBuf buffer) {
         final HttpMessage message = this.message;
         final HttpHeaders headers = message.headers();
+        final LazyHttpHeaders lazyHeaders = headers instanceof LazyHttpHeaders ? (LazyHttpHeaders) headers : null;
 
         final HeaderParser headerParser = this.headerParser;
 
@@ -732,7 +737,9 @@ public abstract class HttpObjectDecoder extends ByteToMessageDecoder {
             final byte[] lineContent = line.array();
             final int startLine = line.arrayOffset() + line.readerIndex();
             final byte firstChar = lineContent[startLine];
-            if (name != null && (firstChar == ' ' || firstChar == '\t')) {
+            if (lazyHeaders != null) {
+                addLazyHeader(lazyHeaders, lineContent, startLine, lineLength);
+            } else if (name != null && (firstChar == ' ' || firstChar == '\t')) {
                 //please do not make one line from below code
                 //as it breaks +XX:OptimizeStringConcat optimization
                 String trimmedLine = langAsciiString(lineContent, startLine, lineLength).trim();
@@ -1006,6 +1013,40 @@ public abstract class HttpObjectDecoder extends ByteToMessageDecoder {
     }
 
     private void splitHeader(byte[] line, int start, int length) {
+        splitHeaderBounds(line, start, length);
+        name = splitHeaderName(line, start, headerNameEnd - start);
+        if (headerValueStart == headerValueEnd) {
+            value = StringUtil.EMPTY_STRING;
+        } else {
+            // no need to make uses of the ByteBuf's toString ASCII method here, and risk to get JIT confused
+            value = langAsciiString(line, headerValueStart, headerValueEnd - headerValueStart);
+        }
+    }
+
+    /**
+     * Adds a header line to {@link LazyHttpHeaders} without creating {@link String}s for its name and value.
+     */
+    private void addLazyHeader(LazyHttpHeaders headers, byte[] line, int start, int length) {
+        final byte firstChar = line[start];
+        if (!headers.isEmpty() && (firstChar == ' ' || firstChar == '\t')) {
+            // Trim the continuation line like String.trim() does.
+            int trimmedStart = start;
+            int trimmedEnd = start + length;
+            while (trimmedStart < trimmedEnd && (line[trimmedStart] & 0xFF) <= ' ') {
+                trimmedStart++;
+            }
+            while (trimmedEnd > trimmedStart && (line[trimmedEnd - 1] & 0xFF) <= ' ') {
+                trimmedEnd--;
+            }
+            headers.appendToLastValue(line, trimmedStart, trimmedEnd - trimmedStart);
+        } else {
+            splitHeaderBounds(line, start, length);
+            headers.addRaw(line, start, headerNameEnd - start,
+                    line, headerValueStart, headerValueEnd - headerValueStart);
+        }
+    }
+
+    private void splitHeaderBounds(byte[] line, int start, int length) {
         final int end = start + length;
         int nameEnd;
         final int nameStart = start;
@@ -1043,15 +1084,9 @@ public abstract class HttpObjectDecoder extends ByteToMessageDecoder {
                 break;
             }
         }
-        name = splitHeaderName(line, nameStart, nameEnd - nameStart);
-        final int valueStart = findNonWhitespace(line, colonEnd, end);
-        if (valueStart == end) {
-            value = StringUtil.EMPTY_STRING;
-        } else {
-            final int valueEnd = findEndOfString(line, start, end);
-            // no need to make uses of the ByteBuf's toString ASCII method here, and risk to get JIT confused
-            value = langAsciiString(line, valueStart, valueEnd - valueStart);
-        }
+        headerNameEnd = nameEnd;
+        headerValueStart = findNonWhitespace(line, colonEnd, end);
+        headerValueEnd = headerValueStart == end ? end : findEndOfString(line, start, end);
     }
 
     protected AsciiString splitHeaderName(byte[] sb, int start, int length) {
@@ -18,6 +18,7 @@ package io.netty.handler.codec.http;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelPromise;
 import io.netty.channel.FileRegion;
@@ -26,6 +27,8 @@ import io.netty.handler.codec.MessageToMessageEncoder;
 import io.netty.util.CharsetUtil;
 import io.netty.util.ReferenceCountUtil;
 import io.netty.util.concurrent.PromiseCombiner;
+import io.netty.util.concurrent.PromiseNotifier;
+import io.netty.util.internal.ObjectUtil;
 import io.netty.util.internal.StringUtil;
 
 import java.util.ArrayList;
@@ -50,11 +53,22 @@ import static io.netty.handler.codec.http.HttpConstants.LF;
  * <a href="https://en.wikipedia.org/wiki/Internet_Content_Adaptation_Protocol">ICAP</a>.
  * To implement the encoder of such a derived protocol, extend this class and
  * implement all abstract methods properly.
+ *
+ * <h3>Chunk coalescing</h3>
+ *
+ * When a chunked message is streamed as many small {@link HttpContent}s, for example server-sent events, every
+ * chunk is encoded as a chunk size line, the content and a {@code CRLF}, which all end up as separate buffers in the
+ * outbound buffer of the channel. {@link #setChunkCoalescingThreshold(int)} lets the encoder copy the framing of the
+ * chunks and contents up to the given size into a single buffer, which is written on the next flush. A flush then
+ * writes a handful of large buffers instead of three small buffers per chunk.
  */
 public abstract class HttpObjectEncoder<H extends HttpMessage> extends MessageToMessageEncoder<Object> {
 
     // this is a constant to decide when it is appropriate to copy the data content into the header buffer
     private static final int COPY_CONTENT_THRESHOLD = 128;
+    private static final int COALESCED_INITIAL_CAPACITY = 1024;
+    private static final int MAX_COALESCED_SIZE = 16 * 1024;
+    private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(CharsetUtil.US_ASCII);
     static final int CRLF_SHORT = (CR << 8) | LF;
     private static final int ZERO_CRLF_MEDIUM = ('0' << 16) | CRLF_SHORT;
     private static final byte[] ZERO_CRLF_CRLF = { '0', CR, LF, CR, LF };
@@ -89,12 +103,50 @@ public abstract class HttpObjectEncoder<H extends HttpMessage> extends MessageTo
 
     private final List<Object> out = new ArrayList<Object>();
 
+    /**
+     * The maximum size of chunk contents which are copied into {@link #coalesced}, or {@code 0} if chunks are not
+     * coalesced.
+     */
+    private int chunkCoalescingThreshold;
+
+    /**
+     * The encoded chunks which were written since the last flush, and the promises of these writes.
+     */
+    private ByteBuf coalesced;
+    private final List<ChannelPromise> coalescedPromises = new ArrayList<ChannelPromise>();
+
+    /**
+     * Sets the maximum size of the content of a chunk which is copied into the buffer used to coalesce chunks. The
+     * framing of chunks is always coalesced, while larger contents are written as they are. {@code 0} disables
+     * coalescing, which is the default.
+     * <p>
+     * While chunks are coalesced, the promises of their writes are completed once the coalesced buffer is written,
+     * which happens on the next {@link ChannelHandlerContext#flush() flush}, when the buffer became large or when
+     * another message is written.
+     */
+    public void setChunkCoalescingThreshold(int chunkCoalescingThreshold) {
+        this.chunkCoalescingThreshold = ObjectUtil.checkPositiveOrZero(chunkCoalescingThreshold,
+                "chunkCoalescingThreshold");
+    }
+
+    /**
+     * Returns the maximum size of the content of a chunk which is copied into the buffer used to coalesce chunks, or
+     * {@code 0} if chunks are not coalesced.
+     */
+    public int getChunkCoalescingThreshold() {
+        return chunkCoalescingThreshold;
+    }
+
     private static boolean checkContentState(int state) {
         return state == ST_CONTENT_CHUNK || state == ST_CONTENT_NON_CHUNK || state == ST_CONTENT_ALWAYS_EMPTY;
     }
 
     @Override
     public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        if (chunkCoalescingThreshold > 0 && state == ST_CONTENT_CHUNK && coalesceChunk(ctx, msg, promise)) {
+            return;
+        }
+        writeCoalesced(ctx);
         try {
             if (acceptOutboundMessage(msg)) {
                 encode(ctx, msg, out);
@@ -102,6 +154,12 @@ public abstract class HttpObjectEncoder<H extends HttpMessage> extends MessageTo
                     throw new EncoderException(
                             StringUtil.simpleClassName(this) + " must produce at least one message.");
                 }
+                if (chunkCoalescingThreshold > 0 && state == ST_CONTENT_CHUNK && out.size() == 1 &&
+                        !(msg instanceof HttpContent)) {
+                    // Let the chunks follow the initial line and headers in the same buffer.
+                    coalesced = (ByteBuf) out.remove(0);
+                    addCoalescedPromise(promise);
+                }
             } else {
                 ctx.write(msg, promise);
             }
@@ -133,6 +191,140 @@ public abstract class HttpObjectEncoder<H extends HttpMessage> extends MessageTo
         }
     }
 
+    private boolean coalesceChunk(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+        final ByteBuf content;
+        final HttpHeaders trailingHeaders;
+        if (msg instanceof HttpContent && !(msg instanceof HttpMessage)) {
+            content = ((HttpContent) msg).content();
+            trailingHeaders = msg instanceof LastHttpContent ? ((LastHttpContent) msg).trailingHeaders() : null;
+        } else if (msg instanceof ByteBuf) {
+            content = (ByteBuf) msg;
+            trailingHeaders = null;
+        } else {
+            return false;
+        }
+        // The promise which is completed once the coalesced buffer is written.
+        ChannelPromise coalescedPromise = promise;
+        try {
+            final int contentLength = content.readableBytes();
+            if (contentLength > 0) {
+                ByteBuf buf = coalescedBuffer(ctx);
+                writeHex(buf, contentLength);
+                ByteBufUtil.writeShortBE(buf, CRLF_SHORT);
+                if (contentLength <= chunkCoalescingThreshold) {
+                    buf.writeBytes(content, content.readerIndex(), contentLength);
+                } else {
+                    // Write the content as it is, the CRLF after it goes into the next coalesced buffer.
+                    writeCoalesced(ctx);
+                    if (promise.isVoid()) {
+                        ctx.write(content.retain(), promise);
+                    } else {
+                        // Complete the promise once the content and the rest of the chunk were written.
+                        PromiseCombiner combiner = new PromiseCombiner(ctx.executor());
+                        combiner.add(ctx.write(content.retain()));
+                        coalescedPromise = ctx.newPromise();
+                        combiner.add(coalescedPromise);
+                        combiner.finish(promise);
+                    }
+                    buf = coalescedBuffer(ctx);
+                }
+                ByteBufUtil.writeShortBE(buf, CRLF_SHORT);
+            }
+            if (trailingHeaders != null) {
+                ByteBuf buf = coalescedBuffer(ctx);
+                ByteBufUtil.writeMediumBE(buf, ZERO_CRLF_MEDIUM);
+                encodeHeaders(trailingHeaders, buf);
+                ByteBufUtil.writeShortBE(buf, CRLF_SHORT);
+                state = ST_INIT;
+            }
+            addCoalescedPromise(coalescedPromise);
+            if (coalesced != null && coalesced.readableBytes() >= MAX_COALESCED_SIZE) {
+                writeCoalesced(ctx);
+            }
+            return true;
+        } catch (Throwable t) {
+            // The coalesced chunks can not be completed anymore.
+            failCoalesced(t);
+            if (coalescedPromise != promise) {
+                coalescedPromise.tryFailure(t);
+            }
+            if (t instanceof EncoderException) {
+                throw (EncoderException) t;
+            }
+            throw new EncoderException(t);
+        } finally {
+            ReferenceCountUtil.release(msg);
+        }
+    }
+
+    private void failCoalesced(Throwable cause) {
+        final ByteBuf buf = coalesced;
+        if (buf != null) {
+            coalesced = null;
+            buf.release();
+        }
+        for (int i = 0; i < coalescedPromises.size(); i++) {
+            coalescedPromises.get(i).tryFailure(cause);
+        }
+        coalescedPromises.clear();
+    }
+
+    private ByteBuf coalescedBuffer(ChannelHandlerContext ctx) {
+        ByteBuf buf = coalesced;
+        if (buf == null) {
+            coalesced = buf = ctx.alloc().buffer(COALESCED_INITIAL_CAPACITY);
+        }
+        return buf;
+    }
+
+    private void addCoalescedPromise(ChannelPromise promise) {
+        if (!promise.isVoid()) {
+            coalescedPromises.add(promise);
+        }
+    }
+
+    private void writeCoalesced(ChannelHandlerContext ctx) {
+        final ByteBuf buf = coalesced;
+        final int promises = coalescedPromises.size();
+        if (buf == null && promises == 0) {
+            return;
+        }
+        coalesced = null;
+        final Object msg = buf == null ? Unpooled.EMPTY_BUFFER : buf;
+        if (promises == 0) {
+            ctx.write(msg, ctx.voidPromise());
+        } else if (promises == 1) {
+            ctx.write(msg, coalescedPromises.get(0));
+        } else {
+            ctx.write(msg).addListener(new PromiseNotifier<Void, ChannelFuture>(
+                    coalescedPromises.toArray(new ChannelPromise[promises])));
+        }
+        coalescedPromises.clear();
+    }
+
+    private static void writeHex(ByteBuf buf, int value) {
+        for (int shift = (7 - Integer.numberOfLeadingZeros(value) / 4) * 4; shift >= 0; shift -= 4) {
+            buf.writeByte(HEX_DIGITS[(value >>> shift) & 0xf]);
+        }
+    }
+
+    @Override
+    public void flush(ChannelHandlerContext ctx) throws Exception {
+        writeCoalesced(ctx);
+        ctx.flush();
+    }
+
+    @Override
+    public void close(ChannelHandlerContext ctx, ChannelPromise promise) throws Exception {
+        writeCoalesced(ctx);
+        ctx.close(promise);
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+        writeCoalesced(ctx);
+    }
+
     private static void writeVoidPromise(ChannelHandlerContext ctx, List<Object> out) {
         final ChannelPromise voidPromise = ctx.voidPromise();
         for (int i = 0; i < out.size(); i++) {
@@ -535,6 +727,10 @@ public abstract class HttpObjectEncoder<H extends HttpMessage> extends MessageTo
      * Encode the {@link HttpHeaders} into a {@link ByteBuf}.
      */
     protected void encodeHeaders(HttpHeaders headers, ByteBuf buf) {
+        if (headers instanceof LazyHttpHeaders && ((LazyHttpHeaders) headers).encodeIfUnmodified(buf)) {
+            // Headers which were decoded and forwarded as they are can be copied in one go.
+            return;
+        }
         Iterator<Entry<CharSequence, CharSequence>> iter = headers.iteratorCharSequence();
         while (iter.hasNext()) {
             Entry<CharSequence, CharSequence> header = iter.next();
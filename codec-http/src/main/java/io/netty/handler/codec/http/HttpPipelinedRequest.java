@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http;
+
+import io.netty.util.ReferenceCounted;
+
+import static io.netty.util.internal.ObjectUtil.checkNotNull;
+
+/**
+ * A {@link FullHttpRequest} received by a {@link HttpPipeliningHandler}, tagged with its position on the connection.
+ * The response to it must be written as {@link HttpPipelinedResponse}, which is most easily created with
+ * {@link #response(HttpObject)}.
+ * <p>
+ * Releasing this message releases the wrapped request.
+ */
+public final class HttpPipelinedRequest implements ReferenceCounted {
+
+    private final FullHttpRequest request;
+    private final int sequence;
+
+    HttpPipelinedRequest(FullHttpRequest request, int sequence) {
+        this.request = checkNotNull(request, "request");
+        this.sequence = sequence;
+    }
+
+    /**
+     * Returns the received request.
+     */
+    public FullHttpRequest request() {
+        return request;
+    }
+
+    /**
+     * Returns the sequence number of the request, which is incremented for every request received on the connection.
+     */
+    public int sequence() {
+        return sequence;
+    }
+
+    /**
+     * Wraps the given response, or part of the response, so it is written in the order the requests were received.
+     */
+    public HttpPipelinedResponse response(HttpObject response) {
+        return new HttpPipelinedResponse(response, sequence);
+    }
+
+    @Override
+    public int refCnt() {
+        return request.refCnt();
+    }
+
+    @Override
+    public HttpPipelinedRequest retain() {
+        request.retain();
+        return this;
+    }
+
+    @Override
+    public HttpPipelinedRequest retain(int increment) {
+        request.retain(increment);
+        return this;
+    }
+
+    @Override
+    public HttpPipelinedRequest touch() {
+        request.touch();
+        return this;
+    }
+
+    @Override
+    public HttpPipelinedRequest touch(Object hint) {
+        request.touch(hint);
+        return this;
+    }
+
+    @Override
+    public boolean release() {
+        return request.release();
+    }
+
+    @Override
+    public boolean release(int decrement) {
+        return request.release(decrement);
+    }
+
+    @Override
+    public String toString() {
+        return "HttpPipelinedRequest(sequence: " + sequence + ", request: " + request + ')';
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http;
+
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.ReferenceCounted;
+
+import static io.netty.util.internal.ObjectUtil.checkNotNull;
+
+/**
+ * A response, or a part of a response, to a {@link HttpPipelinedRequest} with the same sequence number. The
+ * {@link HttpPipeliningHandler} writes the wrapped message once all responses to earlier requests were written.
+ * A response may be written as a single {@link FullHttpResponse} or as a {@link HttpResponse} followed by
+ * {@link HttpContent}s, each wrapped in its own {@link HttpPipelinedResponse}. It is complete once a
+ * {@link LastHttpContent} was written.
+ * <p>
+ * Releasing this message releases the wrapped message if it is {@link ReferenceCounted}.
+ */
+public final class HttpPipelinedResponse implements ReferenceCounted {
+
+    private final HttpObject message;
+    private final int sequence;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param message the response, or part of the response.
+     * @param sequence the {@link HttpPipelinedRequest#sequence()} of the request this is a response to.
+     */
+    public HttpPipelinedResponse(HttpObject message, int sequence) {
+        this.message = checkNotNull(message, "message");
+        this.sequence = sequence;
+    }
+
+    /**
+     * Returns the wrapped response or part of the response.
+     */
+    public HttpObject message() {
+        return message;
+    }
+
+    /**
+     * Returns the sequence number of the request this is a response to.
+     */
+    public int sequence() {
+        return sequence;
+    }
+
+    @Override
+    public int refCnt() {
+        return message instanceof ReferenceCounted ? ((ReferenceCounted) message).refCnt() : 1;
+    }
+
+    @Override
+    public HttpPipelinedResponse retain() {
+        ReferenceCountUtil.retain(message);
+        return this;
+    }
+
+    @Override
+    public HttpPipelinedResponse retain(int increment) {
+        ReferenceCountUtil.retain(message, increment);
+        return this;
+    }
+
+    @Override
+    public HttpPipelinedResponse touch() {
+        ReferenceCountUtil.touch(message);
+        return this;
+    }
+
+    @Override
+    public HttpPipelinedResponse touch(Object hint) {
+        ReferenceCountUtil.touch(message, hint);
+        return this;
+    }
+
+    @Override
+    public boolean release() {
+        return ReferenceCountUtil.release(message);
+    }
+
+    @Override
+    public boolean release(int decrement) {
+        return ReferenceCountUtil.release(message, decrement);
+    }
+
+    @Override
+    public String toString() {
+        return "HttpPipelinedResponse(sequence: " + sequence + ", message: " + message + ')';
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http;
+
+import io.netty.channel.ChannelConfig;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.ChannelPromise;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.collection.IntObjectHashMap;
+import io.netty.util.collection.IntObjectMap;
+
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayDeque;
+
+import static io.netty.util.internal.ObjectUtil.checkPositive;
+
+/**
+ * HttpPipeliningHandler lets an application process
+ * <a href="https://tools.ietf.org/html/rfc7230#section-6.3.2">pipelined</a> requests concurrently, for example on an
+ * offload executor, while the responses are still written in the order the requests were received.
+ * <p>
+ * Every {@link FullHttpRequest} is passed on as {@link HttpPipelinedRequest}, which carries a sequence number. The
+ * response to it has to be written as {@link HttpPipelinedResponse} with the same sequence number. Responses which
+ * are written before the responses to all earlier requests are buffered until it is their turn.
+ * <p>
+ * At most {@code maxInFlightRequests} requests are processed at the same time. Further requests are held back, and
+ * no more data is read from the connection, until responses to earlier requests were written completely. This
+ * bounds the memory used for held back requests and buffered responses. If auto reading is enabled, it is turned
+ * off while requests are held back and turned on again once all of them were passed on.
+ * <p>
+ * Since {@link HttpPipeliningHandler} expects {@link FullHttpRequest}s it should be added after
+ * {@link HttpObjectAggregator}, and {@link HttpServerKeepAliveHandler} should be added before it so it sees the
+ * responses in order. Messages which are not a {@link FullHttpRequest} or {@link HttpPipelinedResponse} are passed
+ * on untouched. <blockquote>
+ * <pre>
+ *  {@link ChannelPipeline} p = ...;
+ *  ...
+ *  p.addLast("serverCodec", new {@link HttpServerCodec}());
+ *  p.addLast("httpKeepAlive", new {@link HttpServerKeepAliveHandler}());
+ *  p.addLast("aggregator", new {@link HttpObjectAggregator}(1048576));
+ *  p.addLast("pipelining", <b>new {@link HttpPipeliningHandler}(16)</b>);
+ *  ...
+ *  p.addLast("handler", new HttpRequestHandler());
+ *  </pre>
+ * </blockquote>
+ */
+public class HttpPipeliningHandler extends ChannelDuplexHandler {
+
+    private final int maxInFlightRequests;
+    private final ArrayDeque<FullHttpRequest> pendingRequests = new ArrayDeque<FullHttpRequest>();
+    private final IntObjectMap<PendingResponse> pendingResponses = new IntObjectHashMap<PendingResponse>();
+
+    // The sequence number of the next request passed on, and of the request whose response is written next.
+    private int readSequence;
+    private int writeSequence;
+    private boolean readPending;
+    // Auto reading was turned off by this handler while requests are held back.
+    private boolean autoReadDisabled;
+    private boolean closed;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param maxInFlightRequests the maximum number of requests which are processed at the same time.
+     */
+    public HttpPipeliningHandler(int maxInFlightRequests) {
+        this.maxInFlightRequests = checkPositive(maxInFlightRequests, "maxInFlightRequests");
+    }
+
+    /**
+     * Returns the number of requests which were passed on and whose response was not completely written yet.
+     */
+    public int inFlightRequests() {
+        return readSequence - writeSequence;
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        if (!(msg instanceof FullHttpRequest)) {
+            ctx.fireChannelRead(msg);
+        } else if (pendingRequests.isEmpty() && inFlightRequests() < maxInFlightRequests) {
+            ctx.fireChannelRead(new HttpPipelinedRequest((FullHttpRequest) msg, readSequence++));
+        } else {
+            pendingRequests.add((FullHttpRequest) msg);
+            ChannelConfig config = ctx.channel().config();
+            if (config.isAutoRead()) {
+                // Swallowing read() is not enough, as the transport keeps reading while auto reading is enabled.
+                config.setAutoRead(false);
+                autoReadDisabled = true;
+            }
+        }
+    }
+
+    @Override
+    public void read(ChannelHandlerContext ctx) throws Exception {
+        if (pendingRequests.isEmpty()) {
+            ctx.read();
+        } else {
+            // Don't read more requests before the held back ones were passed on.
+            readPending = true;
+        }
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        if (!(msg instanceof HttpPipelinedResponse)) {
+            ctx.write(msg, promise);
+            return;
+        }
+        HttpPipelinedResponse response = (HttpPipelinedResponse) msg;
+        HttpObject message = response.message();
+        int sequence = response.sequence();
+        if (closed) {
+            ctx.write(message, promise);
+        } else if (sequence - writeSequence < 0 || sequence - readSequence >= 0) {
+            ReferenceCountUtil.release(message);
+            promise.setFailure(new IllegalStateException(
+                    "no request in flight with sequence " + sequence + " (expected: " + writeSequence + '-' +
+                    (readSequence - 1) + ')'));
+        } else if (sequence == writeSequence) {
+            ctx.write(message, promise);
+            if (isLast(message)) {
+                responseWritten(ctx);
+            }
+        } else {
+            PendingResponse pending = pendingResponses.get(sequence);
+            if (pending == null) {
+                pending = new PendingResponse();
+                pendingResponses.put(sequence, pending);
+            }
+            pending.add(message, promise.unvoid());
+        }
+    }
+
+    private void responseWritten(ChannelHandlerContext ctx) {
+        for (;;) {
+            writeSequence++;
+            PendingResponse pending = pendingResponses.remove(writeSequence);
+            if (pending == null || !pending.writeTo(ctx)) {
+                break;
+            }
+        }
+        passOnPendingRequests(ctx);
+    }
+
+    private void passOnPendingRequests(ChannelHandlerContext ctx) {
+        boolean passedOn = false;
+        // Passing on a request may write its response and so call this method again, which is fine as the loop
+        // condition is checked again after every request.
+        while (!closed && !pendingRequests.isEmpty() && inFlightRequests() < maxInFlightRequests) {
+            ctx.fireChannelRead(new HttpPipelinedRequest(pendingRequests.poll(), readSequence++));
+            passedOn = true;
+        }
+        if (passedOn) {
+            ctx.fireChannelReadComplete();
+        }
+        if (pendingRequests.isEmpty()) {
+            if (autoReadDisabled) {
+                autoReadDisabled = false;
+                readPending = false;
+                // Also triggers a read().
+                ctx.channel().config().setAutoRead(true);
+            } else if (readPending) {
+                readPending = false;
+                ctx.read();
+            }
+        }
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        destroy();
+        ctx.fireChannelInactive();
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+        destroy();
+        if (autoReadDisabled) {
+            autoReadDisabled = false;
+            ctx.channel().config().setAutoRead(true);
+        }
+    }
+
+    private void destroy() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        FullHttpRequest request;
+        while ((request = pendingRequests.poll()) != null) {
+            request.release();
+        }
+        ClosedChannelException cause = null;
+        for (PendingResponse pending : pendingResponses.values()) {
+            if (cause == null) {
+                cause = new ClosedChannelException();
+            }
+            pending.fail(cause);
+        }
+        pendingResponses.clear();
+    }
+
+    private static boolean isLast(HttpObject message) {
+        // An informational response like 100 Continue may be a FullHttpResponse but is followed by the real one.
+        return message instanceof LastHttpContent && !(message instanceof HttpResponse &&
+                ((HttpResponse) message).status().codeClass() == HttpStatusClass.INFORMATIONAL);
+    }
+
+    private static final class PendingResponse {
+        private final ArrayDeque<HttpObject> messages = new ArrayDeque<HttpObject>(2);
+        private final ArrayDeque<ChannelPromise> promises = new ArrayDeque<ChannelPromise>(2);
+        private boolean complete;
+
+        void add(HttpObject message, ChannelPromise promise) {
+            messages.add(message);
+            promises.add(promise);
+            complete = isLast(message);
+        }
+
+        /**
+         * Writes the buffered messages and returns {@code true} if the response was written completely.
+         */
+        boolean writeTo(ChannelHandlerContext ctx) {
+            HttpObject message;
+            while ((message = messages.poll()) != null) {
+                ctx.write(message, promises.poll());
+            }
+            return complete;
+        }
+
+        void fail(Throwable cause) {
+            HttpObject message;
+            while ((message = messages.poll()) != null) {
+                ReferenceCountUtil.release(message);
+                promises.poll().tryFailure(cause);
+            }
+        }
+    }
+}
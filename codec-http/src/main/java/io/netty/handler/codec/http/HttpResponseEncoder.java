@@ -26,6 +26,24 @@ import static io.netty.handler.codec.http.HttpConstants.*;
  */
 public class HttpResponseEncoder extends HttpObjectEncoder<HttpResponse> {
 
+    private boolean dateHeaderEnabled;
+
+    /**
+     * Sets if a {@code Date} header from {@link HttpDateCache} is added to every non-informational
+     * {@link HttpResponse} which does not already contain one. This is the same as adding an
+     * {@link HttpServerDateHandler}, without the extra handler in the pipeline. Default is {@code false}.
+     */
+    public void setDateHeaderEnabled(boolean dateHeaderEnabled) {
+        this.dateHeaderEnabled = dateHeaderEnabled;
+    }
+
+    /**
+     * Returns {@code true} if a {@code Date} header is added to the responses which do not already contain one.
+     */
+    public boolean isDateHeaderEnabled() {
+        return dateHeaderEnabled;
+    }
+
     @Override
     public boolean acceptOutboundMessage(Object msg) throws Exception {
         // JDK type checks vs non-implemented interfaces costs O(N), where
@@ -51,6 +69,7 @@ public class HttpResponseEncoder extends HttpObjectEncoder<HttpResponse> {
 
     @Override
     protected void sanitizeHeadersBeforeEncode(HttpResponse msg, boolean isAlwaysEmpty) {
+        addDateHeader(msg);
         if (isAlwaysEmpty) {
             HttpResponseStatus status = msg.status();
             if (status.codeClass() == HttpStatusClass.INFORMATIONAL ||
@@ -75,6 +94,13 @@ public class HttpResponseEncoder extends HttpObjectEncoder<HttpResponse> {
         }
     }
 
+    final void addDateHeader(HttpResponse msg) {
+        if (dateHeaderEnabled && msg.status().codeClass() != HttpStatusClass.INFORMATIONAL &&
+                !msg.headers().contains(HttpHeaderNames.DATE)) {
+            msg.headers().set(HttpHeaderNames.DATE, HttpDateCache.currentDate());
+        }
+    }
+
     @Override
     protected boolean isContentAlwaysEmpty(HttpResponse msg) {
         // Correctly handle special cases as stated in:
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http;
+
+import io.netty.util.CharsetUtil;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The result of routing a request with {@link HttpRouter}. The parameters and the query of the matched uri are decoded
+ * when they are accessed for the first time.
+ */
+public final class HttpRouteMatch<T> {
+
+    private final T target;
+    private final String uri;
+    private final String path;
+    private final int pathStart;
+    private final int pathEnd;
+    private final int params;
+    private final String[] names;
+    private final int[] captures;
+    private Map<String, List<String>> queryParameters;
+
+    HttpRouteMatch(T target, String uri, String path, int pathStart, int pathEnd,
+                   int params, String[] names, int[] captures) {
+        this.target = target;
+        this.uri = uri;
+        this.path = path;
+        this.pathStart = pathStart;
+        this.pathEnd = pathEnd;
+        this.params = params;
+        this.names = names;
+        this.captures = captures;
+    }
+
+    /**
+     * Returns the target of the matched route.
+     */
+    public T target() {
+        return target;
+    }
+
+    /**
+     * Returns the matched uri.
+     */
+    public String uri() {
+        return uri;
+    }
+
+    /**
+     * Returns the decoded path of the matched uri.
+     */
+    public String path() {
+        return QueryStringDecoder.decodeComponent(path, pathStart, pathEnd, CharsetUtil.UTF_8, false);
+    }
+
+    /**
+     * Returns the decoded value of the parameter or wildcard with the given name, or {@code null} if the matched
+     * route has no such parameter.
+     */
+    public String param(String name) {
+        for (int i = 0; i < params; i++) {
+            if (names[i].equals(name)) {
+                return QueryStringDecoder.decodeComponent(path, captures[i * 2], captures[i * 2 + 1],
+                        CharsetUtil.UTF_8, false);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the decoded parameters of the query of the matched uri.
+     */
+    public Map<String, List<String>> queryParameters() {
+        if (queryParameters == null) {
+            queryParameters = new QueryStringDecoder(uri).parameters();
+        }
+        return queryParameters;
+    }
+
+    /**
+     * Returns the first value of the query parameter with the given name, or {@code null} if there is no such query
+     * parameter.
+     */
+    public String queryParameter(String name) {
+        List<String> values = queryParameters().get(name);
+        return values == null ? null : values.get(0);
+    }
+
+    @Override
+    public String toString() {
+        return "HttpRouteMatch(target: " + target + ", uri: " + uri + ')';
+    }
+}
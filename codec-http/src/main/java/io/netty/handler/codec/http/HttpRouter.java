@@ -0,0 +1,326 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http;
+
+import io.netty.util.internal.EmptyArrays;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static io.netty.util.internal.ObjectUtil.checkNotNull;
+
+/**
+ * Dispatches {@link HttpRequest}s to targets by their method and path, for example to the handler of the request.
+ * <p>
+ * Routes are added with patterns which consist of static text, named parameters which match a single non-empty path
+ * segment and a named wildcard at the end which matches the rest of the path:
+ *
+ * <pre>{@code
+ * HttpRouter<Handler> router = new HttpRouter<Handler>()
+ *         .addRoute(HttpMethod.GET, "/users/:id", getUser)
+ *         .addRoute(HttpMethod.GET, "/users/:id/avatar", getAvatar)
+ *         .addRoute(HttpMethod.GET, "/static/*file", getStatic);
+ *
+ * HttpRouteMatch<Handler> match = router.route(request);
+ * if (match != null) {
+ *     match.target().handle(request, match.param("id"));
+ * }
+ * }</pre>
+ *
+ * The patterns are compiled into a radix tree which is matched against the raw path of {@link HttpRequest#uri()}
+ * without decoding or splitting it. Static text is preferred over parameters, and parameters over wildcards.
+ * Parameters and the query are only decoded when they are accessed through the {@link HttpRouteMatch}. As the raw
+ * path is matched, static text which is percent-encoded in requests has to be percent-encoded in the patterns as well.
+ * <p>
+ * Routes must be added before the router is used to route requests. After that the router may be shared by any number
+ * of threads.
+ */
+public final class HttpRouter<T> {
+
+    private final Node<T> root = new Node<T>("", null, 0);
+    private int maxParams;
+
+    /**
+     * Adds a route.
+     *
+     * @param method the method of the requests to route to the target.
+     * @param pattern the pattern of the paths to route to the target, which must start with {@code /}.
+     * @param target the target.
+     * @return this router.
+     * @throws IllegalArgumentException if the pattern is invalid, conflicts with the pattern of another route or
+     *         if there already is a route for the method and pattern.
+     */
+    public HttpRouter<T> addRoute(HttpMethod method, String pattern, T target) {
+        checkNotNull(method, "method");
+        checkNotNull(pattern, "pattern");
+        checkNotNull(target, "target");
+        if (pattern.isEmpty() || pattern.charAt(0) != '/') {
+            throw new IllegalArgumentException("pattern must start with '/': " + pattern);
+        }
+        Node<T> node = insert(root, pattern, 0);
+        if (node.targets == null) {
+            node.targets = new LinkedHashMap<HttpMethod, T>(4);
+        } else if (node.targets.containsKey(method)) {
+            throw new IllegalArgumentException("duplicate route: " + method + ' ' + pattern);
+        }
+        node.targets.put(method, target);
+        maxParams = Math.max(maxParams, node.params);
+        return this;
+    }
+
+    /**
+     * Routes the given request.
+     *
+     * @return the match, or {@code null} if there is no route for the method and path of the request.
+     */
+    public HttpRouteMatch<T> route(HttpRequest request) {
+        return route(request.method(), request.uri());
+    }
+
+    /**
+     * Routes a request with the given method and uri.
+     *
+     * @return the match, or {@code null} if there is no route for the method and path.
+     */
+    public HttpRouteMatch<T> route(HttpMethod method, String uri) {
+        checkNotNull(method, "method");
+        String path = path(checkNotNull(uri, "uri"));
+        int start = path == uri ? pathStart(uri) : 0;
+        int[] captures = maxParams == 0 ? null : new int[maxParams * 2];
+        String[] names = maxParams == 0 ? null : new String[maxParams];
+        Node<T> node = match(root, method, path, start, pathEnd(path, start), captures, names);
+        if (node == null) {
+            return null;
+        }
+        return new HttpRouteMatch<T>(node.targets.get(method), uri, path, start, pathEnd(path, start),
+                node.params, names, captures);
+    }
+
+    /**
+     * Returns the methods for which there is a route for the path of the given uri, which is useful to answer a
+     * request for which {@link #route(HttpMethod, String)} returned {@code null} with
+     * {@link HttpResponseStatus#METHOD_NOT_ALLOWED} instead of {@link HttpResponseStatus#NOT_FOUND}.
+     */
+    public Set<HttpMethod> allowedMethods(String uri) {
+        String path = path(checkNotNull(uri, "uri"));
+        int start = path == uri ? pathStart(uri) : 0;
+        int[] captures = new int[maxParams * 2];
+        String[] names = new String[maxParams];
+        Node<T> node = match(root, null, path, start, pathEnd(path, start), captures, names);
+        return node == null ? Collections.<HttpMethod>emptySet() : Collections.unmodifiableSet(node.targets.keySet());
+    }
+
+    private Node<T> insert(Node<T> node, String pattern, int pos) {
+        if (pos == pattern.length()) {
+            return node;
+        }
+        char c = pattern.charAt(pos);
+        if (isVariableStart(pattern, pos)) {
+            int end = c == ':' ? segmentEnd(pattern, pos, pattern.length()) : pattern.length();
+            String name = pattern.substring(pos + 1, end);
+            if (name.isEmpty() || c == '*' && name.indexOf('/') >= 0) {
+                throw new IllegalArgumentException("invalid " + (c == ':' ? "parameter" : "wildcard") +
+                        " at index " + pos + ": " + pattern);
+            }
+            Node<T> child = c == ':' ? node.paramChild : node.wildcardChild;
+            if (child == null) {
+                child = new Node<T>(null, name, node.params + 1);
+                if (c == ':') {
+                    node.paramChild = child;
+                } else {
+                    node.wildcardChild = child;
+                }
+            } else if (!child.name.equals(name)) {
+                throw new IllegalArgumentException("conflicting name '" + name + "' at index " + pos + ": " +
+                        pattern + " (existing: '" + child.name + "')");
+            }
+            return insert(child, pattern, end);
+        }
+
+        int staticEnd = pos + 1;
+        while (staticEnd < pattern.length() && !isVariableStart(pattern, staticEnd)) {
+            staticEnd++;
+        }
+        Node<T> child = node.staticChild(c);
+        if (child == null) {
+            child = new Node<T>(pattern.substring(pos, staticEnd), null, node.params);
+            node.addStaticChild(child);
+            return insert(child, pattern, staticEnd);
+        }
+        String prefix = child.prefix;
+        int common = 1;
+        while (common < prefix.length() && pos + common < staticEnd &&
+                prefix.charAt(common) == pattern.charAt(pos + common)) {
+            common++;
+        }
+        if (common < prefix.length()) {
+            // Split the child, so the common prefix becomes a node of its own.
+            Node<T> parent = new Node<T>(prefix.substring(0, common), null, node.params);
+            child.prefix = prefix.substring(common);
+            parent.addStaticChild(child);
+            node.replaceStaticChild(parent);
+            child = parent;
+        }
+        return insert(child, pattern, pos + common);
+    }
+
+    private static <T> Node<T> match(Node<T> node, HttpMethod method, String path, int pos, int end,
+                                     int[] captures, String[] names) {
+        if (pos == end) {
+            if (node.hasTarget(method)) {
+                return node;
+            }
+            Node<T> wildcard = node.wildcardChild;
+            if (wildcard != null && wildcard.hasTarget(method)) {
+                capture(wildcard, pos, end, captures, names);
+                return wildcard;
+            }
+            return null;
+        }
+
+        Node<T> child = node.staticChild(path.charAt(pos));
+        if (child != null) {
+            String prefix = child.prefix;
+            if (end - pos >= prefix.length() && path.regionMatches(pos, prefix, 0, prefix.length())) {
+                Node<T> matched = match(child, method, path, pos + prefix.length(), end, captures, names);
+                if (matched != null) {
+                    return matched;
+                }
+            }
+        }
+        child = node.paramChild;
+        if (child != null) {
+            int segmentEnd = segmentEnd(path, pos, end);
+            if (segmentEnd > pos) {
+                Node<T> matched = match(child, method, path, segmentEnd, end, captures, names);
+                if (matched != null) {
+                    capture(child, pos, segmentEnd, captures, names);
+                    return matched;
+                }
+            }
+        }
+        child = node.wildcardChild;
+        if (child != null && child.hasTarget(method)) {
+            capture(child, pos, end, captures, names);
+            return child;
+        }
+        return null;
+    }
+
+    private static void capture(Node<?> node, int start, int end, int[] captures, String[] names) {
+        int index = node.params - 1;
+        captures[index * 2] = start;
+        captures[index * 2 + 1] = end;
+        names[index] = node.name;
+    }
+
+    private static boolean isVariableStart(String pattern, int pos) {
+        char c = pattern.charAt(pos);
+        return (c == ':' || c == '*') && pattern.charAt(pos - 1) == '/';
+    }
+
+    private static int segmentEnd(String s, int pos, int end) {
+        int slash = s.indexOf('/', pos);
+        return slash < 0 || slash > end ? end : slash;
+    }
+
+    /**
+     * Returns the uri, or {@code "/"} if the uri is in absolute-form and has no path.
+     */
+    private static String path(String uri) {
+        return pathStart(uri) < 0 ? "/" : uri;
+    }
+
+    private static int pathStart(String uri) {
+        if (uri.startsWith("/")) {
+            return 0;
+        }
+        // absolute-form, see https://tools.ietf.org/html/rfc7230#section-5.3.2
+        int scheme = uri.indexOf("://");
+        int start = uri.indexOf('/', scheme < 0 ? 0 : scheme + 3);
+        if (start < 0) {
+            return -1;
+        }
+        int query = pathEnd(uri, 0);
+        return start < query ? start : -1;
+    }
+
+    private static int pathEnd(String path, int start) {
+        for (int i = start; i < path.length(); i++) {
+            char c = path.charAt(i);
+            if (c == '?' || c == '#') {
+                return i;
+            }
+        }
+        return path.length();
+    }
+
+    private static final class Node<T> {
+        @SuppressWarnings("rawtypes")
+        private static final Node[] EMPTY = new Node[0];
+
+        // The static text matched by this node, or null for a parameter or wildcard.
+        String prefix;
+        // The name of the parameter or wildcard, or null for static text.
+        final String name;
+        // The number of parameters and wildcards on the path to this node, including this one.
+        final int params;
+
+        // The static children, sorted by the first char of their prefix, which are all different.
+        @SuppressWarnings("unchecked")
+        Node<T>[] staticChildren = EMPTY;
+        char[] firstChars = EmptyArrays.EMPTY_CHARS;
+        Node<T> paramChild;
+        Node<T> wildcardChild;
+        Map<HttpMethod, T> targets;
+
+        Node(String prefix, String name, int params) {
+            this.prefix = prefix;
+            this.name = name;
+            this.params = params;
+        }
+
+        boolean hasTarget(HttpMethod method) {
+            return targets != null && (method == null || targets.containsKey(method));
+        }
+
+        Node<T> staticChild(char c) {
+            int index = Arrays.binarySearch(firstChars, c);
+            return index < 0 ? null : staticChildren[index];
+        }
+
+        void addStaticChild(Node<T> child) {
+            int index = -Arrays.binarySearch(firstChars, child.prefix.charAt(0)) - 1;
+            int length = firstChars.length;
+            char[] newFirstChars = new char[length + 1];
+            System.arraycopy(firstChars, 0, newFirstChars, 0, index);
+            System.arraycopy(firstChars, index, newFirstChars, index + 1, length - index);
+            newFirstChars[index] = child.prefix.charAt(0);
+            Node<T>[] newChildren = Arrays.copyOf(staticChildren, length + 1);
+            System.arraycopy(staticChildren, index, newChildren, index + 1, length - index);
+            newChildren[index] = child;
+            firstChars = newFirstChars;
+            staticChildren = newChildren;
+        }
+
+        void replaceStaticChild(Node<T> child) {
+            staticChildren[Arrays.binarySearch(firstChars, child.prefix.charAt(0))] = child;
+        }
+    }
+}
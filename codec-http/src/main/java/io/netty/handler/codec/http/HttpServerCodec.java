@@ -147,6 +147,24 @@ public final class HttpServerCodec extends CombinedChannelDuplexHandler<HttpRequ
         init(new HttpServerRequestDecoder(config), new HttpServerResponseEncoder());
     }
 
+    /**
+     * Sets the chunk coalescing threshold of the {@link HttpResponseEncoder}.
+     *
+     * @see HttpObjectEncoder#setChunkCoalescingThreshold(int)
+     */
+    public void setChunkCoalescingThreshold(int chunkCoalescingThreshold) {
+        outboundHandler().setChunkCoalescingThreshold(chunkCoalescingThreshold);
+    }
+
+    /**
+     * Sets if the {@link HttpResponseEncoder} adds a {@code Date} header to the responses.
+     *
+     * @see HttpResponseEncoder#setDateHeaderEnabled(boolean)
+     */
+    public void setDateHeaderEnabled(boolean dateHeaderEnabled) {
+        outboundHandler().setDateHeaderEnabled(dateHeaderEnabled);
+    }
+
     /**
      * Upgrades to another protocol from HTTP. Removes the {@link HttpRequestDecoder} and
      * {@link HttpResponseEncoder} from the pipeline.
@@ -186,6 +204,7 @@ public final class HttpServerCodec extends CombinedChannelDuplexHandler<HttpRequ
                 // Stripping Transfer-Encoding:
                 // See https://tools.ietf.org/html/rfc7230#section-3.3.1
                 msg.headers().remove(HttpHeaderNames.TRANSFER_ENCODING);
+                addDateHeader(msg);
                 return;
             }
 
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http;
+
+import io.netty.channel.ChannelHandler.Sharable;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.ChannelPromise;
+
+/**
+ * HttpServerDateHandler adds a {@code Date} header to every {@link HttpResponse} which does not already contain one,
+ * as recommended by <a href="https://tools.ietf.org/html/rfc7231#section-7.1.1.2">RFC7231</a>.
+ * <p>
+ * The date is taken from {@link HttpDateCache}, so it is formatted at most once per second and event loop.
+ * Informational ({@code 1xx}) responses are left untouched. The handler holds no state and may be shared between
+ * channels. It should be added after {@link HttpServerCodec}:
+ * <blockquote>
+ * <pre>
+ *  {@link ChannelPipeline} p = ...;
+ *  ...
+ *  p.addLast("serverCodec", new {@link HttpServerCodec}());
+ *  p.addLast("date", <b>{@link HttpServerDateHandler#INSTANCE}</b>);
+ *  ...
+ *  p.addLast("handler", new HttpRequestHandler());
+ *  </pre>
+ * </blockquote>
+ * Alternatively the {@link HttpResponseEncoder} can add the header itself, see
+ * {@link HttpServerCodec#setDateHeaderEnabled(boolean)}.
+ */
+@Sharable
+public final class HttpServerDateHandler extends ChannelOutboundHandlerAdapter {
+
+    public static final HttpServerDateHandler INSTANCE = new HttpServerDateHandler();
+
+    private HttpServerDateHandler() {
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        if (msg instanceof HttpResponse) {
+            HttpResponse response = (HttpResponse) msg;
+            if (response.status().codeClass() != HttpStatusClass.INFORMATIONAL &&
+                    !response.headers().contains(HttpHeaderNames.DATE)) {
+                response.headers().set(HttpHeaderNames.DATE, HttpDateCache.currentDate());
+            }
+        }
+        ctx.write(msg, promise);
+    }
+}
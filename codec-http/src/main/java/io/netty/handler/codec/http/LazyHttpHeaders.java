@@ -0,0 +1,542 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.DefaultHeaders.NameValidator;
+import io.netty.handler.codec.DefaultHeaders.ValueValidator;
+import io.netty.util.AsciiString;
+import io.netty.util.internal.EmptyArrays;
+import io.netty.util.internal.StringUtil;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import static io.netty.handler.codec.http.HttpConstants.COLON;
+import static io.netty.handler.codec.http.HttpConstants.CR;
+import static io.netty.handler.codec.http.HttpConstants.LF;
+import static io.netty.handler.codec.http.HttpConstants.SP;
+
+/**
+ * {@link HttpHeaders} which keep a block of headers as bytes, together with the offsets of each name and value. The
+ * block is either received by the {@link HttpObjectDecoder} or taken from a {@link HttpHeadersTemplate}. It is kept
+ * in the format in which {@link HttpObjectEncoder} writes headers, so headers which are forwarded without
+ * modifications are encoded with a single copy. Values are only converted to {@link String}s when they are accessed.
+ * <p>
+ * Lookups scan the block, which is cheap for the number of headers a message usually has. Headers which are added,
+ * or set and removed while the block does not contain them, are kept in separate {@link DefaultHttpHeaders}. Any
+ * other modification or an access which is not supported on the block copies all headers into
+ * {@link DefaultHttpHeaders}, which are used from then on.
+ */
+final class LazyHttpHeaders extends HttpHeaders {
+
+    // For each header the start and length of the name and the start and length of the value in the block.
+    private static final int INDEX_ENTRY_SIZE = 4;
+
+    private final NameValidator<CharSequence> nameValidator;
+    private final ValueValidator<CharSequence> valueValidator;
+    private final boolean validateNames;
+    private final boolean validateValues;
+    private byte[] block = EmptyArrays.EMPTY_BYTES;
+    private int blockLength;
+    private int[] index = EmptyArrays.EMPTY_INTS;
+    private int size;
+    // true if the block and index are shared with other instances and must be copied before they are modified.
+    private boolean shared;
+    private HttpHeaders additions;
+    private HttpHeaders materialized;
+
+    LazyHttpHeaders(DefaultHttpHeadersFactory factory) {
+        nameValidator = factory.getNameValidator();
+        valueValidator = factory.getValueValidator();
+        validateNames = factory.isValidatingHeaderNames();
+        validateValues = factory.isValidatingHeaderValues();
+    }
+
+    private LazyHttpHeaders(LazyHttpHeaders headers) {
+        nameValidator = headers.nameValidator;
+        valueValidator = headers.valueValidator;
+        validateNames = headers.validateNames;
+        validateValues = headers.validateValues;
+        block = headers.block;
+        blockLength = headers.blockLength;
+        index = headers.index;
+        size = headers.size;
+        shared = true;
+        headers.shared = true;
+        if (headers.additions != null) {
+            additions = headers.additions.copy();
+        }
+    }
+
+    /**
+     * Adds a header which was parsed by the {@link HttpObjectDecoder} or is part of a {@link HttpHeadersTemplate}.
+     * The name and value are copied into the block.
+     */
+    void addRaw(byte[] name, int nameStart, int nameLength, byte[] value, int valueStart, int valueLength) {
+        assert materialized == null && additions == null;
+        ensureBlockWritable(nameLength + valueLength + 4);
+        final int nameOffset = blockLength;
+        System.arraycopy(name, nameStart, block, nameOffset, nameLength);
+        block[nameOffset + nameLength] = COLON;
+        block[nameOffset + nameLength + 1] = SP;
+        final int valueOffset = nameOffset + nameLength + 2;
+        System.arraycopy(value, valueStart, block, valueOffset, valueLength);
+        block[valueOffset + valueLength] = CR;
+        block[valueOffset + valueLength + 1] = LF;
+
+        if (validateNames) {
+            nameValidator.validateName(new AsciiString(block, nameOffset, nameLength, false));
+        }
+        if (validateValues) {
+            valueValidator.validate(new AsciiString(block, valueOffset, valueLength, false));
+        }
+
+        if (index.length == size * INDEX_ENTRY_SIZE) {
+            int[] newIndex = new int[Math.max(16, size * 2) * INDEX_ENTRY_SIZE];
+            System.arraycopy(index, 0, newIndex, 0, size * INDEX_ENTRY_SIZE);
+            index = newIndex;
+        }
+        final int entry = size * INDEX_ENTRY_SIZE;
+        index[entry] = nameOffset;
+        index[entry + 1] = nameLength;
+        index[entry + 2] = valueOffset;
+        index[entry + 3] = valueLength;
+        size++;
+        blockLength = valueOffset + valueLength + 2;
+    }
+
+    /**
+     * Appends a continuation line, separated by a space, to the value of the last header added by
+     * {@link #addRaw(byte[], int, int, byte[], int, int)}.
+     */
+    void appendToLastValue(byte[] line, int start, int length) {
+        assert materialized == null && additions == null && size > 0;
+        ensureBlockWritable(length + 1);
+        final int entry = (size - 1) * INDEX_ENTRY_SIZE;
+        // The value is the last one in the block, so it can be extended by overwriting its CRLF.
+        int offset = blockLength - 2;
+        block[offset++] = SP;
+        System.arraycopy(line, start, block, offset, length);
+        offset += length;
+        block[offset++] = CR;
+        block[offset++] = LF;
+        blockLength = offset;
+        index[entry + 3] += length + 1;
+
+        if (validateValues) {
+            valueValidator.validate(new AsciiString(block, index[entry + 2], index[entry + 3], false));
+        }
+    }
+
+    private void ensureBlockWritable(int length) {
+        if (shared) {
+            index = Arrays.copyOf(index, index.length);
+        }
+        if (shared || block.length - blockLength < length) {
+            byte[] newBlock = new byte[Math.max(blockLength + length, Math.max(256, block.length << 1))];
+            System.arraycopy(block, 0, newBlock, 0, blockLength);
+            block = newBlock;
+            shared = false;
+        }
+    }
+
+    /**
+     * Writes the headers in the wire format if they were not copied into {@link DefaultHttpHeaders}. The block is
+     * written with a single copy, only headers which were added to it are encoded one by one.
+     *
+     * @return {@code true} if the headers were written, {@code false} if they need to be encoded one by one.
+     */
+    boolean encodeIfUnmodified(ByteBuf buf) {
+        if (materialized != null) {
+            return false;
+        }
+        buf.writeBytes(block, 0, blockLength);
+        if (additions != null) {
+            Iterator<Entry<CharSequence, CharSequence>> iter = additions.iteratorCharSequence();
+            while (iter.hasNext()) {
+                Entry<CharSequence, CharSequence> header = iter.next();
+                HttpHeadersEncoder.encoderHeader(header.getKey(), header.getValue(), buf);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns {@code true} if the headers were copied into {@link DefaultHttpHeaders}. Visible for testing.
+     */
+    boolean isMaterialized() {
+        return materialized != null;
+    }
+
+    private HttpHeaders materialize() {
+        HttpHeaders headers = materialized;
+        if (headers == null) {
+            int additionsSize = additions == null ? 0 : additions.size();
+            headers = new DefaultHttpHeaders(nameValidator, valueValidator, Math.max(16, size + additionsSize));
+            for (int i = 0; i < size; i++) {
+                final int entry = i * INDEX_ENTRY_SIZE;
+                headers.add(new AsciiString(block, index[entry], index[entry + 1], true),
+                        asciiString(block, index[entry + 2], index[entry + 3]));
+            }
+            if (additions != null) {
+                Iterator<Entry<CharSequence, CharSequence>> iter = additions.iteratorCharSequence();
+                while (iter.hasNext()) {
+                    Entry<CharSequence, CharSequence> header = iter.next();
+                    headers.add(header.getKey(), header.getValue());
+                }
+            }
+            materialized = headers;
+            block = null;
+            index = null;
+            size = 0;
+            blockLength = 0;
+            additions = null;
+        }
+        return headers;
+    }
+
+    /**
+     * Returns the headers to which new headers are added.
+     */
+    private HttpHeaders additions() {
+        if (materialized != null) {
+            return materialized;
+        }
+        HttpHeaders headers = additions;
+        if (headers == null) {
+            additions = headers = new DefaultHttpHeaders(nameValidator, valueValidator, 4);
+        }
+        return headers;
+    }
+
+    /**
+     * Returns the headers which contain all headers with the given name.
+     */
+    private HttpHeaders lookup(CharSequence name) {
+        if (materialized == null && indexOf(name, 0) == -1) {
+            return additions != null ? additions : EmptyHttpHeaders.INSTANCE;
+        }
+        return materialize();
+    }
+
+    /**
+     * Returns the headers in which the headers with the given name can be replaced.
+     */
+    private HttpHeaders headersFor(CharSequence name) {
+        if (materialized == null && indexOf(name, 0) == -1) {
+            return additions();
+        }
+        return materialize();
+    }
+
+    @SuppressWarnings("deprecation")
+    private static String asciiString(byte[] bytes, int start, int length) {
+        if (length == 0) {
+            return StringUtil.EMPTY_STRING;
+        }
+        return new String(bytes, 0, start, length);
+    }
+
+    private boolean nameEquals(int entry, CharSequence name) {
+        final int length = index[entry + 1];
+        if (name.length() != length) {
+            return false;
+        }
+        final int start = index[entry];
+        for (int i = 0; i < length; i++) {
+            char a = AsciiString.b2c(block[start + i]);
+            char b = name.charAt(i);
+            if (a != b && AsciiString.toLowerCase(a) != AsciiString.toLowerCase(b)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int indexOf(CharSequence name, int fromHeader) {
+        for (int i = fromHeader; i < size; i++) {
+            if (nameEquals(i * INDEX_ENTRY_SIZE, name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private String value(int header) {
+        final int entry = header * INDEX_ENTRY_SIZE;
+        return asciiString(block, index[entry + 2], index[entry + 3]);
+    }
+
+    @Override
+    public String get(String name) {
+        return get((CharSequence) name);
+    }
+
+    @Override
+    public String get(CharSequence name) {
+        if (materialized != null) {
+            return materialized.get(name);
+        }
+        int header = indexOf(name, 0);
+        if (header != -1) {
+            return value(header);
+        }
+        return additions != null ? additions.get(name) : null;
+    }
+
+    @Override
+    public Integer getInt(CharSequence name) {
+        return lookup(name).getInt(name);
+    }
+
+    @Override
+    public int getInt(CharSequence name, int defaultValue) {
+        return lookup(name).getInt(name, defaultValue);
+    }
+
+    @Override
+    public Short getShort(CharSequence name) {
+        return lookup(name).getShort(name);
+    }
+
+    @Override
+    public short getShort(CharSequence name, short defaultValue) {
+        return lookup(name).getShort(name, defaultValue);
+    }
+
+    @Override
+    public Long getTimeMillis(CharSequence name) {
+        return lookup(name).getTimeMillis(name);
+    }
+
+    @Override
+    public long getTimeMillis(CharSequence name, long defaultValue) {
+        return lookup(name).getTimeMillis(name, defaultValue);
+    }
+
+    @Override
+    public List<String> getAll(String name) {
+        return getAll((CharSequence) name);
+    }
+
+    @Override
+    public List<String> getAll(CharSequence name) {
+        if (materialized != null) {
+            return materialized.getAll(name);
+        }
+        int header = indexOf(name, 0);
+        if (header == -1) {
+            return additions != null ? additions.getAll(name) : Collections.<String>emptyList();
+        }
+        List<String> values = new ArrayList<String>(4);
+        do {
+            values.add(value(header));
+            header = indexOf(name, header + 1);
+        } while (header != -1);
+        if (additions != null) {
+            values.addAll(additions.getAll(name));
+        }
+        return values;
+    }
+
+    @Override
+    public List<Entry<String, String>> entries() {
+        return materialize().entries();
+    }
+
+    @Override
+    public boolean contains(String name) {
+        return contains((CharSequence) name);
+    }
+
+    @Override
+    public boolean contains(CharSequence name) {
+        if (materialized != null) {
+            return materialized.contains(name);
+        }
+        return indexOf(name, 0) != -1 || additions != null && additions.contains(name);
+    }
+
+    @Deprecated
+    @Override
+    public Iterator<Entry<String, String>> iterator() {
+        return materialize().iterator();
+    }
+
+    @Override
+    public Iterator<Entry<CharSequence, CharSequence>> iteratorCharSequence() {
+        if (materialized != null) {
+            return materialized.iteratorCharSequence();
+        }
+        final Iterator<Entry<CharSequence, CharSequence>> additionsIterator = additions == null ?
+                Collections.<Entry<CharSequence, CharSequence>>emptyList().iterator() :
+                additions.iteratorCharSequence();
+        return new Iterator<Entry<CharSequence, CharSequence>>() {
+            // The headers may be materialized while iterating, which drops the block.
+            private final byte[] headerBlock = block;
+            private final int[] entries = index;
+            private final int count = size;
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < count || additionsIterator.hasNext();
+            }
+
+            @Override
+            public Entry<CharSequence, CharSequence> next() {
+                if (next == count) {
+                    return additionsIterator.next();
+                }
+                final int entry = next++ * INDEX_ENTRY_SIZE;
+                // The block is only appended to or copied, so the entries can share it.
+                return new SimpleImmutableEntry<CharSequence, CharSequence>(
+                        new AsciiString(headerBlock, entries[entry], entries[entry + 1], false),
+                        new AsciiString(headerBlock, entries[entry + 2], entries[entry + 3], false));
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException("remove");
+            }
+        };
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public int size() {
+        if (materialized != null) {
+            return materialized.size();
+        }
+        return additions != null ? size + additions.size() : size;
+    }
+
+    @Override
+    public Set<String> names() {
+        return materialize().names();
+    }
+
+    @Override
+    public HttpHeaders add(String name, Object value) {
+        additions().add(name, value);
+        return this;
+    }
+
+    @Override
+    public HttpHeaders add(CharSequence name, Object value) {
+        additions().add(name, value);
+        return this;
+    }
+
+    @Override
+    public HttpHeaders add(String name, Iterable<?> values) {
+        additions().add(name, values);
+        return this;
+    }
+
+    @Override
+    public HttpHeaders add(CharSequence name, Iterable<?> values) {
+        additions().add(name, values);
+        return this;
+    }
+
+    @Override
+    public HttpHeaders addInt(CharSequence name, int value) {
+        additions().addInt(name, value);
+        return this;
+    }
+
+    @Override
+    public HttpHeaders addShort(CharSequence name, short value) {
+        additions().addShort(name, value);
+        return this;
+    }
+
+    @Override
+    public HttpHeaders set(String name, Object value) {
+        return set((CharSequence) name, value);
+    }
+
+    @Override
+    public HttpHeaders set(CharSequence name, Object value) {
+        headersFor(name).set(name, value);
+        return this;
+    }
+
+    @Override
+    public HttpHeaders set(String name, Iterable<?> values) {
+        return set((CharSequence) name, values);
+    }
+
+    @Override
+    public HttpHeaders set(CharSequence name, Iterable<?> values) {
+        headersFor(name).set(name, values);
+        return this;
+    }
+
+    @Override
+    public HttpHeaders setInt(CharSequence name, int value) {
+        headersFor(name).setInt(name, value);
+        return this;
+    }
+
+    @Override
+    public HttpHeaders setShort(CharSequence name, short value) {
+        headersFor(name).setShort(name, value);
+        return this;
+    }
+
+    @Override
+    public HttpHeaders remove(String name) {
+        return remove((CharSequence) name);
+    }
+
+    @Override
+    public HttpHeaders remove(CharSequence name) {
+        if (materialized != null || indexOf(name, 0) != -1) {
+            materialize().remove(name);
+        } else if (additions != null) {
+            additions.remove(name);
+        }
+        return this;
+    }
+
+    @Override
+    public HttpHeaders clear() {
+        materialize().clear();
+        return this;
+    }
+
+    @Override
+    public HttpHeaders copy() {
+        if (materialized != null) {
+            return materialized.copy();
+        }
+        // The copy shares the block until one of them appends to it.
+        return new LazyHttpHeaders(this);
+    }
+}
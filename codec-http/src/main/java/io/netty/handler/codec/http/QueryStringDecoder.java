@@ -349,7 +349,7 @@ public class QueryStringDecoder {
         return decodeComponent(s, 0, s.length(), charset, true);
     }
 
-    private static String decodeComponent(String s, int from, int toExcluded, Charset charset, boolean plusToSpace) {
+    static String decodeComponent(String s, int from, int toExcluded, Charset charset, boolean plusToSpace) {
         int len = toExcluded - from;
         if (len <= 0) {
             return EMPTY_STRING;
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http.multipart;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledDirectByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.FullHttpMessage;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpMessage;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.util.internal.PlatformDependent;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel.MapMode;
+
+import static io.netty.util.internal.ObjectUtil.checkPositiveOrZero;
+
+/**
+ * A {@link HttpObjectAggregator} which keeps small contents in memory, but writes contents larger than
+ * {@code spillThreshold} bytes to a temporary file while they are received, like a {@link DiskFileUpload}.
+ * <p>
+ * The content of the aggregated {@link FullHttpMessage} is then a memory-mapped view of the file, so the pages of
+ * the file are only loaded into memory when the content is read, and the operating system can drop them again under
+ * memory pressure. The mapping is released and the file deleted once the aggregated message was released. This bounds
+ * the heap and direct memory used for aggregation by {@code spillThreshold} bytes per connection, even if many large
+ * messages are received at the same time.
+ * <p>
+ * The files are created in {@link DiskFileUpload#baseDirectory}, or the given base directory, and are deleted on exit
+ * if {@link DiskFileUpload#deleteOnExitTemporaryFile} is set.
+ */
+public class DiskHttpObjectAggregator extends HttpObjectAggregator {
+
+    private final int spillThreshold;
+    private final String baseDirectory;
+
+    private DiskFileUpload spill;
+    private int spilledBytes;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param maxContentLength the maximum length of the aggregated content in bytes.
+     * @param spillThreshold the number of content bytes above which the content is written to a file.
+     */
+    public DiskHttpObjectAggregator(int maxContentLength, int spillThreshold) {
+        this(maxContentLength, spillThreshold, false, null);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param maxContentLength the maximum length of the aggregated content in bytes.
+     * @param spillThreshold the number of content bytes above which the content is written to a file.
+     * @param closeOnExpectationFailed If a 100-continue response is detected but the content length is too large
+     * then {@code true} means close the connection. otherwise the connection will remain open and data will be
+     * consumed and discarded until the next request is received.
+     * @param baseDirectory the directory to create the files in, or {@code null} to use
+     * {@link DiskFileUpload#baseDirectory}.
+     */
+    public DiskHttpObjectAggregator(int maxContentLength, int spillThreshold, boolean closeOnExpectationFailed,
+                                    String baseDirectory) {
+        super(maxContentLength, closeOnExpectationFailed);
+        this.spillThreshold = checkPositiveOrZero(spillThreshold, "spillThreshold");
+        this.baseDirectory = baseDirectory;
+    }
+
+    @Override
+    protected FullHttpMessage beginAggregation(HttpMessage start, ByteBuf content) throws Exception {
+        releaseSpill();
+        return super.beginAggregation(start, content);
+    }
+
+    @Override
+    protected void aggregate(FullHttpMessage aggregated, HttpContent content) throws Exception {
+        super.aggregate(aggregated, content);
+        CompositeByteBuf cumulation = (CompositeByteBuf) aggregated.content();
+        if (spill != null || cumulation.readableBytes() > spillThreshold) {
+            spill(cumulation);
+        }
+    }
+
+    @Override
+    protected int aggregatedContentLength(FullHttpMessage aggregated) throws Exception {
+        return spilledBytes + super.aggregatedContentLength(aggregated);
+    }
+
+    @Override
+    protected void finishAggregation(FullHttpMessage aggregated) throws Exception {
+        if (spill != null) {
+            CompositeByteBuf cumulation = (CompositeByteBuf) aggregated.content();
+            spill(cumulation);
+            spill.addContent(Unpooled.EMPTY_BUFFER, true);
+            DiskFileUpload file = spill;
+            spill = null;
+            spilledBytes = 0;
+            cumulation.addComponent(true, map(ctx().alloc(), file));
+        }
+        super.finishAggregation(aggregated);
+    }
+
+    private void spill(CompositeByteBuf cumulation) throws IOException {
+        if (spill == null) {
+            spill = new DiskFileUpload("content", "content", HttpHeaderValues.APPLICATION_OCTET_STREAM.toString(),
+                    null, null, 0, baseDirectory, DiskFileUpload.deleteOnExitTemporaryFile);
+            spill.setMaxSize(-1);
+        }
+        int readable = cumulation.readableBytes();
+        if (readable > 0) {
+            // The content is released once it was written.
+            spill.addContent(cumulation.readRetainedSlice(readable), false);
+            cumulation.discardReadComponents();
+            spilledBytes += readable;
+        }
+    }
+
+    private static ByteBuf map(ByteBufAllocator alloc, DiskFileUpload file) throws IOException {
+        RandomAccessFile accessFile = null;
+        try {
+            accessFile = new RandomAccessFile(file.getFile(), "rw");
+            // A private mapping is writable like any other aggregated content, without changing the file.
+            MappedByteBuffer mapped = accessFile.getChannel().map(MapMode.PRIVATE, 0, file.length());
+            return new MappedFileByteBuf(alloc, mapped, file);
+        } catch (IOException e) {
+            file.release();
+            throw e;
+        } finally {
+            if (accessFile != null) {
+                accessFile.close();
+            }
+        }
+    }
+
+    private void releaseSpill() {
+        if (spill != null) {
+            spill.release();
+            spill = null;
+        }
+        spilledBytes = 0;
+    }
+
+    @Override
+    protected void handleOversizedMessage(ChannelHandlerContext ctx, HttpMessage oversized) throws Exception {
+        releaseSpill();
+        super.handleOversizedMessage(ctx, oversized);
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        try {
+            super.channelInactive(ctx);
+        } finally {
+            releaseSpill();
+        }
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+        try {
+            super.handlerRemoved(ctx);
+        } finally {
+            releaseSpill();
+        }
+    }
+
+    /**
+     * A {@link ByteBuf} backed by a memory-mapped file, which unmaps and deletes the file once it is released.
+     */
+    private static final class MappedFileByteBuf extends UnpooledDirectByteBuf {
+        private final MappedByteBuffer mapped;
+        private final DiskFileUpload file;
+
+        MappedFileByteBuf(ByteBufAllocator alloc, MappedByteBuffer mapped, DiskFileUpload file) {
+            super(alloc, mapped, mapped.capacity());
+            this.mapped = mapped;
+            this.file = file;
+        }
+
+        @Override
+        protected void deallocate() {
+            super.deallocate();
+            PlatformDependent.freeDirectBuffer(mapped);
+            file.release();
+        }
+    }
+}
@@ -0,0 +1,309 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http.multipart;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.buffer.search.AbstractSearchProcessorFactory;
+import io.netty.buffer.search.SearchProcessor;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPipeline;
+import io.netty.handler.codec.MessageToMessageDecoder;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpConstants;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpObject;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.codec.http.multipart.HttpPostRequestDecoder.ErrorDataDecoderException;
+import io.netty.util.CharsetUtil;
+import io.netty.util.ReferenceCountUtil;
+
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.UnsupportedCharsetException;
+import java.util.List;
+
+import static io.netty.util.internal.ObjectUtil.checkPositive;
+
+/**
+ * Decodes the body of {@code multipart/form-data} requests into a stream of parts while it is received, instead of
+ * collecting all parts like {@link HttpPostMultipartRequestDecoder}.
+ * <p>
+ * The {@link HttpRequest} is passed on as is, but its {@link HttpContent}s are replaced by a
+ * {@link MultipartPartHeader} for every part, followed by the body of the part as {@link MultipartPartContent}s. The
+ * end of the request is signalled by a {@link LastHttpContent} which carries the trailing headers. Requests which are
+ * no multipart requests, and {@link FullHttpRequest}s, are passed on untouched.
+ * <p>
+ * The body of a part is passed on as slices of the received buffers, so it is not copied. Only the few bytes at the
+ * end of a buffer which may be the start of a boundary are held back until the next buffer was received. Boundaries
+ * are found with a precomputed Knuth-Morris-Pratt search, so every byte of the body is examined only once. Large file
+ * uploads can be written to disk without blocking the event loop by adding a {@link MultipartFileUploadHandler}:
+ * <blockquote>
+ * <pre>
+ *  {@link ChannelPipeline} p = ...;
+ *  ...
+ *  p.addLast("serverCodec", new {@link HttpServerCodec}());
+ *  p.addLast("multipart", <b>new {@link HttpPostMultipartStreamDecoder}()</b>);
+ *  p.addLast("uploads", new {@link MultipartFileUploadHandler}(executor, 1048576));
+ *  ...
+ *  p.addLast("handler", new HttpRequestHandler());
+ *  </pre>
+ * </blockquote>
+ */
+public class HttpPostMultipartStreamDecoder extends MessageToMessageDecoder<HttpObject> {
+
+    private static final int DEFAULT_MAX_HEADER_SIZE = 8192;
+
+    private enum State {
+        PASS_THROUGH,
+        BODY,
+        DELIMITER_END,
+        HEADERS,
+        EPILOGUE
+    }
+
+    private final int maxHeaderSize;
+    private State state = State.PASS_THROUGH;
+    private Charset charset;
+    // The delimiter is CRLF followed by "--" and the boundary.
+    private int delimiterLength;
+    private SearchProcessor delimiterSearch;
+    // Bytes held back from the previous buffer, because they can't be decoded before more bytes were received.
+    private ByteBuf remaining;
+    // false while the preamble before the first part is decoded.
+    private boolean inPart;
+    private HttpHeaders partHeaders;
+    private int partHeadersSize;
+
+    /**
+     * Creates a new instance which accepts up to 8192 bytes of headers per part.
+     */
+    public HttpPostMultipartStreamDecoder() {
+        this(DEFAULT_MAX_HEADER_SIZE);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param maxHeaderSize the maximum size of the headers of a part.
+     */
+    public HttpPostMultipartStreamDecoder(int maxHeaderSize) {
+        super(HttpObject.class);
+        this.maxHeaderSize = checkPositive(maxHeaderSize, "maxHeaderSize");
+    }
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, HttpObject msg, List<Object> out) throws Exception {
+        if (msg instanceof HttpRequest) {
+            reset();
+            if (!(msg instanceof FullHttpRequest)) {
+                String contentType = ((HttpRequest) msg).headers().get(HttpHeaderNames.CONTENT_TYPE);
+                String[] boundary = contentType == null ? null :
+                        HttpPostRequestDecoder.getMultipartDataBoundary(contentType);
+                if (boundary != null) {
+                    start(ctx, boundary);
+                }
+            }
+            out.add(ReferenceCountUtil.retain(msg));
+        } else if (state == State.PASS_THROUGH || !(msg instanceof HttpContent)) {
+            out.add(ReferenceCountUtil.retain(msg));
+        } else {
+            decode(ctx, ((HttpContent) msg).content(), out);
+            if (msg instanceof LastHttpContent) {
+                boolean complete = state == State.EPILOGUE;
+                reset();
+                if (!complete) {
+                    throw new ErrorDataDecoderException("Multipart body ends before the closing boundary");
+                }
+                HttpHeaders trailers = ((LastHttpContent) msg).trailingHeaders();
+                out.add(trailers.isEmpty() ? LastHttpContent.EMPTY_LAST_CONTENT :
+                        new DefaultLastHttpContent(Unpooled.EMPTY_BUFFER, trailers));
+            }
+        }
+    }
+
+    private void start(ChannelHandlerContext ctx, String[] boundary) {
+        if (boundary.length > 1) {
+            try {
+                charset = Charset.forName(boundary[1]);
+            } catch (IllegalCharsetNameException e) {
+                throw new ErrorDataDecoderException(e);
+            } catch (UnsupportedCharsetException e) {
+                throw new ErrorDataDecoderException(e);
+            }
+        } else {
+            charset = CharsetUtil.UTF_8;
+        }
+        byte[] delimiter = ("\r\n" + boundary[0]).getBytes(CharsetUtil.US_ASCII);
+        delimiterLength = delimiter.length;
+        delimiterSearch = AbstractSearchProcessorFactory.newKmpSearchProcessorFactory(delimiter).newSearchProcessor();
+        // The first boundary is not required to be preceded by a line break, so pretend it was received to find the
+        // first boundary like all following ones.
+        remaining = ctx.alloc().buffer(2).writeByte(HttpConstants.CR).writeByte(HttpConstants.LF);
+        inPart = false;
+        state = State.BODY;
+    }
+
+    private void decode(ChannelHandlerContext ctx, ByteBuf content, List<Object> out) {
+        ByteBuf buf;
+        if (remaining != null) {
+            buf = ctx.alloc().compositeBuffer(2).addComponents(true, remaining, content.retain());
+            remaining = null;
+        } else {
+            buf = content.retain();
+        }
+        try {
+            boolean decoded;
+            do {
+                switch (state) {
+                case BODY:
+                    decoded = decodeBody(buf, out);
+                    break;
+                case DELIMITER_END:
+                    decoded = decodeDelimiterEnd(buf);
+                    break;
+                case HEADERS:
+                    decoded = decodeHeaders(buf, out);
+                    break;
+                case EPILOGUE:
+                    buf.skipBytes(buf.readableBytes());
+                    decoded = false;
+                    break;
+                default:
+                    throw new IllegalStateException("Unexpected state: " + state);
+                }
+            } while (decoded);
+
+            if (buf.isReadable()) {
+                if (buf.readableBytes() > maxHeaderSize - partHeadersSize) {
+                    throw new ErrorDataDecoderException("Part headers are larger than " + maxHeaderSize + " bytes");
+                }
+                remaining = ctx.alloc().buffer(buf.readableBytes()).writeBytes(buf);
+            }
+        } finally {
+            buf.release();
+        }
+    }
+
+    private boolean decodeBody(ByteBuf buf, List<Object> out) {
+        int readerIndex = buf.readerIndex();
+        int writerIndex = buf.writerIndex();
+        delimiterSearch.reset();
+        int delimiterEnd = buf.forEachByte(readerIndex, writerIndex - readerIndex, delimiterSearch);
+        if (delimiterEnd >= 0) {
+            if (inPart) {
+                int bodyLength = delimiterEnd + 1 - delimiterLength - readerIndex;
+                out.add(new MultipartPartContent(buf.retainedSlice(readerIndex, bodyLength), true));
+            }
+            buf.readerIndex(delimiterEnd + 1);
+            state = State.DELIMITER_END;
+            return true;
+        }
+        // The delimiter contains only a single CR, so only the bytes starting at a CR close to the end of the buffer
+        // may be the start of the next delimiter.
+        int tailIndex = Math.max(readerIndex, writerIndex - delimiterLength + 1);
+        int crIndex = buf.indexOf(tailIndex, writerIndex, HttpConstants.CR);
+        int bodyLength = (crIndex < 0 ? writerIndex : crIndex) - readerIndex;
+        if (bodyLength > 0) {
+            if (inPart) {
+                out.add(new MultipartPartContent(buf.retainedSlice(readerIndex, bodyLength), false));
+            }
+            buf.skipBytes(bodyLength);
+        }
+        return false;
+    }
+
+    private boolean decodeDelimiterEnd(ByteBuf buf) {
+        int readerIndex = buf.readerIndex();
+        if (buf.readableBytes() < 2) {
+            return false;
+        }
+        if (buf.getByte(readerIndex) == '-' && buf.getByte(readerIndex + 1) == '-') {
+            buf.skipBytes(2);
+            state = State.EPILOGUE;
+            return true;
+        }
+        // Skip the optional whitespace and the line break which follow the boundary.
+        int lfIndex = buf.indexOf(readerIndex, buf.writerIndex(), HttpConstants.LF);
+        if (lfIndex < 0) {
+            return false;
+        }
+        buf.readerIndex(lfIndex + 1);
+        partHeaders = new DefaultHttpHeaders();
+        partHeadersSize = 0;
+        state = State.HEADERS;
+        return true;
+    }
+
+    private boolean decodeHeaders(ByteBuf buf, List<Object> out) {
+        for (;;) {
+            int readerIndex = buf.readerIndex();
+            int lfIndex = buf.indexOf(readerIndex, buf.writerIndex(), HttpConstants.LF);
+            if (lfIndex < 0) {
+                return false;
+            }
+            partHeadersSize += lfIndex + 1 - readerIndex;
+            if (partHeadersSize > maxHeaderSize) {
+                throw new ErrorDataDecoderException("Part headers are larger than " + maxHeaderSize + " bytes");
+            }
+            int lineEnd = lfIndex > readerIndex && buf.getByte(lfIndex - 1) == HttpConstants.CR ? lfIndex - 1 : lfIndex;
+            buf.readerIndex(lfIndex + 1);
+            if (lineEnd == readerIndex) {
+                out.add(new MultipartPartHeader(partHeaders));
+                partHeaders = null;
+                partHeadersSize = 0;
+                inPart = true;
+                state = State.BODY;
+                return true;
+            }
+            String line = buf.toString(readerIndex, lineEnd - readerIndex, charset);
+            int colon = line.indexOf(':');
+            if (colon <= 0) {
+                throw new ErrorDataDecoderException("Invalid part header: " + line);
+            }
+            partHeaders.add(line.substring(0, colon).trim(), line.substring(colon + 1).trim());
+        }
+    }
+
+    private void reset() {
+        state = State.PASS_THROUGH;
+        charset = null;
+        delimiterSearch = null;
+        partHeaders = null;
+        partHeadersSize = 0;
+        if (remaining != null) {
+            remaining.release();
+            remaining = null;
+        }
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+        reset();
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        reset();
+        super.channelInactive(ctx);
+    }
+}
@@ -0,0 +1,326 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http.multipart;
+
+import io.netty.buffer.ByteBufHolder;
+import io.netty.channel.ChannelConfig;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.multipart.HttpPostRequestDecoder.ErrorDataDecoderException;
+import io.netty.util.ReferenceCountUtil;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static io.netty.util.internal.ObjectUtil.checkNotNull;
+import static io.netty.util.internal.ObjectUtil.checkPositive;
+
+/**
+ * Writes the file uploads decoded by {@link HttpPostMultipartStreamDecoder} to disk on an {@link Executor}, so the
+ * event loop is not blocked by file system operations.
+ * <p>
+ * The {@link MultipartPartHeader} and {@link MultipartPartContent}s of a file upload are replaced by a single
+ * {@link FileUpload}, which is passed on once the file was written completely. The receiver of the
+ * {@link FileUpload} is responsible for releasing it, which deletes the file unless it was renamed. All other
+ * messages are passed on untouched, but in the order they were received, so messages received after a file upload
+ * are held back until the file was written.
+ * <p>
+ * The received buffers are written to the file without copying them. If more than {@code maxPendingBytes} bytes are
+ * waiting to be written, no more data is read from the connection until they were written. If auto reading is
+ * enabled, it is turned off meanwhile and turned on again afterwards.
+ */
+public class MultipartFileUploadHandler extends ChannelDuplexHandler {
+
+    private final Executor executor;
+    private final long maxPendingBytes;
+    private final String baseDirectory;
+    private final long maxFileSize;
+
+    // Uploads and other messages in the order they were received.
+    private final ArrayDeque<Object> received = new ArrayDeque<Object>();
+    // Chunks waiting to be written, in the order they were received.
+    private final ArrayDeque<PendingChunk> chunks = new ArrayDeque<PendingChunk>();
+    private PendingUpload current;
+    private PendingUpload writing;
+    private long pendingBytes;
+    private boolean readPending;
+    // Auto reading was turned off by this handler while too many bytes are waiting to be written.
+    private boolean autoReadDisabled;
+    private boolean destroyed;
+
+    /**
+     * Creates a new instance which writes files of any size to {@link DiskFileUpload#baseDirectory}.
+     *
+     * @param executor the executor which writes the files.
+     * @param maxPendingBytes the number of bytes waiting to be written above which no more data is read.
+     */
+    public MultipartFileUploadHandler(Executor executor, long maxPendingBytes) {
+        this(executor, maxPendingBytes, null, DefaultHttpDataFactory.MAXSIZE);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param executor the executor which writes the files.
+     * @param maxPendingBytes the number of bytes waiting to be written above which no more data is read.
+     * @param baseDirectory the directory to write the files to, or {@code null} to use
+     *                      {@link DiskFileUpload#baseDirectory}.
+     * @param maxFileSize the maximum size of a file, or {@code -1} for no limit.
+     */
+    public MultipartFileUploadHandler(Executor executor, long maxPendingBytes, String baseDirectory,
+                                      long maxFileSize) {
+        this.executor = checkNotNull(executor, "executor");
+        this.maxPendingBytes = checkPositive(maxPendingBytes, "maxPendingBytes");
+        this.baseDirectory = baseDirectory;
+        this.maxFileSize = maxFileSize;
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        if (msg instanceof MultipartPartHeader && ((MultipartPartHeader) msg).isFileUpload()) {
+            startUpload(ctx, (MultipartPartHeader) msg);
+        } else if (msg instanceof MultipartPartContent && current != null) {
+            MultipartPartContent content = (MultipartPartContent) msg;
+            PendingUpload upload = current;
+            if (content.isLast()) {
+                current = null;
+            }
+            if (upload.failed) {
+                content.release();
+            } else {
+                chunks.add(new PendingChunk(upload, content));
+                pendingBytes += content.content().readableBytes();
+                writeNext(ctx);
+            }
+        } else if (received.isEmpty()) {
+            ctx.fireChannelRead(msg);
+        } else {
+            if (msg instanceof ByteBufHolder) {
+                pendingBytes += ((ByteBufHolder) msg).content().readableBytes();
+            }
+            received.add(msg);
+        }
+        if (pendingBytes > maxPendingBytes && !autoReadDisabled) {
+            ChannelConfig config = ctx.channel().config();
+            if (config.isAutoRead()) {
+                // Swallowing read() is not enough, as the transport keeps reading while auto reading is enabled.
+                config.setAutoRead(false);
+                autoReadDisabled = true;
+            }
+        }
+    }
+
+    private void startUpload(ChannelHandlerContext ctx, MultipartPartHeader header) {
+        String contentType = header.contentType();
+        DiskFileUpload upload;
+        try {
+            upload = new DiskFileUpload(header.name() == null ? "" : header.name(), header.filename(),
+                    contentType == null ? HttpHeaderValues.APPLICATION_OCTET_STREAM.toString() : contentType,
+                    header.headers().get(HttpHeaderNames.CONTENT_TRANSFER_ENCODING), null, 0, baseDirectory,
+                    DiskFileUpload.deleteOnExitTemporaryFile);
+        } catch (IllegalArgumentException e) {
+            current = new PendingUpload(null);
+            current.failed = true;
+            ctx.fireExceptionCaught(new ErrorDataDecoderException(e));
+            return;
+        }
+        upload.setMaxSize(maxFileSize);
+        current = new PendingUpload(upload);
+        received.add(current);
+    }
+
+    private void writeNext(final ChannelHandlerContext ctx) {
+        if (writing != null || chunks.isEmpty()) {
+            return;
+        }
+        final PendingChunk chunk = chunks.poll();
+        writing = chunk.upload;
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    Throwable cause = null;
+                    try {
+                        // Releases the content once it was written.
+                        chunk.upload.upload.addContent(chunk.content.content(), chunk.content.isLast());
+                    } catch (Throwable t) {
+                        cause = t;
+                    }
+                    final Throwable writeCause = cause;
+                    ctx.executor().execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            written(ctx, chunk, writeCause);
+                        }
+                    });
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            chunk.content.release();
+            written(ctx, chunk, e);
+        }
+    }
+
+    private void written(ChannelHandlerContext ctx, PendingChunk chunk, Throwable cause) {
+        PendingUpload upload = chunk.upload;
+        writing = null;
+        pendingBytes -= chunk.size;
+        if (destroyed) {
+            upload.upload.release();
+            return;
+        }
+        if (cause != null) {
+            failed(upload);
+            ctx.fireExceptionCaught(cause);
+        } else if (chunk.content.isLast()) {
+            upload.complete = true;
+        }
+        passOnReceived(ctx);
+        writeNext(ctx);
+        if (pendingBytes <= maxPendingBytes) {
+            if (autoReadDisabled) {
+                autoReadDisabled = false;
+                readPending = false;
+                // Also triggers a read().
+                ctx.channel().config().setAutoRead(true);
+            } else if (readPending) {
+                readPending = false;
+                ctx.read();
+            }
+        }
+    }
+
+    private void failed(PendingUpload upload) {
+        upload.failed = true;
+        upload.upload.release();
+        // The chunks are written in the order they were received, so the remaining chunks of the upload are next.
+        while (!chunks.isEmpty() && chunks.peek().upload == upload) {
+            PendingChunk chunk = chunks.poll();
+            chunk.content.release();
+            pendingBytes -= chunk.size;
+        }
+    }
+
+    private void passOnReceived(ChannelHandlerContext ctx) {
+        boolean passedOn = false;
+        for (;;) {
+            Object msg = received.peek();
+            if (msg instanceof PendingUpload) {
+                PendingUpload upload = (PendingUpload) msg;
+                if (!upload.complete && !upload.failed) {
+                    break;
+                }
+                received.poll();
+                if (upload.failed) {
+                    continue;
+                }
+                msg = upload.upload;
+            } else if (msg == null) {
+                break;
+            } else {
+                received.poll();
+                if (msg instanceof ByteBufHolder) {
+                    pendingBytes -= ((ByteBufHolder) msg).content().readableBytes();
+                }
+            }
+            ctx.fireChannelRead(msg);
+            passedOn = true;
+        }
+        if (passedOn) {
+            ctx.fireChannelReadComplete();
+        }
+    }
+
+    @Override
+    public void channelReadComplete(ChannelHandlerContext ctx) throws Exception {
+        if (received.isEmpty()) {
+            ctx.fireChannelReadComplete();
+        }
+    }
+
+    @Override
+    public void read(ChannelHandlerContext ctx) throws Exception {
+        if (pendingBytes > maxPendingBytes) {
+            readPending = true;
+        } else {
+            ctx.read();
+        }
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        destroy();
+        ctx.fireChannelInactive();
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+        destroy();
+        if (autoReadDisabled) {
+            autoReadDisabled = false;
+            ctx.channel().config().setAutoRead(true);
+        }
+    }
+
+    private void destroy() {
+        if (destroyed) {
+            return;
+        }
+        destroyed = true;
+        PendingChunk chunk;
+        while ((chunk = chunks.poll()) != null) {
+            chunk.content.release();
+        }
+        Object msg;
+        while ((msg = received.poll()) != null) {
+            if (msg instanceof PendingUpload) {
+                PendingUpload upload = (PendingUpload) msg;
+                // The upload which is written right now is released once the write completed.
+                if (!upload.failed && upload != writing) {
+                    upload.upload.release();
+                }
+            } else {
+                ReferenceCountUtil.release(msg);
+            }
+        }
+        current = null;
+    }
+
+    private static final class PendingUpload {
+        final FileUpload upload;
+        boolean complete;
+        boolean failed;
+
+        PendingUpload(FileUpload upload) {
+            this.upload = upload;
+        }
+    }
+
+    private static final class PendingChunk {
+        final PendingUpload upload;
+        final MultipartPartContent content;
+        final int size;
+
+        PendingChunk(PendingUpload upload, MultipartPartContent content) {
+            this.upload = upload;
+            this.content = content;
+            size = content.content().readableBytes();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http.multipart;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.DefaultByteBufHolder;
+
+/**
+ * A chunk of the body of a part decoded by {@link HttpPostMultipartStreamDecoder}. It belongs to the part started by
+ * the last {@link MultipartPartHeader}, and {@link #isLast()} marks the last chunk of the part.
+ */
+public final class MultipartPartContent extends DefaultByteBufHolder {
+
+    private final boolean last;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param content the content of the chunk.
+     * @param last {@code true} if this is the last chunk of the part.
+     */
+    public MultipartPartContent(ByteBuf content, boolean last) {
+        super(content);
+        this.last = last;
+    }
+
+    /**
+     * Returns {@code true} if this is the last chunk of the part.
+     */
+    public boolean isLast() {
+        return last;
+    }
+
+    @Override
+    public MultipartPartContent copy() {
+        return (MultipartPartContent) super.copy();
+    }
+
+    @Override
+    public MultipartPartContent duplicate() {
+        return (MultipartPartContent) super.duplicate();
+    }
+
+    @Override
+    public MultipartPartContent retainedDuplicate() {
+        return (MultipartPartContent) super.retainedDuplicate();
+    }
+
+    @Override
+    public MultipartPartContent replace(ByteBuf content) {
+        return new MultipartPartContent(content, last);
+    }
+
+    @Override
+    public MultipartPartContent retain() {
+        super.retain();
+        return this;
+    }
+
+    @Override
+    public MultipartPartContent retain(int increment) {
+        super.retain(increment);
+        return this;
+    }
+
+    @Override
+    public MultipartPartContent touch() {
+        super.touch();
+        return this;
+    }
+
+    @Override
+    public MultipartPartContent touch(Object hint) {
+        super.touch(hint);
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "MultipartPartContent(last: " + last + ", content: " + contentToString() + ')';
+    }
+}
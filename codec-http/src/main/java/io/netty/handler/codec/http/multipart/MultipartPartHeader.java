@@ -0,0 +1,165 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http.multipart;
+
+import io.netty.handler.codec.http.HttpConstants;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import io.netty.handler.codec.http.multipart.HttpPostRequestDecoder.ErrorDataDecoderException;
+
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.UnsupportedCharsetException;
+
+import static io.netty.util.internal.ObjectUtil.checkNotNull;
+
+/**
+ * The headers of a part decoded by {@link HttpPostMultipartStreamDecoder}. The body of the part follows as
+ * {@link MultipartPartContent}s.
+ */
+public final class MultipartPartHeader {
+
+    private static final String FILENAME_ENCODED = HttpHeaderValues.FILENAME.toString() + '*';
+
+    private final HttpHeaders headers;
+    private String name;
+    private String filename;
+
+    /**
+     * Creates a new instance, taking the field name and file name from the {@code Content-Disposition} header.
+     *
+     * @param headers the headers of the part.
+     * @throws ErrorDataDecoderException if the {@code Content-Disposition} header is malformed.
+     */
+    public MultipartPartHeader(HttpHeaders headers) {
+        this.headers = checkNotNull(headers, "headers");
+        String disposition = headers.get(HttpHeaderNames.CONTENT_DISPOSITION);
+        if (disposition != null) {
+            parseDisposition(disposition);
+        }
+    }
+
+    /**
+     * Returns the headers of the part.
+     */
+    public HttpHeaders headers() {
+        return headers;
+    }
+
+    /**
+     * Returns the name of the form field, or {@code null} if the part has none.
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Returns the name of the uploaded file, or {@code null} if the part is no file upload.
+     */
+    public String filename() {
+        return filename;
+    }
+
+    /**
+     * Returns {@code true} if the part is a file upload.
+     */
+    public boolean isFileUpload() {
+        return filename != null;
+    }
+
+    /**
+     * Returns the value of the {@code Content-Type} header, or {@code null} if the part has none.
+     */
+    public String contentType() {
+        return headers.get(HttpHeaderNames.CONTENT_TYPE);
+    }
+
+    private void parseDisposition(String disposition) {
+        int start = disposition.indexOf(';');
+        while (start >= 0) {
+            int end = parameterEnd(disposition, start + 1);
+            int equals = disposition.indexOf('=', start + 1);
+            if (equals > 0 && equals < end) {
+                String key = disposition.substring(start + 1, equals).trim();
+                String value = disposition.substring(equals + 1, end).trim();
+                if (HttpHeaderValues.NAME.contentEqualsIgnoreCase(key)) {
+                    name = unquote(value);
+                } else if (HttpHeaderValues.FILENAME.contentEqualsIgnoreCase(key)) {
+                    // An encoded file name takes precedence. See https://tools.ietf.org/html/rfc5987
+                    if (filename == null) {
+                        filename = unquote(value);
+                    }
+                } else if (FILENAME_ENCODED.equalsIgnoreCase(key)) {
+                    filename = decode(value);
+                }
+            }
+            start = end < disposition.length() ? end : -1;
+        }
+    }
+
+    private static int parameterEnd(String disposition, int index) {
+        boolean quoted = false;
+        for (int i = index; i < disposition.length(); i++) {
+            char c = disposition.charAt(i);
+            if (c == HttpConstants.DOUBLE_QUOTE) {
+                quoted = !quoted;
+            } else if (c == '\\' && quoted) {
+                i++;
+            } else if (c == ';' && !quoted) {
+                return i;
+            }
+        }
+        return disposition.length();
+    }
+
+    private static String unquote(String value) {
+        int last = value.length() - 1;
+        if (last <= 0 || value.charAt(0) != HttpConstants.DOUBLE_QUOTE ||
+                value.charAt(last) != HttpConstants.DOUBLE_QUOTE) {
+            return value;
+        }
+        StringBuilder sb = new StringBuilder(last - 1);
+        for (int i = 1; i < last; i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < last) {
+                c = value.charAt(++i);
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    private static String decode(String value) {
+        String[] split = value.split("'", 3);
+        if (split.length != 3) {
+            throw new ErrorDataDecoderException("Invalid encoded filename: " + value);
+        }
+        try {
+            return QueryStringDecoder.decodeComponent(split[2], Charset.forName(split[0]));
+        } catch (IllegalCharsetNameException e) {
+            throw new ErrorDataDecoderException(e);
+        } catch (UnsupportedCharsetException e) {
+            throw new ErrorDataDecoderException(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "MultipartPartHeader(name: " + name + ", filename: " + filename + ", headers: " + headers + ')';
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http.sse;
+
+import io.netty.util.internal.StringUtil;
+
+import static io.netty.util.internal.ObjectUtil.checkNotNull;
+
+/**
+ * An event of a <a href="https://html.spec.whatwg.org/multipage/server-sent-events.html">Server-Sent Events</a>
+ * stream.
+ */
+public final class ServerSentEvent {
+
+    private final String id;
+    private final String event;
+    private final String data;
+    private final long retry;
+
+    /**
+     * Creates a new event of the default type {@code message}.
+     *
+     * @param data the data of the event, which may contain line breaks.
+     */
+    public ServerSentEvent(String data) {
+        this(null, null, checkNotNull(data, "data"), -1);
+    }
+
+    /**
+     * Creates a new event.
+     *
+     * @param event the type of the event, or {@code null} for the default type {@code message}.
+     * @param data the data of the event, which may contain line breaks.
+     */
+    public ServerSentEvent(String event, String data) {
+        this(null, event, checkNotNull(data, "data"), -1);
+    }
+
+    /**
+     * Creates a new event.
+     *
+     * @param id the id of the event, or {@code null} if it has no id.
+     * @param event the type of the event, or {@code null} for the default type {@code message}.
+     * @param data the data of the event, which may contain line breaks, or {@code null} if the event has no data.
+     *        An event without data is not dispatched by the client, but may still set the id or reconnection time,
+     *        or keep the connection alive.
+     * @param retry the reconnection time in milliseconds, or {@code -1} if it is not set by this event.
+     */
+    public ServerSentEvent(String id, String event, String data, long retry) {
+        if (id != null && (id.indexOf('\r') >= 0 || id.indexOf('\n') >= 0 || id.indexOf('\0') >= 0)) {
+            throw new IllegalArgumentException("id contains CR, LF or NUL: " + id);
+        }
+        if (event != null && (event.indexOf('\r') >= 0 || event.indexOf('\n') >= 0)) {
+            throw new IllegalArgumentException("event contains CR or LF: " + event);
+        }
+        if (retry < -1) {
+            throw new IllegalArgumentException("retry: " + retry + " (expected: >= -1)");
+        }
+        this.id = id;
+        this.event = event;
+        this.data = data;
+        this.retry = retry;
+    }
+
+    /**
+     * Returns the id of the event, or {@code null} if it has no id. For decoded events this is the last id received
+     * on the stream, as defined by the specification.
+     */
+    public String id() {
+        return id;
+    }
+
+    /**
+     * Returns the type of the event, or {@code null} for the default type {@code message}.
+     */
+    public String event() {
+        return event;
+    }
+
+    /**
+     * Returns the data of the event, or {@code null} if the event has no data.
+     */
+    public String data() {
+        return data;
+    }
+
+    /**
+     * Returns the reconnection time in milliseconds, or {@code -1} if it is not set by this event.
+     */
+    public long retry() {
+        return retry;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ServerSentEvent)) {
+            return false;
+        }
+        ServerSentEvent that = (ServerSentEvent) o;
+        return retry == that.retry && equals(id, that.id) && equals(event, that.event) && equals(data, that.data);
+    }
+
+    private static boolean equals(String a, String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = id != null ? id.hashCode() : 0;
+        result = 31 * result + (event != null ? event.hashCode() : 0);
+        result = 31 * result + (data != null ? data.hashCode() : 0);
+        return 31 * result + (int) (retry ^ retry >>> 32);
+    }
+
+    @Override
+    public String toString() {
+        return StringUtil.simpleClassName(this) + "(id: " + id + ", event: " + event + ", data: " + data +
+                ", retry: " + retry + ')';
+    }
+}
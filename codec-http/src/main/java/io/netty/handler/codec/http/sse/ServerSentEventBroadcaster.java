@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http.sse;
+
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.group.ChannelGroup;
+import io.netty.channel.group.ChannelMatcher;
+import io.netty.channel.group.ChannelMatchers;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.HttpObjectEncoder;
+
+import static io.netty.util.internal.ObjectUtil.checkNotNull;
+
+/**
+ * Sends {@link ServerSentEvent}s to all subscribers in a {@link ChannelGroup}.
+ * <p>
+ * Every event is encoded only once into a read-only buffer, and every subscriber is sent a duplicate of it, so the
+ * cost of encoding does not grow with the number of subscribers. The subscribers must already have received the
+ * {@code text/event-stream} response. Subscribers which are not {@link Channel#isWritable() writable} do not receive
+ * the event, so a slow subscriber cannot make the server buffer an unbounded number of events. Subscribers are
+ * written with a void promise, so a failed write is reported through the pipeline of the subscriber.
+ * <p>
+ * With many small events, {@link HttpObjectEncoder#setChunkCoalescingThreshold(int)} reduces the number of buffers
+ * written per subscriber.
+ */
+public final class ServerSentEventBroadcaster {
+
+    private static final ChannelMatcher WRITABLE = new ChannelMatcher() {
+        @Override
+        public boolean matches(Channel channel) {
+            return channel.isWritable();
+        }
+    };
+
+    private final ChannelGroup subscribers;
+    private final ByteBufAllocator alloc;
+
+    /**
+     * Creates a new instance which allocates the encoded events from {@link ByteBufAllocator#DEFAULT}.
+     *
+     * @param subscribers the subscribers to send the events to.
+     */
+    public ServerSentEventBroadcaster(ChannelGroup subscribers) {
+        this(subscribers, ByteBufAllocator.DEFAULT);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param subscribers the subscribers to send the events to.
+     * @param alloc the allocator of the encoded events.
+     */
+    public ServerSentEventBroadcaster(ChannelGroup subscribers, ByteBufAllocator alloc) {
+        this.subscribers = checkNotNull(subscribers, "subscribers");
+        this.alloc = checkNotNull(alloc, "alloc");
+    }
+
+    /**
+     * Returns the subscribers.
+     */
+    public ChannelGroup subscribers() {
+        return subscribers;
+    }
+
+    /**
+     * Sends the given event to all writable subscribers.
+     */
+    public void broadcast(ServerSentEvent event) {
+        broadcast(event, ChannelMatchers.all());
+    }
+
+    /**
+     * Sends the given event to all writable subscribers which match the given {@link ChannelMatcher}.
+     */
+    public void broadcast(ServerSentEvent event, ChannelMatcher matcher) {
+        checkNotNull(event, "event");
+        checkNotNull(matcher, "matcher");
+        // The group writes a retained duplicate to every subscriber and releases the content afterwards.
+        DefaultHttpContent content = new DefaultHttpContent(
+                ServerSentEventEncoder.encodeEvent(alloc, event).asReadOnly());
+        subscribers.writeAndFlush(content, ChannelMatchers.compose(WRITABLE, matcher), true);
+    }
+}
@@ -0,0 +1,323 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http.sse;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPipeline;
+import io.netty.handler.codec.MessageToMessageDecoder;
+import io.netty.handler.codec.TooLongFrameException;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.HttpClientCodec;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpObject;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.util.AsciiString;
+import io.netty.util.ByteProcessor;
+import io.netty.util.CharsetUtil;
+import io.netty.util.ReferenceCountUtil;
+
+import java.util.List;
+
+import static io.netty.util.internal.ObjectUtil.checkPositive;
+
+/**
+ * Decodes the {@link HttpContent}s of {@code text/event-stream} responses into {@link ServerSentEvent}s, as defined
+ * by the <a href="https://html.spec.whatwg.org/multipage/server-sent-events.html#event-stream-interpretation">
+ * specification</a>.
+ * <p>
+ * The {@link HttpResponse} is passed on, followed by the decoded events and {@link LastHttpContent#EMPTY_LAST_CONTENT}
+ * once the stream ended. An incomplete event at the end of the stream is discarded. Responses with another content
+ * type are passed on untouched. The last event id and reconnection time, which a client needs to reconnect, are
+ * available via {@link #lastEventId()} and {@link #reconnectionTime()}. The decoder should be added after
+ * {@link HttpClientCodec}:
+ * <blockquote>
+ * <pre>
+ *  {@link ChannelPipeline} p = ...;
+ *  ...
+ *  p.addLast("clientCodec", new {@link HttpClientCodec}());
+ *  p.addLast("sseDecoder", <b>new {@link ServerSentEventDecoder}()</b>);
+ *  ...
+ *  p.addLast("handler", new EventHandler());
+ *  </pre>
+ * </blockquote>
+ */
+public class ServerSentEventDecoder extends MessageToMessageDecoder<HttpObject> {
+
+    public static final int DEFAULT_MAX_EVENT_SIZE = 65536;
+
+    private static final AsciiString DATA = AsciiString.cached("data");
+    private static final AsciiString EVENT = AsciiString.cached("event");
+    private static final AsciiString ID = AsciiString.cached("id");
+    private static final AsciiString RETRY = AsciiString.cached("retry");
+
+    private final int maxEventSize;
+
+    // The incomplete line at the end of the last content.
+    private ByteBuf cumulation;
+    private boolean decoding;
+    private boolean streamStart;
+    private boolean skipLf;
+
+    private StringBuilder data;
+    private String eventType;
+    private long retry = -1;
+    private int eventSize;
+    private String lastEventId;
+    private long reconnectionTime = -1;
+
+    /**
+     * Creates a new instance which accepts events of up to {@value #DEFAULT_MAX_EVENT_SIZE} bytes.
+     */
+    public ServerSentEventDecoder() {
+        this(DEFAULT_MAX_EVENT_SIZE);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param maxEventSize the maximum size of an event in bytes. If an event is larger, a
+     *        {@link TooLongFrameException} is thrown.
+     */
+    public ServerSentEventDecoder(int maxEventSize) {
+        this.maxEventSize = checkPositive(maxEventSize, "maxEventSize");
+    }
+
+    /**
+     * Returns the last event id received on the current stream, which should be sent in the
+     * {@code Last-Event-ID} header when reconnecting, or {@code null} if no id was received.
+     */
+    public String lastEventId() {
+        return lastEventId;
+    }
+
+    /**
+     * Returns the last reconnection time in milliseconds received on the current stream, or {@code -1} if none was
+     * received.
+     */
+    public long reconnectionTime() {
+        return reconnectionTime;
+    }
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, HttpObject msg, List<Object> out) throws Exception {
+        if (msg instanceof HttpResponse) {
+            HttpResponse response = (HttpResponse) msg;
+            CharSequence mimeType = HttpUtil.getMimeType(response);
+            reset();
+            decoding = mimeType != null && HttpHeaderValues.TEXT_EVENT_STREAM.contentEqualsIgnoreCase(mimeType);
+            streamStart = true;
+            lastEventId = null;
+            reconnectionTime = -1;
+            if (decoding && msg instanceof HttpContent) {
+                // Pass on the response without its content, which is decoded into events.
+                out.add(new DefaultHttpResponse(response.protocolVersion(), response.status(), response.headers()));
+            }
+        }
+        if (!decoding || !(msg instanceof HttpContent)) {
+            out.add(ReferenceCountUtil.retain(msg));
+            return;
+        }
+
+        ByteBuf content = ((HttpContent) msg).content();
+        if (streamStart && content.isReadable()) {
+            skipByteOrderMark(content);
+        }
+        ByteBuf buf = content;
+        if (cumulation != null && cumulation.isReadable()) {
+            cumulation.writeBytes(content);
+            buf = cumulation;
+        }
+        decodeLines(buf, out);
+        if (buf.isReadable()) {
+            if (buf.readableBytes() + eventSize > maxEventSize) {
+                reset();
+                throw new TooLongFrameException("event is larger than " + maxEventSize + " bytes");
+            }
+            if (buf != cumulation) {
+                if (cumulation == null) {
+                    cumulation = ctx.alloc().buffer(buf.readableBytes());
+                }
+                cumulation.writeBytes(buf);
+            } else {
+                cumulation.discardSomeReadBytes();
+            }
+        } else if (cumulation != null) {
+            cumulation.clear();
+        }
+
+        if (msg instanceof LastHttpContent) {
+            // An incomplete event at the end of the stream is discarded.
+            reset();
+            decoding = false;
+            out.add(LastHttpContent.EMPTY_LAST_CONTENT);
+        }
+    }
+
+    private void skipByteOrderMark(ByteBuf content) {
+        int index = content.readerIndex();
+        if (content.readableBytes() >= 3 && content.getUnsignedByte(index) == 0xEF &&
+                content.getUnsignedByte(index + 1) == 0xBB && content.getUnsignedByte(index + 2) == 0xBF) {
+            content.skipBytes(3);
+        }
+        streamStart = false;
+    }
+
+    private void decodeLines(ByteBuf buf, List<Object> out) {
+        for (;;) {
+            if (skipLf && buf.isReadable()) {
+                // The previous line ended with a CR at the end of the previous content.
+                if (buf.getByte(buf.readerIndex()) == '\n') {
+                    buf.skipBytes(1);
+                }
+                skipLf = false;
+            }
+            int start = buf.readerIndex();
+            int end = buf.forEachByte(ByteProcessor.FIND_CRLF);
+            if (end < 0) {
+                return;
+            }
+            int lineLength = end - start;
+            if (buf.getByte(end) == '\r') {
+                if (end + 1 < buf.writerIndex()) {
+                    buf.readerIndex(buf.getByte(end + 1) == '\n' ? end + 2 : end + 1);
+                } else {
+                    buf.readerIndex(end + 1);
+                    skipLf = true;
+                }
+            } else {
+                buf.readerIndex(end + 1);
+            }
+            eventSize += lineLength;
+            if (eventSize > maxEventSize) {
+                reset();
+                throw new TooLongFrameException("event is larger than " + maxEventSize + " bytes");
+            }
+            decodeLine(buf, start, lineLength, out);
+        }
+    }
+
+    private void decodeLine(ByteBuf buf, int start, int length, List<Object> out) {
+        if (length == 0) {
+            dispatch(out);
+            return;
+        }
+        if (buf.getByte(start) == ':') {
+            // Comment
+            return;
+        }
+        int end = start + length;
+        int colon = buf.indexOf(start, end, (byte) ':');
+        int nameLength = (colon < 0 ? end : colon) - start;
+        int valueStart = colon < 0 ? end : colon + 1;
+        if (valueStart < end && buf.getByte(valueStart) == ' ') {
+            valueStart++;
+        }
+        int valueLength = end - valueStart;
+
+        if (isField(buf, start, nameLength, DATA)) {
+            if (data == null) {
+                data = new StringBuilder(valueLength);
+            } else {
+                data.append('\n');
+            }
+            data.append(buf.toString(valueStart, valueLength, CharsetUtil.UTF_8));
+        } else if (isField(buf, start, nameLength, EVENT)) {
+            eventType = buf.toString(valueStart, valueLength, CharsetUtil.UTF_8);
+        } else if (isField(buf, start, nameLength, ID)) {
+            if (buf.indexOf(valueStart, end, (byte) 0) < 0) {
+                lastEventId = buf.toString(valueStart, valueLength, CharsetUtil.UTF_8);
+            }
+        } else if (isField(buf, start, nameLength, RETRY)) {
+            long value = parseRetry(buf, valueStart, end);
+            if (value >= 0) {
+                retry = reconnectionTime = value;
+            }
+        }
+        // Other fields are ignored.
+    }
+
+    private static boolean isField(ByteBuf buf, int start, int length, AsciiString name) {
+        if (length != name.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (buf.getByte(start + i) != name.byteAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long parseRetry(ByteBuf buf, int start, int end) {
+        if (start == end || end - start > 18) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            byte b = buf.getByte(i);
+            if (b < '0' || b > '9') {
+                return -1;
+            }
+            value = value * 10 + b - '0';
+        }
+        return value;
+    }
+
+    private void dispatch(List<Object> out) {
+        if (data != null) {
+            out.add(new ServerSentEvent(lastEventId, eventType, data.toString(), retry));
+        }
+        resetEvent();
+    }
+
+    private void resetEvent() {
+        data = null;
+        eventType = null;
+        retry = -1;
+        eventSize = 0;
+    }
+
+    private void reset() {
+        resetEvent();
+        skipLf = false;
+        if (cumulation != null) {
+            cumulation.clear();
+        }
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+        releaseCumulation();
+        super.handlerRemoved(ctx);
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        releaseCumulation();
+        super.channelInactive(ctx);
+    }
+
+    private void releaseCumulation() {
+        if (cumulation != null) {
+            cumulation.release();
+            cumulation = null;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http.sse;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.channel.ChannelHandler.Sharable;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPipeline;
+import io.netty.handler.codec.MessageToMessageEncoder;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpServerCodec;
+
+import java.util.List;
+
+/**
+ * Encodes {@link ServerSentEvent}s into {@link HttpContent}s of a {@code text/event-stream} response.
+ * <p>
+ * The response itself, with {@code Content-Type:} {@link HttpHeaderValues#TEXT_EVENT_STREAM} and
+ * {@code Transfer-Encoding: chunked}, is written by the application before the first event. The encoder should be
+ * added after {@link HttpServerCodec}:
+ * <blockquote>
+ * <pre>
+ *  {@link ChannelPipeline} p = ...;
+ *  ...
+ *  p.addLast("serverCodec", new {@link HttpServerCodec}());
+ *  p.addLast("sseEncoder", <b>{@link ServerSentEventEncoder#INSTANCE}</b>);
+ *  ...
+ *  p.addLast("handler", new HttpRequestHandler());
+ *  </pre>
+ * </blockquote>
+ * To send the same event to many clients, use {@link ServerSentEventBroadcaster}, which encodes it only once.
+ */
+@Sharable
+public class ServerSentEventEncoder extends MessageToMessageEncoder<ServerSentEvent> {
+
+    public static final ServerSentEventEncoder INSTANCE = new ServerSentEventEncoder();
+
+    private static final int FIELD_OVERHEAD = 16;
+
+    protected ServerSentEventEncoder() {
+    }
+
+    @Override
+    protected void encode(ChannelHandlerContext ctx, ServerSentEvent event, List<Object> out) throws Exception {
+        out.add(new DefaultHttpContent(encodeEvent(ctx.alloc(), event)));
+    }
+
+    /**
+     * Encodes the given event into a new buffer allocated from the given allocator.
+     */
+    public static ByteBuf encodeEvent(ByteBufAllocator alloc, ServerSentEvent event) {
+        String data = event.data();
+        ByteBuf buf = alloc.buffer(FIELD_OVERHEAD * 4 + (data == null ? 0 : ByteBufUtil.utf8Bytes(data)));
+        boolean release = true;
+        try {
+            if (event.id() != null) {
+                writeField(buf, "id: ", event.id(), 0, event.id().length());
+            }
+            if (event.event() != null) {
+                writeField(buf, "event: ", event.event(), 0, event.event().length());
+            }
+            if (event.retry() >= 0) {
+                ByteBufUtil.writeAscii(buf, "retry: ");
+                ByteBufUtil.writeAscii(buf, Long.toString(event.retry()));
+                buf.writeByte('\n');
+            }
+            if (data != null) {
+                // Every line of the data becomes a data field of its own.
+                int start = 0;
+                for (int i = 0; i < data.length(); i++) {
+                    char c = data.charAt(i);
+                    if (c == '\r' || c == '\n') {
+                        writeField(buf, "data: ", data, start, i);
+                        if (c == '\r' && i + 1 < data.length() && data.charAt(i + 1) == '\n') {
+                            i++;
+                        }
+                        start = i + 1;
+                    }
+                }
+                writeField(buf, "data: ", data, start, data.length());
+            }
+            buf.writeByte('\n');
+            release = false;
+            return buf;
+        } finally {
+            if (release) {
+                buf.release();
+            }
+        }
+    }
+
+    private static void writeField(ByteBuf buf, String name, String value, int start, int end) {
+        ByteBufUtil.writeAscii(buf, name);
+        ByteBufUtil.writeUtf8(buf, value, start, end);
+        buf.writeByte('\n');
+    }
+}
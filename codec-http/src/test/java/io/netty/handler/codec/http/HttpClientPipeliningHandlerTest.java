@@ -0,0 +1,219 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.pool.ChannelPool;
+import io.netty.handler.codec.PrematureChannelClosureException;
+import io.netty.util.CharsetUtil;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.Promise;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HttpClientPipeliningHandlerTest {
+
+    private static FullHttpRequest request(HttpMethod method, String uri) {
+        return new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, method, uri);
+    }
+
+    private static FullHttpResponse response(String content) {
+        return new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK,
+                Unpooled.copiedBuffer(content, CharsetUtil.US_ASCII));
+    }
+
+    private static String readUri(EmbeddedChannel channel) {
+        FullHttpRequest request = channel.readOutbound();
+        try {
+            return request.uri();
+        } finally {
+            request.release();
+        }
+    }
+
+    @Test
+    public void testPipelining() {
+        EmbeddedChannel channel = new EmbeddedChannel(new HttpClientPipeliningHandler(2));
+        HttpClientPipeliningHandler handler = channel.pipeline().get(HttpClientPipeliningHandler.class);
+        Future<FullHttpResponse> first = handler.send(request(HttpMethod.GET, "/1"));
+        Future<FullHttpResponse> second = handler.send(request(HttpMethod.POST, "/2"));
+        Future<FullHttpResponse> third = handler.send(request(HttpMethod.GET, "/3"));
+        assertEquals(2, handler.outstandingRequests());
+        assertEquals(1, handler.queuedRequests());
+        assertEquals("/1", readUri(channel));
+        assertEquals("/2", readUri(channel));
+        assertNull(channel.readOutbound());
+
+        channel.writeInbound(new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.CONTINUE));
+        assertFalse(first.isDone());
+        channel.writeInbound(response("1"));
+        assertEquals("1", first.getNow().content().toString(CharsetUtil.US_ASCII));
+        first.getNow().release();
+        assertFalse(second.isDone());
+        assertEquals("/3", readUri(channel));
+
+        channel.writeInbound(response("2"));
+        channel.writeInbound(response("3"));
+        assertEquals("2", second.getNow().content().toString(CharsetUtil.US_ASCII));
+        assertEquals("3", third.getNow().content().toString(CharsetUtil.US_ASCII));
+        second.getNow().release();
+        third.getNow().release();
+        assertEquals(0, handler.outstandingRequests());
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testCancelQueuedRequest() {
+        EmbeddedChannel channel = new EmbeddedChannel(new HttpClientPipeliningHandler(1));
+        HttpClientPipeliningHandler handler = channel.pipeline().get(HttpClientPipeliningHandler.class);
+        Future<FullHttpResponse> first = handler.send(request(HttpMethod.GET, "/1"));
+        Future<FullHttpResponse> second = handler.send(request(HttpMethod.GET, "/2"));
+        Future<FullHttpResponse> third = handler.send(request(HttpMethod.GET, "/3"));
+        assertFalse(first.cancel(false));
+        assertTrue(second.cancel(false));
+
+        channel.writeInbound(response("1"));
+        first.getNow().release();
+        assertEquals("/1", readUri(channel));
+        assertEquals("/3", readUri(channel));
+        channel.writeInbound(response("3"));
+        third.getNow().release();
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testCloseFailsRequests() {
+        EmbeddedChannel channel = new EmbeddedChannel(new HttpClientPipeliningHandler(1));
+        HttpClientPipeliningHandler handler = channel.pipeline().get(HttpClientPipeliningHandler.class);
+        Future<FullHttpResponse> first = handler.send(request(HttpMethod.GET, "/1"));
+        Future<FullHttpResponse> second = handler.send(request(HttpMethod.GET, "/2"));
+        assertEquals("/1", readUri(channel));
+        assertFalse(channel.finish());
+        assertInstanceOf(PrematureChannelClosureException.class, first.cause());
+        assertInstanceOf(PrematureChannelClosureException.class, second.cause());
+    }
+
+    @Test
+    public void testConnectionCloseStopsWriting() {
+        EmbeddedChannel channel = new EmbeddedChannel(new HttpClientPipeliningHandler(1));
+        HttpClientPipeliningHandler handler = channel.pipeline().get(HttpClientPipeliningHandler.class);
+        Future<FullHttpResponse> first = handler.send(request(HttpMethod.GET, "/1"));
+        Future<FullHttpResponse> second = handler.send(request(HttpMethod.GET, "/2"));
+        assertEquals("/1", readUri(channel));
+        FullHttpResponse response = response("1");
+        response.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE);
+        channel.writeInbound(response);
+        first.getNow().release();
+        assertNull(channel.readOutbound());
+        assertEquals(1, handler.queuedRequests());
+        assertFalse(channel.finish());
+        assertInstanceOf(PrematureChannelClosureException.class, second.cause());
+    }
+
+    @Test
+    public void testRetry() {
+        EmbeddedChannel retryChannel = new EmbeddedChannel(new HttpClientPipeliningHandler(8));
+        TestChannelPool pool = new TestChannelPool(retryChannel);
+        EmbeddedChannel channel = new EmbeddedChannel(new HttpClientPipeliningHandler(2, pool, 1));
+        HttpClientPipeliningHandler handler = channel.pipeline().get(HttpClientPipeliningHandler.class);
+        Future<FullHttpResponse> get = handler.send(request(HttpMethod.GET, "/get"));
+        Future<FullHttpResponse> post = handler.send(request(HttpMethod.POST, "/post"));
+        Future<FullHttpResponse> queuedPost = handler.send(request(HttpMethod.POST, "/queued"));
+        assertEquals("/get", readUri(channel));
+        assertEquals("/post", readUri(channel));
+
+        assertFalse(channel.finish());
+        assertInstanceOf(PrematureChannelClosureException.class, post.cause());
+        assertFalse(get.isDone());
+        assertFalse(queuedPost.isDone());
+        assertEquals("/get", readUri(retryChannel));
+        assertEquals("/queued", readUri(retryChannel));
+        assertEquals(2, pool.acquired);
+
+        retryChannel.writeInbound(response("get"));
+        retryChannel.writeInbound(response("queued"));
+        assertEquals("get", get.getNow().content().toString(CharsetUtil.US_ASCII));
+        assertEquals("queued", queuedPost.getNow().content().toString(CharsetUtil.US_ASCII));
+        get.getNow().release();
+        queuedPost.getNow().release();
+        assertEquals(2, pool.released.size());
+        assertSame(retryChannel, pool.released.get(0));
+        assertFalse(retryChannel.finish());
+    }
+
+    @Test
+    public void testRetryIsLimited() {
+        EmbeddedChannel retryChannel = new EmbeddedChannel(new HttpClientPipeliningHandler(1));
+        TestChannelPool pool = new TestChannelPool(retryChannel);
+        EmbeddedChannel channel = new EmbeddedChannel(new HttpClientPipeliningHandler(1, pool, 1));
+        HttpClientPipeliningHandler handler = channel.pipeline().get(HttpClientPipeliningHandler.class);
+        Future<FullHttpResponse> get = handler.send(request(HttpMethod.GET, "/get"));
+        assertEquals("/get", readUri(channel));
+        assertFalse(channel.finish());
+        assertEquals("/get", readUri(retryChannel));
+        assertFalse(retryChannel.finish());
+        assertInstanceOf(PrematureChannelClosureException.class, get.cause());
+        assertEquals(1, pool.acquired);
+        assertEquals(1, pool.released.size());
+    }
+
+    private static final class TestChannelPool implements ChannelPool {
+        private final Channel channel;
+        final List<Channel> released = new ArrayList<Channel>();
+        int acquired;
+
+        TestChannelPool(Channel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public Future<Channel> acquire() {
+            return acquire(channel.eventLoop().<Channel>newPromise());
+        }
+
+        @Override
+        public Future<Channel> acquire(Promise<Channel> promise) {
+            acquired++;
+            return promise.setSuccess(channel);
+        }
+
+        @Override
+        public Future<Void> release(Channel channel) {
+            return release(channel, channel.eventLoop().<Void>newPromise());
+        }
+
+        @Override
+        public Future<Void> release(Channel channel, Promise<Void> promise) {
+            released.add(channel);
+            return promise.setSuccess(null);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
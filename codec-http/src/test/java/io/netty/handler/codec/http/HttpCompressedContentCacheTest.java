@@ -0,0 +1,160 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.compression.StandardCompressionOptions;
+import io.netty.util.CharsetUtil;
+import io.netty.util.ReferenceCountUtil;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HttpCompressedContentCacheTest {
+
+    private static final String HELLO_GZIP = "1f8b0800000000000000f248cdc9c9d75108cf2fca4901000000ffff" +
+            "0300c6865b260c000000";
+
+    @Test
+    public void testEviction() {
+        HttpCompressedContentCache cache = new HttpCompressedContentCache(8, 4);
+        ReferenceCountUtil.release(cache.put("a", "gzip", Unpooled.wrappedBuffer(new byte[4])));
+        ReferenceCountUtil.release(cache.put("b", "gzip", Unpooled.wrappedBuffer(new byte[4])));
+        // Touch "a" so "b" is the least recently used entry.
+        ReferenceCountUtil.release(cache.get("a", "gzip"));
+        ReferenceCountUtil.release(cache.put("c", "gzip", Unpooled.wrappedBuffer(new byte[4])));
+
+        assertNull(cache.get("b", "gzip"));
+        ByteBuf a = cache.get("a", "gzip");
+        assertNotNull(a);
+        ReferenceCountUtil.release(a);
+        assertEquals(1, cache.evictions());
+        assertEquals(8, cache.size());
+        assertEquals(2, cache.entries());
+
+        // Too big to be cached.
+        assertNull(cache.put("d", "gzip", Unpooled.wrappedBuffer(new byte[5])));
+        assertEquals(2, cache.entries());
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testEvictedContentStaysValid() {
+        HttpCompressedContentCache cache = new HttpCompressedContentCache(4, 4);
+        ByteBuf a = cache.put("a", "gzip", Unpooled.wrappedBuffer(new byte[] { 1, 2, 3, 4 }));
+        ReferenceCountUtil.release(cache.put("b", "gzip", Unpooled.wrappedBuffer(new byte[4])));
+
+        assertEquals(1, cache.evictions());
+        assertEquals(Unpooled.wrappedBuffer(new byte[] { 1, 2, 3, 4 }), a);
+        assertTrue(a.release());
+        cache.clear();
+    }
+
+    @Test
+    public void testInvalidate() {
+        HttpCompressedContentCache cache = new HttpCompressedContentCache(1024);
+        ReferenceCountUtil.release(cache.put("a", "gzip", Unpooled.wrappedBuffer(new byte[4])));
+        ReferenceCountUtil.release(cache.put("a", "br", Unpooled.wrappedBuffer(new byte[4])));
+        ReferenceCountUtil.release(cache.put("b", "gzip", Unpooled.wrappedBuffer(new byte[4])));
+
+        cache.invalidate("a");
+        assertNull(cache.get("a", "gzip"));
+        assertNull(cache.get("a", "br"));
+        assertEquals(1, cache.entries());
+        assertEquals(4, cache.size());
+        cache.clear();
+    }
+
+    @Test
+    public void testServedFromCache() {
+        HttpCompressedContentCache cache = new HttpCompressedContentCache(1024);
+        for (int i = 0; i < 2; i++) {
+            EmbeddedChannel ch = new EmbeddedChannel(
+                    new HttpContentCompressor(0, cache, StandardCompressionOptions.gzip()));
+            assertEquals(HELLO_GZIP, writeResponse(ch, "\"v1\""));
+            assertFalse(ch.finish());
+        }
+        assertEquals(1, cache.misses());
+        assertEquals(1, cache.hits());
+        assertEquals(1, cache.entries());
+        cache.clear();
+    }
+
+    @Test
+    public void testWeakETagNotCached() {
+        HttpCompressedContentCache cache = new HttpCompressedContentCache(1024);
+        EmbeddedChannel ch = new EmbeddedChannel(
+                new HttpContentCompressor(0, cache, StandardCompressionOptions.gzip()));
+        assertEquals(HELLO_GZIP, writeResponse(ch, "W/\"v1\""));
+        assertFalse(ch.finish());
+        assertEquals(0, cache.misses());
+        assertEquals(0, cache.entries());
+    }
+
+    @Test
+    public void testDifferentTargetsNotShared() {
+        HttpCompressedContentCache cache = new HttpCompressedContentCache(1024);
+        EmbeddedChannel ch = new EmbeddedChannel(
+                new HttpContentCompressor(0, cache, StandardCompressionOptions.gzip()));
+        assertEquals(HELLO_GZIP, writeResponse(ch, "/a", "\"v1\""));
+        assertEquals(HELLO_GZIP, writeResponse(ch, "/b", "\"v1\""));
+        assertFalse(ch.finish());
+        assertEquals(2, cache.misses());
+        assertEquals(0, cache.hits());
+        assertEquals(2, cache.entries());
+        cache.clear();
+    }
+
+    private static String writeResponse(EmbeddedChannel ch, String etag) {
+        return writeResponse(ch, "/", etag);
+    }
+
+    private static String writeResponse(EmbeddedChannel ch, String uri, String etag) {
+        FullHttpRequest req = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, uri);
+        req.headers().set(HttpHeaderNames.HOST, "netty.io");
+        req.headers().set(HttpHeaderNames.ACCEPT_ENCODING, "gzip");
+        assertTrue(ch.writeInbound(req));
+        ReferenceCountUtil.release(ch.readInbound());
+
+        FullHttpResponse fullRes = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK,
+                Unpooled.copiedBuffer("Hello, World", CharsetUtil.US_ASCII));
+        fullRes.headers().set(HttpHeaderNames.CONTENT_LENGTH, fullRes.content().readableBytes());
+        fullRes.headers().set(HttpHeaderNames.ETAG, etag);
+        assertTrue(ch.writeOutbound(fullRes));
+
+        HttpResponse res = ch.readOutbound();
+        assertEquals("gzip", res.headers().get(HttpHeaderNames.CONTENT_ENCODING));
+        StringBuilder hex = new StringBuilder();
+        for (;;) {
+            HttpContent c = ch.readOutbound();
+            hex.append(ByteBufUtil.hexDump(c.content()));
+            c.release();
+            if (c instanceof LastHttpContent) {
+                break;
+            }
+        }
+        assertEquals(hex.length() / 2, HttpUtil.getContentLength(res));
+        return hex.toString();
+    }
+}
@@ -20,10 +20,13 @@ import com.aayushatharva.brotli4j.decoder.DirectDecompress;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
 import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.CompositeByteBuf;
 import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelFactory;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelInitializer;
@@ -39,14 +42,17 @@ import io.netty.handler.codec.DecoderResult;
 import io.netty.handler.codec.EncoderException;
 import io.netty.handler.codec.compression.Brotli;
 import io.netty.handler.codec.compression.CompressionOptions;
+import io.netty.handler.codec.compression.ZlibCodecFactory;
 import io.netty.handler.codec.compression.ZlibWrapper;
 import io.netty.util.CharsetUtil;
 import io.netty.util.ReferenceCountUtil;
 
+import java.io.InputStream;
 import java.util.UUID;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.EnabledIf;
@@ -62,6 +68,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -396,6 +403,44 @@ public class HttpContentCompressorTest {
         assertEquals(contentLengthHeaderValue, observedLength);
     }
 
+    @Test
+    public void testResultContentEncoder() throws Exception {
+        // Subclasses may still pass the EmbeddedChannel of the Result created by HttpContentCompressor on.
+        EmbeddedChannel ch = new EmbeddedChannel(new HttpContentCompressor() {
+            @Override
+            protected Result beginEncode(HttpResponse httpResponse, String acceptEncoding) throws Exception {
+                Result result = super.beginEncode(httpResponse, acceptEncoding);
+                return result == null ? null : new Result(result.targetContentEncoding(), result.contentEncoder());
+            }
+        });
+        ch.writeInbound(newRequest());
+
+        ch.writeOutbound(new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK,
+                Unpooled.copiedBuffer("Hello, World", CharsetUtil.US_ASCII)));
+
+        HttpResponse res = ch.readOutbound();
+        assertThat(res.headers().get(HttpHeaderNames.CONTENT_ENCODING), is("gzip"));
+        CompositeByteBuf compressed = Unpooled.compositeBuffer();
+        for (;;) {
+            HttpContent c = ch.readOutbound();
+            compressed.addComponent(true, c.content());
+            if (c instanceof LastHttpContent) {
+                break;
+            }
+        }
+        assertThat(ch.readOutbound(), is(nullValue()));
+
+        InputStream in = new GZIPInputStream(new ByteBufInputStream(compressed, true));
+        byte[] decompressed = new byte[32];
+        int length = 0;
+        for (int n; (n = in.read(decompressed, length, decompressed.length - length)) > 0;) {
+            length += n;
+        }
+        in.close();
+        assertEquals("Hello, World", new String(decompressed, 0, length, CharsetUtil.US_ASCII));
+        ch.finishAndReleaseAll();
+    }
+
     @Test
     public void testFullContent() throws Exception {
         EmbeddedChannel ch = new EmbeddedChannel(new HttpContentCompressor());
@@ -1102,4 +1147,46 @@ public class HttpContentCompressorTest {
             return this;
         }
     }
+
+    @Test
+    public void testEmbeddedChannelCompressorReset() throws Exception {
+        ChannelFactory<EmbeddedChannel> channelFactory = new ChannelFactory<EmbeddedChannel>() {
+            @Override
+            public EmbeddedChannel newChannel() {
+                return new EmbeddedChannel(ZlibCodecFactory.newZlibEncoder(ZlibWrapper.GZIP));
+            }
+        };
+        EmbeddedChannelCompressor compressor =
+                new EmbeddedChannelCompressor(channelFactory.newChannel(), channelFactory);
+        EmbeddedChannel first = compressor.channel();
+        assertCompressed("first", compressor);
+        assertTrue(compressor.isFinished());
+
+        compressor.reset();
+        assertNotSame(first, compressor.channel());
+        assertFalse(compressor.isFinished());
+        assertCompressed("second", compressor);
+        compressor.close();
+    }
+
+    private static void assertCompressed(String expected, EmbeddedChannelCompressor compressor) throws Exception {
+        ByteBuf in = Unpooled.copiedBuffer(expected, CharsetUtil.US_ASCII);
+        CompositeByteBuf compressed = Unpooled.compositeBuffer();
+        compressed.addComponent(true, compressor.compress(in, UnpooledByteBufAllocator.DEFAULT));
+        compressed.addComponent(true, compressor.finish(UnpooledByteBufAllocator.DEFAULT));
+        assertFalse(in.isReadable());
+        in.release();
+
+        InputStream is = new GZIPInputStream(new ByteBufInputStream(compressed, true));
+        try {
+            byte[] decompressed = new byte[expected.length() + 1];
+            int read = 0;
+            for (int n; (n = is.read(decompressed, read, decompressed.length - read)) > 0;) {
+                read += n;
+            }
+            assertEquals(expected, new String(decompressed, 0, read, CharsetUtil.US_ASCII));
+        } finally {
+            is.close();
+        }
+    }
 }
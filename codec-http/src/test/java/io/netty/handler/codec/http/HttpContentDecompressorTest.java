@@ -15,14 +15,24 @@
  */
 package io.netty.handler.codec.http;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.channel.ChannelFactory;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelOutboundHandlerAdapter;
 import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.compression.ZlibCodecFactory;
+import io.netty.handler.codec.compression.ZlibWrapper;
+import io.netty.util.CharsetUtil;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -70,4 +80,145 @@ public class HttpContentDecompressorTest {
         assertEquals(2, readCalled.get());
         assertFalse(channel.finishAndReleaseAll());
     }
+
+    @Test
+    public void testConcatenatedGzipMembersAreNotDecompressed() throws IOException {
+        EmbeddedChannel channel = new EmbeddedChannel(new HttpContentDecompressor());
+        HttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+        response.headers().set(HttpHeaderNames.CONTENT_ENCODING, "gzip");
+        response.headers().set(HttpHeaderNames.TRANSFER_ENCODING, HttpHeaderValues.CHUNKED);
+        assertTrue(channel.writeInbound(response));
+        assertTrue(channel.readInbound() instanceof HttpResponse);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        gzip(bytes, "hello ");
+        gzip(bytes, "world");
+        channel.writeInbound(new DefaultLastHttpContent(Unpooled.wrappedBuffer(bytes.toByteArray())));
+
+        // Only the first member is decompressed, like ZlibCodecFactory.newZlibDecoder(ZlibWrapper.GZIP) does.
+        StringBuilder content = new StringBuilder();
+        for (;;) {
+            HttpContent httpContent = channel.readInbound();
+            if (httpContent == null) {
+                break;
+            }
+            ByteBuf buf = httpContent.content();
+            content.append(buf.toString(CharsetUtil.US_ASCII));
+            httpContent.release();
+        }
+        assertEquals("hello ", content.toString());
+        assertFalse(channel.finishAndReleaseAll());
+    }
+
+    @Test
+    public void testOverriddenNewContentDecoderIsUsed() {
+        EmbeddedChannel channel = new EmbeddedChannel(new HttpContentDecompressor() {
+            @Override
+            protected EmbeddedChannel newContentDecoder(String contentEncoding) throws Exception {
+                if ("gzip".equals(contentEncoding)) {
+                    // Pass the content through as is.
+                    return new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+                }
+                return super.newContentDecoder(contentEncoding);
+            }
+        });
+        HttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+        response.headers().set(HttpHeaderNames.CONTENT_ENCODING, "gzip");
+        response.headers().set(HttpHeaderNames.TRANSFER_ENCODING, HttpHeaderValues.CHUNKED);
+        assertTrue(channel.writeInbound(response));
+        HttpResponse decoded = channel.readInbound();
+        assertFalse(decoded.headers().contains(HttpHeaderNames.CONTENT_ENCODING));
+
+        assertTrue(channel.writeInbound(new DefaultLastHttpContent(
+                Unpooled.copiedBuffer("not compressed", CharsetUtil.US_ASCII))));
+        HttpContent content = channel.readInbound();
+        assertEquals("not compressed", content.content().toString(CharsetUtil.US_ASCII));
+        content.release();
+        LastHttpContent last = channel.readInbound();
+        last.release();
+        assertFalse(channel.finishAndReleaseAll());
+    }
+
+    @Test
+    public void testEmbeddedChannelDecompressorReset() throws IOException {
+        final AtomicInteger channels = new AtomicInteger();
+        ChannelFactory<EmbeddedChannel> channelFactory = new ChannelFactory<EmbeddedChannel>() {
+            @Override
+            public EmbeddedChannel newChannel() {
+                channels.incrementAndGet();
+                return new EmbeddedChannel(ZlibCodecFactory.newZlibDecoder(ZlibWrapper.GZIP));
+            }
+        };
+        EmbeddedChannelDecompressor decompressor =
+                new EmbeddedChannelDecompressor(channelFactory.newChannel(), channelFactory);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        gzip(out, "first");
+        assertDecompressed("first", decompressor, out.toByteArray());
+
+        decompressor.reset();
+        assertEquals(2, channels.get());
+        assertFalse(decompressor.isFinished());
+        out.reset();
+        gzip(out, "second");
+        assertDecompressed("second", decompressor, out.toByteArray());
+        decompressor.close();
+        assertTrue(decompressor.isFinished());
+    }
+
+    @Test
+    public void testEmbeddedChannelDecompressorBoundedOutput() throws IOException {
+        ChannelFactory<EmbeddedChannel> channelFactory = new ChannelFactory<EmbeddedChannel>() {
+            @Override
+            public EmbeddedChannel newChannel() {
+                return new EmbeddedChannel(ZlibCodecFactory.newZlibDecoder(ZlibWrapper.GZIP));
+            }
+        };
+        EmbeddedChannelDecompressor decompressor =
+                new EmbeddedChannelDecompressor(channelFactory.newChannel(), channelFactory);
+        byte[] content = new byte[64 * 1024];
+        new Random(42).nextBytes(content);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GZIPOutputStream gzip = new GZIPOutputStream(out);
+        gzip.write(content);
+        gzip.finish();
+
+        ByteBuf in = Unpooled.wrappedBuffer(out.toByteArray());
+        int maxOutputLength = 4096;
+        int decompressedBytes = 0;
+        for (;;) {
+            ByteBuf decompressed = decompressor.decompress(in, UnpooledByteBufAllocator.DEFAULT, maxOutputLength);
+            if (!decompressed.isReadable()) {
+                decompressed.release();
+                break;
+            }
+            assertTrue(decompressed.readableBytes() <= maxOutputLength);
+            if (decompressedBytes == 0) {
+                // The input is decompressed incrementally.
+                assertTrue(in.isReadable());
+            }
+            ByteBuf expected = Unpooled.wrappedBuffer(content, decompressedBytes, decompressed.readableBytes());
+            assertEquals(expected, decompressed);
+            decompressedBytes += decompressed.readableBytes();
+            decompressed.release();
+        }
+        assertEquals(content.length, decompressedBytes);
+        assertFalse(in.isReadable());
+        in.release();
+        decompressor.close();
+    }
+
+    private static void assertDecompressed(String expected, EmbeddedChannelDecompressor decompressor, byte[] input) {
+        ByteBuf in = Unpooled.wrappedBuffer(input);
+        ByteBuf decompressed = decompressor.decompress(in, UnpooledByteBufAllocator.DEFAULT);
+        assertFalse(in.isReadable());
+        assertEquals(expected, decompressed.toString(CharsetUtil.US_ASCII));
+        decompressed.release();
+        in.release();
+    }
+
+    private static void gzip(ByteArrayOutputStream out, String content) throws IOException {
+        GZIPOutputStream gzip = new GZIPOutputStream(out);
+        gzip.write(content.getBytes(CharsetUtil.US_ASCII));
+        gzip.finish();
+    }
 }
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http;
+
+import io.netty.handler.codec.DateFormatter;
+import io.netty.util.AsciiString;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class HttpDateCacheTest {
+
+    @Test
+    public void testDateIsCachedPerSecond() {
+        HttpDateCache cache = new HttpDateCache();
+        AsciiString date = cache.date(784111777000L);
+        assertEquals("Sun, 06 Nov 1994 08:49:37 GMT", date.toString());
+        assertSame(date, cache.date(784111777999L));
+
+        AsciiString next = cache.date(784111778000L);
+        assertEquals("Sun, 06 Nov 1994 08:49:38 GMT", next.toString());
+        assertSame(next, cache.date(784111778500L));
+    }
+
+    @Test
+    public void testCurrentDate() {
+        AsciiString date = HttpDateCache.currentDate();
+        assertNotNull(DateFormatter.parseHttpDate(date));
+        assertEquals(29, date.length());
+    }
+}
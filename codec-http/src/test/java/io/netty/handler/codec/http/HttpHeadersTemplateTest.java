@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.CharsetUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HttpHeadersTemplateTest {
+
+    private static final HttpHeadersTemplate TEMPLATE = new HttpHeadersTemplate(new DefaultHttpHeaders()
+            .add(HttpHeaderNames.SERVER, "Netty")
+            .add(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.TEXT_PLAIN)
+            .add("X-Frame-Options", "DENY"));
+
+    @Test
+    public void testEncodeResponse() {
+        ByteBuf content = Unpooled.copiedBuffer("Hello", CharsetUtil.US_ASCII);
+        FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK,
+                content, TEMPLATE, DefaultHttpHeadersFactory.trailersFactory());
+        response.headers().setInt(HttpHeaderNames.CONTENT_LENGTH, content.readableBytes());
+
+        EmbeddedChannel channel = new EmbeddedChannel(new HttpResponseEncoder());
+        assertTrue(channel.writeOutbound(response));
+        ByteBuf out = Unpooled.buffer();
+        for (;;) {
+            ByteBuf buf = channel.readOutbound();
+            if (buf == null) {
+                break;
+            }
+            out.writeBytes(buf);
+            buf.release();
+        }
+        assertEquals("HTTP/1.1 200 OK\r\n" +
+                "server: Netty\r\n" +
+                "content-type: text/plain\r\n" +
+                "X-Frame-Options: DENY\r\n" +
+                "content-length: 5\r\n\r\n" +
+                "Hello", out.toString(CharsetUtil.US_ASCII));
+        out.release();
+        assertFalse(((LazyHttpHeaders) response.headers()).isMaterialized());
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testHeadersAreIndependent() {
+        HttpHeaders first = TEMPLATE.newHeaders();
+        HttpHeaders second = TEMPLATE.newHeaders();
+        first.add("X-Frame-Options", "SAMEORIGIN");
+        first.set(HttpHeaderNames.DATE, "now");
+        second.remove(HttpHeaderNames.SERVER);
+
+        assertEquals(5, first.size());
+        assertEquals(Arrays.asList("DENY", "SAMEORIGIN"), first.getAll("x-frame-options"));
+        assertEquals("now", first.get(HttpHeaderNames.DATE));
+        assertEquals("Netty", first.get(HttpHeaderNames.SERVER));
+        assertFalse(((LazyHttpHeaders) first).isMaterialized());
+
+        assertEquals(2, second.size());
+        assertNull(second.get(HttpHeaderNames.SERVER));
+        assertNull(second.get(HttpHeaderNames.DATE));
+        assertTrue(((LazyHttpHeaders) second).isMaterialized());
+
+        assertEquals(3, TEMPLATE.size());
+        assertEquals(3, TEMPLATE.newHeaders().size());
+    }
+
+    @Test
+    public void testReplaceTemplateHeader() {
+        HttpHeaders headers = TEMPLATE.newHeaders();
+        headers.set(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON);
+        assertEquals(3, headers.size());
+        assertEquals("application/json", headers.get(HttpHeaderNames.CONTENT_TYPE));
+        assertEquals("text/plain", TEMPLATE.newHeaders().get(HttpHeaderNames.CONTENT_TYPE));
+    }
+
+    @Test
+    public void testInvalidHeaderIsRejected() {
+        assertThrows(IllegalArgumentException.class, new Executable() {
+            @Override
+            public void execute() {
+                new HttpHeadersTemplate(new DefaultHttpHeaders(false).add("X-Bad", "a\r\nb"));
+            }
+        });
+        assertThrows(IllegalArgumentException.class, new Executable() {
+            @Override
+            public void execute() {
+                TEMPLATE.newHeaders().add("X-Bad", "a\r\nb");
+            }
+        });
+    }
+}
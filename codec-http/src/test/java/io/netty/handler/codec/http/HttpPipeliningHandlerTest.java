@@ -0,0 +1,218 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.CharsetUtil;
+import org.junit.jupiter.api.Test;
+
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HttpPipeliningHandlerTest {
+
+    private final List<HttpPipelinedRequest> requests = new ArrayList<HttpPipelinedRequest>();
+    private int reads;
+
+    @Test
+    public void testResponsesAreWrittenInOrder() {
+        EmbeddedChannel channel = newChannel(8);
+        channel.writeInbound(request("/0"), request("/1"), request("/2"));
+        assertEquals(3, requests.size());
+
+        ChannelFuture second = channel.write(response(requests.get(2)));
+        ChannelFuture first = channel.write(response(requests.get(1)));
+        channel.flush();
+        assertNull(channel.readOutbound());
+        assertFalse(first.isDone());
+        assertFalse(second.isDone());
+
+        channel.writeAndFlush(response(requests.get(0)));
+        assertResponse(channel, "/0");
+        assertResponse(channel, "/1");
+        assertResponse(channel, "/2");
+        assertTrue(first.isSuccess());
+        assertTrue(second.isSuccess());
+        assertEquals(0, channel.pipeline().get(HttpPipeliningHandler.class).inFlightRequests());
+        releaseRequests();
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testStreamedResponse() {
+        EmbeddedChannel channel = newChannel(8);
+        channel.writeInbound(request("/0"), request("/1"));
+        HttpPipelinedRequest first = requests.get(0);
+        HttpPipelinedRequest second = requests.get(1);
+
+        channel.write(second.response(new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK)));
+        channel.write(second.response(new DefaultLastHttpContent(
+                Unpooled.copiedBuffer("/1", CharsetUtil.US_ASCII))));
+        channel.writeAndFlush(first.response(new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK)));
+        assertInstanceOf(HttpResponse.class, channel.readOutbound());
+        assertNull(channel.readOutbound());
+
+        channel.writeAndFlush(first.response(new DefaultLastHttpContent(
+                Unpooled.copiedBuffer("/0", CharsetUtil.US_ASCII))));
+        assertContent(channel, "/0");
+        assertInstanceOf(HttpResponse.class, channel.readOutbound());
+        assertContent(channel, "/1");
+        releaseRequests();
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testRequestsAreHeldBackIfTooManyAreInFlight() {
+        EmbeddedChannel channel = newChannel(2);
+        int readsBefore = reads;
+        channel.writeInbound(request("/0"), request("/1"), request("/2"));
+        assertEquals(2, requests.size());
+        assertEquals(readsBefore, reads);
+
+        channel.writeAndFlush(response(requests.get(1)));
+        assertEquals(2, requests.size());
+
+        channel.writeAndFlush(response(requests.get(0)));
+        assertEquals(3, requests.size());
+        assertEquals(2, requests.get(2).sequence());
+        assertEquals(readsBefore + 1, reads);
+        assertResponse(channel, "/0");
+        assertResponse(channel, "/1");
+
+        channel.writeAndFlush(response(requests.get(2)));
+        assertResponse(channel, "/2");
+        releaseRequests();
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testAutoReadIsDisabledWhileRequestsAreHeldBack() {
+        EmbeddedChannel channel = newChannel(2);
+        assertTrue(channel.config().isAutoRead());
+        channel.writeInbound(request("/0"), request("/1"), request("/2"), request("/3"));
+        assertEquals(2, requests.size());
+        // The transport would keep reading if auto reading stayed enabled.
+        assertFalse(channel.config().isAutoRead());
+
+        channel.writeAndFlush(response(requests.get(0)));
+        assertEquals(3, requests.size());
+        assertFalse(channel.config().isAutoRead());
+
+        channel.writeAndFlush(response(requests.get(1)));
+        assertEquals(4, requests.size());
+        assertTrue(channel.config().isAutoRead());
+
+        channel.writeAndFlush(response(requests.get(2)));
+        channel.writeAndFlush(response(requests.get(3)));
+        for (int i = 0; i < 4; i++) {
+            assertResponse(channel, "/" + i);
+        }
+        releaseRequests();
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testUnknownSequenceIsRejected() {
+        EmbeddedChannel channel = newChannel(8);
+        channel.writeInbound(request("/0"));
+        FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+        ChannelFuture future = channel.writeAndFlush(new HttpPipelinedResponse(response, 1));
+        assertInstanceOf(IllegalStateException.class, future.cause());
+        assertEquals(0, response.refCnt());
+        releaseRequests();
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testCloseReleasesPendingMessages() {
+        EmbeddedChannel channel = newChannel(1);
+        channel.writeInbound(request("/0"), request("/1"));
+        assertEquals(1, requests.size());
+
+        FullHttpRequest pendingRequest = request("/2");
+        channel.writeInbound(pendingRequest);
+        assertEquals(1, requests.size());
+        assertFalse(channel.finish());
+        assertEquals(0, pendingRequest.refCnt());
+        releaseRequests();
+    }
+
+    @Test
+    public void testCloseFailsBufferedResponses() {
+        EmbeddedChannel channel = newChannel(8);
+        channel.writeInbound(request("/0"), request("/1"));
+        HttpPipelinedResponse response = response(requests.get(1));
+        ChannelFuture future = channel.writeAndFlush(response);
+        assertFalse(channel.finish());
+        assertInstanceOf(ClosedChannelException.class, future.cause());
+        assertEquals(0, response.refCnt());
+        releaseRequests();
+    }
+
+    private EmbeddedChannel newChannel(int maxInFlightRequests) {
+        return new EmbeddedChannel(new ChannelOutboundHandlerAdapter() {
+            @Override
+            public void read(ChannelHandlerContext ctx) throws Exception {
+                reads++;
+                ctx.read();
+            }
+        }, new HttpPipeliningHandler(maxInFlightRequests), new ChannelInboundHandlerAdapter() {
+            @Override
+            public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                requests.add((HttpPipelinedRequest) msg);
+            }
+        });
+    }
+
+    private void releaseRequests() {
+        for (HttpPipelinedRequest request : requests) {
+            request.release();
+        }
+    }
+
+    private static FullHttpRequest request(String uri) {
+        return new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, uri);
+    }
+
+    private static HttpPipelinedResponse response(HttpPipelinedRequest request) {
+        return request.response(new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK,
+                Unpooled.copiedBuffer(request.request().uri(), CharsetUtil.US_ASCII)));
+    }
+
+    private static void assertResponse(EmbeddedChannel channel, String content) {
+        FullHttpResponse response = channel.readOutbound();
+        assertEquals(content, response.content().toString(CharsetUtil.US_ASCII));
+        response.release();
+    }
+
+    private static void assertContent(EmbeddedChannel channel, String content) {
+        LastHttpContent last = channel.readOutbound();
+        assertEquals(content, last.content().toString(CharsetUtil.US_ASCII));
+        last.release();
+    }
+}
@@ -17,8 +17,13 @@ package io.netty.handler.codec.http;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
 import io.netty.channel.FileRegion;
 import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.EncoderException;
 import io.netty.util.CharsetUtil;
 import org.junit.jupiter.api.Test;
 
@@ -29,6 +34,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -401,4 +407,137 @@ public class HttpResponseEncoderTest {
         assertEquals(responseText.toString(), written.toString());
         assertFalse(channel.finish());
     }
+
+    @Test
+    public void testChunkCoalescing() {
+        HttpResponseEncoder encoder = new HttpResponseEncoder();
+        encoder.setChunkCoalescingThreshold(16);
+        EmbeddedChannel channel = new EmbeddedChannel(encoder);
+        HttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+        response.headers().set(HttpHeaderNames.TRANSFER_ENCODING, HttpHeaderValues.CHUNKED);
+        ChannelFuture headersFuture = channel.write(response);
+        ChannelFuture firstFuture = channel.write(new DefaultHttpContent(
+                Unpooled.copiedBuffer("data: 1\n\n", CharsetUtil.US_ASCII)));
+        channel.write(Unpooled.copiedBuffer("data: 2\n\n", CharsetUtil.US_ASCII));
+        channel.write(new DefaultHttpContent(Unpooled.EMPTY_BUFFER));
+        assertFalse(headersFuture.isDone());
+        assertFalse(firstFuture.isDone());
+        assertNull(channel.readOutbound());
+
+        channel.flush();
+        assertTrue(headersFuture.isSuccess());
+        assertTrue(firstFuture.isSuccess());
+        ByteBuf buffer = channel.readOutbound();
+        assertEquals("HTTP/1.1 200 OK\r\n" + HttpHeaderNames.TRANSFER_ENCODING + ": " + HttpHeaderValues.CHUNKED +
+                "\r\n\r\n9\r\ndata: 1\n\n\r\n9\r\ndata: 2\n\n\r\n", buffer.toString(CharsetUtil.US_ASCII));
+        buffer.release();
+        assertNull(channel.readOutbound());
+
+        ByteBuf large = Unpooled.copiedBuffer("data: larger than the threshold\n\n", CharsetUtil.US_ASCII);
+        LastHttpContent last = new DefaultLastHttpContent();
+        last.trailingHeaders().set("X-Checksum", "abc");
+        ChannelFuture largeFuture = channel.write(new DefaultHttpContent(large.retain()));
+        ChannelFuture lastFuture = channel.write(last);
+        channel.flush();
+        assertTrue(largeFuture.isSuccess());
+        assertTrue(lastFuture.isSuccess());
+        buffer = channel.readOutbound();
+        assertEquals("21\r\n", buffer.toString(CharsetUtil.US_ASCII));
+        buffer.release();
+        buffer = channel.readOutbound();
+        assertSame(large, buffer);
+        buffer.release();
+        buffer = channel.readOutbound();
+        assertEquals("\r\n0\r\nX-Checksum: abc\r\n\r\n", buffer.toString(CharsetUtil.US_ASCII));
+        buffer.release();
+        large.release();
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testChunkCoalescingKeepsOrder() {
+        HttpResponseEncoder encoder = new HttpResponseEncoder();
+        encoder.setChunkCoalescingThreshold(16);
+        EmbeddedChannel channel = new EmbeddedChannel(encoder);
+        HttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+        response.headers().set(HttpHeaderNames.TRANSFER_ENCODING, HttpHeaderValues.CHUNKED);
+        channel.write(response);
+        channel.write(new DefaultHttpContent(Unpooled.copiedBuffer("abc", CharsetUtil.US_ASCII)));
+        assertTrue(channel.writeOutbound(FILE_REGION));
+
+        ByteBuf buffer = channel.readOutbound();
+        assertTrue(buffer.toString(CharsetUtil.US_ASCII).endsWith("\r\n\r\n3\r\nabc\r\n"));
+        buffer.release();
+        buffer = channel.readOutbound();
+        assertEquals("80000000\r\n", buffer.toString(CharsetUtil.US_ASCII));
+        buffer.release();
+        FileRegion region = channel.readOutbound();
+        assertSame(FILE_REGION, region);
+        region.release();
+        buffer = channel.readOutbound();
+        assertEquals("\r\n", buffer.toString(CharsetUtil.US_ASCII));
+        buffer.release();
+
+        assertTrue(channel.writeOutbound(LastHttpContent.EMPTY_LAST_CONTENT));
+        buffer = channel.readOutbound();
+        assertEquals("0\r\n\r\n", buffer.toString(CharsetUtil.US_ASCII));
+        buffer.release();
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testChunkCoalescingFailedContentWrite() {
+        final ByteBuf large = Unpooled.copiedBuffer("data: larger than the threshold\n\n", CharsetUtil.US_ASCII);
+        HttpResponseEncoder encoder = new HttpResponseEncoder();
+        encoder.setChunkCoalescingThreshold(16);
+        EmbeddedChannel channel = new EmbeddedChannel(new ChannelOutboundHandlerAdapter() {
+            @Override
+            public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+                if (msg == large) {
+                    large.release();
+                    promise.setFailure(new IOException("expected"));
+                } else {
+                    ctx.write(msg, promise);
+                }
+            }
+        }, encoder);
+        HttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+        response.headers().set(HttpHeaderNames.TRANSFER_ENCODING, HttpHeaderValues.CHUNKED);
+        channel.write(response);
+        ChannelFuture largeFuture = channel.write(new DefaultHttpContent(large));
+        channel.flush();
+        assertTrue(largeFuture.cause() instanceof IOException);
+        assertTrue(channel.finishAndReleaseAll());
+    }
+
+    @Test
+    public void testChunkCoalescingFailedTrailers() {
+        HttpResponseEncoder encoder = new HttpResponseEncoder() {
+            @Override
+            protected void encodeHeaders(HttpHeaders headers, ByteBuf buf) {
+                if (headers.contains("X-Fail")) {
+                    throw new IllegalStateException("expected");
+                }
+                super.encodeHeaders(headers, buf);
+            }
+        };
+        encoder.setChunkCoalescingThreshold(16);
+        EmbeddedChannel channel = new EmbeddedChannel(encoder);
+        HttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+        response.headers().set(HttpHeaderNames.TRANSFER_ENCODING, HttpHeaderValues.CHUNKED);
+        ChannelFuture headersFuture = channel.write(response);
+        ChannelFuture chunkFuture = channel.write(new DefaultHttpContent(
+                Unpooled.copiedBuffer("abc", CharsetUtil.US_ASCII)));
+        LastHttpContent last = new DefaultLastHttpContent();
+        last.trailingHeaders().set("X-Fail", "true");
+        ChannelFuture lastFuture = channel.write(last);
+
+        // The partially coalesced buffer was released and the writes coalesced into it failed.
+        assertTrue(lastFuture.cause() instanceof EncoderException);
+        assertTrue(headersFuture.cause() instanceof IllegalStateException);
+        assertTrue(chunkFuture.cause() instanceof IllegalStateException);
+        channel.flush();
+        assertNull(channel.readOutbound());
+        assertFalse(channel.finish());
+    }
 }
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class HttpRouterTest {
+
+    private static HttpRouter<String> newRouter() {
+        return new HttpRouter<String>()
+                .addRoute(HttpMethod.GET, "/", "index")
+                .addRoute(HttpMethod.GET, "/users", "users")
+                .addRoute(HttpMethod.POST, "/users", "createUser")
+                .addRoute(HttpMethod.GET, "/users/new", "newUser")
+                .addRoute(HttpMethod.GET, "/users/:id", "user")
+                .addRoute(HttpMethod.DELETE, "/users/:id", "deleteUser")
+                .addRoute(HttpMethod.GET, "/users/:id/posts/:post", "post")
+                .addRoute(HttpMethod.GET, "/usage", "usage")
+                .addRoute(HttpMethod.GET, "/static/*file", "static")
+                .addRoute(HttpMethod.GET, "/static/index.html", "staticIndex");
+    }
+
+    @Test
+    public void testStaticRoutes() {
+        HttpRouter<String> router = newRouter();
+        assertEquals("index", router.route(HttpMethod.GET, "/").target());
+        assertEquals("users", router.route(HttpMethod.GET, "/users").target());
+        assertEquals("createUser", router.route(HttpMethod.POST, "/users").target());
+        assertEquals("usage", router.route(HttpMethod.GET, "/usage").target());
+        assertEquals("newUser", router.route(HttpMethod.GET, "/users/new").target());
+        assertEquals("staticIndex", router.route(HttpMethod.GET, "/static/index.html").target());
+        assertNull(router.route(HttpMethod.GET, "/use"));
+        assertNull(router.route(HttpMethod.GET, "/users/"));
+        assertNull(router.route(HttpMethod.GET, "/unknown"));
+        assertNull(router.route(HttpMethod.PUT, "/users"));
+    }
+
+    @Test
+    public void testParams() {
+        HttpRouter<String> router = newRouter();
+        HttpRouteMatch<String> match = router.route(HttpMethod.GET, "/users/42/posts/hello%20world");
+        assertEquals("post", match.target());
+        assertEquals("42", match.param("id"));
+        assertEquals("hello world", match.param("post"));
+        assertNull(match.param("file"));
+        assertEquals("/users/42/posts/hello world", match.path());
+
+        match = router.route(HttpMethod.DELETE, "/users/new");
+        assertEquals("deleteUser", match.target());
+        assertEquals("new", match.param("id"));
+
+        match = router.route(HttpMethod.GET, "/users/a+b");
+        assertEquals("user", match.target());
+        assertEquals("a+b", match.param("id"));
+    }
+
+    @Test
+    public void testBacktracking() {
+        HttpRouter<String> router = new HttpRouter<String>()
+                .addRoute(HttpMethod.GET, "/a/b/c", "static")
+                .addRoute(HttpMethod.GET, "/a/:x/d", "param")
+                .addRoute(HttpMethod.GET, "/a/*rest", "wildcard");
+        assertEquals("static", router.route(HttpMethod.GET, "/a/b/c").target());
+        HttpRouteMatch<String> match = router.route(HttpMethod.GET, "/a/b/d");
+        assertEquals("param", match.target());
+        assertEquals("b", match.param("x"));
+        match = router.route(HttpMethod.GET, "/a/b/e");
+        assertEquals("wildcard", match.target());
+        assertEquals("b/e", match.param("rest"));
+        assertNull(match.param("x"));
+    }
+
+    @Test
+    public void testWildcard() {
+        HttpRouter<String> router = newRouter();
+        HttpRouteMatch<String> match = router.route(HttpMethod.GET, "/static/css/site.css");
+        assertEquals("static", match.target());
+        assertEquals("css/site.css", match.param("file"));
+        match = router.route(HttpMethod.GET, "/static/");
+        assertEquals("static", match.target());
+        assertEquals("", match.param("file"));
+        assertNull(router.route(HttpMethod.GET, "/static"));
+    }
+
+    @Test
+    public void testQuery() {
+        HttpRouter<String> router = newRouter();
+        HttpRouteMatch<String> match = router.route(HttpMethod.GET, "/users/7?fields=name&fields=email&q=a%20b#top");
+        assertEquals("user", match.target());
+        assertEquals("7", match.param("id"));
+        assertEquals(Arrays.asList("name", "email"), match.queryParameters().get("fields"));
+        assertEquals("a b", match.queryParameter("q"));
+        assertNull(match.queryParameter("missing"));
+
+        assertEquals("users", router.route(HttpMethod.GET, "/users?page=2").target());
+        assertEquals("index", router.route(HttpMethod.GET, "/#top").target());
+    }
+
+    @Test
+    public void testAbsoluteForm() {
+        HttpRouter<String> router = newRouter();
+        HttpRouteMatch<String> match = router.route(HttpMethod.GET, "http://example.com:8080/users/3?x=1");
+        assertEquals("user", match.target());
+        assertEquals("3", match.param("id"));
+        assertEquals("1", match.queryParameter("x"));
+        assertEquals("index", router.route(HttpMethod.GET, "http://example.com").target());
+        assertEquals("index", router.route(HttpMethod.GET, "http://example.com?x=/users").target());
+    }
+
+    @Test
+    public void testRouteRequest() {
+        HttpRouter<String> router = newRouter();
+        HttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.DELETE, "/users/5");
+        HttpRouteMatch<String> match = router.route(request);
+        assertEquals("deleteUser", match.target());
+        assertEquals("5", match.param("id"));
+    }
+
+    @Test
+    public void testAllowedMethods() {
+        HttpRouter<String> router = newRouter();
+        assertEquals(new HashSet<HttpMethod>(Arrays.asList(HttpMethod.GET, HttpMethod.POST)),
+                router.allowedMethods("/users"));
+        assertEquals(new HashSet<HttpMethod>(Arrays.asList(HttpMethod.GET, HttpMethod.DELETE)),
+                router.allowedMethods("/users/9"));
+        assertEquals(Collections.emptySet(), router.allowedMethods("/unknown"));
+    }
+
+    @Test
+    public void testInvalidRoutes() {
+        final HttpRouter<String> router = newRouter();
+        assertThrows(IllegalArgumentException.class, new Executable() {
+            @Override
+            public void execute() {
+                router.addRoute(HttpMethod.GET, "/users/:id", "duplicate");
+            }
+        });
+        assertThrows(IllegalArgumentException.class, new Executable() {
+            @Override
+            public void execute() {
+                router.addRoute(HttpMethod.GET, "/users/:name/profile", "conflict");
+            }
+        });
+        assertThrows(IllegalArgumentException.class, new Executable() {
+            @Override
+            public void execute() {
+                router.addRoute(HttpMethod.GET, "users", "relative");
+            }
+        });
+        assertThrows(IllegalArgumentException.class, new Executable() {
+            @Override
+            public void execute() {
+                router.addRoute(HttpMethod.GET, "/files/*", "unnamed");
+            }
+        });
+        assertThrows(IllegalArgumentException.class, new Executable() {
+            @Override
+            public void execute() {
+                router.addRoute(HttpMethod.GET, "/files/*name/more", "notLast");
+            }
+        });
+        // A colon which does not start a segment is static text.
+        router.addRoute(HttpMethod.GET, "/time/12:00", "noon");
+        assertEquals("noon", router.route(HttpMethod.GET, "/time/12:00").target());
+    }
+}
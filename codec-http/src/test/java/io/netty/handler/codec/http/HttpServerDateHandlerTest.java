@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.CharsetUtil;
+import io.netty.util.ReferenceCountUtil;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HttpServerDateHandlerTest {
+
+    @Test
+    public void testDateIsAdded() {
+        EmbeddedChannel channel = new EmbeddedChannel(HttpServerDateHandler.INSTANCE);
+        HttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+        assertTrue(channel.writeOutbound(response));
+        HttpResponse written = channel.readOutbound();
+        assertSame(response, written);
+        assertNotNull(written.headers().get(HttpHeaderNames.DATE));
+        assertFalse(channel.finishAndReleaseAll());
+    }
+
+    @Test
+    public void testExistingDateIsKept() {
+        EmbeddedChannel channel = new EmbeddedChannel(HttpServerDateHandler.INSTANCE);
+        HttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+        response.headers().set(HttpHeaderNames.DATE, "Sun, 06 Nov 1994 08:49:37 GMT");
+        assertTrue(channel.writeOutbound(response));
+        HttpResponse written = channel.readOutbound();
+        assertEquals("Sun, 06 Nov 1994 08:49:37 GMT", written.headers().get(HttpHeaderNames.DATE));
+        assertFalse(channel.finishAndReleaseAll());
+    }
+
+    @Test
+    public void testInformationalResponseIsUntouched() {
+        EmbeddedChannel channel = new EmbeddedChannel(HttpServerDateHandler.INSTANCE);
+        HttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.CONTINUE);
+        assertTrue(channel.writeOutbound(response));
+        HttpResponse written = channel.readOutbound();
+        assertFalse(written.headers().contains(HttpHeaderNames.DATE));
+        assertFalse(channel.finishAndReleaseAll());
+    }
+
+    @Test
+    public void testDateAddedByServerCodec() {
+        HttpServerCodec codec = new HttpServerCodec();
+        codec.setDateHeaderEnabled(true);
+        EmbeddedChannel channel = new EmbeddedChannel(codec);
+        assertTrue(channel.writeInbound(Unpooled.copiedBuffer("GET / HTTP/1.1\r\n\r\n", CharsetUtil.US_ASCII)));
+        ReferenceCountUtil.release(channel.readInbound());
+        ReferenceCountUtil.release(channel.readInbound());
+
+        HttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+        response.headers().set(HttpHeaderNames.CONTENT_LENGTH, 0);
+        assertTrue(channel.writeOutbound(response));
+        ByteBuf encoded = channel.readOutbound();
+        String headers = encoded.toString(CharsetUtil.US_ASCII);
+        encoded.release();
+        assertTrue(headers.contains("\r\ndate: "), headers);
+        assertFalse(channel.finishAndReleaseAll());
+    }
+}
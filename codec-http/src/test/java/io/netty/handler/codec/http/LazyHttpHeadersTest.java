@@ -0,0 +1,130 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.CharsetUtil;
+import io.netty.util.ReferenceCountUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map.Entry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LazyHttpHeadersTest {
+
+    private static final String HEADERS = "Host: example.com\r\n" +
+            "Accept: text/html\r\n" +
+            "X-Multi: a\r\n" +
+            "Content-Length: 0\r\n" +
+            "x-multi: b\r\n";
+
+    @Test
+    public void testLookupsDoNotMaterialize() {
+        HttpRequest request = decode("GET / HTTP/1.1\r\n" + HEADERS + "\r\n");
+        LazyHttpHeaders headers = (LazyHttpHeaders) request.headers();
+        assertEquals(5, headers.size());
+        assertEquals("example.com", headers.get(HttpHeaderNames.HOST));
+        assertEquals("text/html", headers.get("accept"));
+        assertEquals(Arrays.asList("a", "b"), headers.getAll("X-MULTI"));
+        assertEquals(Collections.emptyList(), headers.getAll("missing"));
+        assertNull(headers.get("missing"));
+        assertTrue(headers.contains(HttpHeaderNames.CONTENT_LENGTH));
+        assertTrue(headers.contains("accept", "TEXT/HTML", true));
+        assertFalse(HttpUtil.isTransferEncodingChunked(request));
+        headers.remove("missing");
+
+        Iterator<Entry<CharSequence, CharSequence>> iterator = headers.iteratorCharSequence();
+        assertEquals("Host", iterator.next().getKey().toString());
+        assertEquals("text/html", iterator.next().getValue().toString());
+        assertFalse(headers.isMaterialized());
+    }
+
+    @Test
+    public void testModificationMaterializes() {
+        HttpRequest request = decode("GET / HTTP/1.1\r\n" + HEADERS + "\r\n");
+        LazyHttpHeaders headers = (LazyHttpHeaders) request.headers();
+        headers.remove("x-multi");
+        headers.add("X-Added", "c");
+        assertTrue(headers.isMaterialized());
+        assertEquals(4, headers.size());
+        assertEquals("example.com", headers.get(HttpHeaderNames.HOST));
+        assertFalse(headers.contains("X-Multi"));
+        assertEquals("c", headers.get("x-added"));
+    }
+
+    @Test
+    public void testContinuationLine() {
+        HttpRequest request = decode("GET / HTTP/1.1\r\nX-Folded: first\r\n \t second \r\nHost: example.com\r\n\r\n");
+        assertEquals("first second", request.headers().get("X-Folded"));
+        assertEquals("example.com", request.headers().get("Host"));
+    }
+
+    @Test
+    public void testInvalidValueIsRejected() {
+        EmbeddedChannel channel = newDecoderChannel();
+        assertTrue(channel.writeInbound(Unpooled.copiedBuffer(
+                "GET / HTTP/1.1\r\nX-Bad: a\u0000b\r\n\r\n", CharsetUtil.ISO_8859_1)));
+        HttpRequest request = channel.readInbound();
+        assertTrue(request.decoderResult().isFailure());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void testUnmodifiedHeadersAreCopiedWhenEncoded() {
+        HttpRequest request = decode("GET / HTTP/1.1\r\nHost:   example.com  \r\nAccept:text/html\r\n\r\n");
+        EmbeddedChannel channel = new EmbeddedChannel(new HttpRequestEncoder());
+        assertTrue(channel.writeOutbound(request));
+        ByteBuf encoded = channel.readOutbound();
+        assertEquals("GET / HTTP/1.1\r\nHost: example.com\r\nAccept: text/html\r\n\r\n",
+                encoded.toString(CharsetUtil.US_ASCII));
+        encoded.release();
+        assertFalse(((LazyHttpHeaders) request.headers()).isMaterialized());
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testCopy() {
+        HttpRequest request = decode("GET / HTTP/1.1\r\n" + HEADERS + "\r\n");
+        HttpHeaders copy = request.headers().copy();
+        request.headers().clear();
+        assertEquals(5, copy.size());
+        assertEquals(Arrays.asList("a", "b"), copy.getAll("x-multi"));
+    }
+
+    private static HttpRequest decode(String request) {
+        EmbeddedChannel channel = newDecoderChannel();
+        assertTrue(channel.writeInbound(Unpooled.copiedBuffer(request, CharsetUtil.US_ASCII)));
+        HttpRequest decoded = channel.readInbound();
+        assertTrue(decoded.decoderResult().isSuccess());
+        ReferenceCountUtil.release(channel.readInbound());
+        assertFalse(channel.finish());
+        return decoded;
+    }
+
+    private static EmbeddedChannel newDecoderChannel() {
+        return new EmbeddedChannel(new HttpRequestDecoder(new HttpDecoderConfig()
+                .setHeadersFactory(DefaultHttpHeadersFactory.headersFactory().withLazyParsing(true))));
+    }
+}
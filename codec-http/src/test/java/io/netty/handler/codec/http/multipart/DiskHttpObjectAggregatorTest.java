@@ -0,0 +1,146 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http.multipart;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.PrematureChannelClosureException;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.util.CharsetUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DiskHttpObjectAggregatorTest {
+
+    private File directory;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("netty-aggregator").toFile();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        assertTrue(directory.delete());
+    }
+
+    @Test
+    public void testSmallContentStaysInMemory() {
+        EmbeddedChannel channel = newChannel(1024, 16);
+        assertTrue(channel.writeInbound(newRequest(), content("0123456789", false), content("abcdef", true)));
+        FullHttpRequest request = channel.readInbound();
+        assertEquals("0123456789abcdef", request.content().toString(CharsetUtil.US_ASCII));
+        assertFalse(request.content().isDirect());
+        assertEquals(0, files());
+        request.release();
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testLargeContentIsSpilled() {
+        EmbeddedChannel channel = newChannel(1024, 16);
+        assertFalse(channel.writeInbound(newRequest(), content("0123456789", false), content("abcdefghij", false)));
+        assertEquals(1, files());
+        assertTrue(channel.writeInbound(content("ABCDEFGHIJ", true)));
+
+        FullHttpRequest request = channel.readInbound();
+        ByteBuf content = request.content();
+        assertEquals("0123456789abcdefghijABCDEFGHIJ", content.toString(CharsetUtil.US_ASCII));
+        assertEquals(30, HttpUtil.getContentLength(request));
+        assertEquals(1, ((CompositeByteBuf) content).numComponents());
+        assertTrue(content.isDirect());
+
+        // The mapping is private, so changing the content is possible and does not change the file.
+        content.setByte(0, 'X');
+        assertEquals('X', content.getByte(0));
+        assertEquals(1, files());
+        request.release();
+        assertEquals(0, files());
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testOversizedContentDeletesFile() {
+        EmbeddedChannel channel = newChannel(24, 16);
+        channel.writeInbound(newRequest(), content("0123456789", false), content("abcdefghij", false));
+        assertEquals(1, files());
+        channel.writeInbound(content("ABCDEFGHIJ", true));
+        assertEquals(0, files());
+        FullHttpResponse response = channel.readOutbound();
+        assertEquals(HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE, response.status());
+        response.release();
+        assertNull(channel.readInbound());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void testCloseDeletesFile() {
+        final EmbeddedChannel channel = newChannel(1024, 16);
+        channel.writeInbound(newRequest(), content("0123456789", false), content("abcdefghij", false));
+        assertEquals(1, files());
+        assertThrows(PrematureChannelClosureException.class, new Executable() {
+            @Override
+            public void execute() {
+                channel.finish();
+            }
+        });
+        assertEquals(0, files());
+    }
+
+    private EmbeddedChannel newChannel(int maxContentLength, int spillThreshold) {
+        return new EmbeddedChannel(new DiskHttpObjectAggregator(maxContentLength, spillThreshold, false,
+                directory.getPath()));
+    }
+
+    private int files() {
+        return directory.list().length;
+    }
+
+    private static HttpRequest newRequest() {
+        HttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/");
+        HttpUtil.setTransferEncodingChunked(request, true);
+        request.headers().set(HttpHeaderNames.CONNECTION, "keep-alive");
+        return request;
+    }
+
+    private static DefaultHttpContent content(String content, boolean last) {
+        ByteBuf buf = Unpooled.copiedBuffer(content, CharsetUtil.US_ASCII);
+        return last ? new DefaultLastHttpContent(buf) : new DefaultHttpContent(buf);
+    }
+}
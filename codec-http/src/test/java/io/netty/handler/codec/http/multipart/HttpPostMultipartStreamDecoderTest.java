@@ -0,0 +1,220 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http.multipart;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.DecoderException;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.util.CharsetUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HttpPostMultipartStreamDecoderTest {
+
+    private static final String BOUNDARY = "dLV9Wyq26L_-JQxk6ferf-RT153LhOO";
+
+    private static final String BODY = "preamble\r\n" +
+            "--" + BOUNDARY + "\r\n" +
+            "Content-Disposition: form-data; name=\"field\"\r\n" +
+            "\r\n" +
+            "value\r\n" +
+            "--" + BOUNDARY + "  \r\n" +
+            "Content-Disposition: form-data; name=\"file\"; filename=\"a \\\"b\\\".txt\"\r\n" +
+            "Content-Type: text/plain\r\n" +
+            "\r\n" +
+            "line 1\r\n\r\n--" + BOUNDARY.substring(0, 10) + "\r\n" +
+            "--" + BOUNDARY + "\r\n" +
+            "Content-Disposition: form-data; name=\"empty\"\r\n" +
+            "\r\n" +
+            "\r\n" +
+            "--" + BOUNDARY + "--\r\n" +
+            "epilogue";
+
+    @Test
+    public void testDecodeInOneChunk() {
+        assertParts(decode(BODY));
+    }
+
+    @Test
+    public void testDecodeSplitAtEveryPosition() {
+        for (int i = 0; i <= BODY.length(); i++) {
+            assertParts(decode(BODY.substring(0, i), BODY.substring(i)));
+        }
+    }
+
+    @Test
+    public void testDecodeByteByByte() {
+        String[] chunks = new String[BODY.length()];
+        for (int i = 0; i < chunks.length; i++) {
+            chunks[i] = BODY.substring(i, i + 1);
+        }
+        assertParts(decode(chunks));
+    }
+
+    @Test
+    public void testFirstBoundaryWithoutPreamble() {
+        List<Object> parts = decode("--" + BOUNDARY + "\r\n" +
+                "Content-Disposition: form-data; name=\"field\"\r\n" +
+                "\r\n" +
+                "value\r\n" +
+                "--" + BOUNDARY + "--");
+        assertEquals(2, parts.size());
+        assertEquals("field", ((MultipartPartHeader) parts.get(0)).name());
+        assertEquals("value", parts.get(1));
+    }
+
+    @Test
+    public void testEncodedFilename() {
+        List<Object> parts = decode("--" + BOUNDARY + "\r\n" +
+                "Content-Disposition: form-data; name=\"file\"; filename=\"a.txt\"; " +
+                "filename*=UTF-8''%E2%82%AC.txt\r\n" +
+                "\r\n" +
+                "\r\n" +
+                "--" + BOUNDARY + "--");
+        MultipartPartHeader header = (MultipartPartHeader) parts.get(0);
+        assertEquals("€.txt", header.filename());
+        assertNull(header.contentType());
+    }
+
+    @Test
+    public void testOtherRequestsPassThrough() {
+        EmbeddedChannel channel = new EmbeddedChannel(new HttpPostMultipartStreamDecoder());
+        HttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/");
+        request.headers().set(HttpHeaderNames.CONTENT_TYPE, "text/plain");
+        HttpContent content = new DefaultLastHttpContent(Unpooled.copiedBuffer("--" + BOUNDARY, CharsetUtil.US_ASCII));
+        assertTrue(channel.writeInbound(request, content));
+        assertSame(request, channel.readInbound());
+        assertSame(content, channel.readInbound());
+        content.release();
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testIncompleteBody() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new HttpPostMultipartStreamDecoder());
+        channel.writeInbound(newRequest());
+        channel.<HttpRequest>readInbound();
+        final HttpContent content = new DefaultLastHttpContent(Unpooled.copiedBuffer("--" + BOUNDARY + "\r\n" +
+                "Content-Disposition: form-data; name=\"field\"\r\n\r\nval", CharsetUtil.US_ASCII));
+        assertThrows(DecoderException.class, new Executable() {
+            @Override
+            public void execute() {
+                channel.writeInbound(content);
+            }
+        });
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void testPartHeadersTooLarge() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new HttpPostMultipartStreamDecoder(64));
+        channel.writeInbound(newRequest());
+        channel.<HttpRequest>readInbound();
+        final HttpContent content = new DefaultHttpContent(Unpooled.copiedBuffer("--" + BOUNDARY + "\r\n" +
+                "Content-Disposition: form-data; name=\"a-field-with-a-very-long-name\"", CharsetUtil.US_ASCII));
+        assertThrows(DecoderException.class, new Executable() {
+            @Override
+            public void execute() {
+                channel.writeInbound(content);
+            }
+        });
+        channel.finishAndReleaseAll();
+    }
+
+    private static void assertParts(List<Object> parts) {
+        assertEquals(6, parts.size());
+        MultipartPartHeader field = (MultipartPartHeader) parts.get(0);
+        assertEquals("field", field.name());
+        assertFalse(field.isFileUpload());
+        assertEquals("value", parts.get(1));
+
+        MultipartPartHeader file = (MultipartPartHeader) parts.get(2);
+        assertEquals("file", file.name());
+        assertEquals("a \"b\".txt", file.filename());
+        assertEquals("text/plain", file.contentType());
+        assertEquals("line 1\r\n\r\n--" + BOUNDARY.substring(0, 10), parts.get(3));
+
+        assertEquals("empty", ((MultipartPartHeader) parts.get(4)).name());
+        assertEquals("", parts.get(5));
+    }
+
+    private static HttpRequest newRequest() {
+        HttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/");
+        request.headers().set(HttpHeaderNames.CONTENT_TYPE, "multipart/form-data; boundary=" + BOUNDARY);
+        return request;
+    }
+
+    /**
+     * Decodes the given chunks and returns the {@link MultipartPartHeader}s, each followed by the content of the part
+     * as {@link String}.
+     */
+    private static List<Object> decode(String... chunks) {
+        EmbeddedChannel channel = new EmbeddedChannel(new HttpPostMultipartStreamDecoder());
+        assertTrue(channel.writeInbound(newRequest()));
+        assertInstanceOf(HttpRequest.class, channel.readInbound());
+        for (int i = 0; i < chunks.length; i++) {
+            ByteBuf buf = Unpooled.copiedBuffer(chunks[i], CharsetUtil.US_ASCII);
+            channel.writeInbound(i == chunks.length - 1 ? new DefaultLastHttpContent(buf) :
+                    new DefaultHttpContent(buf));
+        }
+
+        List<Object> parts = new ArrayList<Object>();
+        StringBuilder content = null;
+        for (;;) {
+            Object msg = channel.readInbound();
+            if (msg instanceof MultipartPartHeader) {
+                assertNull(content);
+                parts.add(msg);
+                content = new StringBuilder();
+            } else if (msg instanceof MultipartPartContent) {
+                MultipartPartContent partContent = (MultipartPartContent) msg;
+                content.append(partContent.content().toString(CharsetUtil.US_ASCII));
+                partContent.release();
+                if (partContent.isLast()) {
+                    parts.add(content.toString());
+                    content = null;
+                }
+            } else {
+                assertSame(LastHttpContent.EMPTY_LAST_CONTENT, msg);
+                break;
+            }
+        }
+        assertNull(content);
+        assertFalse(channel.finish());
+        return parts;
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http.multipart;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.util.CharsetUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MultipartFileUploadHandlerTest {
+
+    private final ArrayDeque<Runnable> tasks = new ArrayDeque<Runnable>();
+    private final Executor executor = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+    };
+    private int reads;
+
+    @Test
+    public void testUploadIsWrittenAndPassedOnInOrder() throws Exception {
+        EmbeddedChannel channel = newChannel(1024, -1);
+        channel.writeInbound(header("file", "a.txt"), content("Hello, ", false), content("World", true));
+        MultipartPartHeader field = header("field", null);
+        MultipartPartContent fieldContent = content("value", true);
+        channel.writeInbound(field, fieldContent);
+        assertNull(channel.readInbound());
+
+        runTasks(channel);
+        FileUpload upload = channel.readInbound();
+        assertEquals("file", upload.getName());
+        assertEquals("a.txt", upload.getFilename());
+        assertEquals("text/plain", upload.getContentType());
+        assertTrue(upload.isCompleted());
+        assertFalse(upload.isInMemory());
+        assertEquals("Hello, World", upload.getString(CharsetUtil.US_ASCII));
+        File file = upload.getFile();
+        assertTrue(file.exists());
+        upload.release();
+        assertFalse(file.exists());
+
+        assertSame(field, channel.readInbound());
+        assertSame(fieldContent, channel.readInbound());
+        fieldContent.release();
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testReadsAreSuspendedWhileTooManyBytesArePending() throws Exception {
+        EmbeddedChannel channel = newChannel(8, -1);
+        int readsBefore = reads;
+        channel.writeInbound(header("file", "a.txt"), content("0123456789", false));
+        assertEquals(readsBefore, reads);
+
+        runTasks(channel);
+        assertEquals(readsBefore + 1, reads);
+        channel.writeInbound(content("", true));
+        runTasks(channel);
+        FileUpload upload = channel.readInbound();
+        assertEquals(10, upload.length());
+        upload.release();
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testAutoReadIsDisabledWhileTooManyBytesArePending() throws Exception {
+        EmbeddedChannel channel = newChannel(8, -1);
+        assertTrue(channel.config().isAutoRead());
+        channel.writeInbound(header("file", "a.txt"), content("01234", false), content("56789", false));
+        // The transport would keep reading if auto reading stayed enabled.
+        assertFalse(channel.config().isAutoRead());
+
+        runTasks(channel);
+        assertTrue(channel.config().isAutoRead());
+        channel.writeInbound(content("", true));
+        runTasks(channel);
+        FileUpload upload = channel.readInbound();
+        assertEquals(10, upload.length());
+        upload.release();
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testFailedUploadIsDropped() throws Exception {
+        final EmbeddedChannel channel = newChannel(1024, 4);
+        channel.writeInbound(header("file", "a.txt"), content("0123456789", false), content("abc", true),
+                header("field", null));
+        runTasks(channel);
+        assertTrue(tasks.isEmpty());
+        assertThrows(IOException.class, new Executable() {
+            @Override
+            public void execute() {
+                channel.checkException();
+            }
+        });
+        assertEquals("field", channel.<MultipartPartHeader>readInbound().name());
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testCloseReleasesPendingUploads() throws Exception {
+        EmbeddedChannel channel = newChannel(1024, -1);
+        MultipartPartContent pending = content("queued", true);
+        MultipartPartContent held = content("held", true);
+        channel.writeInbound(header("file", "a.txt"), content("written", false), pending, header("field", null),
+                held);
+        assertFalse(channel.finish());
+        assertEquals(0, pending.refCnt());
+        assertEquals(0, held.refCnt());
+        runTasks(channel);
+        assertNull(channel.readInbound());
+    }
+
+    private void runTasks(EmbeddedChannel channel) {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+            channel.runPendingTasks();
+        }
+    }
+
+    private EmbeddedChannel newChannel(long maxPendingBytes, long maxFileSize) {
+        return new EmbeddedChannel(new ChannelOutboundHandlerAdapter() {
+            @Override
+            public void read(ChannelHandlerContext ctx) throws Exception {
+                reads++;
+                ctx.read();
+            }
+        }, new MultipartFileUploadHandler(executor, maxPendingBytes, null, maxFileSize));
+    }
+
+    private static MultipartPartHeader header(String name, String filename) {
+        DefaultHttpHeaders headers = new DefaultHttpHeaders();
+        headers.set(HttpHeaderNames.CONTENT_DISPOSITION, "form-data; name=\"" + name + '"' +
+                (filename == null ? "" : "; filename=\"" + filename + '"'));
+        if (filename != null) {
+            headers.set(HttpHeaderNames.CONTENT_TYPE, "text/plain");
+        }
+        return new MultipartPartHeader(headers);
+    }
+
+    private static MultipartPartContent content(String content, boolean last) {
+        return new MultipartPartContent(Unpooled.copiedBuffer(content, CharsetUtil.US_ASCII), last);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http.sse;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.DefaultChannelId;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.group.ChannelGroup;
+import io.netty.channel.group.ChannelMatcher;
+import io.netty.channel.group.DefaultChannelGroup;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.util.CharsetUtil;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ServerSentEventBroadcasterTest {
+
+    @Test
+    public void testBroadcastSharesEncodedEvent() {
+        ChannelGroup group = new DefaultChannelGroup(ImmediateEventExecutor.INSTANCE);
+        EmbeddedChannel first = new EmbeddedChannel(DefaultChannelId.newInstance());
+        EmbeddedChannel second = new EmbeddedChannel(DefaultChannelId.newInstance());
+        group.add(first);
+        group.add(second);
+
+        new ServerSentEventBroadcaster(group).broadcast(new ServerSentEvent("tick", "1"));
+        HttpContent firstContent = first.readOutbound();
+        HttpContent secondContent = second.readOutbound();
+        ByteBuf firstBuf = firstContent.content();
+        ByteBuf secondBuf = secondContent.content();
+        assertEquals("event: tick\ndata: 1\n\n", firstBuf.toString(CharsetUtil.UTF_8));
+        assertEquals("event: tick\ndata: 1\n\n", secondBuf.toString(CharsetUtil.UTF_8));
+        assertTrue(firstBuf.isReadOnly());
+        assertEquals(2, firstBuf.refCnt());
+        firstContent.release();
+        secondContent.release();
+        assertEquals(0, firstBuf.refCnt());
+        assertFalse(first.finish());
+        assertFalse(second.finish());
+    }
+
+    @Test
+    public void testBroadcastSkipsUnwritableAndUnmatchedSubscribers() {
+        ChannelGroup group = new DefaultChannelGroup(ImmediateEventExecutor.INSTANCE);
+        EmbeddedChannel writable = new EmbeddedChannel(DefaultChannelId.newInstance());
+        final EmbeddedChannel unmatched = new EmbeddedChannel(DefaultChannelId.newInstance());
+        EmbeddedChannel unwritable = new EmbeddedChannel(DefaultChannelId.newInstance());
+        unwritable.unsafe().outboundBuffer().setUserDefinedWritability(1, false);
+        assertFalse(unwritable.isWritable());
+        group.add(writable);
+        group.add(unmatched);
+        group.add(unwritable);
+        assertEquals(3, group.size());
+
+        new ServerSentEventBroadcaster(group).broadcast(new ServerSentEvent("1"), new ChannelMatcher() {
+            @Override
+            public boolean matches(Channel channel) {
+                return channel != unmatched;
+            }
+        });
+        HttpContent content = writable.readOutbound();
+        assertEquals("data: 1\n\n", content.content().toString(CharsetUtil.UTF_8));
+        content.release();
+        assertNull(unmatched.readOutbound());
+        assertNull(unwritable.readOutbound());
+        assertFalse(writable.finish());
+        assertFalse(unmatched.finish());
+        assertFalse(unwritable.finish());
+    }
+}
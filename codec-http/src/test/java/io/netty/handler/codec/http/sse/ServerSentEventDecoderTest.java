@@ -0,0 +1,159 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http.sse;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.TooLongFrameException;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.util.CharsetUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ServerSentEventDecoderTest {
+
+    private static HttpResponse eventStreamResponse() {
+        HttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+        response.headers().set(HttpHeaderNames.CONTENT_TYPE, "text/event-stream; charset=utf-8");
+        return response;
+    }
+
+    private static HttpContent content(String s) {
+        return new DefaultHttpContent(Unpooled.copiedBuffer(s, CharsetUtil.UTF_8));
+    }
+
+    private static EmbeddedChannel newChannel(ServerSentEventDecoder decoder) {
+        EmbeddedChannel channel = new EmbeddedChannel(decoder);
+        channel.writeInbound(eventStreamResponse());
+        assertInstanceOf(HttpResponse.class, channel.readInbound());
+        return channel;
+    }
+
+    @Test
+    public void testDecodeEvents() {
+        ServerSentEventDecoder decoder = new ServerSentEventDecoder();
+        EmbeddedChannel channel = newChannel(decoder);
+        channel.writeInbound(content("﻿: comment\ndata: hello\n\nid: 1\nevent: update\ndata:first\n" +
+                "data:  second\nretry: 5000\nunknown: ignored\n\n"));
+        assertEquals(new ServerSentEvent("hello"), channel.readInbound());
+        assertEquals(new ServerSentEvent("1", "update", "first\n second", 5000), channel.readInbound());
+        assertEquals("1", decoder.lastEventId());
+        assertEquals(5000, decoder.reconnectionTime());
+
+        // The id is kept for following events, while the type is not.
+        channel.writeInbound(content("data\n\nretry: x\nid\0: 2\ndata: third\n\n"));
+        assertEquals(new ServerSentEvent("1", null, "", -1), channel.readInbound());
+        assertEquals(new ServerSentEvent("1", null, "third", -1), channel.readInbound());
+        assertEquals(5000, decoder.reconnectionTime());
+        assertNull(channel.readInbound());
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testLineEndings() {
+        EmbeddedChannel channel = newChannel(new ServerSentEventDecoder());
+        channel.writeInbound(content("data: a\r\ndata: b\rdata: c\r"));
+        channel.writeInbound(content("\n\r"));
+        channel.writeInbound(content("data: d\r\n\r\n"));
+        assertEquals(new ServerSentEvent("a\nb\nc"), channel.readInbound());
+        assertEquals(new ServerSentEvent("d"), channel.readInbound());
+        assertNull(channel.readInbound());
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testEventSplitAcrossContents() {
+        EmbeddedChannel channel = newChannel(new ServerSentEventDecoder());
+        String stream = "event: tick\ndata: café au lait\n\ndata: incomplete";
+        byte[] bytes = stream.getBytes(CharsetUtil.UTF_8);
+        for (byte b : bytes) {
+            channel.writeInbound(new DefaultHttpContent(Unpooled.wrappedBuffer(new byte[] { b })));
+        }
+        assertEquals(new ServerSentEvent("tick", "café au lait"), channel.readInbound());
+        assertNull(channel.readInbound());
+
+        // The incomplete event at the end of the stream is discarded.
+        channel.writeInbound(new DefaultLastHttpContent());
+        assertSame(LastHttpContent.EMPTY_LAST_CONTENT, channel.readInbound());
+        assertNull(channel.readInbound());
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testFullResponse() {
+        EmbeddedChannel channel = new EmbeddedChannel(new ServerSentEventDecoder());
+        DefaultFullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK,
+                Unpooled.copiedBuffer("data: only\n\n", CharsetUtil.UTF_8));
+        response.headers().set(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.TEXT_EVENT_STREAM);
+        channel.writeInbound(response);
+        HttpResponse decoded = channel.readInbound();
+        assertFalse(decoded instanceof HttpContent);
+        assertEquals(new ServerSentEvent("only"), channel.readInbound());
+        assertSame(LastHttpContent.EMPTY_LAST_CONTENT, channel.readInbound());
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testOtherContentTypeIsPassedOn() {
+        EmbeddedChannel channel = new EmbeddedChannel(new ServerSentEventDecoder());
+        HttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+        response.headers().set(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.TEXT_PLAIN);
+        channel.writeInbound(response);
+        channel.writeInbound(content("data: no event\n\n"));
+        assertSame(response, channel.readInbound());
+        HttpContent content = channel.readInbound();
+        assertEquals("data: no event\n\n", content.content().toString(CharsetUtil.UTF_8));
+        content.release();
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testTooLongEvent() {
+        final EmbeddedChannel channel = newChannel(new ServerSentEventDecoder(16));
+        assertThrows(TooLongFrameException.class, new Executable() {
+            @Override
+            public void execute() {
+                channel.writeInbound(content("data: 0123456789\ndata: 0123456789\n\n"));
+            }
+        });
+        assertThrows(TooLongFrameException.class, new Executable() {
+            @Override
+            public void execute() {
+                channel.writeInbound(content("data: 0123456789abcdef"));
+            }
+        });
+        channel.writeInbound(content("\n\ndata: ok\n\n"));
+        assertEquals(new ServerSentEvent("ok"), channel.readInbound());
+        assertFalse(channel.finish());
+    }
+}
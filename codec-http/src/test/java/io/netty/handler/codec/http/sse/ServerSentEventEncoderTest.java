@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http.sse;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.util.CharsetUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ServerSentEventEncoderTest {
+
+    private static String encode(ServerSentEvent event) {
+        ByteBuf buf = ServerSentEventEncoder.encodeEvent(UnpooledByteBufAllocator.DEFAULT, event);
+        try {
+            return buf.toString(CharsetUtil.UTF_8);
+        } finally {
+            buf.release();
+        }
+    }
+
+    @Test
+    public void testEncodeEvent() {
+        assertEquals("data: hello\n\n", encode(new ServerSentEvent("hello")));
+        assertEquals("event: update\ndata: {\"value\":1}\n\n", encode(new ServerSentEvent("update", "{\"value\":1}")));
+        assertEquals("id: 42\nevent: update\nretry: 3000\ndata: café\n\n",
+                encode(new ServerSentEvent("42", "update", "café", 3000)));
+        assertEquals("retry: 0\n\n", encode(new ServerSentEvent(null, null, null, 0)));
+    }
+
+    @Test
+    public void testEncodeMultiLineData() {
+        assertEquals("data: a\ndata: b\ndata: c\ndata: \ndata: d\ndata: \n\n",
+                encode(new ServerSentEvent("a\nb\r\nc\r\rd\n")));
+        assertEquals("data: \n\n", encode(new ServerSentEvent("")));
+    }
+
+    @Test
+    public void testInvalidEvent() {
+        assertThrows(IllegalArgumentException.class, new Executable() {
+            @Override
+            public void execute() {
+                new ServerSentEvent("1\n2", null, "data", -1);
+            }
+        });
+        assertThrows(IllegalArgumentException.class, new Executable() {
+            @Override
+            public void execute() {
+                new ServerSentEvent("type\r", "data");
+            }
+        });
+        assertThrows(IllegalArgumentException.class, new Executable() {
+            @Override
+            public void execute() {
+                new ServerSentEvent(null, null, "data", -2);
+            }
+        });
+    }
+
+    @Test
+    public void testEncoder() {
+        EmbeddedChannel channel = new EmbeddedChannel(ServerSentEventEncoder.INSTANCE);
+        assertTrue(channel.writeOutbound(new ServerSentEvent("hello")));
+        HttpContent content = channel.readOutbound();
+        assertEquals("data: hello\n\n", content.content().toString(CharsetUtil.UTF_8));
+        content.release();
+        assertFalse(channel.finish());
+    }
+}
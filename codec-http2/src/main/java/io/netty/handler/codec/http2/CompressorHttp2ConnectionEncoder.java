@@ -15,14 +15,19 @@
 package io.netty.handler.codec.http2;
 
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.ChannelFactory;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelPromise;
 import io.netty.channel.embedded.EmbeddedChannel;
 import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.handler.codec.compression.BrotliCompressor;
 import io.netty.handler.codec.compression.BrotliEncoder;
+import io.netty.handler.codec.compression.Compressor;
+import io.netty.handler.codec.compression.SnappyCompressor;
 import io.netty.handler.codec.compression.ZlibCodecFactory;
+import io.netty.handler.codec.compression.ZlibCompressor;
 import io.netty.handler.codec.compression.ZlibWrapper;
 import io.netty.handler.codec.compression.Brotli;
 import io.netty.handler.codec.compression.BrotliOptions;
@@ -31,12 +36,15 @@ import io.netty.handler.codec.compression.DeflateOptions;
 import io.netty.handler.codec.compression.GzipOptions;
 import io.netty.handler.codec.compression.StandardCompressionOptions;
 import io.netty.handler.codec.compression.Zstd;
+import io.netty.handler.codec.compression.CompressorPool;
 import io.netty.handler.codec.compression.ZstdEncoder;
 import io.netty.handler.codec.compression.ZstdOptions;
 import io.netty.handler.codec.compression.SnappyFrameEncoder;
 import io.netty.handler.codec.compression.SnappyOptions;
-import io.netty.util.concurrent.PromiseCombiner;
+import io.netty.handler.codec.http.EmbeddedChannelCompressor;
 import io.netty.util.internal.ObjectUtil;
+import io.netty.util.internal.PlatformDependent;
+import io.netty.util.internal.ReflectionUtil;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -68,6 +76,7 @@ public class CompressorHttp2ConnectionEncoder extends DecoratingHttp2ConnectionE
     private final Http2Connection.PropertyKey propertyKey;
 
     private final boolean supportsCompressionOptions;
+    private final boolean overridesNewContentCompressor;
 
     private BrotliOptions brotliOptions;
     private GzipOptions gzipCompressionOptions;
@@ -108,11 +117,13 @@ public class CompressorHttp2ConnectionEncoder extends DecoratingHttp2ConnectionE
         this.windowBits = ObjectUtil.checkInRange(windowBits, 9, 15, "windowBits");
         this.memLevel = ObjectUtil.checkInRange(memLevel, 1, 9, "memLevel");
 
+        overridesNewContentCompressor = ReflectionUtil.isOverridden(getClass(), CompressorHttp2ConnectionEncoder.class,
+                "newContentCompressor", ChannelHandlerContext.class, CharSequence.class);
         propertyKey = connection().newKey();
         connection().addListener(new Http2ConnectionAdapter() {
             @Override
             public void onStreamRemoved(Http2Stream stream) {
-                final EmbeddedChannel compressor = stream.getProperty(propertyKey);
+                final Compressor compressor = stream.getProperty(propertyKey);
                 if (compressor != null) {
                     cleanup(stream, compressor);
                 }
@@ -157,11 +168,13 @@ public class CompressorHttp2ConnectionEncoder extends DecoratingHttp2ConnectionE
 
         supportsCompressionOptions = true;
 
+        overridesNewContentCompressor = ReflectionUtil.isOverridden(getClass(), CompressorHttp2ConnectionEncoder.class,
+                "newContentCompressor", ChannelHandlerContext.class, CharSequence.class);
         propertyKey = connection().newKey();
         connection().addListener(new Http2ConnectionAdapter() {
             @Override
             public void onStreamRemoved(Http2Stream stream) {
-                final EmbeddedChannel compressor = stream.getProperty(propertyKey);
+                final Compressor compressor = stream.getProperty(propertyKey);
                 if (compressor != null) {
                     cleanup(stream, compressor);
                 }
@@ -173,65 +186,58 @@ public class CompressorHttp2ConnectionEncoder extends DecoratingHttp2ConnectionE
     public ChannelFuture writeData(final ChannelHandlerContext ctx, final int streamId, ByteBuf data, int padding,
             final boolean endOfStream, ChannelPromise promise) {
         final Http2Stream stream = connection().stream(streamId);
-        final EmbeddedChannel channel = stream == null ? null : (EmbeddedChannel) stream.getProperty(propertyKey);
-        if (channel == null) {
+        final Compressor compressor = stream == null ? null : (Compressor) stream.getProperty(propertyKey);
+        if (compressor == null) {
             // The compressor may be null if no compatible encoding type was found in this stream's headers
             return super.writeData(ctx, streamId, data, padding, endOfStream, promise);
         }
 
         try {
-            // The channel will release the buffer after being written
-            channel.writeOutbound(data);
-            ByteBuf buf = nextReadableBuf(channel);
-            if (buf == null) {
-                if (endOfStream) {
-                    if (channel.finish()) {
-                        buf = nextReadableBuf(channel);
-                    }
-                    return super.writeData(ctx, streamId, buf == null ? Unpooled.EMPTY_BUFFER : buf, padding,
-                            true, promise);
-                }
+            ByteBuf buf;
+            try {
+                buf = compressor.compress(data, ctx.alloc());
+            } finally {
+                data.release();
+            }
+            if (endOfStream) {
+                buf = append(ctx.alloc(), buf, compressor.finish(ctx.alloc()));
+                return super.writeData(ctx, streamId, buf, padding, true, promise);
+            }
+            if (!buf.isReadable()) {
                 // END_STREAM is not set and the assumption is data is still forthcoming.
+                buf.release();
                 promise.setSuccess();
                 return promise;
             }
-
-            PromiseCombiner combiner = new PromiseCombiner(ctx.executor());
-            for (;;) {
-                ByteBuf nextBuf = nextReadableBuf(channel);
-                boolean compressedEndOfStream = nextBuf == null && endOfStream;
-                if (compressedEndOfStream && channel.finish()) {
-                    nextBuf = nextReadableBuf(channel);
-                    compressedEndOfStream = nextBuf == null;
-                }
-
-                ChannelPromise bufPromise = ctx.newPromise();
-                combiner.add(bufPromise);
-                super.writeData(ctx, streamId, buf, padding, compressedEndOfStream, bufPromise);
-                if (nextBuf == null) {
-                    break;
-                }
-
-                padding = 0; // Padding is only communicated once on the first iteration
-                buf = nextBuf;
-            }
-            combiner.finish(promise);
+            return super.writeData(ctx, streamId, buf, padding, false, promise);
         } catch (Throwable cause) {
             promise.tryFailure(cause);
         } finally {
             if (endOfStream) {
-                cleanup(stream, channel);
+                cleanup(stream, compressor);
             }
         }
         return promise;
     }
 
+    private static ByteBuf append(ByteBufAllocator allocator, ByteBuf buf, ByteBuf last) {
+        if (!last.isReadable()) {
+            last.release();
+            return buf;
+        }
+        if (!buf.isReadable()) {
+            buf.release();
+            return last;
+        }
+        return allocator.compositeBuffer(2).addComponents(true, buf, last);
+    }
+
     @Override
     public ChannelFuture writeHeaders(ChannelHandlerContext ctx, int streamId, Http2Headers headers, int padding,
             boolean endStream, ChannelPromise promise) {
         try {
             // Determine if compression is required and sanitize the headers.
-            EmbeddedChannel compressor = newCompressor(ctx, headers, endStream);
+            Compressor compressor = initCompressor(ctx, headers, endStream);
 
             // Write the headers and create the stream object.
             ChannelFuture future = super.writeHeaders(ctx, streamId, headers, padding, endStream, promise);
@@ -252,7 +258,7 @@ public class CompressorHttp2ConnectionEncoder extends DecoratingHttp2ConnectionE
             final boolean endOfStream, final ChannelPromise promise) {
         try {
             // Determine if compression is required and sanitize the headers.
-            EmbeddedChannel compressor = newCompressor(ctx, headers, endOfStream);
+            Compressor compressor = initCompressor(ctx, headers, endOfStream);
 
             // Write the headers and create the stream object.
             ChannelFuture future = super.writeHeaders(ctx, streamId, headers, streamDependency, weight, exclusive,
@@ -268,6 +274,63 @@ public class CompressorHttp2ConnectionEncoder extends DecoratingHttp2ConnectionE
         return promise;
     }
 
+    /**
+     * Returns a new {@link Compressor} that encodes the HTTP2 message content in the specified
+     * {@code contentEncoding}. The {@link Compressor} is closed once the stream is done.
+     * <p>
+     * The supported encodings are encoded without creating a channel per stream, all other encodings are looked up
+     * with {@link #newContentCompressor(ChannelHandlerContext, CharSequence)}. If a subclass overrides that method,
+     * it is used for all encodings so that the override keeps working.
+     *
+     * @param ctx the context.
+     * @param contentEncoding the value of the {@code content-encoding} header
+     * @return a new {@link Compressor} if the specified encoding is supported. {@code null} otherwise
+     * (alternatively, you can throw a {@link Http2Exception} to block unknown encoding).
+     * @throws Http2Exception If the specified encoding is not supported and warrants an exception
+     */
+    protected Compressor newCompressor(ChannelHandlerContext ctx, CharSequence contentEncoding)
+            throws Http2Exception {
+        if (overridesNewContentCompressor) {
+            return newEmbeddedChannelCompressor(ctx, contentEncoding);
+        }
+        if (GZIP.contentEqualsIgnoreCase(contentEncoding) || X_GZIP.contentEqualsIgnoreCase(contentEncoding)) {
+            return newZlibCompressor(ctx, ZlibWrapper.GZIP);
+        }
+        if (DEFLATE.contentEqualsIgnoreCase(contentEncoding) || X_DEFLATE.contentEqualsIgnoreCase(contentEncoding)) {
+            return newZlibCompressor(ctx, ZlibWrapper.ZLIB);
+        }
+        if (Brotli.isAvailable() && brotliOptions != null && BR.contentEqualsIgnoreCase(contentEncoding)) {
+            return new BrotliCompressor(brotliOptions.parameters());
+        }
+        if (zstdOptions != null && ZSTD.contentEqualsIgnoreCase(contentEncoding)) {
+            return CompressorPool.zstd(zstdOptions.compressionLevel(),
+                    zstdOptions.blockSize(), zstdOptions.maxEncodeSize(), zstdOptions.dictionary()).acquire();
+        }
+        if (snappyOptions != null && SNAPPY.contentEqualsIgnoreCase(contentEncoding)) {
+            return new SnappyCompressor();
+        }
+        return newEmbeddedChannelCompressor(ctx, contentEncoding);
+    }
+
+    private Compressor newEmbeddedChannelCompressor(final ChannelHandlerContext ctx,
+                                                    final CharSequence contentEncoding) throws Http2Exception {
+        final EmbeddedChannel channel = newContentCompressor(ctx, contentEncoding);
+        if (channel == null) {
+            return null;
+        }
+        return new EmbeddedChannelCompressor(channel, new ChannelFactory<EmbeddedChannel>() {
+            @Override
+            public EmbeddedChannel newChannel() {
+                try {
+                    return newContentCompressor(ctx, contentEncoding);
+                } catch (Http2Exception e) {
+                    PlatformDependent.throwException(e);
+                    return null;
+                }
+            }
+        });
+    }
+
     /**
      * Returns a new {@link EmbeddedChannel} that encodes the HTTP2 message content encoded in the specified
      * {@code contentEncoding}.
@@ -293,7 +356,7 @@ public class CompressorHttp2ConnectionEncoder extends DecoratingHttp2ConnectionE
         if (zstdOptions != null && ZSTD.contentEqualsIgnoreCase(contentEncoding)) {
             return new EmbeddedChannel(ctx.channel().id(), ctx.channel().metadata().hasDisconnect(),
                     ctx.channel().config(), new ZstdEncoder(zstdOptions.compressionLevel(),
-                    zstdOptions.blockSize(), zstdOptions.maxEncodeSize()));
+                    zstdOptions.blockSize(), zstdOptions.maxEncodeSize(), zstdOptions.dictionary()));
         }
         if (snappyOptions != null && SNAPPY.contentEqualsIgnoreCase(contentEncoding)) {
             return new EmbeddedChannel(ctx.channel().id(), ctx.channel().metadata().hasDisconnect(),
@@ -315,6 +378,44 @@ public class CompressorHttp2ConnectionEncoder extends DecoratingHttp2ConnectionE
         return contentEncoding;
     }
 
+    /**
+     * Generate a new {@link Compressor} for the zlib based encodings. A {@link ZlibCompressor} of the shared
+     * {@link CompressorPool} is used unless a window size or memory level is configured that only
+     * {@link ZlibCodecFactory} supports.
+     * @param ctx the context.
+     * @param wrapper Defines what type of encoder should be used
+     */
+    private Compressor newZlibCompressor(final ChannelHandlerContext ctx, final ZlibWrapper wrapper) {
+        final int level;
+        final int windowBits;
+        final int memLevel;
+        if (!supportsCompressionOptions) {
+            level = compressionLevel;
+            windowBits = this.windowBits;
+            memLevel = this.memLevel;
+        } else if (wrapper == ZlibWrapper.GZIP && gzipCompressionOptions != null) {
+            level = gzipCompressionOptions.compressionLevel();
+            windowBits = gzipCompressionOptions.windowBits();
+            memLevel = gzipCompressionOptions.memLevel();
+        } else if (wrapper == ZlibWrapper.ZLIB && deflateOptions != null) {
+            level = deflateOptions.compressionLevel();
+            windowBits = deflateOptions.windowBits();
+            memLevel = deflateOptions.memLevel();
+        } else {
+            throw new IllegalArgumentException("Unsupported ZlibWrapper: " + wrapper);
+        }
+        if (windowBits == DEFAULT_WINDOW_BITS && memLevel == DEFAULT_MEM_LEVEL) {
+            return CompressorPool.zlib(wrapper, level).acquire();
+        }
+        ChannelFactory<EmbeddedChannel> channelFactory = new ChannelFactory<EmbeddedChannel>() {
+            @Override
+            public EmbeddedChannel newChannel() {
+                return newCompressionChannel(ctx, wrapper);
+            }
+        };
+        return new EmbeddedChannelCompressor(channelFactory.newChannel(), channelFactory);
+    }
+
     /**
      * Generate a new instance of an {@link EmbeddedChannel} capable of compressing data
      * @param ctx the context.
@@ -349,10 +450,10 @@ public class CompressorHttp2ConnectionEncoder extends DecoratingHttp2ConnectionE
      * @param ctx the context.
      * @param headers Object representing headers which are to be written
      * @param endOfStream Indicates if the stream has ended
-     * @return The channel used to compress data.
+     * @return The compressor used to compress data.
      * @throws Http2Exception if any problems occur during initialization.
      */
-    private EmbeddedChannel newCompressor(ChannelHandlerContext ctx, Http2Headers headers, boolean endOfStream)
+    private Compressor initCompressor(ChannelHandlerContext ctx, Http2Headers headers, boolean endOfStream)
             throws Http2Exception {
         if (endOfStream) {
             return null;
@@ -362,7 +463,7 @@ public class CompressorHttp2ConnectionEncoder extends DecoratingHttp2ConnectionE
         if (encoding == null) {
             encoding = IDENTITY;
         }
-        final EmbeddedChannel compressor = newContentCompressor(ctx, encoding);
+        final Compressor compressor = newCompressor(ctx, encoding);
         if (compressor != null) {
             CharSequence targetContentEncoding = getTargetContentEncoding(encoding);
             if (IDENTITY.contentEqualsIgnoreCase(targetContentEncoding)) {
@@ -385,7 +486,7 @@ public class CompressorHttp2ConnectionEncoder extends DecoratingHttp2ConnectionE
      * @param compressor The compressor associated with the stream identified by {@code streamId}.
      * @param streamId The stream id for which the headers were written.
      */
-    private void bindCompressorToStream(EmbeddedChannel compressor, int streamId) {
+    private void bindCompressorToStream(Compressor compressor, int streamId) {
         if (compressor != null) {
             Http2Stream stream = connection().stream(streamId);
             if (stream != null) {
@@ -395,33 +496,13 @@ public class CompressorHttp2ConnectionEncoder extends DecoratingHttp2ConnectionE
     }
 
     /**
-     * Release remaining content from {@link EmbeddedChannel} and remove the compressor from the {@link Http2Stream}.
+     * Release remaining content from {@link Compressor} and remove the compressor from the {@link Http2Stream}.
      *
      * @param stream The stream for which {@code compressor} is the compressor for
      * @param compressor The compressor for {@code stream}
      */
-    void cleanup(Http2Stream stream, EmbeddedChannel compressor) {
-        compressor.finishAndReleaseAll();
+    void cleanup(Http2Stream stream, Compressor compressor) {
+        compressor.close();
         stream.removeProperty(propertyKey);
     }
-
-    /**
-     * Read the next compressed {@link ByteBuf} from the {@link EmbeddedChannel} or {@code null} if one does not exist.
-     *
-     * @param compressor The channel to read from
-     * @return The next decoded {@link ByteBuf} from the {@link EmbeddedChannel} or {@code null} if one does not exist
-     */
-    private static ByteBuf nextReadableBuf(EmbeddedChannel compressor) {
-        for (;;) {
-            final ByteBuf buf = compressor.readOutbound();
-            if (buf == null) {
-                return null;
-            }
-            if (!buf.isReadable()) {
-                buf.release();
-                continue;
-            }
-            return buf;
-        }
-    }
 }
@@ -15,17 +15,27 @@
 package io.netty.handler.codec.http2;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFactory;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.embedded.EmbeddedChannel;
 import io.netty.handler.codec.ByteToMessageDecoder;
 import io.netty.handler.codec.compression.Brotli;
 import io.netty.handler.codec.compression.BrotliDecoder;
+import io.netty.handler.codec.compression.BrotliDecompressor;
+import io.netty.handler.codec.compression.Decompressor;
+import io.netty.handler.codec.compression.SnappyDecompressor;
 import io.netty.handler.codec.compression.Zstd;
 import io.netty.handler.codec.compression.ZstdDecoder;
 import io.netty.handler.codec.compression.ZlibCodecFactory;
+import io.netty.handler.codec.compression.DecompressorPool;
 import io.netty.handler.codec.compression.ZlibWrapper;
 import io.netty.handler.codec.compression.SnappyFrameDecoder;
+import io.netty.handler.codec.compression.ZstdDecompressor;
+import io.netty.handler.codec.compression.ZstdDictionary;
+import io.netty.handler.codec.http.EmbeddedChannelDecompressor;
+import io.netty.util.internal.PlatformDependent;
 
 import static io.netty.handler.codec.http.HttpHeaderNames.CONTENT_ENCODING;
 import static io.netty.handler.codec.http.HttpHeaderNames.CONTENT_LENGTH;
@@ -40,6 +50,7 @@ import static io.netty.handler.codec.http.HttpHeaderValues.ZSTD;
 import static io.netty.handler.codec.http2.Http2Error.INTERNAL_ERROR;
 import static io.netty.handler.codec.http2.Http2Exception.streamError;
 import static io.netty.util.internal.ObjectUtil.checkNotNull;
+import static io.netty.util.internal.ReflectionUtil.isOverridden;
 import static io.netty.util.internal.ObjectUtil.checkPositiveOrZero;
 
 /**
@@ -50,6 +61,8 @@ public class DelegatingDecompressorFrameListener extends Http2FrameListenerDecor
 
     private final Http2Connection connection;
     private final boolean strict;
+    private final ZstdDictionary[] zstdDictionaries;
+    private final boolean overridesNewContentDecompressor;
     private boolean flowControllerInitialized;
     private final Http2Connection.PropertyKey propertyKey;
 
@@ -59,9 +72,21 @@ public class DelegatingDecompressorFrameListener extends Http2FrameListenerDecor
 
     public DelegatingDecompressorFrameListener(Http2Connection connection, Http2FrameListener listener,
                     boolean strict) {
+        this(connection, listener, strict, (ZstdDictionary[]) null);
+    }
+
+    /**
+     * Creates a new instance which decompresses {@code zstd} content that was compressed with one of the given
+     * dictionaries.
+     */
+    public DelegatingDecompressorFrameListener(Http2Connection connection, Http2FrameListener listener,
+                    boolean strict, ZstdDictionary... zstdDictionaries) {
         super(listener);
         this.connection = connection;
         this.strict = strict;
+        this.zstdDictionaries = zstdDictionaries == null ? null : zstdDictionaries.clone();
+        overridesNewContentDecompressor = isOverridden(getClass(), DelegatingDecompressorFrameListener.class,
+                "newContentDecompressor", ChannelHandlerContext.class, CharSequence.class);
 
         propertyKey = connection.newKey();
         connection.addListener(new Http2ConnectionAdapter() {
@@ -85,17 +110,16 @@ public class DelegatingDecompressorFrameListener extends Http2FrameListenerDecor
             return listener.onDataRead(ctx, streamId, data, padding, endOfStream);
         }
 
-        final EmbeddedChannel channel = decompressor.decompressor();
+        final Decompressor content = decompressor.decompressor();
         final int compressedBytes = data.readableBytes() + padding;
         decompressor.incrementCompressedBytes(compressedBytes);
         try {
-            // call retain here as it will call release after its written to the channel
-            channel.writeInbound(data.retain());
-            ByteBuf buf = nextReadableBuf(channel);
-            if (buf == null && endOfStream && channel.finish()) {
-                buf = nextReadableBuf(channel);
+            ByteBuf buf = content.decompress(data, ctx.alloc());
+            if (endOfStream && content instanceof EmbeddedChannelDecompressor) {
+                buf = append(ctx.alloc(), buf, ((EmbeddedChannelDecompressor) content).finish(ctx.alloc()));
             }
-            if (buf == null) {
+            if (!buf.isReadable()) {
+                buf.release();
                 if (endOfStream) {
                     listener.onDataRead(ctx, streamId, Unpooled.EMPTY_BUFFER, padding, true);
                 }
@@ -109,31 +133,14 @@ public class DelegatingDecompressorFrameListener extends Http2FrameListenerDecor
             try {
                 Http2LocalFlowController flowController = connection.local().flowController();
                 decompressor.incrementDecompressedBytes(padding);
-                for (;;) {
-                    ByteBuf nextBuf = nextReadableBuf(channel);
-                    boolean decompressedEndOfStream = nextBuf == null && endOfStream;
-                    if (decompressedEndOfStream && channel.finish()) {
-                        nextBuf = nextReadableBuf(channel);
-                        decompressedEndOfStream = nextBuf == null;
-                    }
-
-                    decompressor.incrementDecompressedBytes(buf.readableBytes());
-                    // Immediately return the bytes back to the flow controller. ConsumedBytesConverter will convert
-                    // from the decompressed amount which the user knows about to the compressed amount which flow
-                    // control knows about.
-                    flowController.consumeBytes(stream,
-                            listener.onDataRead(ctx, streamId, buf, padding, decompressedEndOfStream));
-                    if (nextBuf == null) {
-                        break;
-                    }
-
-                    padding = 0; // Padding is only communicated once on the first iteration.
-                    buf.release();
-                    buf = nextBuf;
-                }
-                // We consume bytes each time we call the listener to ensure if multiple frames are decompressed
-                // that the bytes are accounted for immediately. Otherwise the user may see an inconsistent state of
-                // flow control.
+                decompressor.incrementDecompressedBytes(buf.readableBytes());
+                // Immediately return the bytes back to the flow controller. ConsumedBytesConverter will convert
+                // from the decompressed amount which the user knows about to the compressed amount which flow
+                // control knows about.
+                flowController.consumeBytes(stream,
+                        listener.onDataRead(ctx, streamId, buf, padding, endOfStream));
+                // We consume bytes each time we call the listener to ensure the bytes are accounted for
+                // immediately. Otherwise the user may see an inconsistent state of flow control.
                 return 0;
             } finally {
                 buf.release();
@@ -160,6 +167,75 @@ public class DelegatingDecompressorFrameListener extends Http2FrameListenerDecor
         listener.onHeadersRead(ctx, streamId, headers, streamDependency, weight, exclusive, padding, endStream);
     }
 
+    private static ByteBuf append(ByteBufAllocator allocator, ByteBuf buf, ByteBuf last) {
+        if (!last.isReadable()) {
+            last.release();
+            return buf;
+        }
+        if (!buf.isReadable()) {
+            buf.release();
+            return last;
+        }
+        return allocator.compositeBuffer(2).addComponents(true, buf, last);
+    }
+
+    /**
+     * Returns a new {@link Decompressor} that decodes the HTTP2 message content encoded in the specified
+     * {@code contentEncoding}. The {@link Decompressor} is closed once the stream is done.
+     * <p>
+     * The supported encodings are decoded without creating a channel per stream, all other encodings are looked up
+     * with {@link #newContentDecompressor(ChannelHandlerContext, CharSequence)}. If a subclass overrides that method,
+     * it is used for all encodings so that the override keeps working.
+     *
+     * @param ctx the context.
+     * @param contentEncoding the value of the {@code content-encoding} header
+     * @return a new {@link Decompressor} if the specified encoding is supported. {@code null} otherwise
+     *         (alternatively, you can throw a {@link Http2Exception} to block unknown encoding).
+     * @throws Http2Exception If the specified encoding is not supported and warrants an exception
+     */
+    protected Decompressor newDecompressor(ChannelHandlerContext ctx, CharSequence contentEncoding)
+            throws Http2Exception {
+        if (overridesNewContentDecompressor) {
+            return newEmbeddedChannelDecompressor(ctx, contentEncoding);
+        }
+        if (GZIP.contentEqualsIgnoreCase(contentEncoding) || X_GZIP.contentEqualsIgnoreCase(contentEncoding)) {
+            return DecompressorPool.zlib(ZlibWrapper.GZIP, false).acquire();
+        }
+        if (DEFLATE.contentEqualsIgnoreCase(contentEncoding) || X_DEFLATE.contentEqualsIgnoreCase(contentEncoding)) {
+            // To be strict, 'deflate' means ZLIB, but some servers were not implemented correctly.
+            return DecompressorPool.zlib(strict ? ZlibWrapper.ZLIB : ZlibWrapper.ZLIB_OR_NONE, false).acquire();
+        }
+        if (Brotli.isAvailable() && BR.contentEqualsIgnoreCase(contentEncoding)) {
+            return new BrotliDecompressor();
+        }
+        if (SNAPPY.contentEqualsIgnoreCase(contentEncoding)) {
+            return new SnappyDecompressor();
+        }
+        if (Zstd.isAvailable() && ZSTD.contentEqualsIgnoreCase(contentEncoding)) {
+            return new ZstdDecompressor(zstdDictionaries);
+        }
+        return newEmbeddedChannelDecompressor(ctx, contentEncoding);
+    }
+
+    private Decompressor newEmbeddedChannelDecompressor(final ChannelHandlerContext ctx,
+                                                        final CharSequence contentEncoding) throws Http2Exception {
+        final EmbeddedChannel channel = newContentDecompressor(ctx, contentEncoding);
+        if (channel == null) {
+            return null;
+        }
+        return new EmbeddedChannelDecompressor(channel, new ChannelFactory<EmbeddedChannel>() {
+            @Override
+            public EmbeddedChannel newChannel() {
+                try {
+                    return newContentDecompressor(ctx, contentEncoding);
+                } catch (Http2Exception e) {
+                    PlatformDependent.throwException(e);
+                    return null;
+                }
+            }
+        });
+    }
+
     /**
      * Returns a new {@link EmbeddedChannel} that decodes the HTTP2 message content encoded in the specified
      * {@code contentEncoding}.
@@ -191,7 +267,7 @@ public class DelegatingDecompressorFrameListener extends Http2FrameListenerDecor
         }
         if (Zstd.isAvailable() && ZSTD.contentEqualsIgnoreCase(contentEncoding)) {
             return new EmbeddedChannel(ctx.channel().id(), ctx.channel().metadata().hasDisconnect(),
-                    ctx.channel().config(), new ZstdDecoder());
+                    ctx.channel().config(), new ZstdDecoder(zstdDictionaries));
         }
         // 'identity' or unsupported
         return null;
@@ -234,9 +310,9 @@ public class DelegatingDecompressorFrameListener extends Http2FrameListenerDecor
             if (contentEncoding == null) {
                 contentEncoding = IDENTITY;
             }
-            final EmbeddedChannel channel = newContentDecompressor(ctx, contentEncoding);
-            if (channel != null) {
-                decompressor = new Http2Decompressor(channel);
+            final Decompressor content = newDecompressor(ctx, contentEncoding);
+            if (content != null) {
+                decompressor = new Http2Decompressor(content);
                 stream.setProperty(propertyKey, decompressor);
                 // Decode the content and remove or replace the existing headers
                 // so that the message looks like a decoded message.
@@ -269,33 +345,12 @@ public class DelegatingDecompressorFrameListener extends Http2FrameListenerDecor
     }
 
     /**
-     * Release remaining content from the {@link EmbeddedChannel}.
+     * Release remaining content from the {@link Decompressor}.
      *
      * @param decompressor The decompressor for {@code stream}
      */
     private static void cleanup(Http2Decompressor decompressor) {
-        decompressor.decompressor().finishAndReleaseAll();
-    }
-
-    /**
-     * Read the next decompressed {@link ByteBuf} from the {@link EmbeddedChannel}
-     * or {@code null} if one does not exist.
-     *
-     * @param decompressor The channel to read from
-     * @return The next decoded {@link ByteBuf} from the {@link EmbeddedChannel} or {@code null} if one does not exist
-     */
-    private static ByteBuf nextReadableBuf(EmbeddedChannel decompressor) {
-        for (;;) {
-            final ByteBuf buf = decompressor.readInbound();
-            if (buf == null) {
-                return null;
-            }
-            if (!buf.isReadable()) {
-                buf.release();
-                continue;
-            }
-            return buf;
-        }
+        decompressor.decompressor().close();
     }
 
     /**
@@ -377,18 +432,18 @@ public class DelegatingDecompressorFrameListener extends Http2FrameListenerDecor
      * Provides the state for stream {@code DATA} frame decompression.
      */
     private static final class Http2Decompressor {
-        private final EmbeddedChannel decompressor;
+        private final Decompressor decompressor;
         private int compressed;
         private int decompressed;
 
-        Http2Decompressor(EmbeddedChannel decompressor) {
+        Http2Decompressor(Decompressor decompressor) {
             this.decompressor = decompressor;
         }
 
         /**
          * Responsible for taking compressed bytes in and producing decompressed bytes.
          */
-        EmbeddedChannel decompressor() {
+        Decompressor decompressor() {
             return decompressor;
         }
 
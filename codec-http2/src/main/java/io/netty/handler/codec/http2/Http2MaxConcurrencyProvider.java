@@ -0,0 +1,59 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http2;
+
+import io.netty.channel.Channel;
+import io.netty.channel.pool.MaxConcurrencyProvider;
+import io.netty.channel.pool.MultiplexedChannelPool;
+
+import static io.netty.util.internal.ObjectUtil.checkPositive;
+
+/**
+ * {@link MaxConcurrencyProvider} that allows as many leases on an HTTP/2 connection as the remote peer allows
+ * concurrent streams via {@link Http2CodecUtil#SETTINGS_MAX_CONCURRENT_STREAMS}. Connections that received a
+ * {@code GOAWAY} frame get no new leases.
+ * <p>
+ * The {@link Channel} must have a {@link Http2ConnectionHandler} (like {@link Http2FrameCodec}) in its pipeline.
+ * Use it with {@link MultiplexedChannelPool} to share connections between requests.
+ */
+public final class Http2MaxConcurrencyProvider implements MaxConcurrencyProvider {
+
+    private final int upperBound;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param upperBound    the maximum number of leases per connection, which is also used as long as the remote peer
+     *                      did not restrict the number of concurrent streams.
+     */
+    public Http2MaxConcurrencyProvider(int upperBound) {
+        this.upperBound = checkPositive(upperBound, "upperBound");
+    }
+
+    @Override
+    public int maxConcurrency(Channel channel) {
+        Http2ConnectionHandler handler = channel.pipeline().get(Http2ConnectionHandler.class);
+        if (handler == null) {
+            return 0;
+        }
+        Http2Connection connection = handler.connection();
+        if (connection.goAwayReceived()) {
+            return 0;
+        }
+        // The maximum number of streams our endpoint can create is set from the settings of the remote peer.
+        return Math.min(upperBound, connection.local().maxActiveStreams());
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.http2;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class Http2MaxConcurrencyProviderTest {
+
+    @Test
+    public void testWithoutHttp2ConnectionHandler() {
+        EmbeddedChannel channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+        assertEquals(0, new Http2MaxConcurrencyProvider(100).maxConcurrency(channel));
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testUsesRemoteMaxConcurrentStreams() throws Exception {
+        Http2FrameCodec codec = Http2FrameCodecBuilder.forClient().build();
+        EmbeddedChannel channel = new EmbeddedChannel(codec);
+        Http2MaxConcurrencyProvider provider = new Http2MaxConcurrencyProvider(100);
+
+        // Not restricted by the remote peer yet.
+        assertEquals(100, provider.maxConcurrency(channel));
+
+        codec.connection().local().maxActiveStreams(10);
+        assertEquals(10, provider.maxConcurrency(channel));
+
+        codec.connection().goAwayReceived(0, Http2Error.NO_ERROR.code(), Unpooled.EMPTY_BUFFER);
+        assertEquals(0, provider.maxConcurrency(channel));
+        channel.finishAndReleaseAll();
+    }
+}
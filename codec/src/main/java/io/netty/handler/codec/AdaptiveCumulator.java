@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.handler.codec.ByteToMessageDecoder.Cumulator;
+import io.netty.util.internal.ObjectUtil;
+
+/**
+ * A {@link Cumulator} which chooses between merging and composing the received {@link ByteBuf}s depending on how
+ * large the decoded frames are compared to the reads:
+ * <ul>
+ *     <li>If frames are smaller than a read, the few bytes left over from the last read are merged with the next
+ *     one like {@link ByteToMessageDecoder#MERGE_CUMULATOR} does, so the decoder works on a contiguous buffer.</li>
+ *     <li>If frames span several reads, like 1 MiB frames decoded by a {@link LengthFieldBasedFrameDecoder}, merging
+ *     copies every byte at least once and again each time the cumulation is expanded. Instead the reads are kept
+ *     as the components of a {@link CompositeByteBuf} without copying them. Components which were read completely
+ *     are dropped, so only the reads of the frames which are still decoded are kept.</li>
+ * </ul>
+ * A read which starts with a new frame while nothing is left over is used directly in both cases.
+ * <p>
+ * The ratio of frame and read size is estimated by the number of bytes that are left over when the next read is
+ * received. As this is state of a single decoder, each {@link ByteToMessageDecoder} needs its own instance:
+ *
+ * <pre>{@code
+ * LengthFieldBasedFrameDecoder decoder = new LengthFieldBasedFrameDecoder(16 * 1024 * 1024, 0, 4, 0, 4);
+ * decoder.setCumulator(new AdaptiveCumulator());
+ * }</pre>
+ */
+public final class AdaptiveCumulator implements Cumulator {
+
+    private static final int DEFAULT_MAX_COMPONENTS = 64;
+    // The ratio of left over bytes and read size is a fixed point number with this many fractional bits.
+    private static final int FRACTION_BITS = 4;
+    private static final int ONE = 1 << FRACTION_BITS;
+    // Limits the influence of a single sample, as the left over bytes may be a multiple of the read size.
+    private static final int MAX_SAMPLE = 64 * ONE;
+
+    private final int maxComponents;
+    private int averageBacklog;
+
+    /**
+     * Creates a new instance which keeps up to 64 reads as components before they are merged.
+     */
+    public AdaptiveCumulator() {
+        this(DEFAULT_MAX_COMPONENTS);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param maxComponents the maximum number of components of the {@link CompositeByteBuf}, once it is exceeded
+     *                      the components are merged into one buffer.
+     */
+    public AdaptiveCumulator(int maxComponents) {
+        this.maxComponents = ObjectUtil.checkInRange(maxComponents, 2, Integer.MAX_VALUE, "maxComponents");
+    }
+
+    @Override
+    public ByteBuf cumulate(ByteBufAllocator alloc, ByteBuf cumulation, ByteBuf in) {
+        if (cumulation == in) {
+            // when the in buffer is the same as the cumulation it is doubly retained, release it once
+            in.release();
+            return cumulation;
+        }
+        record(cumulation.readableBytes(), in.readableBytes());
+        if (!cumulation.isReadable()) {
+            if (in.isContiguous() || in instanceof CompositeByteBuf) {
+                cumulation.release();
+                return in;
+            }
+            return ByteToMessageDecoder.MERGE_CUMULATOR.cumulate(alloc, cumulation, in);
+        }
+        if (!isComposing()) {
+            return ByteToMessageDecoder.MERGE_CUMULATOR.cumulate(alloc, cumulation, in);
+        }
+        CompositeByteBuf composite = null;
+        try {
+            if (cumulation instanceof CompositeByteBuf && cumulation.refCnt() == 1) {
+                composite = (CompositeByteBuf) cumulation;
+                // Drop the reads which were decoded completely before adding the next one.
+                composite.discardReadComponents();
+                // Writer index must equal capacity if we are going to "write"
+                // new components to the end
+                if (composite.writerIndex() != composite.capacity()) {
+                    composite.capacity(composite.writerIndex());
+                }
+            } else {
+                // Frames that were decoded from the cumulation may still reference it, so it can't be modified.
+                composite = alloc.compositeBuffer(maxComponents).addFlattenedComponents(true, cumulation);
+            }
+            composite.addFlattenedComponents(true, in);
+            in = null;
+            return composite;
+        } finally {
+            if (in != null) {
+                // We must release if the ownership was not transferred as otherwise it may produce a leak
+                in.release();
+                // Also release any new buffer allocated if we're not returning it
+                if (composite != null && composite != cumulation) {
+                    composite.release();
+                }
+            }
+        }
+    }
+
+    private void record(int backlog, int readSize) {
+        if (readSize == 0) {
+            return;
+        }
+        int sample = (int) Math.min(((long) backlog << FRACTION_BITS) / readSize, MAX_SAMPLE);
+        // Exponential moving average which gives the new sample a weight of 1/8.
+        averageBacklog += (sample - averageBacklog) >> 3;
+    }
+
+    /**
+     * Returns {@code true} if more than a whole read is usually left over when the next read is received, which
+     * means that the frames span several reads.
+     */
+    boolean isComposing() {
+        return averageBacklog >= ONE;
+    }
+}
@@ -165,6 +165,7 @@ public abstract class ByteToMessageDecoder extends ChannelInboundHandlerAdapter
     ByteBuf cumulation;
     private Cumulator cumulator = MERGE_CUMULATOR;
     private boolean singleDecode;
+    private boolean batchOutput;
     private boolean first;
 
     /**
@@ -211,6 +212,32 @@ public abstract class ByteToMessageDecoder extends ChannelInboundHandlerAdapter
         return singleDecode;
     }
 
+    /**
+     * If set then all messages which are decoded from a received {@link ByteBuf} are passed on as one
+     * {@link MessageBatch} instead of one by one, which reduces the overhead of passing many small messages through
+     * the pipeline. The next handlers must handle {@link MessageBatch}es.
+     *
+     * This also applies to {@link ReplayingDecoder}s. If {@link #decode(ChannelHandlerContext, ByteBuf, List)}
+     * removes this decoder, the messages decoded so far are passed on as one {@link MessageBatch} before the
+     * remaining bytes.
+     *
+     * Default is {@code false}. This must not be used if a message causes one of the next handlers to remove this
+     * decoder from the pipeline, as more messages are decoded before the first one is passed on.
+     */
+    public void setBatchOutput(boolean batchOutput) {
+        this.batchOutput = batchOutput;
+    }
+
+    /**
+     * If {@code true} then all messages which are decoded from a received {@link ByteBuf} are passed on as one
+     * {@link MessageBatch}.
+     *
+     * Default is {@code false}.
+     */
+    public boolean isBatchOutput() {
+        return batchOutput;
+    }
+
     /**
      * Set the {@link Cumulator} to use for cumulate the received {@link ByteBuf}s.
      */
@@ -315,7 +342,7 @@ public abstract class ByteToMessageDecoder extends ChannelInboundHandlerAdapter
 
                     int size = out.size();
                     firedChannelRead |= out.insertSinceRecycled();
-                    fireChannelRead(ctx, out, size);
+                    fireDecoded(ctx, out, size);
                 } finally {
                     out.recycle();
                 }
@@ -325,6 +352,18 @@ public abstract class ByteToMessageDecoder extends ChannelInboundHandlerAdapter
         }
     }
 
+    /**
+     * Forwards the first {@code numElements} decoded messages through the pipeline, as one {@link MessageBatch} if
+     * {@link #isBatchOutput()}.
+     */
+    private void fireDecoded(ChannelHandlerContext ctx, List<Object> msgs, int numElements) {
+        if (batchOutput && numElements > 0) {
+            ctx.fireChannelRead(MessageBatch.newInstance(msgs, numElements));
+        } else {
+            fireChannelRead(ctx, msgs, numElements);
+        }
+    }
+
     /**
      * Get {@code numElements} out of the {@link List} and forward these through the pipeline.
      */
@@ -403,7 +442,7 @@ public abstract class ByteToMessageDecoder extends ChannelInboundHandlerAdapter
                     cumulation = null;
                 }
                 int size = out.size();
-                fireChannelRead(ctx, out, size);
+                fireDecoded(ctx, out, size);
                 if (size > 0) {
                     // Something was read, call fireChannelReadComplete()
                     ctx.fireChannelReadComplete();
@@ -449,9 +488,10 @@ public abstract class ByteToMessageDecoder extends ChannelInboundHandlerAdapter
     protected void callDecode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) {
         try {
             while (in.isReadable()) {
-                final int outSize = out.size();
+                int outSize = out.size();
 
-                if (outSize > 0) {
+                // With batched output the messages are passed on once all of them were decoded.
+                if (outSize > 0 && !batchOutput) {
                     fireChannelRead(ctx, out, outSize);
                     out.clear();
 
@@ -463,6 +503,7 @@ public abstract class ByteToMessageDecoder extends ChannelInboundHandlerAdapter
                     if (ctx.isRemoved()) {
                         break;
                     }
+                    outSize = 0;
                 }
 
                 int oldInputLength = in.readableBytes();
@@ -476,7 +517,7 @@ public abstract class ByteToMessageDecoder extends ChannelInboundHandlerAdapter
                     break;
                 }
 
-                if (out.isEmpty()) {
+                if (outSize == out.size()) {
                     if (oldInputLength == in.readableBytes()) {
                         break;
                     } else {
@@ -532,7 +573,7 @@ public abstract class ByteToMessageDecoder extends ChannelInboundHandlerAdapter
             boolean removePending = decodeState == STATE_HANDLER_REMOVED_PENDING;
             decodeState = STATE_INIT;
             if (removePending) {
-                fireChannelRead(ctx, out, out.size());
+                fireDecoded(ctx, out, out.size());
                 out.clear();
                 handlerRemoved(ctx);
             }
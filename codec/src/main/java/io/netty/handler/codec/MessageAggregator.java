@@ -284,7 +284,7 @@ public abstract class MessageAggregator<I, S, C extends ByteBufHolder, O extends
             @SuppressWarnings("unchecked")
             final C m = (C) msg;
             // Handle oversized message.
-            if (content.readableBytes() > maxContentLength - m.content().readableBytes()) {
+            if (aggregatedContentLength(currentMessage) > maxContentLength - m.content().readableBytes()) {
                 // By convention, full message type extends first message type.
                 @SuppressWarnings("unchecked")
                 S s = (S) currentMessage;
@@ -385,6 +385,15 @@ public abstract class MessageAggregator<I, S, C extends ByteBufHolder, O extends
      */
     protected void aggregate(O aggregated, C content) throws Exception { }
 
+    /**
+     * Returns the number of content bytes aggregated into the specified aggregated message so far, which is compared
+     * to {@link #maxContentLength()}. The default implementation returns the number of readable bytes of its content.
+     * Sub-classes which move the aggregated content elsewhere, for example to a file, must include these bytes.
+     */
+    protected int aggregatedContentLength(O aggregated) throws Exception {
+        return aggregated.content().readableBytes();
+    }
+
     private void finishAggregation0(O aggregated) throws Exception {
         aggregating = false;
         finishAggregation(aggregated);
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.util.AbstractReferenceCounted;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.internal.ObjectPool;
+import io.netty.util.internal.ObjectPool.Handle;
+import io.netty.util.internal.ObjectPool.ObjectCreator;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Messages which were decoded together and are passed through the pipeline in one
+ * {@link ChannelHandlerContext#fireChannelRead(Object)} call, see {@link ByteToMessageDecoder#setBatchOutput(boolean)}.
+ * For protocols with small messages this saves the cost of passing each of them through the pipeline separately.
+ * <p>
+ * The {@link MessageBatch} owns its messages: {@link #release()} releases all messages that are still contained, so a
+ * handler which keeps one of them must {@link ReferenceCountUtil#retain(Object) retain} it first. Once released, the
+ * {@link MessageBatch} is reused and must not be accessed anymore.
+ *
+ * <pre>{@code
+ * public void channelRead(ChannelHandlerContext ctx, Object msg) {
+ *     if (msg instanceof MessageBatch) {
+ *         MessageBatch batch = (MessageBatch) msg;
+ *         try {
+ *             for (int i = 0; i < batch.size(); i++) {
+ *                 handle((MyMessage) batch.get(i));
+ *             }
+ *         } finally {
+ *             batch.release();
+ *         }
+ *     } else {
+ *         ctx.fireChannelRead(msg);
+ *     }
+ * }
+ * }</pre>
+ *
+ * A handler which does not handle batches itself can pass the messages on one by one with
+ * {@link #fireChannelRead(ChannelHandlerContext)}.
+ */
+public final class MessageBatch extends AbstractReferenceCounted {
+
+    private static final ObjectPool<MessageBatch> RECYCLER = ObjectPool.newPool(
+            new ObjectCreator<MessageBatch>() {
+        @Override
+        public MessageBatch newObject(Handle<MessageBatch> handle) {
+            return new MessageBatch(handle);
+        }
+    });
+
+    private final Handle<MessageBatch> handle;
+    private Object[] messages = new Object[16];
+    private int size;
+
+    private MessageBatch(Handle<MessageBatch> handle) {
+        this.handle = handle;
+    }
+
+    /**
+     * Returns a {@link MessageBatch} which takes over the first {@code numElements} messages of {@code msgs}.
+     */
+    static MessageBatch newInstance(List<Object> msgs, int numElements) {
+        MessageBatch batch = RECYCLER.get();
+        batch.setRefCnt(1);
+        if (batch.messages.length < numElements) {
+            batch.messages = new Object[numElements];
+        }
+        for (int i = 0; i < numElements; i++) {
+            batch.messages[i] = msgs.get(i);
+        }
+        batch.size = numElements;
+        return batch;
+    }
+
+    /**
+     * Returns the number of messages.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the message at the given index.
+     */
+    public Object get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index: " + index + " (expected: 0-" + (size - 1) + ')');
+        }
+        return messages[index];
+    }
+
+    /**
+     * Passes the messages on one by one with {@link ChannelHandlerContext#fireChannelRead(Object)} and releases this
+     * {@link MessageBatch}. The ownership of the messages is passed on as well.
+     */
+    public void fireChannelRead(ChannelHandlerContext ctx) {
+        try {
+            for (int i = 0; i < size; i++) {
+                Object msg = messages[i];
+                // The next handler owns the message now.
+                messages[i] = null;
+                ctx.fireChannelRead(msg);
+            }
+        } finally {
+            release();
+        }
+    }
+
+    @Override
+    public MessageBatch retain() {
+        super.retain();
+        return this;
+    }
+
+    @Override
+    public MessageBatch retain(int increment) {
+        super.retain(increment);
+        return this;
+    }
+
+    @Override
+    public MessageBatch touch() {
+        super.touch();
+        return this;
+    }
+
+    @Override
+    public MessageBatch touch(Object hint) {
+        for (int i = 0; i < size; i++) {
+            ReferenceCountUtil.touch(messages[i], hint);
+        }
+        return this;
+    }
+
+    @Override
+    protected void deallocate() {
+        for (int i = 0; i < size; i++) {
+            Object msg = messages[i];
+            if (msg != null) {
+                ReferenceCountUtil.release(msg);
+            }
+        }
+        Arrays.fill(messages, 0, size, null);
+        size = 0;
+        handle.recycle(this);
+    }
+
+    @Override
+    public String toString() {
+        return "MessageBatch(size: " + size + ')';
+    }
+}
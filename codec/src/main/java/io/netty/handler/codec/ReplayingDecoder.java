@@ -345,7 +345,8 @@ public abstract class ReplayingDecoder<S> extends ByteToMessageDecoder {
                 int oldReaderIndex = checkpoint = in.readerIndex();
                 int outSize = out.size();
 
-                if (outSize > 0) {
+                // With batched output the messages are passed on once all of them were decoded.
+                if (outSize > 0 && !isBatchOutput()) {
                     fireChannelRead(ctx, out, outSize);
                     out.clear();
 
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.compression;
+
+import io.netty.util.concurrent.FastThreadLocal;
+import io.netty.util.internal.LongCounter;
+import io.netty.util.internal.ObjectUtil;
+import io.netty.util.internal.PlatformDependent;
+import io.netty.util.internal.SystemPropertyUtil;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+
+import java.util.ArrayDeque;
+
+/**
+ * Base class for {@link CompressorPool} and {@link DecompressorPool}, which keeps up to
+ * {@code maxPooledPerThread} idle instances per thread. As compressors are only used from the
+ * {@link io.netty.channel.EventLoop} of their channel this effectively results in one pool per
+ * {@link io.netty.channel.EventLoop} and does not need any synchronization.
+ */
+abstract class AbstractCodecPool<T> {
+
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(AbstractCodecPool.class);
+
+    static final int DEFAULT_MAX_POOLED_PER_THREAD;
+
+    static {
+        DEFAULT_MAX_POOLED_PER_THREAD = Math.max(0,
+                SystemPropertyUtil.getInt("io.netty.compression.maxPooledPerThread", 4));
+        if (logger.isDebugEnabled()) {
+            logger.debug("-Dio.netty.compression.maxPooledPerThread: {}", DEFAULT_MAX_POOLED_PER_THREAD);
+        }
+    }
+
+    private final int maxPooledPerThread;
+    private final LongCounter created = PlatformDependent.newLongCounter();
+    private final LongCounter reused = PlatformDependent.newLongCounter();
+    private final LongCounter discarded = PlatformDependent.newLongCounter();
+    private final FastThreadLocal<ArrayDeque<T>> idle = new FastThreadLocal<ArrayDeque<T>>() {
+        @Override
+        protected ArrayDeque<T> initialValue() {
+            return new ArrayDeque<T>(maxPooledPerThread);
+        }
+
+        @Override
+        protected void onRemoval(ArrayDeque<T> value) {
+            // The thread is terminating, free the native resources of the idle instances.
+            for (;;) {
+                T instance = value.poll();
+                if (instance == null) {
+                    break;
+                }
+                AbstractCodecPool.this.destroy(instance);
+            }
+        }
+    };
+
+    AbstractCodecPool(int maxPooledPerThread) {
+        this.maxPooledPerThread = ObjectUtil.checkPositiveOrZero(maxPooledPerThread, "maxPooledPerThread");
+    }
+
+    /**
+     * Creates a new instance.
+     */
+    abstract T newInstance();
+
+    /**
+     * Resets the given instance so it can be used again.
+     */
+    abstract void reset(T instance);
+
+    /**
+     * Frees all resources of the given instance.
+     */
+    abstract void destroy(T instance);
+
+    final T take() {
+        if (maxPooledPerThread != 0) {
+            T instance = idle.get().poll();
+            if (instance != null) {
+                reused.increment();
+                return instance;
+            }
+        }
+        created.increment();
+        return newInstance();
+    }
+
+    final void give(T instance) {
+        if (maxPooledPerThread != 0) {
+            ArrayDeque<T> queue = idle.get();
+            if (queue.size() < maxPooledPerThread) {
+                try {
+                    reset(instance);
+                } catch (Throwable cause) {
+                    logger.debug("Failed to reset {}, discarding it", instance, cause);
+                    discard(instance);
+                    return;
+                }
+                queue.offer(instance);
+                return;
+            }
+        }
+        discard(instance);
+    }
+
+    private void discard(T instance) {
+        discarded.increment();
+        destroy(instance);
+    }
+
+    /**
+     * Returns the maximum number of idle instances that are kept per thread.
+     */
+    public int maxPooledPerThread() {
+        return maxPooledPerThread;
+    }
+
+    /**
+     * Returns the number of idle instances that are pooled for the current thread.
+     */
+    public int numPooledForCurrentThread() {
+        return maxPooledPerThread == 0 || !idle.isSet() ? 0 : idle.get().size();
+    }
+
+    /**
+     * Returns the number of instances that were created because no pooled one was available.
+     */
+    public long numCreated() {
+        return created.value();
+    }
+
+    /**
+     * Returns the number of instances that were taken from the pool instead of being created.
+     */
+    public long numReused() {
+        return reused.value();
+    }
+
+    /**
+     * Returns the number of released instances that were destroyed because the pool was full or they could not be
+     * reset.
+     */
+    public long numDiscarded() {
+        return discarded.value();
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.compression;
+
+import com.aayushatharva.brotli4j.encoder.BrotliEncoderChannel;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.util.internal.ObjectUtil;
+import io.netty.util.internal.PlatformDependent;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * {@link Compressor} using the brotli format. The output is flushed after each call of
+ * {@link #compress(ByteBuf, ByteBufAllocator)}.
+ *
+ * See <a href="https://github.com/google/brotli">brotli</a>.
+ */
+public final class BrotliCompressor implements Compressor {
+
+    static {
+        try {
+            Brotli.ensureAvailability();
+        } catch (Throwable throwable) {
+            throw new ExceptionInInitializerError(throwable);
+        }
+    }
+
+    private final Encoder.Parameters parameters;
+    private final Sink sink = new Sink();
+    private BrotliEncoderChannel channel;
+    private boolean finished;
+    private boolean closed;
+
+    /**
+     * Creates a new instance with {@link BrotliOptions#DEFAULT}.
+     */
+    public BrotliCompressor() {
+        this(StandardCompressionOptions.brotli());
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param brotliOptions {@link BrotliOptions} to use
+     */
+    public BrotliCompressor(BrotliOptions brotliOptions) {
+        this(ObjectUtil.checkNotNull(brotliOptions, "brotliOptions").parameters());
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param parameters {@link Encoder.Parameters} to use
+     */
+    public BrotliCompressor(Encoder.Parameters parameters) {
+        this.parameters = ObjectUtil.checkNotNull(parameters, "Parameters");
+        channel = newChannel();
+    }
+
+    private BrotliEncoderChannel newChannel() {
+        try {
+            return new BrotliEncoderChannel(sink, parameters);
+        } catch (IOException e) {
+            throw new CompressionException(e);
+        }
+    }
+
+    @Override
+    public ByteBuf compress(ByteBuf input, ByteBufAllocator allocator) {
+        ensureNotFinished();
+        if (!input.isReadable()) {
+            return Unpooled.EMPTY_BUFFER;
+        }
+        ByteBuf out = allocator.buffer();
+        sink.current = out;
+        try {
+            ByteBuffer nioBuffer = CompressionUtil.safeReadableNioBuffer(input);
+            int position = nioBuffer.position();
+            channel.write(nioBuffer);
+            input.skipBytes(nioBuffer.position() - position);
+            // Each flush call results in the encoded data being written into the sink.
+            channel.flush();
+        } catch (Throwable cause) {
+            out.release();
+            if (cause instanceof IOException) {
+                throw new CompressionException(cause);
+            }
+            PlatformDependent.throwException(cause);
+        } finally {
+            sink.current = null;
+        }
+        return out;
+    }
+
+    @Override
+    public ByteBuf finish(ByteBufAllocator allocator) {
+        ensureNotFinished();
+        finished = true;
+        ByteBuf out = allocator.buffer();
+        sink.current = out;
+        try {
+            channel.close();
+        } catch (Throwable cause) {
+            out.release();
+            if (cause instanceof IOException) {
+                throw new CompressionException(cause);
+            }
+            PlatformDependent.throwException(cause);
+        } finally {
+            sink.current = null;
+        }
+        return out;
+    }
+
+    @Override
+    public boolean isFinished() {
+        return finished;
+    }
+
+    @Override
+    public void reset() {
+        if (closed) {
+            throw new IllegalStateException("Compressor was closed");
+        }
+        closeChannel();
+        channel = newChannel();
+        finished = false;
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            finished = true;
+            closeChannel();
+        }
+    }
+
+    private void ensureNotFinished() {
+        if (closed) {
+            throw new IllegalStateException("Compressor was closed");
+        }
+        if (finished) {
+            throw new IllegalStateException("Compressor was finished, reset() it first");
+        }
+    }
+
+    private void closeChannel() {
+        if (channel.isOpen()) {
+            // The trailing bytes are discarded as no sink buffer is set.
+            try {
+                channel.close();
+            } catch (IOException ignore) {
+                // ignore
+            }
+        }
+    }
+
+    /**
+     * Writes the encoded data into the {@link ByteBuf} of the current operation and discards it otherwise.
+     */
+    private static final class Sink implements WritableByteChannel {
+        ByteBuf current;
+
+        @Override
+        public int write(ByteBuffer src) {
+            int remaining = src.remaining();
+            if (current == null) {
+                src.position(src.limit());
+            } else {
+                current.writeBytes(src);
+            }
+            return remaining;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+            // NOOP
+        }
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.compression;
+
+import com.aayushatharva.brotli4j.decoder.DecoderJNI;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.util.internal.ObjectUtil;
+import io.netty.util.internal.PlatformDependent;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * {@link Decompressor} for data encoded with the brotli format.
+ *
+ * See <a href="https://github.com/google/brotli">brotli</a>.
+ */
+public final class BrotliDecompressor implements Decompressor {
+
+    static {
+        try {
+            Brotli.ensureAvailability();
+        } catch (Throwable throwable) {
+            throw new ExceptionInInitializerError(throwable);
+        }
+    }
+
+    private final int inputBufferSize;
+    private DecoderJNI.Wrapper decoder;
+    // Output that was pulled from the decoder but exceeded the maximum output length of the last call.
+    private ByteBuf pending;
+    private boolean finished;
+    private boolean closed;
+
+    /**
+     * Creates a new instance with a default 8kB input buffer.
+     */
+    public BrotliDecompressor() {
+        this(8 * 1024);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param inputBufferSize desired size of the input buffer in bytes
+     */
+    public BrotliDecompressor(int inputBufferSize) {
+        this.inputBufferSize = ObjectUtil.checkPositive(inputBufferSize, "inputBufferSize");
+        decoder = newDecoder();
+    }
+
+    private DecoderJNI.Wrapper newDecoder() {
+        try {
+            return new DecoderJNI.Wrapper(inputBufferSize);
+        } catch (IOException e) {
+            throw new DecompressionException(e);
+        }
+    }
+
+    @Override
+    public ByteBuf decompress(ByteBuf input, ByteBufAllocator allocator) {
+        return decompress(input, allocator, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public ByteBuf decompress(ByteBuf input, ByteBufAllocator allocator, int maxOutputLength) {
+        ObjectUtil.checkPositive(maxOutputLength, "maxOutputLength");
+        if (closed) {
+            throw new IllegalStateException("Decompressor was closed");
+        }
+        if (pending != null) {
+            return readPending(maxOutputLength);
+        }
+        if (finished) {
+            // Skip data received after finished.
+            input.skipBytes(input.readableBytes());
+            return Unpooled.EMPTY_BUFFER;
+        }
+
+        ByteBuf out = null;
+        try {
+            for (;;) {
+                switch (decoder.getStatus()) {
+                    case DONE:
+                        finished = true;
+                        input.skipBytes(input.readableBytes());
+                        return out == null ? Unpooled.EMPTY_BUFFER : out;
+
+                    case OK:
+                        decoder.push(0);
+                        break;
+
+                    case NEEDS_MORE_INPUT:
+                        if (decoder.hasOutput()) {
+                            out = pull(allocator, out);
+                            if (out.readableBytes() >= maxOutputLength) {
+                                return limit(out, maxOutputLength);
+                            }
+                        }
+
+                        if (!input.isReadable()) {
+                            return out == null ? Unpooled.EMPTY_BUFFER : out;
+                        }
+
+                        ByteBuffer decoderInputBuffer = decoder.getInputBuffer();
+                        decoderInputBuffer.clear();
+                        decoder.push(readBytes(input, decoderInputBuffer));
+                        break;
+
+                    case NEEDS_MORE_OUTPUT:
+                        out = pull(allocator, out);
+                        if (out.readableBytes() >= maxOutputLength) {
+                            return limit(out, maxOutputLength);
+                        }
+                        break;
+
+                    default:
+                        throw new DecompressionException("Brotli stream corrupted");
+                }
+            }
+        } catch (Throwable cause) {
+            if (out != null) {
+                out.release();
+            }
+            finished = true;
+            PlatformDependent.throwException(cause);
+            return null;
+        }
+    }
+
+    /**
+     * Returns the first {@code maxOutputLength} bytes of {@code out} and keeps the rest for the next call, as the
+     * decoder cannot be asked for less than all of its output.
+     */
+    private ByteBuf limit(ByteBuf out, int maxOutputLength) {
+        if (out.readableBytes() == maxOutputLength) {
+            return out;
+        }
+        pending = out;
+        return readPending(maxOutputLength);
+    }
+
+    private ByteBuf readPending(int maxOutputLength) {
+        ByteBuf out = pending.readRetainedSlice(Math.min(maxOutputLength, pending.readableBytes()));
+        if (!pending.isReadable()) {
+            releasePending();
+        }
+        return out;
+    }
+
+    private void releasePending() {
+        if (pending != null) {
+            pending.release();
+            pending = null;
+        }
+    }
+
+    private ByteBuf pull(ByteBufAllocator alloc, ByteBuf out) {
+        ByteBuffer nativeBuffer = decoder.pull();
+        // nativeBuffer actually wraps brotli's internal buffer so we need to copy its content
+        if (out == null) {
+            out = alloc.buffer(nativeBuffer.remaining());
+        }
+        out.writeBytes(nativeBuffer);
+        return out;
+    }
+
+    private static int readBytes(ByteBuf in, ByteBuffer dest) {
+        int limit = Math.min(in.readableBytes(), dest.remaining());
+        ByteBuffer slice = dest.slice();
+        slice.limit(limit);
+        in.readBytes(slice);
+        dest.position(dest.position() + limit);
+        return limit;
+    }
+
+    @Override
+    public boolean isFinished() {
+        return finished;
+    }
+
+    @Override
+    public void reset() {
+        if (closed) {
+            throw new IllegalStateException("Decompressor was closed");
+        }
+        releasePending();
+        decoder.destroy();
+        decoder = newDecoder();
+        finished = false;
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            finished = true;
+            releasePending();
+            decoder.destroy();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.compression;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.ChannelPipeline;
+
+/**
+ * Compresses a stream of {@link ByteBuf}s directly, without the need of a {@link ChannelPipeline}. This allows
+ * handlers that compress the content of messages (like HTTP responses) to do so without creating a channel per
+ * message.
+ * <p>
+ * A {@link Compressor} can be {@link #reset()} once a stream was {@link #finish(ByteBufAllocator) finished} and
+ * then be used for the next stream, which reuses expensive state like native contexts.
+ * <p>
+ * Implementations are not thread-safe.
+ */
+public interface Compressor {
+
+    /**
+     * Compresses all readable bytes of {@code input} and returns the compressed bytes that are ready to be written.
+     * The returned {@link ByteBuf} may be empty and must be released by the caller. {@code input} is not released.
+     */
+    ByteBuf compress(ByteBuf input, ByteBufAllocator allocator) throws CompressionException;
+
+    /**
+     * Finishes the current stream and returns the remaining compressed bytes, like the trailer of the format.
+     * The returned {@link ByteBuf} may be empty and must be released by the caller.
+     */
+    ByteBuf finish(ByteBufAllocator allocator) throws CompressionException;
+
+    /**
+     * Returns {@code true} if the current stream was finished via {@link #finish(ByteBufAllocator)}.
+     */
+    boolean isFinished();
+
+    /**
+     * Discards the state of the current stream so that a new stream can be compressed.
+     * <p>
+     * This is an optional operation: a {@link Compressor} which can not be reused throws an
+     * {@link UnsupportedOperationException}. {@link CompressorPool} discards instances that can not be reset.
+     *
+     * @throws UnsupportedOperationException if this {@link Compressor} can not be reused
+     */
+    void reset();
+
+    /**
+     * Releases all resources of this {@link Compressor}. It must not be used anymore afterwards.
+     */
+    void close();
+}
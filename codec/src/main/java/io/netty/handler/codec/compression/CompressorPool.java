@@ -0,0 +1,205 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.compression;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.util.internal.ObjectUtil;
+import io.netty.util.internal.PlatformDependent;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A pool of {@link Compressor}s which allows to reuse their native state (like the one of a
+ * {@link java.util.zip.Deflater} or a Zstandard context) across channels and responses instead of allocating it
+ * for each of them.
+ * <p>
+ * A {@link Compressor} obtained via {@link #acquire()} is returned to the pool of the current thread once it is
+ * {@link Compressor#close() closed}, and must not be used after that. Idle instances are kept per thread, so each
+ * {@link io.netty.channel.EventLoop} ends up with its own pool.
+ */
+public final class CompressorPool extends AbstractCodecPool<Compressor> {
+
+    private static final ConcurrentMap<Object, CompressorPool> SHARED = PlatformDependent.newConcurrentHashMap();
+
+    /**
+     * Creates {@link Compressor}s for a {@link CompressorPool}.
+     */
+    public interface Factory {
+        /**
+         * Creates a new {@link Compressor}.
+         */
+        Compressor newCompressor();
+    }
+
+    private final Factory factory;
+
+    /**
+     * Creates a new pool which keeps up to {@code io.netty.compression.maxPooledPerThread} (4 by default) idle
+     * instances per thread.
+     */
+    public CompressorPool(Factory factory) {
+        this(factory, DEFAULT_MAX_POOLED_PER_THREAD);
+    }
+
+    /**
+     * Creates a new pool.
+     *
+     * @param factory               creates the pooled {@link Compressor}s
+     * @param maxPooledPerThread    the maximum number of idle instances per thread, {@code 0} disables pooling
+     */
+    public CompressorPool(Factory factory, int maxPooledPerThread) {
+        super(maxPooledPerThread);
+        this.factory = ObjectUtil.checkNotNull(factory, "factory");
+    }
+
+    /**
+     * Returns the shared pool of {@link ZlibCompressor}s with the given settings.
+     */
+    public static CompressorPool zlib(final ZlibWrapper wrapper, final int compressionLevel) {
+        // Validate the arguments before registering a pool for them.
+        ObjectUtil.checkNotNull(wrapper, "wrapper");
+        ObjectUtil.checkInRange(compressionLevel, 0, 9, "compressionLevel");
+        if (wrapper == ZlibWrapper.ZLIB_OR_NONE) {
+            throw new IllegalArgumentException(
+                    "wrapper '" + ZlibWrapper.ZLIB_OR_NONE + "' is not allowed for compression.");
+        }
+        String key = "zlib-" + wrapper + '-' + compressionLevel;
+        CompressorPool pool = SHARED.get(key);
+        if (pool == null) {
+            pool = new CompressorPool(new Factory() {
+                @Override
+                public Compressor newCompressor() {
+                    return new ZlibCompressor(wrapper, compressionLevel);
+                }
+            });
+            CompressorPool old = SHARED.putIfAbsent(key, pool);
+            if (old != null) {
+                pool = old;
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * Returns the shared pool of {@link ZstdCompressor}s with the given settings.
+     */
+    public static CompressorPool zstd(int compressionLevel, int blockSize, int maxEncodeSize) {
+        return zstd(compressionLevel, blockSize, maxEncodeSize, null);
+    }
+
+    /**
+     * Returns the shared pool of {@link ZstdCompressor}s with the given settings.
+     *
+     * @param dictionary    the {@link ZstdDictionary} to compress with or {@code null} if none should be used.
+     *                      The pools using a dictionary are kept by the dictionary instance itself, so they
+     *                      should be shared and go away together with it.
+     */
+    public static CompressorPool zstd(final int compressionLevel, final int blockSize, final int maxEncodeSize,
+                                      final ZstdDictionary dictionary) {
+        ObjectUtil.checkInRange(compressionLevel, ZstdConstants.MIN_COMPRESSION_LEVEL,
+                ZstdConstants.MAX_COMPRESSION_LEVEL, "compressionLevel");
+        ObjectUtil.checkPositive(blockSize, "blockSize");
+        ObjectUtil.checkPositive(maxEncodeSize, "maxEncodeSize");
+        // Keep the pools using a dictionary out of the static map so they do not outlive the dictionary.
+        ConcurrentMap<Object, CompressorPool> pools = dictionary == null ? SHARED : dictionary.compressorPools;
+        Object key = Arrays.asList("zstd", compressionLevel, blockSize, maxEncodeSize);
+        CompressorPool pool = pools.get(key);
+        if (pool == null) {
+            pool = new CompressorPool(new Factory() {
+                @Override
+                public Compressor newCompressor() {
+                    return new ZstdCompressor(compressionLevel, blockSize, maxEncodeSize, dictionary);
+                }
+            });
+            CompressorPool old = pools.putIfAbsent(key, pool);
+            if (old != null) {
+                pool = old;
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * Returns a {@link Compressor} which is either taken from the pool of the current thread or newly created.
+     * The returned instance must be {@link Compressor#close() closed} from the same thread once it is not needed
+     * anymore.
+     */
+    public Compressor acquire() {
+        return new PooledCompressor(take());
+    }
+
+    @Override
+    Compressor newInstance() {
+        return factory.newCompressor();
+    }
+
+    @Override
+    void reset(Compressor instance) {
+        instance.reset();
+    }
+
+    @Override
+    void destroy(Compressor instance) {
+        instance.close();
+    }
+
+    private final class PooledCompressor implements Compressor {
+        private Compressor delegate;
+
+        PooledCompressor(Compressor delegate) {
+            this.delegate = delegate;
+        }
+
+        private Compressor delegate() {
+            Compressor delegate = this.delegate;
+            if (delegate == null) {
+                throw new IllegalStateException("Compressor was closed");
+            }
+            return delegate;
+        }
+
+        @Override
+        public ByteBuf compress(ByteBuf input, ByteBufAllocator allocator) {
+            return delegate().compress(input, allocator);
+        }
+
+        @Override
+        public ByteBuf finish(ByteBufAllocator allocator) {
+            return delegate().finish(allocator);
+        }
+
+        @Override
+        public boolean isFinished() {
+            return delegate == null || delegate.isFinished();
+        }
+
+        @Override
+        public void reset() {
+            delegate().reset();
+        }
+
+        @Override
+        public void close() {
+            Compressor delegate = this.delegate;
+            if (delegate != null) {
+                this.delegate = null;
+                give(delegate);
+            }
+        }
+    }
+}
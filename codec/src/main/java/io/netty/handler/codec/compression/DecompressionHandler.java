@@ -0,0 +1,191 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.compression;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelConfig;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.util.internal.ObjectUtil;
+
+/**
+ * Decompresses the received {@link ByteBuf}s with a {@link Decompressor} and fires the decompressed data in chunks
+ * of at most {@code maxChunkSize} bytes. Unlike decoders like {@link JdkZlibDecoder}, {@link BrotliDecoder} or
+ * {@link ZstdDecoder}, which decompress each received buffer completely, this handler only produces output when it
+ * is demanded:
+ * <ul>
+ *     <li>If auto reading is enabled, all output is fired as it is produced, one chunk at a time.</li>
+ *     <li>If auto reading is disabled, one chunk is fired per {@code read()}. Only if no more output can be
+ *     produced from the data received so far, the {@code read()} is passed on to receive more of it.</li>
+ * </ul>
+ * This way a handler which turns off auto reading while it processes a chunk (or a {@code FlowControlHandler} in
+ * front of it) keeps the memory used for decompression constant, no matter how well the data was compressed. This
+ * protects against decompression bombs and allows large uploads to be processed as a stream.
+ *
+ * <pre>{@code
+ * pipeline.addLast(new DecompressionHandler(new ZlibDecompressor(ZlibWrapper.GZIP), 8192));
+ * pipeline.addLast(new MyStreamingHandler());
+ * }</pre>
+ *
+ * Messages other than {@link ByteBuf}s are passed on unchanged. The {@link Decompressor} is closed once this handler
+ * is removed.
+ */
+public class DecompressionHandler extends ChannelDuplexHandler {
+
+    private static final int DEFAULT_MAX_CHUNK_SIZE = 8192;
+
+    private final Decompressor decompressor;
+    private final int maxChunkSize;
+    private ChannelConfig config;
+    // The compressed data that was not consumed by the decompressor yet.
+    private ByteBuf cumulation;
+    // A read() was requested which was not satisfied with a chunk yet.
+    private boolean shouldConsume;
+    // Guards against reentrance from read() calls done while a chunk is fired.
+    private boolean decompressing;
+    // Between channelRead(...) and channelReadComplete(...) of the upstream handlers.
+    private boolean reading;
+
+    /**
+     * Creates a new instance which fires chunks of at most 8 KiB.
+     */
+    public DecompressionHandler(Decompressor decompressor) {
+        this(decompressor, DEFAULT_MAX_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param decompressor  the {@link Decompressor} to use, which is closed once this handler is removed
+     * @param maxChunkSize  the maximum number of bytes of the fired {@link ByteBuf}s
+     */
+    public DecompressionHandler(Decompressor decompressor, int maxChunkSize) {
+        this.decompressor = ObjectUtil.checkNotNull(decompressor, "decompressor");
+        this.maxChunkSize = ObjectUtil.checkPositive(maxChunkSize, "maxChunkSize");
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
+        config = ctx.channel().config();
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+        releaseCumulation();
+        decompressor.close();
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        reading = false;
+        // Deliver what was received before the channel was closed, as no read() will follow.
+        try {
+            if (decompress(ctx, true) > 0) {
+                ctx.fireChannelReadComplete();
+            }
+        } finally {
+            releaseCumulation();
+            ctx.fireChannelInactive();
+        }
+    }
+
+    @Override
+    public void read(ChannelHandlerContext ctx) throws Exception {
+        shouldConsume = true;
+        if (decompressing) {
+            // Called from fireChannelRead(...). Firing the next chunk now would overtake the current one in the
+            // handlers after the one which called read(), so the loop in decompress(...) fires it once it returns.
+            return;
+        }
+        // If read() is called while a read of the upstream handlers is in progress, channelReadComplete(...) will
+        // follow, so only fire it for the chunks that are produced outside of it.
+        if (decompress(ctx, false) > 0 && !reading) {
+            ctx.fireChannelReadComplete();
+        }
+        if (shouldConsume || config.isAutoRead()) {
+            // More compressed data is needed to produce the next chunk. Once it was received, the chunk is fired
+            // regardless of the auto reading configuration.
+            ctx.read();
+        }
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        reading = true;
+        if (!(msg instanceof ByteBuf)) {
+            ctx.fireChannelRead(msg);
+            return;
+        }
+        ByteBuf in = (ByteBuf) msg;
+        if (cumulation == null) {
+            cumulation = in;
+        } else {
+            cumulation = ByteToMessageDecoder.MERGE_CUMULATOR.cumulate(ctx.alloc(), cumulation, in);
+        }
+        if (!decompressing) {
+            decompress(ctx, false);
+        }
+    }
+
+    @Override
+    public void channelReadComplete(ChannelHandlerContext ctx) throws Exception {
+        reading = false;
+        if (shouldConsume && !config.isAutoRead()) {
+            // The data received so far was not enough to satisfy the last read().
+            ctx.read();
+        }
+        ctx.fireChannelReadComplete();
+    }
+
+    /**
+     * Fires a chunk for each pending {@code read()}, all of them while auto reading is enabled or if {@code drain}
+     * is {@code true}, as long as output can be produced from the received data. Returns the number of chunks that
+     * were fired.
+     */
+    private int decompress(ChannelHandlerContext ctx, boolean drain) {
+        int chunks = 0;
+        decompressing = true;
+        try {
+            // fireChannelRead(...) may call read(), which only sets shouldConsume, or the handler may be removed.
+            while (!ctx.isRemoved() && (drain || shouldConsume || config.isAutoRead())) {
+                ByteBuf in = cumulation == null ? Unpooled.EMPTY_BUFFER : cumulation;
+                ByteBuf out = decompressor.decompress(in, ctx.alloc(), maxChunkSize);
+                if (cumulation != null && !cumulation.isReadable()) {
+                    releaseCumulation();
+                }
+                if (!out.isReadable()) {
+                    out.release();
+                    break;
+                }
+                chunks++;
+                shouldConsume = false;
+                ctx.fireChannelRead(out);
+            }
+        } finally {
+            decompressing = false;
+        }
+        return chunks;
+    }
+
+    private void releaseCumulation() {
+        if (cumulation != null) {
+            cumulation.release();
+            cumulation = null;
+        }
+    }
+}
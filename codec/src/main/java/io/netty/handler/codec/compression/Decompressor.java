@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.compression;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.ChannelPipeline;
+
+/**
+ * Decompresses a stream of {@link ByteBuf}s directly, without the need of a {@link ChannelPipeline}. This allows
+ * handlers that decompress the content of messages (like HTTP requests) to do so without creating a channel per
+ * message.
+ * <p>
+ * A {@link Decompressor} can be {@link #reset()} and then be used for the next stream, which reuses expensive state
+ * like native contexts.
+ * <p>
+ * Implementations are not thread-safe.
+ */
+public interface Decompressor {
+
+    /**
+     * Decompresses the readable bytes of {@code input} and returns the decompressed bytes. All readable bytes of
+     * {@code input} are consumed: bytes that cannot be decompressed yet, like an incomplete frame, are buffered
+     * until more input is provided. The returned {@link ByteBuf} may be empty and must be released by the caller.
+     * {@code input} is not released.
+     */
+    ByteBuf decompress(ByteBuf input, ByteBufAllocator allocator) throws DecompressionException;
+
+    /**
+     * Decompresses like {@link #decompress(ByteBuf, ByteBufAllocator)}, but returns at most {@code maxOutputLength}
+     * bytes, so the memory needed for the output does not depend on the compression ratio.
+     * <p>
+     * An implementation may consume all readable bytes of {@code input} and keep what it did not decompress yet in an
+     * internal buffer, or it may only consume as much as is needed to produce the output, in which case the remaining
+     * readable bytes must be passed again with the next call. Output that was not returned yet is kept until the next
+     * call, which may pass an empty {@code input}. An empty {@link ByteBuf} is only returned once all readable bytes
+     * of {@code input} were consumed and no more output can be produced without more input.
+     */
+    ByteBuf decompress(ByteBuf input, ByteBufAllocator allocator, int maxOutputLength)
+            throws DecompressionException;
+
+    /**
+     * Returns {@code true} if the end of the compressed stream was reached. Any further input is discarded.
+     */
+    boolean isFinished();
+
+    /**
+     * Discards the state of the current stream so that a new stream can be decompressed.
+     * <p>
+     * This is an optional operation: a {@link Decompressor} which can not be reused throws an
+     * {@link UnsupportedOperationException}. {@link DecompressorPool} discards instances that can not be reset.
+     *
+     * @throws UnsupportedOperationException if this {@link Decompressor} can not be reused
+     */
+    void reset();
+
+    /**
+     * Releases all resources of this {@link Decompressor}. It must not be used anymore afterwards.
+     */
+    void close();
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.compression;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.util.internal.ObjectUtil;
+import io.netty.util.internal.PlatformDependent;
+
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A pool of {@link Decompressor}s which allows to reuse their native state (like the one of an
+ * {@link java.util.zip.Inflater}) across channels and requests instead of allocating it for each of them.
+ * <p>
+ * A {@link Decompressor} obtained via {@link #acquire()} is returned to the pool of the current thread once it is
+ * {@link Decompressor#close() closed}, and must not be used after that. Idle instances are kept per thread, so each
+ * {@link io.netty.channel.EventLoop} ends up with its own pool.
+ */
+public final class DecompressorPool extends AbstractCodecPool<Decompressor> {
+
+    private static final ConcurrentMap<String, DecompressorPool> SHARED = PlatformDependent.newConcurrentHashMap();
+
+    /**
+     * Creates {@link Decompressor}s for a {@link DecompressorPool}.
+     */
+    public interface Factory {
+        /**
+         * Creates a new {@link Decompressor}.
+         */
+        Decompressor newDecompressor();
+    }
+
+    private final Factory factory;
+
+    /**
+     * Creates a new pool which keeps up to {@code io.netty.compression.maxPooledPerThread} (4 by default) idle
+     * instances per thread.
+     */
+    public DecompressorPool(Factory factory) {
+        this(factory, DEFAULT_MAX_POOLED_PER_THREAD);
+    }
+
+    /**
+     * Creates a new pool.
+     *
+     * @param factory               creates the pooled {@link Decompressor}s
+     * @param maxPooledPerThread    the maximum number of idle instances per thread, {@code 0} disables pooling
+     */
+    public DecompressorPool(Factory factory, int maxPooledPerThread) {
+        super(maxPooledPerThread);
+        this.factory = ObjectUtil.checkNotNull(factory, "factory");
+    }
+
+    /**
+     * Returns the shared pool of {@link ZlibDecompressor}s with the given settings.
+     */
+    public static DecompressorPool zlib(final ZlibWrapper wrapper, final boolean decompressConcatenated) {
+        ObjectUtil.checkNotNull(wrapper, "wrapper");
+        String key = "zlib-" + wrapper + '-' + decompressConcatenated;
+        DecompressorPool pool = SHARED.get(key);
+        if (pool == null) {
+            pool = new DecompressorPool(new Factory() {
+                @Override
+                public Decompressor newDecompressor() {
+                    return new ZlibDecompressor(wrapper, decompressConcatenated);
+                }
+            });
+            DecompressorPool old = SHARED.putIfAbsent(key, pool);
+            if (old != null) {
+                pool = old;
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * Returns a {@link Decompressor} which is either taken from the pool of the current thread or newly created.
+     * The returned instance must be {@link Decompressor#close() closed} from the same thread once it is not needed
+     * anymore.
+     */
+    public Decompressor acquire() {
+        return new PooledDecompressor(take());
+    }
+
+    @Override
+    Decompressor newInstance() {
+        return factory.newDecompressor();
+    }
+
+    @Override
+    void reset(Decompressor instance) {
+        instance.reset();
+    }
+
+    @Override
+    void destroy(Decompressor instance) {
+        instance.close();
+    }
+
+    private final class PooledDecompressor implements Decompressor {
+        private Decompressor delegate;
+
+        PooledDecompressor(Decompressor delegate) {
+            this.delegate = delegate;
+        }
+
+        private Decompressor delegate() {
+            Decompressor delegate = this.delegate;
+            if (delegate == null) {
+                throw new IllegalStateException("Decompressor was closed");
+            }
+            return delegate;
+        }
+
+        @Override
+        public ByteBuf decompress(ByteBuf input, ByteBufAllocator allocator) {
+            return delegate().decompress(input, allocator);
+        }
+
+        @Override
+        public ByteBuf decompress(ByteBuf input, ByteBufAllocator allocator, int maxOutputLength) {
+            return delegate().decompress(input, allocator, maxOutputLength);
+        }
+
+        @Override
+        public boolean isFinished() {
+            return delegate == null || delegate.isFinished();
+        }
+
+        @Override
+        public void reset() {
+            delegate().reset();
+        }
+
+        @Override
+        public void close() {
+            Decompressor delegate = this.delegate;
+            if (delegate != null) {
+                this.delegate = null;
+                give(delegate);
+            }
+        }
+    }
+}
@@ -500,14 +500,21 @@ final class FastLz {
                     /* copy from reference */
                     ref--;
 
-                    // *op++ = *ref++;
-                    output.setByte(outOffset + op++, output.getByte(outOffset + ref++));
-                    output.setByte(outOffset + op++, output.getByte(outOffset + ref++));
-                    output.setByte(outOffset + op++, output.getByte(outOffset + ref++));
-
-                    while (len != 0) {
+                    int copyLength = (int) len + 3;
+                    if (op - ref >= copyLength) {
+                        // The reference does not overlap with the bytes it produces, so copy it in bulk.
+                        output.setBytes(outOffset + op, output, outOffset + ref, copyLength);
+                        op += copyLength;
+                    } else {
+                        // *op++ = *ref++;
                         output.setByte(outOffset + op++, output.getByte(outOffset + ref++));
-                        --len;
+                        output.setByte(outOffset + op++, output.getByte(outOffset + ref++));
+                        output.setByte(outOffset + op++, output.getByte(outOffset + ref++));
+
+                        while (len != 0) {
+                            output.setByte(outOffset + op++, output.getByte(outOffset + ref++));
+                            --len;
+                        }
                     }
                 }
             } else {
@@ -520,13 +527,10 @@ final class FastLz {
                     return 0;
                 }
 
-                //*op++ = *ip++;
-                output.setByte(outOffset + op++, input.getByte(inOffset + ip++));
-
-                for (--ctrl; ctrl != 0; ctrl--) {
-                    // *op++ = *ip++;
-                    output.setByte(outOffset + op++, input.getByte(inOffset + ip++));
-                }
+                // memcpy(op, ip, ctrl)
+                output.setBytes(outOffset + op, input, inOffset + ip, (int) ctrl);
+                op += ctrl;
+                ip += ctrl;
 
                 loop = ip < inLength ? 1 : 0;
                 if (loop != 0) {
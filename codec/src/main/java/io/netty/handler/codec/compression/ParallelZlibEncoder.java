@@ -0,0 +1,458 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.compression;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundBuffer;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.util.NettyRuntime;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.concurrent.FastThreadLocal;
+import io.netty.util.concurrent.PromiseNotifier;
+import io.netty.util.internal.ObjectUtil;
+import io.netty.util.internal.PlatformDependent;
+import io.netty.util.internal.StringUtil;
+import io.netty.util.internal.SuppressJava6Requirement;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Checksum;
+import java.util.zip.Deflater;
+
+/**
+ * Compresses a {@link ByteBuf} stream using the deflate algorithm like {@link JdkZlibEncoder}, but splits the
+ * input into blocks which are compressed in parallel by an {@link Executor} instead of the
+ * {@link io.netty.channel.EventLoop}. This keeps the {@link io.netty.channel.EventLoop} responsive while large
+ * bodies are compressed.
+ * <p>
+ * Like <a href="https://zlib.net/pigz/">pigz</a>, each block is primed with the last 32 KiB of the previous block
+ * and ends with a sync flush, so the blocks form a single valid deflate stream which can be decoded by any zlib or
+ * gzip decoder. The compressed blocks are written in order and the checksum is computed on the
+ * {@link io.netty.channel.EventLoop}, which is much cheaper than the compression itself. The compression ratio is
+ * slightly lower than the one of {@link JdkZlibEncoder}, and each flush ends the current block.
+ * <p>
+ * To keep the memory bounded the channel is marked as not writable, using the user defined writability index
+ * {@value #USER_DEFINED_WRITABILITY_INDEX}, while {@code maxPendingBlocks} blocks are being compressed.
+ * <p>
+ * This encoder requires Java 7 or newer, as the blocks can only be ended with a sync flush since then.
+ */
+public class ParallelZlibEncoder extends ChannelOutboundHandlerAdapter {
+
+    /**
+     * The index used for {@link ChannelOutboundBuffer#setUserDefinedWritability(int, boolean)}.
+     */
+    public static final int USER_DEFINED_WRITABILITY_INDEX = 4;
+
+    private static final int DEFAULT_BLOCK_SIZE = 128 * 1024;
+    private static final int DICTIONARY_SIZE = 32 * 1024;
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0};
+
+    // One raw deflater per compression level and thread of the executor.
+    private static final FastThreadLocal<Deflater[]> DEFLATERS = new FastThreadLocal<Deflater[]>() {
+        @Override
+        protected Deflater[] initialValue() {
+            return new Deflater[10];
+        }
+
+        @Override
+        protected void onRemoval(Deflater[] value) {
+            for (Deflater deflater : value) {
+                if (deflater != null) {
+                    deflater.end();
+                }
+            }
+        }
+    };
+
+    private final ZlibWrapper wrapper;
+    private final int compressionLevel;
+    private final Executor executor;
+    private final int blockSize;
+    private final int maxPendingBlocks;
+    private final Checksum checksum;
+    private final ArrayDeque<Block> pendingBlocks = new ArrayDeque<Block>();
+    private final Runnable writeCompletedBlocksTask = new Runnable() {
+        @Override
+        public void run() {
+            writeCompletedBlocks();
+        }
+    };
+
+    private ChannelHandlerContext ctx;
+    private byte[] data;
+    private int dataLength;
+    private byte[] dictionary;
+    private List<ChannelPromise> promises = new ArrayList<ChannelPromise>(2);
+    private long uncompressedSize;
+    private boolean headerWritten;
+    private boolean finished;
+    private boolean removed;
+    private ChannelPromise finishPromise;
+
+    /**
+     * Creates a new encoder with a block size of 128 KiB and up to two pending blocks per available processor.
+     *
+     * @param wrapper           the wrapper to use, {@link ZlibWrapper#ZLIB_OR_NONE} is not allowed
+     * @param compressionLevel  {@code 1} yields the fastest compression and {@code 9} yields the best compression.
+     *                          {@code 0} means no compression.
+     * @param executor          the {@link Executor} which compresses the blocks
+     */
+    public ParallelZlibEncoder(ZlibWrapper wrapper, int compressionLevel, Executor executor) {
+        this(wrapper, compressionLevel, executor, DEFAULT_BLOCK_SIZE, NettyRuntime.availableProcessors() * 2);
+    }
+
+    /**
+     * Creates a new encoder.
+     *
+     * @param wrapper           the wrapper to use, {@link ZlibWrapper#ZLIB_OR_NONE} is not allowed
+     * @param compressionLevel  {@code 1} yields the fastest compression and {@code 9} yields the best compression.
+     *                          {@code 0} means no compression.
+     * @param executor          the {@link Executor} which compresses the blocks
+     * @param blockSize         the number of bytes which are compressed together
+     * @param maxPendingBlocks  the number of blocks being compressed at which the channel is marked as not writable
+     * @throws UnsupportedOperationException if running on Java 6
+     */
+    public ParallelZlibEncoder(ZlibWrapper wrapper, int compressionLevel, Executor executor, int blockSize,
+                               int maxPendingBlocks) {
+        if (PlatformDependent.javaVersion() < 7) {
+            // Deflater.SYNC_FLUSH is needed to end a block without ending the deflate stream.
+            throw new UnsupportedOperationException(
+                    StringUtil.simpleClassName(ParallelZlibEncoder.class) + " requires Java 7 or newer");
+        }
+        ObjectUtil.checkNotNull(wrapper, "wrapper");
+        if (wrapper == ZlibWrapper.ZLIB_OR_NONE) {
+            throw new IllegalArgumentException(
+                    "wrapper '" + ZlibWrapper.ZLIB_OR_NONE + "' is not allowed for compression.");
+        }
+        this.wrapper = wrapper;
+        this.compressionLevel = ObjectUtil.checkInRange(compressionLevel, 0, 9, "compressionLevel");
+        this.executor = ObjectUtil.checkNotNull(executor, "executor");
+        this.blockSize = ObjectUtil.checkPositive(blockSize, "blockSize");
+        this.maxPendingBlocks = ObjectUtil.checkPositive(maxPendingBlocks, "maxPendingBlocks");
+        switch (wrapper) {
+            case GZIP:
+                checksum = new CRC32();
+                break;
+            case ZLIB:
+                checksum = new Adler32();
+                break;
+            default:
+                checksum = null;
+                break;
+        }
+    }
+
+    /**
+     * Returns {@code true} if and only if the end of the compressed stream has been reached.
+     */
+    public boolean isClosed() {
+        return finished;
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) {
+        this.ctx = ctx;
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) {
+        removed = true;
+        data = null;
+        dictionary = null;
+        failPromises(promises, new CompressionException("encoder removed"));
+        for (Block block : pendingBlocks) {
+            // The compressed data is dropped once the block is done.
+            failPromises(block.promises, new CompressionException("encoder removed"));
+        }
+        pendingBlocks.clear();
+        setWritable(true);
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        if (!(msg instanceof ByteBuf)) {
+            ctx.write(msg, promise);
+            return;
+        }
+        ByteBuf in = (ByteBuf) msg;
+        try {
+            if (finished) {
+                promise.setFailure(new CompressionException("encoder closed"));
+                return;
+            }
+            if (!promise.isVoid()) {
+                promises.add(promise);
+            }
+            while (in.isReadable()) {
+                if (data == null) {
+                    data = new byte[blockSize];
+                }
+                int length = Math.min(in.readableBytes(), blockSize - dataLength);
+                in.readBytes(data, dataLength, length);
+                if (checksum != null) {
+                    checksum.update(data, dataLength, length);
+                }
+                dataLength += length;
+                uncompressedSize += length;
+                if (dataLength == blockSize) {
+                    submitBlock(false);
+                }
+            }
+            if (dataLength == 0) {
+                // Everything was submitted already, so only empty messages can be left.
+                for (ChannelPromise p : promises) {
+                    p.trySuccess();
+                }
+                promises.clear();
+            }
+        } finally {
+            ReferenceCountUtil.release(in);
+        }
+    }
+
+    @Override
+    public void flush(ChannelHandlerContext ctx) {
+        if (dataLength > 0) {
+            submitBlock(false);
+        }
+        if (pendingBlocks.isEmpty()) {
+            ctx.flush();
+        } else {
+            // Flush once all blocks that were submitted so far were written.
+            pendingBlocks.peekLast().flush = true;
+        }
+    }
+
+    @Override
+    public void close(ChannelHandlerContext ctx, ChannelPromise promise) {
+        ChannelFuture f = finish(ctx.newPromise());
+        EncoderUtil.closeAfterFinishEncode(ctx, f, promise);
+    }
+
+    private ChannelFuture finish(ChannelPromise promise) {
+        if (finished) {
+            promise.setSuccess();
+            return promise;
+        }
+        finished = true;
+        finishPromise = promise;
+        submitBlock(true);
+        return promise;
+    }
+
+    private void submitBlock(boolean last) {
+        final Block block = new Block(data, dataLength, dictionary, last, promises);
+        // Use the end of this block as dictionary for the next one, the data array is owned by the block now.
+        if (dataLength > 0) {
+            int dictionaryLength = Math.min(dataLength, DICTIONARY_SIZE);
+            dictionary = Arrays.copyOfRange(data, dataLength - dictionaryLength, dataLength);
+        }
+        data = null;
+        dataLength = 0;
+        promises = new ArrayList<ChannelPromise>(2);
+        pendingBlocks.add(block);
+        if (pendingBlocks.size() >= maxPendingBlocks) {
+            setWritable(false);
+        }
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    block.compress(compressionLevel);
+                    ctx.executor().execute(writeCompletedBlocksTask);
+                }
+            });
+        } catch (Throwable cause) {
+            block.cause = cause;
+            block.done = true;
+            writeCompletedBlocks();
+        }
+    }
+
+    private void writeCompletedBlocks() {
+        if (removed) {
+            return;
+        }
+        boolean flush = false;
+        for (;;) {
+            Block block = pendingBlocks.peek();
+            if (block == null || !block.done) {
+                break;
+            }
+            pendingBlocks.poll();
+            flush |= block.flush;
+            if (block.cause != null) {
+                failPromises(block.promises, block.cause);
+                if (block.last) {
+                    finishPromise.tryFailure(block.cause);
+                }
+                ctx.fireExceptionCaught(block.cause);
+                continue;
+            }
+
+            ByteBuf out = Unpooled.wrappedBuffer(block.compressed, 0, block.compressedLength);
+            if (!headerWritten) {
+                headerWritten = true;
+                out = Unpooled.wrappedBuffer(Unpooled.wrappedBuffer(header()), out);
+            }
+            if (block.last) {
+                out = Unpooled.wrappedBuffer(out, Unpooled.wrappedBuffer(trailer()));
+            }
+            ChannelFuture future = ctx.write(out);
+            if (!block.promises.isEmpty()) {
+                future.addListener(new PromiseNotifier<Void, ChannelFuture>(false,
+                        block.promises.toArray(new ChannelPromise[0])));
+            }
+            if (block.last) {
+                future.addListener(new PromiseNotifier<Void, ChannelFuture>(false, finishPromise));
+                flush = true;
+            }
+        }
+        if (pendingBlocks.size() < maxPendingBlocks) {
+            setWritable(true);
+        }
+        if (flush) {
+            ctx.flush();
+        }
+    }
+
+    private byte[] header() {
+        switch (wrapper) {
+            case GZIP:
+                return GZIP_HEADER.clone();
+            case ZLIB:
+                int levelFlags = compressionLevel < 2 ? 0 : compressionLevel < 6 ? 1 : compressionLevel == 6 ? 2 : 3;
+                int cmf = 0x78;
+                int flg = levelFlags << 6;
+                flg += 31 - (cmf << 8 | flg) % 31;
+                return new byte[] { (byte) cmf, (byte) flg };
+            default:
+                return new byte[0];
+        }
+    }
+
+    private byte[] trailer() {
+        switch (wrapper) {
+            case GZIP:
+                int crc = (int) checksum.getValue();
+                int size = (int) uncompressedSize;
+                return new byte[] {
+                        (byte) crc, (byte) (crc >>> 8), (byte) (crc >>> 16), (byte) (crc >>> 24),
+                        (byte) size, (byte) (size >>> 8), (byte) (size >>> 16), (byte) (size >>> 24)
+                };
+            case ZLIB:
+                int adler = (int) checksum.getValue();
+                return new byte[] { (byte) (adler >>> 24), (byte) (adler >>> 16), (byte) (adler >>> 8), (byte) adler };
+            default:
+                return new byte[0];
+        }
+    }
+
+    private void setWritable(boolean writable) {
+        ChannelOutboundBuffer buffer = ctx.channel().unsafe().outboundBuffer();
+        if (buffer != null) {
+            buffer.setUserDefinedWritability(USER_DEFINED_WRITABILITY_INDEX, writable);
+        }
+    }
+
+    private static void failPromises(List<ChannelPromise> promises, Throwable cause) {
+        for (ChannelPromise promise : promises) {
+            promise.tryFailure(cause);
+        }
+        promises.clear();
+    }
+
+    private static final class Block {
+        private final byte[] data;
+        private final int dataLength;
+        private final byte[] dictionary;
+        final boolean last;
+        final List<ChannelPromise> promises;
+        // Only accessed from the EventLoop.
+        boolean flush;
+        // Written by the Executor and read by the EventLoop after the hand-off via EventLoop.execute(...).
+        byte[] compressed;
+        int compressedLength;
+        Throwable cause;
+        volatile boolean done;
+
+        Block(byte[] data, int dataLength, byte[] dictionary, boolean last, List<ChannelPromise> promises) {
+            this.data = data;
+            this.dataLength = dataLength;
+            this.dictionary = dictionary;
+            this.last = last;
+            this.promises = promises;
+        }
+
+        @SuppressJava6Requirement(reason = "Usage guarded by java version check in the constructor")
+        void compress(int compressionLevel) {
+            try {
+                Deflater[] deflaters = DEFLATERS.get();
+                Deflater deflater = deflaters[compressionLevel];
+                if (deflater == null) {
+                    deflater = new Deflater(compressionLevel, true);
+                    deflaters[compressionLevel] = deflater;
+                } else {
+                    deflater.reset();
+                }
+                if (dictionary != null) {
+                    deflater.setDictionary(dictionary);
+                }
+                if (dataLength > 0) {
+                    deflater.setInput(data, 0, dataLength);
+                }
+
+                byte[] out = new byte[dataLength + (dataLength >>> 9) + 64];
+                int length = 0;
+                if (last) {
+                    deflater.finish();
+                    while (!deflater.finished()) {
+                        if (length == out.length) {
+                            out = Arrays.copyOf(out, out.length << 1);
+                        }
+                        length += deflater.deflate(out, length, out.length - length);
+                    }
+                } else {
+                    for (;;) {
+                        if (length == out.length) {
+                            out = Arrays.copyOf(out, out.length << 1);
+                        }
+                        length += deflater.deflate(out, length, out.length - length, Deflater.SYNC_FLUSH);
+                        // If the output buffer was not filled completely everything was flushed.
+                        if (length < out.length) {
+                            break;
+                        }
+                    }
+                }
+                compressed = out;
+                compressedLength = length;
+            } catch (Throwable t) {
+                cause = t;
+            } finally {
+                done = true;
+            }
+        }
+    }
+}
@@ -18,6 +18,7 @@ package io.netty.handler.codec.compression;
 import io.netty.buffer.ByteBuf;
 import io.netty.util.concurrent.FastThreadLocal;
 import io.netty.util.internal.MathUtil;
+import io.netty.util.internal.PlatformDependent;
 import io.netty.util.internal.SystemPropertyUtil;
 
 import java.util.Arrays;
@@ -49,6 +50,10 @@ public final class Snappy {
     private static final boolean DEFAULT_REUSE_HASHTABLE =
             SystemPropertyUtil.getBoolean("io.netty.handler.codec.compression.snappy.reuseHashTable", false);
 
+    // Unaligned reads via Unsafe are used to scan the input of encode(...) if it exposes its memory address or
+    // backing array.
+    private static final boolean UNSAFE_ACCESS = PlatformDependent.hasUnsafe() && PlatformDependent.isUnaligned();
+
     public Snappy() {
         this(DEFAULT_REUSE_HASHTABLE);
     }
@@ -94,6 +99,22 @@ public final class Snappy {
         int inIndex = in.readerIndex();
         final int baseIndex = inIndex;
 
+        // Only scan the memory directly if all indexes are within the bounds of the buffer.
+        final boolean unsafe = UNSAFE_ACCESS && baseIndex == 0 && length <= in.capacity() &&
+                (in.hasMemoryAddress() || in.hasArray());
+        final Object inBase;
+        final long inAddress;
+        if (!unsafe) {
+            inBase = null;
+            inAddress = 0;
+        } else if (in.hasMemoryAddress()) {
+            inBase = null;
+            inAddress = in.memoryAddress();
+        } else {
+            inBase = in.array();
+            inAddress = PlatformDependent.byteArrayBaseOffset() + in.arrayOffset();
+        }
+
         int hashTableSize = MathUtil.findNextPositivePowerOfTwo(length);
         hashTableSize = Math.min(hashTableSize, MAX_HT_SIZE);
         final short[] table = getHashTable(hashTableSize);
@@ -102,7 +123,7 @@ public final class Snappy {
         int nextEmit = inIndex;
 
         if (length - inIndex >= MIN_COMPRESSIBLE_BYTES) {
-            int nextHash = hash(in, ++inIndex, shift);
+            int nextHash = hash(in, unsafe, inBase, inAddress, ++inIndex, shift);
             outer: while (true) {
                 int skip = 32;
 
@@ -119,7 +140,7 @@ public final class Snappy {
                         break outer;
                     }
 
-                    nextHash = hash(in, nextIndex, shift);
+                    nextHash = hash(in, unsafe, inBase, inAddress, nextIndex, shift);
 
                     // equivalent to Short.toUnsignedInt
                     // use unsigned short cast to avoid loss precision when 32767 <= length <= 65355
@@ -127,14 +148,16 @@ public final class Snappy {
 
                     table[hash] = (short) (inIndex - baseIndex);
                 }
-                while (in.getInt(inIndex) != in.getInt(candidate));
+                while (getInt(in, unsafe, inBase, inAddress, inIndex) !=
+                        getInt(in, unsafe, inBase, inAddress, candidate));
 
                 encodeLiteral(in, out, inIndex - nextEmit);
 
                 int insertTail;
                 do {
                     int base = inIndex;
-                    int matched = 4 + findMatchingLength(in, candidate + 4, inIndex + 4, length);
+                    int matched = 4 + findMatchingLength(
+                            in, unsafe, inBase, inAddress, candidate + 4, inIndex + 4, length);
                     inIndex += matched;
                     int offset = base - candidate;
                     encodeCopy(out, offset, matched);
@@ -145,15 +168,16 @@ public final class Snappy {
                         break outer;
                     }
 
-                    int prevHash = hash(in, insertTail, shift);
+                    int prevHash = hash(in, unsafe, inBase, inAddress, insertTail, shift);
                     table[prevHash] = (short) (inIndex - baseIndex - 1);
-                    int currentHash = hash(in, insertTail + 1, shift);
-                    candidate = baseIndex + table[currentHash];
+                    int currentHash = hash(in, unsafe, inBase, inAddress, insertTail + 1, shift);
+                    candidate = baseIndex + (table[currentHash] & 0xffff);
                     table[currentHash] = (short) (inIndex - baseIndex);
                 }
-                while (in.getInt(insertTail + 1) == in.getInt(candidate));
+                while (getInt(in, unsafe, inBase, inAddress, insertTail + 1) ==
+                        getInt(in, unsafe, inBase, inAddress, candidate));
 
-                nextHash = hash(in, insertTail + 2, shift);
+                nextHash = hash(in, unsafe, inBase, inAddress, insertTail + 2, shift);
                 ++inIndex;
             }
         }
@@ -169,13 +193,28 @@ public final class Snappy {
      * the appropriate range for our hash table.
      *
      * @param in The input buffer to read 4 bytes from
+     * @param unsafe {@code true} if the bytes are read from {@code base} and {@code address}
+     * @param base The backing array of the input buffer, or {@code null} if it is direct
+     * @param address The address of index 0 of the input buffer
      * @param index The index to read at
      * @param shift The shift value, for ensuring that the resulting value is
      *     within the range of our hash table size
      * @return A 32-bit hash of 4 bytes located at index
      */
-    private static int hash(ByteBuf in, int index, int shift) {
-        return in.getInt(index) * 0x1e35a7bd >>> shift;
+    private static int hash(ByteBuf in, boolean unsafe, Object base, long address, int index, int shift) {
+        return getInt(in, unsafe, base, address, index) * 0x1e35a7bd >>> shift;
+    }
+
+    /**
+     * Reads the big-endian int at the given index, either from the buffer or directly from its memory.
+     */
+    private static int getInt(ByteBuf in, boolean unsafe, Object base, long address, int index) {
+        if (!unsafe) {
+            return in.getInt(index);
+        }
+        int value = PlatformDependent.getInt(base, address + index);
+        // Keep the hash values of the buffer based path, so both produce the same output.
+        return PlatformDependent.BIG_ENDIAN_NATIVE_ORDER ? value : Integer.reverseBytes(value);
     }
 
     /**
@@ -216,16 +255,21 @@ public final class Snappy {
      * literal value.
      *
      * @param in The input buffer to scan over
+     * @param unsafe {@code true} if the bytes are read from {@code base} and {@code address}
+     * @param base The backing array of the input buffer, or {@code null} if it is direct
+     * @param address The address of index 0 of the input buffer
      * @param minIndex The index in the input buffer to start scanning from
      * @param inIndex The index of the start of our copy
      * @param maxIndex The length of our input buffer
      * @return The number of bytes for which our candidate copy is a repeat of
      */
-    private static int findMatchingLength(ByteBuf in, int minIndex, int inIndex, int maxIndex) {
+    private static int findMatchingLength(ByteBuf in, boolean unsafe, Object base, long address,
+                                          int minIndex, int inIndex, int maxIndex) {
         int matched = 0;
 
         while (inIndex <= maxIndex - 4 &&
-                in.getInt(inIndex) == in.getInt(minIndex + matched)) {
+                getInt(in, unsafe, base, address, inIndex) ==
+                        getInt(in, unsafe, base, address, minIndex + matched)) {
             inIndex += 4;
             matched += 4;
         }
@@ -517,23 +561,7 @@ public final class Snappy {
 
         validateOffset(offset, writtenSoFar);
 
-        out.markReaderIndex();
-        if (offset < length) {
-            int copies = length / offset;
-            for (; copies > 0; copies--) {
-                out.readerIndex(initialIndex - offset);
-                out.readBytes(out, offset);
-            }
-            if (length % offset != 0) {
-                out.readerIndex(initialIndex - offset);
-                out.readBytes(out, length % offset);
-            }
-        } else {
-            out.readerIndex(initialIndex - offset);
-            out.readBytes(out, length);
-        }
-        out.resetReaderIndex();
-
+        copyBackReference(out, initialIndex, offset, length);
         return length;
     }
 
@@ -561,23 +589,7 @@ public final class Snappy {
 
         validateOffset(offset, writtenSoFar);
 
-        out.markReaderIndex();
-        if (offset < length) {
-            int copies = length / offset;
-            for (; copies > 0; copies--) {
-                out.readerIndex(initialIndex - offset);
-                out.readBytes(out, offset);
-            }
-            if (length % offset != 0) {
-                out.readerIndex(initialIndex - offset);
-                out.readBytes(out, length % offset);
-            }
-        } else {
-            out.readerIndex(initialIndex - offset);
-            out.readBytes(out, length);
-        }
-        out.resetReaderIndex();
-
+        copyBackReference(out, initialIndex, offset, length);
         return length;
     }
 
@@ -605,6 +617,47 @@ public final class Snappy {
 
         validateOffset(offset, writtenSoFar);
 
+        copyBackReference(out, initialIndex, offset, length);
+        return length;
+    }
+
+    /**
+     * Appends {@code length} bytes to the output buffer, starting {@code offset} bytes before its writer index. The
+     * copy may overlap with the bytes it produces, which repeats the last {@code offset} bytes.
+     *
+     * @param out The output buffer to copy within
+     * @param initialIndex The writer index of the output buffer
+     * @param offset The distance of the bytes to copy from the writer index
+     * @param length The number of bytes to append
+     */
+    private static void copyBackReference(ByteBuf out, int initialIndex, int offset, int length) {
+        if (offset <= initialIndex && (out.hasMemoryAddress() || out.hasArray())) {
+            out.ensureWritable(length);
+            if (out.hasMemoryAddress()) {
+                long dst = out.memoryAddress() + initialIndex;
+                if (offset >= length) {
+                    PlatformDependent.copyMemory(dst - offset, dst, length);
+                } else {
+                    // Overlapping copies must be done one byte after the other.
+                    for (int i = 0; i < length; i++) {
+                        PlatformDependent.putByte(dst + i, PlatformDependent.getByte(dst - offset + i));
+                    }
+                }
+            } else {
+                byte[] array = out.array();
+                int dst = out.arrayOffset() + initialIndex;
+                if (offset >= length) {
+                    System.arraycopy(array, dst - offset, array, dst, length);
+                } else {
+                    for (int i = 0; i < length; i++) {
+                        array[dst + i] = array[dst - offset + i];
+                    }
+                }
+            }
+            out.writerIndex(initialIndex + length);
+            return;
+        }
+
         out.markReaderIndex();
         if (offset < length) {
             int copies = length / offset;
@@ -621,8 +674,6 @@ public final class Snappy {
             out.readBytes(out, length);
         }
         out.resetReaderIndex();
-
-        return length;
     }
 
     /**
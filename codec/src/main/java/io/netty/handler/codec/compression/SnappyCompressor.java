@@ -0,0 +1,209 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.compression;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.util.internal.PlatformDependent;
+
+import static io.netty.handler.codec.compression.Snappy.calculateChecksum;
+
+/**
+ * {@link Compressor} using the Snappy framing format. The output is the same as the one of
+ * {@link SnappyFrameEncoder}.
+ *
+ * See <a href="https://github.com/google/snappy/blob/master/framing_format.txt">Snappy framing format</a>.
+ */
+public final class SnappyCompressor implements Compressor {
+
+    static final int SNAPPY_SLICE_SIZE = Short.MAX_VALUE;
+
+    /**
+     * Both {@value #SNAPPY_SLICE_SIZE} and {@value #SNAPPY_SLICE_JUMBO_SIZE} are valid lengths for the Snappy
+     * framing format
+     */
+    static final int SNAPPY_SLICE_JUMBO_SIZE = 65535;
+
+    /**
+     * The minimum amount that we'll consider actually attempting to compress.
+     * This value is preamble + the minimum length our Snappy service will
+     * compress (instead of just emitting a literal).
+     */
+    private static final int MIN_COMPRESSIBLE_LENGTH = 18;
+
+    /**
+     * All streams should start with the "Stream identifier", containing chunk
+     * type 0xff, a length field of 0x6, and 'sNaPpY' in ASCII.
+     */
+    private static final byte[] STREAM_START = {
+        (byte) 0xff, 0x06, 0x00, 0x00, 0x73, 0x4e, 0x61, 0x50, 0x70, 0x59
+    };
+
+    private final Snappy snappy = new Snappy();
+    private final int sliceSize;
+    private boolean started;
+    private boolean finished;
+    private boolean closed;
+
+    public SnappyCompressor() {
+        this(SNAPPY_SLICE_SIZE);
+    }
+
+    /**
+     * Create a new instance with a {@value #SNAPPY_SLICE_JUMBO_SIZE} chunk size.
+     */
+    public static SnappyCompressor snappyCompressorWithJumboFrames() {
+        return new SnappyCompressor(SNAPPY_SLICE_JUMBO_SIZE);
+    }
+
+    SnappyCompressor(int sliceSize) {
+        this.sliceSize = sliceSize;
+    }
+
+    @Override
+    public ByteBuf compress(ByteBuf input, ByteBufAllocator allocator) {
+        ensureNotFinished();
+        int len = input.readableBytes();
+        if (len == 0) {
+            return Unpooled.EMPTY_BUFFER;
+        }
+        // Each chunk adds at most 8 bytes, so this is enough for most of the content.
+        ByteBuf out = allocator.buffer(STREAM_START.length + len + (len / sliceSize + 1) * 8);
+        try {
+            compress(input, out);
+        } catch (Throwable cause) {
+            out.release();
+            PlatformDependent.throwException(cause);
+        }
+        return out;
+    }
+
+    /**
+     * Compresses the readable bytes of {@code in} into {@code out}.
+     */
+    void compress(ByteBuf in, ByteBuf out) {
+        if (!in.isReadable()) {
+            return;
+        }
+
+        if (!started) {
+            started = true;
+            out.writeBytes(STREAM_START);
+        }
+
+        int dataLength = in.readableBytes();
+        if (dataLength > MIN_COMPRESSIBLE_LENGTH) {
+            for (;;) {
+                final int lengthIdx = out.writerIndex() + 1;
+                if (dataLength < MIN_COMPRESSIBLE_LENGTH) {
+                    ByteBuf slice = in.readSlice(dataLength);
+                    writeUnencodedChunk(slice, out, dataLength);
+                    break;
+                }
+
+                out.writeInt(0);
+                if (dataLength > sliceSize) {
+                    ByteBuf slice = in.readSlice(sliceSize);
+                    calculateAndWriteChecksum(slice, out);
+                    snappy.encode(slice, out, sliceSize);
+                    setChunkLength(out, lengthIdx);
+                    dataLength -= sliceSize;
+                } else {
+                    ByteBuf slice = in.readSlice(dataLength);
+                    calculateAndWriteChecksum(slice, out);
+                    snappy.encode(slice, out, dataLength);
+                    setChunkLength(out, lengthIdx);
+                    break;
+                }
+            }
+        } else {
+            writeUnencodedChunk(in, out, dataLength);
+        }
+    }
+
+    private static void writeUnencodedChunk(ByteBuf in, ByteBuf out, int dataLength) {
+        out.writeByte(1);
+        writeChunkLength(out, dataLength + 4);
+        calculateAndWriteChecksum(in, out);
+        out.writeBytes(in, dataLength);
+    }
+
+    private static void setChunkLength(ByteBuf out, int lengthIdx) {
+        int chunkLength = out.writerIndex() - lengthIdx - 3;
+        if (chunkLength >>> 24 != 0) {
+            throw new CompressionException("compressed data too large: " + chunkLength);
+        }
+        out.setMediumLE(lengthIdx, chunkLength);
+    }
+
+    /**
+     * Writes the 2-byte chunk length to the output buffer.
+     *
+     * @param out The buffer to write to
+     * @param chunkLength The length to write
+     */
+    private static void writeChunkLength(ByteBuf out, int chunkLength) {
+        out.writeMediumLE(chunkLength);
+    }
+
+    /**
+     * Calculates and writes the 4-byte checksum to the output buffer
+     *
+     * @param slice The data to calculate the checksum for
+     * @param out The output buffer to write the checksum to
+     */
+    private static void calculateAndWriteChecksum(ByteBuf slice, ByteBuf out) {
+        out.writeIntLE(calculateChecksum(slice));
+    }
+
+    @Override
+    public ByteBuf finish(ByteBufAllocator allocator) {
+        ensureNotFinished();
+        // The framing format has no trailer.
+        finished = true;
+        return Unpooled.EMPTY_BUFFER;
+    }
+
+    @Override
+    public boolean isFinished() {
+        return finished;
+    }
+
+    @Override
+    public void reset() {
+        if (closed) {
+            throw new IllegalStateException("Compressor was closed");
+        }
+        started = false;
+        finished = false;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        finished = true;
+    }
+
+    private void ensureNotFinished() {
+        if (closed) {
+            throw new IllegalStateException("Compressor was closed");
+        }
+        if (finished) {
+            throw new IllegalStateException("Compressor was finished, reset() it first");
+        }
+    }
+}
@@ -0,0 +1,393 @@
+/*
+ * Copyright 2012 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.compression;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.internal.ObjectUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.netty.handler.codec.compression.Snappy.validateChecksum;
+
+/**
+ * {@link Decompressor} for data encoded with the Snappy framing format.
+ *
+ * See <a href="https://github.com/google/snappy/blob/master/framing_format.txt">Snappy framing format</a>.
+ *
+ * Note that by default, validation of the checksum header in each chunk is
+ * DISABLED for performance improvements. Use the {@link #SnappyDecompressor(boolean)}
+ * constructor with the argument set to {@code true} to enable it.
+ */
+public final class SnappyDecompressor implements Decompressor {
+
+    private enum ChunkType {
+        STREAM_IDENTIFIER,
+        COMPRESSED_DATA,
+        UNCOMPRESSED_DATA,
+        RESERVED_UNSKIPPABLE,
+        RESERVED_SKIPPABLE
+    }
+
+    private static final int SNAPPY_IDENTIFIER_LEN = 6;
+    // See https://github.com/google/snappy/blob/1.1.9/framing_format.txt#L95
+    private static final int MAX_UNCOMPRESSED_DATA_SIZE = 65536 + 4;
+    // See https://github.com/google/snappy/blob/1.1.9/framing_format.txt#L82
+    private static final int MAX_DECOMPRESSED_DATA_SIZE = 65536;
+    // See https://github.com/google/snappy/blob/1.1.9/framing_format.txt#L82
+    private static final int MAX_COMPRESSED_CHUNK_SIZE = 16777216 - 1;
+
+    private final Snappy snappy = new Snappy();
+    private final boolean validateChecksums;
+
+    private boolean started;
+    private boolean corrupted;
+    private int numBytesToSkip;
+    private ByteBuf cumulation;
+    // Decompressed data that exceeded the maximum output length of the last call.
+    private ByteBuf pending;
+    private boolean closed;
+
+    /**
+     * Creates a new instance with validation of checksums turned OFF.
+     */
+    public SnappyDecompressor() {
+        this(false);
+    }
+
+    /**
+     * Creates a new instance with validation of checksums as specified.
+     *
+     * @param validateChecksums
+     *        If true, the checksum field will be validated against the actual
+     *        uncompressed data, and if the checksums do not match, a suitable
+     *        {@link DecompressionException} will be thrown
+     */
+    public SnappyDecompressor(boolean validateChecksums) {
+        this.validateChecksums = validateChecksums;
+    }
+
+    @Override
+    public ByteBuf decompress(ByteBuf input, ByteBufAllocator allocator) {
+        return decompress(input, allocator, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public ByteBuf decompress(ByteBuf input, ByteBufAllocator allocator, int maxOutputLength) {
+        ObjectUtil.checkPositive(maxOutputLength, "maxOutputLength");
+        if (closed) {
+            throw new IllegalStateException("Decompressor was closed");
+        }
+        if (pending != null) {
+            return readPending(maxOutputLength);
+        }
+        final ByteBuf in;
+        if (cumulation == null) {
+            in = input;
+        } else {
+            cumulation.writeBytes(input);
+            in = cumulation;
+        }
+
+        List<Object> out = new ArrayList<Object>(2);
+        int outputLength = 0;
+        try {
+            while (in.isReadable() && outputLength < maxOutputLength) {
+                int oldInputLength = in.readableBytes();
+                int oldOutSize = out.size();
+                decode(allocator, in, out);
+                if (oldInputLength == in.readableBytes() && oldOutSize == out.size()) {
+                    // Not enough bytes for the next chunk.
+                    break;
+                }
+                for (int i = oldOutSize; i < out.size(); i++) {
+                    outputLength += ((ByteBuf) out.get(i)).readableBytes();
+                }
+            }
+        } catch (RuntimeException e) {
+            for (Object buf : out) {
+                ReferenceCountUtil.release(buf);
+            }
+            throw e;
+        } finally {
+            ByteBuf oldCumulation = cumulation;
+            cumulation = null;
+            if (in.isReadable() && !corrupted) {
+                // Copy the incomplete chunk, as decoded chunks may still be slices of the old cumulation.
+                cumulation = allocator.heapBuffer(in.readableBytes());
+                cumulation.writeBytes(in);
+            }
+            if (oldCumulation != null) {
+                oldCumulation.release();
+            }
+            input.skipBytes(input.readableBytes());
+        }
+        ByteBuf decompressed = combine(allocator, out);
+        if (outputLength <= maxOutputLength) {
+            return decompressed;
+        }
+        // A chunk is always decompressed as a whole, so keep the part of it that exceeds the limit.
+        pending = decompressed;
+        return readPending(maxOutputLength);
+    }
+
+    private ByteBuf readPending(int maxOutputLength) {
+        ByteBuf out = pending.readRetainedSlice(Math.min(maxOutputLength, pending.readableBytes()));
+        if (!pending.isReadable()) {
+            releasePending();
+        }
+        return out;
+    }
+
+    private static ByteBuf combine(ByteBufAllocator allocator, List<Object> out) {
+        switch (out.size()) {
+            case 0:
+                return Unpooled.EMPTY_BUFFER;
+            case 1:
+                return (ByteBuf) out.get(0);
+            default:
+                CompositeByteBuf composite = allocator.compositeBuffer(out.size());
+                for (Object buf : out) {
+                    composite.addComponent(true, (ByteBuf) buf);
+                }
+                return composite;
+        }
+    }
+
+    /**
+     * Decodes at most one chunk of {@code in} and adds the decompressed data to {@code out}.
+     */
+    void decode(ByteBufAllocator alloc, ByteBuf in, List<Object> out) {
+        if (corrupted) {
+            in.skipBytes(in.readableBytes());
+            return;
+        }
+
+        if (numBytesToSkip != 0) {
+            // The last chunkType we detected was RESERVED_SKIPPABLE and we still have some bytes to skip.
+            int skipBytes = Math.min(numBytesToSkip, in.readableBytes());
+            in.skipBytes(skipBytes);
+            numBytesToSkip -= skipBytes;
+
+            // Let's return and try again.
+            return;
+        }
+
+        try {
+            int idx = in.readerIndex();
+            final int inSize = in.readableBytes();
+            if (inSize < 4) {
+                // We need to be at least able to read the chunk type identifier (one byte),
+                // and the length of the chunk (3 bytes) in order to proceed
+                return;
+            }
+
+            final int chunkTypeVal = in.getUnsignedByte(idx);
+            final ChunkType chunkType = mapChunkType((byte) chunkTypeVal);
+            final int chunkLength = in.getUnsignedMediumLE(idx + 1);
+
+            switch (chunkType) {
+                case STREAM_IDENTIFIER:
+                    if (chunkLength != SNAPPY_IDENTIFIER_LEN) {
+                        throw new DecompressionException("Unexpected length of stream identifier: " + chunkLength);
+                    }
+
+                    if (inSize < 4 + SNAPPY_IDENTIFIER_LEN) {
+                        break;
+                    }
+
+                    in.skipBytes(4);
+                    int offset = in.readerIndex();
+                    in.skipBytes(SNAPPY_IDENTIFIER_LEN);
+
+                    checkByte(in.getByte(offset++), (byte) 's');
+                    checkByte(in.getByte(offset++), (byte) 'N');
+                    checkByte(in.getByte(offset++), (byte) 'a');
+                    checkByte(in.getByte(offset++), (byte) 'P');
+                    checkByte(in.getByte(offset++), (byte) 'p');
+                    checkByte(in.getByte(offset), (byte) 'Y');
+
+                    started = true;
+                    break;
+                case RESERVED_SKIPPABLE:
+                    if (!started) {
+                        throw new DecompressionException("Received RESERVED_SKIPPABLE tag before STREAM_IDENTIFIER");
+                    }
+
+                    in.skipBytes(4);
+
+                    int skipBytes = Math.min(chunkLength, in.readableBytes());
+                    in.skipBytes(skipBytes);
+                    if (skipBytes != chunkLength) {
+                        // We could skip all bytes, let's store the remaining so we can do so once we receive more
+                        // data.
+                        numBytesToSkip = chunkLength - skipBytes;
+                    }
+                    break;
+                case RESERVED_UNSKIPPABLE:
+                    // The spec mandates that reserved unskippable chunks must immediately
+                    // return an error, as we must assume that we cannot decode the stream
+                    // correctly
+                    throw new DecompressionException(
+                            "Found reserved unskippable chunk type: 0x" + Integer.toHexString(chunkTypeVal));
+                case UNCOMPRESSED_DATA:
+                    if (!started) {
+                        throw new DecompressionException("Received UNCOMPRESSED_DATA tag before STREAM_IDENTIFIER");
+                    }
+                    if (chunkLength > MAX_UNCOMPRESSED_DATA_SIZE) {
+                        throw new DecompressionException("Received UNCOMPRESSED_DATA larger than " +
+                                MAX_UNCOMPRESSED_DATA_SIZE + " bytes");
+                    }
+
+                    if (inSize < 4 + chunkLength) {
+                        return;
+                    }
+
+                    in.skipBytes(4);
+                    if (validateChecksums) {
+                        int checksum = in.readIntLE();
+                        validateChecksum(checksum, in, in.readerIndex(), chunkLength - 4);
+                    } else {
+                        in.skipBytes(4);
+                    }
+                    out.add(in.readRetainedSlice(chunkLength - 4));
+                    break;
+                case COMPRESSED_DATA:
+                    if (!started) {
+                        throw new DecompressionException("Received COMPRESSED_DATA tag before STREAM_IDENTIFIER");
+                    }
+
+                    if (chunkLength > MAX_COMPRESSED_CHUNK_SIZE) {
+                        throw new DecompressionException("Received COMPRESSED_DATA that contains" +
+                                " chunk that exceeds " + MAX_COMPRESSED_CHUNK_SIZE + " bytes");
+                    }
+
+                    if (inSize < 4 + chunkLength) {
+                        return;
+                    }
+
+                    in.skipBytes(4);
+                    int checksum = in.readIntLE();
+
+                    int uncompressedSize = snappy.getPreamble(in);
+                    if (uncompressedSize > MAX_DECOMPRESSED_DATA_SIZE) {
+                        throw new DecompressionException("Received COMPRESSED_DATA that contains" +
+                                " uncompressed data that exceeds " + MAX_DECOMPRESSED_DATA_SIZE + " bytes");
+                    }
+
+                    ByteBuf uncompressed = alloc.buffer(uncompressedSize, MAX_DECOMPRESSED_DATA_SIZE);
+                    try {
+                        if (validateChecksums) {
+                            int oldWriterIndex = in.writerIndex();
+                            try {
+                                in.writerIndex(in.readerIndex() + chunkLength - 4);
+                                snappy.decode(in, uncompressed);
+                            } finally {
+                                in.writerIndex(oldWriterIndex);
+                            }
+                            validateChecksum(checksum, uncompressed, 0, uncompressed.writerIndex());
+                        } else {
+                            snappy.decode(in.readSlice(chunkLength - 4), uncompressed);
+                        }
+                        out.add(uncompressed);
+                        uncompressed = null;
+                    } finally {
+                        if (uncompressed != null) {
+                            uncompressed.release();
+                        }
+                    }
+                    snappy.reset();
+                    break;
+            }
+        } catch (RuntimeException e) {
+            corrupted = true;
+            throw e;
+        }
+    }
+
+    private static void checkByte(byte actual, byte expect) {
+        if (actual != expect) {
+            throw new DecompressionException("Unexpected stream identifier contents. Mismatched snappy " +
+                    "protocol version?");
+        }
+    }
+
+    /**
+     * Decodes the chunk type from the type tag byte.
+     *
+     * @param type The tag byte extracted from the stream
+     * @return The appropriate {@link ChunkType}, defaulting to {@link ChunkType#RESERVED_UNSKIPPABLE}
+     */
+    private static ChunkType mapChunkType(byte type) {
+        if (type == 0) {
+            return ChunkType.COMPRESSED_DATA;
+        } else if (type == 1) {
+            return ChunkType.UNCOMPRESSED_DATA;
+        } else if (type == (byte) 0xff) {
+            return ChunkType.STREAM_IDENTIFIER;
+        } else if ((type & 0x80) == 0x80) {
+            return ChunkType.RESERVED_SKIPPABLE;
+        } else {
+            return ChunkType.RESERVED_UNSKIPPABLE;
+        }
+    }
+
+    @Override
+    public boolean isFinished() {
+        // The framing format has no end marker.
+        return false;
+    }
+
+    @Override
+    public void reset() {
+        if (closed) {
+            throw new IllegalStateException("Decompressor was closed");
+        }
+        releaseCumulation();
+        releasePending();
+        snappy.reset();
+        started = false;
+        corrupted = false;
+        numBytesToSkip = 0;
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            releaseCumulation();
+            releasePending();
+        }
+    }
+
+    private void releasePending() {
+        if (pending != null) {
+            pending.release();
+            pending = null;
+        }
+    }
+
+    private void releaseCumulation() {
+        if (cumulation != null) {
+            cumulation.release();
+            cumulation = null;
+        }
+    }
+}
@@ -88,6 +88,21 @@ public final class StandardCompressionOptions {
         return new ZstdOptions(compressionLevel, blockSize, maxEncodeSize);
     }
 
+    /**
+     * Create a new {@link ZstdOptions} which compresses with a {@link ZstdDictionary}. The receiving side must
+     * use the same dictionary to decompress the data.
+     *
+     * @param blockSize        is used to calculate the compressionLevel
+     * @param maxEncodeSize    specifies the size of the largest compressed object
+     * @param compressionLevel specifies the level of the compression
+     * @param dictionary       the {@link ZstdDictionary} to compress with
+     */
+    public static ZstdOptions zstd(int compressionLevel, int blockSize, int maxEncodeSize,
+                                   ZstdDictionary dictionary) {
+        return new ZstdOptions(compressionLevel, blockSize, maxEncodeSize,
+                ObjectUtil.checkNotNull(dictionary, "dictionary"));
+    }
+
     /**
      * Create a new {@link SnappyOptions}
      */
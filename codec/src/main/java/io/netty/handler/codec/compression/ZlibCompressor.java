@@ -0,0 +1,243 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.compression;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.util.internal.EmptyArrays;
+import io.netty.util.internal.ObjectUtil;
+import io.netty.util.internal.PlatformDependent;
+import io.netty.util.internal.SuppressJava6Requirement;
+
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * {@link Compressor} using the deflate algorithm of the JDK. Like {@link JdkZlibEncoder}, the output is flushed
+ * after each call of {@link #compress(ByteBuf, ByteBufAllocator)} so that the peer can decompress it right away.
+ */
+public final class ZlibCompressor implements Compressor {
+
+    private static final int MAX_INITIAL_OUTPUT_BUFFER_SIZE = 65536;
+    private static final int MAX_INPUT_BUFFER_SIZE = 65536;
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0};
+
+    private final ZlibWrapper wrapper;
+    private final Deflater deflater;
+    private final CRC32 crc = new CRC32();
+    private boolean writeHeader = true;
+    private boolean finished;
+    private boolean closed;
+
+    /**
+     * Creates a new instance with the default compression level ({@code 6}).
+     */
+    public ZlibCompressor(ZlibWrapper wrapper) {
+        this(wrapper, 6);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param wrapper           the {@link ZlibWrapper} to use, {@link ZlibWrapper#ZLIB_OR_NONE} is not allowed.
+     * @param compressionLevel  {@code 1} yields the fastest compression and {@code 9} yields the best compression.
+     *                          {@code 0} means no compression.
+     */
+    public ZlibCompressor(ZlibWrapper wrapper, int compressionLevel) {
+        ObjectUtil.checkInRange(compressionLevel, 0, 9, "compressionLevel");
+        this.wrapper = ObjectUtil.checkNotNull(wrapper, "wrapper");
+        if (wrapper == ZlibWrapper.ZLIB_OR_NONE) {
+            throw new IllegalArgumentException(
+                    "wrapper '" + ZlibWrapper.ZLIB_OR_NONE + "' is not allowed for compression.");
+        }
+        deflater = new Deflater(compressionLevel, wrapper != ZlibWrapper.ZLIB);
+    }
+
+    @Override
+    public ByteBuf compress(ByteBuf input, ByteBufAllocator allocator) {
+        ensureNotFinished();
+        int len = input.readableBytes();
+        if (len == 0) {
+            return Unpooled.EMPTY_BUFFER;
+        }
+
+        ByteBuf out = allocateBuffer(allocator, len);
+        try {
+            if (input.hasArray()) {
+                // if it is backed by an array we not need to do a copy at all
+                compressSome(input, out);
+            } else {
+                int heapBufferSize = Math.min(len, MAX_INPUT_BUFFER_SIZE);
+                ByteBuf heapBuf = allocator.heapBuffer(heapBufferSize, heapBufferSize);
+                try {
+                    while (input.isReadable()) {
+                        input.readBytes(heapBuf, Math.min(heapBuf.writableBytes(), input.readableBytes()));
+                        compressSome(heapBuf, out);
+                        heapBuf.clear();
+                    }
+                } finally {
+                    heapBuf.release();
+                }
+            }
+            // clear input so that we don't keep an unnecessary reference to the input array
+            deflater.setInput(EmptyArrays.EMPTY_BYTES);
+        } catch (Throwable cause) {
+            out.release();
+            PlatformDependent.throwException(cause);
+        }
+        return out;
+    }
+
+    private void compressSome(ByteBuf in, ByteBuf out) {
+        // both in and out are heap buffers, here
+        byte[] inAry = in.array();
+        int offset = in.arrayOffset() + in.readerIndex();
+
+        if (writeHeader) {
+            writeHeader = false;
+            if (wrapper == ZlibWrapper.GZIP) {
+                out.writeBytes(GZIP_HEADER);
+            }
+        }
+
+        int len = in.readableBytes();
+        if (wrapper == ZlibWrapper.GZIP) {
+            crc.update(inAry, offset, len);
+        }
+
+        deflater.setInput(inAry, offset, len);
+        for (;;) {
+            deflate(out);
+            if (!out.isWritable()) {
+                // The buffer is not writable anymore. Increase the capacity to make more room.
+                // Can't rely on needsInput here, it might return true even if there's still data to be written.
+                out.ensureWritable(out.writerIndex());
+            } else if (deflater.needsInput()) {
+                // Consumed everything
+                break;
+            }
+        }
+        in.skipBytes(len);
+    }
+
+    private ByteBuf allocateBuffer(ByteBufAllocator allocator, int len) {
+        int sizeEstimate = (int) Math.ceil(len * 1.001) + 12;
+        if (writeHeader) {
+            switch (wrapper) {
+                case GZIP:
+                    sizeEstimate += GZIP_HEADER.length;
+                    break;
+                case ZLIB:
+                    sizeEstimate += 2; // first two magic bytes
+                    break;
+                default:
+                    // no op
+            }
+        }
+        // sizeEstimate might overflow if close to 2G
+        if (sizeEstimate < 0 || sizeEstimate > MAX_INITIAL_OUTPUT_BUFFER_SIZE) {
+            // can always expand later
+            return allocator.heapBuffer(MAX_INITIAL_OUTPUT_BUFFER_SIZE);
+        }
+        return allocator.heapBuffer(sizeEstimate);
+    }
+
+    @Override
+    public ByteBuf finish(ByteBufAllocator allocator) {
+        ensureNotFinished();
+        finished = true;
+
+        ByteBuf footer = allocator.heapBuffer();
+        try {
+            if (writeHeader && wrapper == ZlibWrapper.GZIP) {
+                // Write the GZIP header first if not written yet. (i.e. user wrote nothing.)
+                writeHeader = false;
+                footer.writeBytes(GZIP_HEADER);
+            }
+
+            deflater.finish();
+            while (!deflater.finished()) {
+                deflate(footer);
+                if (!footer.isWritable()) {
+                    footer.ensureWritable(footer.writerIndex());
+                }
+            }
+            if (wrapper == ZlibWrapper.GZIP) {
+                int crcValue = (int) crc.getValue();
+                int uncBytes = deflater.getTotalIn();
+                footer.writeIntLE(crcValue);
+                footer.writeIntLE(uncBytes);
+            }
+        } catch (Throwable cause) {
+            footer.release();
+            PlatformDependent.throwException(cause);
+        }
+        return footer;
+    }
+
+    @SuppressJava6Requirement(reason = "Usage guarded by java version check")
+    private void deflate(ByteBuf out) {
+        int numBytes;
+        do {
+            int writerIndex = out.writerIndex();
+            if (PlatformDependent.javaVersion() < 7) {
+                numBytes = deflater.deflate(
+                        out.array(), out.arrayOffset() + writerIndex, out.writableBytes());
+            } else {
+                numBytes = deflater.deflate(
+                        out.array(), out.arrayOffset() + writerIndex, out.writableBytes(), Deflater.SYNC_FLUSH);
+            }
+            out.writerIndex(writerIndex + numBytes);
+        } while (numBytes > 0);
+    }
+
+    @Override
+    public boolean isFinished() {
+        return finished;
+    }
+
+    @Override
+    public void reset() {
+        ensureOpen();
+        deflater.reset();
+        crc.reset();
+        writeHeader = true;
+        finished = false;
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            finished = true;
+            deflater.end();
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Compressor was closed");
+        }
+    }
+
+    private void ensureNotFinished() {
+        ensureOpen();
+        if (finished) {
+            throw new IllegalStateException("Compressor was finished, reset() it first");
+        }
+    }
+}
@@ -0,0 +1,417 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.compression;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.util.internal.EmptyArrays;
+import io.netty.util.internal.ObjectUtil;
+import io.netty.util.internal.PlatformDependent;
+
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * {@link Decompressor} using the inflate algorithm of the JDK. This supports the same formats as
+ * {@link JdkZlibDecoder}.
+ * <p>
+ * All readable bytes of the input are consumed: when the output is limited, the input which was not inflated yet is
+ * copied to an internal buffer and inflated by the next calls.
+ */
+public final class ZlibDecompressor implements Decompressor {
+    private static final int FHCRC = 0x02;
+    private static final int FEXTRA = 0x04;
+    private static final int FNAME = 0x08;
+    private static final int FCOMMENT = 0x10;
+    private static final int FRESERVED = 0xE0;
+
+    private enum State {
+        HEADER,
+        DATA,
+        FOOTER,
+        FINISHED
+    }
+
+    private final ZlibWrapper wrapper;
+    private final boolean decompressConcatenated;
+    private final ByteBufChecksum crc;
+    private Inflater inflater;
+    private ByteBuf cumulation;
+    private State state;
+    // The last inflate stopped at the output limit, so the Inflater may hold more output without needing input.
+    private boolean outputPending;
+    private boolean closed;
+
+    /**
+     * Creates a new instance which stops once the end of the first compressed stream was reached.
+     */
+    public ZlibDecompressor(ZlibWrapper wrapper) {
+        this(wrapper, false);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param wrapper                   the {@link ZlibWrapper} of the compressed data.
+     * @param decompressConcatenated    {@code true} if concatenated {@link ZlibWrapper#GZIP} members should be
+     *                                  decompressed as one stream.
+     */
+    public ZlibDecompressor(ZlibWrapper wrapper, boolean decompressConcatenated) {
+        this.wrapper = ObjectUtil.checkNotNull(wrapper, "wrapper");
+        this.decompressConcatenated = decompressConcatenated;
+        switch (wrapper) {
+            case GZIP:
+                crc = ByteBufChecksum.wrapChecksum(new CRC32());
+                inflater = new Inflater(true);
+                break;
+            case NONE:
+                crc = null;
+                inflater = new Inflater(true);
+                break;
+            case ZLIB:
+                crc = null;
+                inflater = new Inflater();
+                break;
+            case ZLIB_OR_NONE:
+                // Postpone the decision until we see the first bytes.
+                crc = null;
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported wrapper: " + wrapper);
+        }
+        state = initialState();
+    }
+
+    private State initialState() {
+        return wrapper == ZlibWrapper.GZIP ? State.HEADER : State.DATA;
+    }
+
+    @Override
+    public ByteBuf decompress(ByteBuf input, ByteBufAllocator allocator) {
+        return decompress(input, allocator, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public ByteBuf decompress(ByteBuf input, ByteBufAllocator allocator, int maxOutputLength) {
+        ObjectUtil.checkPositive(maxOutputLength, "maxOutputLength");
+        if (closed) {
+            throw new IllegalStateException("Decompressor was closed");
+        }
+        if (state == State.FINISHED) {
+            // Skip data received after finished.
+            input.skipBytes(input.readableBytes());
+            return Unpooled.EMPTY_BUFFER;
+        }
+
+        final ByteBuf in;
+        if (cumulation == null) {
+            in = input;
+        } else {
+            cumulation.writeBytes(input);
+            in = cumulation;
+        }
+
+        ByteBuf out = null;
+        try {
+            out = decompress0(in, allocator, maxOutputLength);
+        } finally {
+            if (in == input) {
+                if (input.isReadable() && state != State.FINISHED) {
+                    // Keep the bytes that we could not process yet, like an incomplete GZIP header.
+                    cumulation = allocator.heapBuffer(input.readableBytes());
+                    cumulation.writeBytes(input);
+                }
+            } else if (!cumulation.isReadable() || state == State.FINISHED) {
+                cumulation.release();
+                cumulation = null;
+            } else {
+                cumulation.discardSomeReadBytes();
+            }
+            input.skipBytes(input.readableBytes());
+        }
+        if (out == null) {
+            return Unpooled.EMPTY_BUFFER;
+        }
+        return out;
+    }
+
+    private ByteBuf decompress0(ByteBuf in, ByteBufAllocator allocator, int maxOutputLength) {
+        ByteBuf out = null;
+        try {
+            for (;;) {
+                switch (state) {
+                    case HEADER:
+                        if (!readGzipHeader(in)) {
+                            return out;
+                        }
+                        state = State.DATA;
+                        // fall through
+                    case DATA:
+                        if (inflater == null) {
+                            // First two bytes are needed to decide if it's a ZLIB stream.
+                            if (in.readableBytes() < 2) {
+                                return out;
+                            }
+                            inflater = new Inflater(!looksLikeZlib(in.getShort(in.readerIndex())));
+                        }
+                        if (!in.isReadable() && !outputPending) {
+                            return out;
+                        }
+                        if (out == null) {
+                            out = allocator.heapBuffer(Math.min(in.readableBytes() << 1, maxOutputLength));
+                        }
+                        if (!inflate(in, out, maxOutputLength)) {
+                            return out;
+                        }
+                        if (crc == null) {
+                            state = State.FINISHED;
+                            return out;
+                        }
+                        state = State.FOOTER;
+                        // fall through
+                    case FOOTER:
+                        if (!readGzipFooter(in)) {
+                            return out;
+                        }
+                        if (!decompressConcatenated) {
+                            state = State.FINISHED;
+                            return out;
+                        }
+                        inflater.reset();
+                        crc.reset();
+                        state = State.HEADER;
+                        break;
+                    case FINISHED:
+                        return out;
+                    default:
+                        throw new IllegalStateException();
+                }
+            }
+        } catch (Throwable cause) {
+            if (out != null) {
+                out.release();
+            }
+            PlatformDependent.throwException(cause);
+            return null;
+        }
+    }
+
+    /**
+     * Inflates the readable bytes of {@code in} into {@code out} until {@code out} holds {@code maxOutputLength}
+     * bytes. Returns {@code true} if the end of the deflate stream was reached.
+     */
+    private boolean inflate(ByteBuf in, ByteBuf out, int maxOutputLength) {
+        int readableBytes = in.readableBytes();
+        if (in.hasArray()) {
+            inflater.setInput(in.array(), in.arrayOffset() + in.readerIndex(), readableBytes);
+        } else {
+            byte[] array = new byte[readableBytes];
+            in.getBytes(in.readerIndex(), array);
+            inflater.setInput(array);
+        }
+        boolean finished = false;
+        outputPending = false;
+        try {
+            for (;;) {
+                int maxWritable = maxOutputLength - out.readableBytes();
+                if (maxWritable == 0) {
+                    outputPending = true;
+                    break;
+                }
+                if (!out.isWritable()) {
+                    out.ensureWritable(Math.min(maxWritable, Math.max(64, inflater.getRemaining() << 1)));
+                }
+                byte[] outArray = out.array();
+                int writerIndex = out.writerIndex();
+                int outIndex = out.arrayOffset() + writerIndex;
+                int outputLength = inflater.inflate(outArray, outIndex, Math.min(out.writableBytes(), maxWritable));
+                if (outputLength > 0) {
+                    out.writerIndex(writerIndex + outputLength);
+                    if (crc != null) {
+                        crc.update(outArray, outIndex, outputLength);
+                    }
+                } else if (inflater.needsDictionary()) {
+                    throw new DecompressionException(
+                            "decompression failure, unable to set dictionary as non was specified");
+                }
+                if (inflater.finished()) {
+                    finished = true;
+                    break;
+                }
+                if (inflater.needsInput()) {
+                    break;
+                }
+            }
+            in.skipBytes(readableBytes - inflater.getRemaining());
+        } catch (DataFormatException e) {
+            throw new DecompressionException("decompression failure", e);
+        } finally {
+            // clear input so that we don't keep an unnecessary reference to the input array
+            inflater.setInput(EmptyArrays.EMPTY_BYTES);
+        }
+        return finished;
+    }
+
+    /**
+     * Reads the whole GZIP header or nothing at all if not enough bytes are readable yet.
+     */
+    private boolean readGzipHeader(ByteBuf in) {
+        final int readerIndex = in.readerIndex();
+        if (in.readableBytes() < 10) {
+            return false;
+        }
+        if (in.readByte() != 31) {
+            throw new DecompressionException("Input is not in the GZIP format");
+        }
+        // second magic number
+        in.skipBytes(1);
+        int method = in.readUnsignedByte();
+        if (method != Deflater.DEFLATED) {
+            throw new DecompressionException("Unsupported compression method " + method + " in the GZIP header");
+        }
+        int flags = in.readUnsignedByte();
+        if ((flags & FRESERVED) != 0) {
+            throw new DecompressionException("Reserved flags are set in the GZIP header");
+        }
+        // mtime (int), extra flags and operating system
+        in.skipBytes(6);
+
+        if ((flags & FEXTRA) != 0) {
+            if (in.readableBytes() < 2) {
+                in.readerIndex(readerIndex);
+                return false;
+            }
+            int xlen = in.readUnsignedShortLE();
+            if (in.readableBytes() < xlen) {
+                in.readerIndex(readerIndex);
+                return false;
+            }
+            in.skipBytes(xlen);
+        }
+        if ((flags & FNAME) != 0 && !skipZeroTerminated(in)) {
+            in.readerIndex(readerIndex);
+            return false;
+        }
+        if ((flags & FCOMMENT) != 0 && !skipZeroTerminated(in)) {
+            in.readerIndex(readerIndex);
+            return false;
+        }
+        if ((flags & FHCRC) != 0) {
+            if (in.readableBytes() < 2) {
+                in.readerIndex(readerIndex);
+                return false;
+            }
+            crc.reset();
+            crc.update(in, readerIndex, in.readerIndex() - readerIndex);
+            int expected = (int) crc.getValue() & 0xFFFF;
+            int crc16 = in.readUnsignedShortLE();
+            if (crc16 != expected) {
+                throw new DecompressionException("CRC16 value mismatch. Expected: " + crc16 + ", Got: " + expected);
+            }
+        }
+        crc.reset();
+        return true;
+    }
+
+    private static boolean skipZeroTerminated(ByteBuf in) {
+        int index = in.indexOf(in.readerIndex(), in.writerIndex(), (byte) 0);
+        if (index == -1) {
+            return false;
+        }
+        in.readerIndex(index + 1);
+        return true;
+    }
+
+    private boolean readGzipFooter(ByteBuf in) {
+        if (in.readableBytes() < 8) {
+            return false;
+        }
+        long crcValue = in.readUnsignedIntLE();
+        long readCrc = crc.getValue();
+        if (crcValue != readCrc) {
+            throw new DecompressionException("CRC value mismatch. Expected: " + crcValue + ", Got: " + readCrc);
+        }
+        int dataLength = in.readIntLE();
+        int readLength = inflater.getTotalOut();
+        if (dataLength != readLength) {
+            throw new DecompressionException(
+                    "Number of bytes mismatch. Expected: " + dataLength + ", Got: " + readLength);
+        }
+        return true;
+    }
+
+    /*
+     * Returns true if the cmf_flg parameter (think: first two bytes of a zlib stream)
+     * indicates that this is a zlib stream.
+     * <p>
+     * You can lookup the details in the ZLIB RFC:
+     * <a href="https://tools.ietf.org/html/rfc1950#section-2.2">RFC 1950</a>.
+     */
+    private static boolean looksLikeZlib(short cmf_flg) {
+        return (cmf_flg & 0x7800) == 0x7800 &&
+                cmf_flg % 31 == 0;
+    }
+
+    @Override
+    public boolean isFinished() {
+        return state == State.FINISHED;
+    }
+
+    @Override
+    public void reset() {
+        if (closed) {
+            throw new IllegalStateException("Decompressor was closed");
+        }
+        releaseCumulation();
+        if (wrapper == ZlibWrapper.ZLIB_OR_NONE) {
+            endInflater();
+        } else {
+            inflater.reset();
+        }
+        if (crc != null) {
+            crc.reset();
+        }
+        outputPending = false;
+        state = initialState();
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            state = State.FINISHED;
+            releaseCumulation();
+            endInflater();
+        }
+    }
+
+    private void endInflater() {
+        if (inflater != null) {
+            inflater.end();
+            inflater = null;
+        }
+    }
+
+    private void releaseCumulation() {
+        if (cumulation != null) {
+            cumulation.release();
+            cumulation = null;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.compression;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdCompressCtx;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.util.internal.ObjectUtil;
+
+import java.nio.ByteBuffer;
+
+import static io.netty.handler.codec.compression.ZstdConstants.DEFAULT_BLOCK_SIZE;
+import static io.netty.handler.codec.compression.ZstdConstants.DEFAULT_COMPRESSION_LEVEL;
+import static io.netty.handler.codec.compression.ZstdConstants.MAX_BLOCK_SIZE;
+import static io.netty.handler.codec.compression.ZstdConstants.MAX_COMPRESSION_LEVEL;
+import static io.netty.handler.codec.compression.ZstdConstants.MIN_COMPRESSION_LEVEL;
+
+/**
+ * {@link Compressor} using the Zstandard algorithm. Like {@link ZstdEncoder}, the input is compressed in blocks of
+ * at most {@code blockSize} bytes, each written as its own frame. The native compression context is kept until
+ * {@link #close()} is called, so a {@link #reset()} instance can be reused without allocating a new one.
+ * See <a href="https://facebook.github.io/zstd">Zstandard</a>.
+ */
+public final class ZstdCompressor implements Compressor {
+    // Don't use static here as we want to still allow to load the classes.
+    {
+        try {
+            io.netty.handler.codec.compression.Zstd.ensureAvailability();
+        } catch (Throwable throwable) {
+            throw new ExceptionInInitializerError(throwable);
+        }
+    }
+
+    private final int blockSize;
+    private final int compressionLevel;
+    private final int maxEncodeSize;
+    private final ZstdDictionary dictionary;
+    // Used to copy the input into if it is not a direct buffer, as required by zstd-jni.
+    private ByteBuf buffer;
+    private ZstdCompressCtx ctx;
+    private boolean finished;
+    private boolean closed;
+
+    /**
+     * Creates a new instance with the default compression level and block size.
+     */
+    public ZstdCompressor() {
+        this(DEFAULT_COMPRESSION_LEVEL, DEFAULT_BLOCK_SIZE, MAX_BLOCK_SIZE);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param compressionLevel  specifies the level of the compression
+     * @param blockSize         the maximum number of bytes that are compressed into one frame
+     * @param maxEncodeSize     specifies the size of the largest compressed object
+     */
+    public ZstdCompressor(int compressionLevel, int blockSize, int maxEncodeSize) {
+        this(compressionLevel, blockSize, maxEncodeSize, null);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param compressionLevel  specifies the level of the compression
+     * @param blockSize         the maximum number of bytes that are compressed into one frame
+     * @param maxEncodeSize     specifies the size of the largest compressed object
+     * @param dictionary        the {@link ZstdDictionary} to compress with or {@code null} if none should be used
+     */
+    public ZstdCompressor(int compressionLevel, int blockSize, int maxEncodeSize, ZstdDictionary dictionary) {
+        this.compressionLevel = ObjectUtil.checkInRange(compressionLevel,
+                MIN_COMPRESSION_LEVEL, MAX_COMPRESSION_LEVEL, "compressionLevel");
+        this.blockSize = ObjectUtil.checkPositive(blockSize, "blockSize");
+        this.maxEncodeSize = ObjectUtil.checkPositive(maxEncodeSize, "maxEncodeSize");
+        this.dictionary = dictionary;
+    }
+
+    @Override
+    public ByteBuf compress(ByteBuf input, ByteBufAllocator allocator) {
+        ensureNotFinished();
+        int remaining = input.readableBytes();
+        if (remaining == 0) {
+            return Unpooled.EMPTY_BUFFER;
+        }
+
+        long bufferSize = 0;
+        for (int length = remaining; length > 0; length -= blockSize) {
+            bufferSize += Zstd.compressBound(Math.min(blockSize, length));
+        }
+        if (bufferSize > maxEncodeSize) {
+            throw new CompressionException("requested encode buffer size (" + bufferSize + " bytes) exceeds " +
+                    "the maximum allowable size (" + maxEncodeSize + " bytes)");
+        }
+
+        ByteBuf out = allocator.directBuffer((int) bufferSize);
+        try {
+            // zstd-jni needs direct buffers, so only use the input directly if possible.
+            boolean copy = !input.isDirect() || input.nioBufferCount() != 1;
+            while (remaining > 0) {
+                int length = Math.min(blockSize, remaining);
+                ByteBuffer src;
+                if (copy) {
+                    if (buffer == null) {
+                        buffer = allocator.directBuffer(blockSize);
+                    }
+                    buffer.clear();
+                    input.readBytes(buffer, length);
+                    src = buffer.internalNioBuffer(0, length);
+                } else {
+                    src = input.internalNioBuffer(input.readerIndex(), length);
+                    input.skipBytes(length);
+                }
+                compressBlock(src, out);
+                remaining -= length;
+            }
+        } catch (Throwable cause) {
+            out.release();
+            if (cause instanceof CompressionException) {
+                throw (CompressionException) cause;
+            }
+            throw new CompressionException(cause);
+        }
+        return out;
+    }
+
+    private void compressBlock(ByteBuffer src, ByteBuf out) {
+        int idx = out.writerIndex();
+        ByteBuffer outNioBuffer = out.internalNioBuffer(idx, out.writableBytes());
+        if (ctx == null) {
+            ctx = new ZstdCompressCtx();
+            ctx.setLevel(compressionLevel);
+            if (dictionary != null) {
+                ctx.loadDict(dictionary.compressDictionary(compressionLevel));
+            }
+        }
+        int compressedLength = ctx.compressDirectByteBuffer(outNioBuffer, outNioBuffer.position(),
+                outNioBuffer.remaining(), src, src.position(), src.remaining());
+        out.writerIndex(idx + compressedLength);
+    }
+
+    @Override
+    public ByteBuf finish(ByteBufAllocator allocator) {
+        ensureNotFinished();
+        // Every block is compressed into its own frame, so there is nothing left to write.
+        finished = true;
+        return Unpooled.EMPTY_BUFFER;
+    }
+
+    @Override
+    public boolean isFinished() {
+        return finished;
+    }
+
+    @Override
+    public void reset() {
+        if (closed) {
+            throw new IllegalStateException("Compressor was closed");
+        }
+        finished = false;
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            finished = true;
+            if (buffer != null) {
+                buffer.release();
+                buffer = null;
+            }
+            if (ctx != null) {
+                ctx.close();
+                ctx = null;
+            }
+        }
+    }
+
+    private void ensureNotFinished() {
+        if (closed) {
+            throw new IllegalStateException("Compressor was closed");
+        }
+        if (finished) {
+            throw new IllegalStateException("Compressor was finished, reset() it first");
+        }
+    }
+}
@@ -24,9 +24,11 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
 
 /**
- * Decompresses a compressed block {@link ByteBuf} using the Zstandard algorithm.
+ * Decompresses a compressed block {@link ByteBuf} using the Zstandard algorithm. If {@link ZstdDictionary}s are
+ * given, the one to use is selected by the dictionary id of the first frame.
  * See <a href="https://facebook.github.io/zstd">Zstandard</a>.
  */
 public final class ZstdDecoder extends ByteToMessageDecoder {
@@ -40,7 +42,9 @@ public final class ZstdDecoder extends ByteToMessageDecoder {
     }
 
     private final MutableByteBufInputStream inputStream = new MutableByteBufInputStream();
+    private final Map<Long, ZstdDictionary> dictionaries;
     private ZstdInputStreamNoFinalizer zstdIs;
+    private boolean dictionarySelected;
 
     private State currentState = State.DECOMPRESS_DATA;
 
@@ -52,6 +56,23 @@ public final class ZstdDecoder extends ByteToMessageDecoder {
         CORRUPTED
     }
 
+    /**
+     * Creates a new decoder for frames that were compressed without a dictionary.
+     */
+    public ZstdDecoder() {
+        this((ZstdDictionary[]) null);
+    }
+
+    /**
+     * Creates a new decoder for frames that were compressed with one of the given dictionaries.
+     *
+     * @param dictionaries  the {@link ZstdDictionary}s, which must have distinct {@link ZstdDictionary#id()}s
+     */
+    public ZstdDecoder(ZstdDictionary... dictionaries) {
+        this.dictionaries = ZstdDictionary.byId(dictionaries);
+        dictionarySelected = this.dictionaries == null;
+    }
+
     @Override
     protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
         try {
@@ -59,6 +80,18 @@ public final class ZstdDecoder extends ByteToMessageDecoder {
                 in.skipBytes(in.readableBytes());
                 return;
             }
+            if (!dictionarySelected) {
+                long id = ZstdDictionary.frameDictionaryId(in);
+                if (id == -1) {
+                    // Wait until the frame header is complete.
+                    return;
+                }
+                ZstdDictionary dictionary = ZstdDictionary.forId(dictionaries, id);
+                if (dictionary != null) {
+                    zstdIs.setDict(dictionary.decompressDictionary());
+                }
+                dictionarySelected = true;
+            }
             final int compressedLength = in.readableBytes();
 
             inputStream.current = in;
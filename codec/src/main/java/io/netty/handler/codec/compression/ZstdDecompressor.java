@@ -0,0 +1,239 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.compression;
+
+import com.github.luben.zstd.ZstdInputStreamNoFinalizer;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.util.internal.ObjectUtil;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+/**
+ * {@link Decompressor} using the Zstandard algorithm. If {@link ZstdDictionary}s are given, the one to use is
+ * selected by the dictionary id of the first frame.
+ * See <a href="https://facebook.github.io/zstd">Zstandard</a>.
+ */
+public final class ZstdDecompressor implements Decompressor {
+    // Don't use static here as we want to still allow to load the classes.
+    {
+        try {
+            Zstd.ensureAvailability();
+        } catch (Throwable throwable) {
+            throw new ExceptionInInitializerError(throwable);
+        }
+    }
+
+    private final MutableByteBufInputStream inputStream = new MutableByteBufInputStream();
+    private final Map<Long, ZstdDictionary> dictionaries;
+    private ZstdInputStreamNoFinalizer zstdIs;
+    // Holds the start of the first frame until its header is complete, so the dictionary can be selected, and
+    // afterwards the part of it that was not consumed yet.
+    private ByteBuf heldInput;
+    private boolean dictionarySelected;
+    // The last call stopped at the output limit, so the stream may hold more output without needing input.
+    private boolean outputPending;
+    private boolean corrupted;
+    private boolean closed;
+
+    public ZstdDecompressor() {
+        this((ZstdDictionary[]) null);
+    }
+
+    /**
+     * Creates a new instance which decompresses frames that were compressed with one of the given dictionaries.
+     *
+     * @param dictionaries  the {@link ZstdDictionary}s, which must have distinct {@link ZstdDictionary#id()}s
+     */
+    public ZstdDecompressor(ZstdDictionary... dictionaries) {
+        this.dictionaries = ZstdDictionary.byId(dictionaries);
+        dictionarySelected = this.dictionaries == null;
+        zstdIs = newStream();
+    }
+
+    private ZstdInputStreamNoFinalizer newStream() {
+        try {
+            ZstdInputStreamNoFinalizer stream = new ZstdInputStreamNoFinalizer(inputStream);
+            stream.setContinuous(true);
+            return stream;
+        } catch (IOException e) {
+            throw new DecompressionException(e);
+        }
+    }
+
+    @Override
+    public ByteBuf decompress(ByteBuf input, ByteBufAllocator allocator) {
+        return decompress(input, allocator, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public ByteBuf decompress(ByteBuf input, ByteBufAllocator allocator, int maxOutputLength) {
+        ObjectUtil.checkPositive(maxOutputLength, "maxOutputLength");
+        if (closed) {
+            throw new IllegalStateException("Decompressor was closed");
+        }
+        if (corrupted || !input.isReadable() && !outputPending) {
+            input.skipBytes(input.readableBytes());
+            return Unpooled.EMPTY_BUFFER;
+        }
+        if (heldInput != null) {
+            heldInput.writeBytes(input);
+            input = heldInput;
+        }
+        if (!dictionarySelected && !selectDictionary(input)) {
+            if (heldInput == null) {
+                heldInput = allocator.heapBuffer(input.readableBytes());
+                heldInput.writeBytes(input);
+            }
+            return Unpooled.EMPTY_BUFFER;
+        }
+
+        try {
+            return decompress0(input, allocator, maxOutputLength);
+        } finally {
+            if (heldInput != null && !heldInput.isReadable()) {
+                releaseHeldInput();
+            }
+        }
+    }
+
+    private boolean selectDictionary(ByteBuf input) {
+        long id = ZstdDictionary.frameDictionaryId(input);
+        if (id == -1) {
+            return false;
+        }
+        try {
+            ZstdDictionary dictionary = ZstdDictionary.forId(dictionaries, id);
+            if (dictionary != null) {
+                zstdIs.setDict(dictionary.decompressDictionary());
+            }
+        } catch (IOException e) {
+            corrupted = true;
+            throw new DecompressionException(e);
+        } catch (DecompressionException e) {
+            corrupted = true;
+            throw e;
+        }
+        dictionarySelected = true;
+        return true;
+    }
+
+    private ByteBuf decompress0(ByteBuf input, ByteBufAllocator allocator, int maxOutputLength) {
+        final int compressedLength = input.readableBytes();
+        inputStream.current = input;
+        outputPending = false;
+        // Let's start with the compressedLength * 2 as often we will not have everything
+        // we need in the input and don't want to reserve too much memory.
+        ByteBuf out = allocator.heapBuffer(Math.min(Math.max(compressedLength << 1, 64), maxOutputLength));
+        try {
+            for (;;) {
+                int maxWritable = maxOutputLength - out.readableBytes();
+                if (maxWritable == 0) {
+                    outputPending = true;
+                    break;
+                }
+                if (!out.isWritable()) {
+                    out.ensureWritable(Math.min(out.capacity(), maxWritable));
+                }
+                if (out.writeBytes(zstdIs, Math.min(out.writableBytes(), maxWritable)) == -1) {
+                    break;
+                }
+            }
+            return out;
+        } catch (Exception e) {
+            out.release();
+            corrupted = true;
+            throw new DecompressionException(e);
+        } finally {
+            inputStream.current = null;
+        }
+    }
+
+    @Override
+    public boolean isFinished() {
+        // Zstandard frames are decompressed continuously, so we never know if the end of the stream was reached.
+        return false;
+    }
+
+    @Override
+    public void reset() {
+        if (closed) {
+            throw new IllegalStateException("Decompressor was closed");
+        }
+        closeStream();
+        releaseHeldInput();
+        zstdIs = newStream();
+        corrupted = false;
+        outputPending = false;
+        dictionarySelected = dictionaries == null;
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            closeStream();
+            releaseHeldInput();
+        }
+    }
+
+    private void releaseHeldInput() {
+        if (heldInput != null) {
+            heldInput.release();
+            heldInput = null;
+        }
+    }
+
+    private void closeStream() {
+        try {
+            zstdIs.close();
+        } catch (IOException ignore) {
+            // ignore
+        }
+    }
+
+    private static final class MutableByteBufInputStream extends InputStream {
+        ByteBuf current;
+
+        @Override
+        public int read() {
+            if (current == null || !current.isReadable()) {
+                return -1;
+            }
+            return current.readByte() & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            int available = available();
+            if (available == 0) {
+                return -1;
+            }
+
+            len = Math.min(available, len);
+            current.readBytes(b, off, len);
+            return len;
+        }
+
+        @Override
+        public int available() {
+            return current == null ? 0 : current.readableBytes();
+        }
+    }
+}
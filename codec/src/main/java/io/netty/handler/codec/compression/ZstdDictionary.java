@@ -0,0 +1,230 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.compression;
+
+import com.github.luben.zstd.ZstdDictCompress;
+import com.github.luben.zstd.ZstdDictDecompress;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.util.collection.IntObjectHashMap;
+import io.netty.util.collection.IntObjectMap;
+import io.netty.util.internal.ObjectUtil;
+import io.netty.util.internal.PlatformDependent;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A Zstandard dictionary, which improves the compression ratio of small messages that have a lot in common.
+ * The same dictionary must be used to compress and decompress the data. Dictionaries trained by Zstandard
+ * (see {@link #train(Collection, int)}) have an {@link #id()} which is written into each frame, so the decoding
+ * side can select the right one of several dictionaries.
+ * <p>
+ * Instances are thread-safe and should be shared, as the digested native representations are created once and
+ * then reused by all encoders and decoders.
+ */
+public final class ZstdDictionary {
+
+    private static final int MAGIC_NUMBER = 0xFD2FB528;
+    private static final int FRAME_HEADER_DESCRIPTOR_OFFSET = 4;
+    private static final int[] DICTIONARY_ID_SIZES = { 0, 1, 2, 4 };
+
+    private final byte[] content;
+    private final long id;
+    private final IntObjectMap<ZstdDictCompress> compressDictionaries = new IntObjectHashMap<ZstdDictCompress>(2);
+    private volatile ZstdDictDecompress decompressDictionary;
+    // The shared CompressorPools using this dictionary, see CompressorPool.zstd(...).
+    final ConcurrentMap<Object, CompressorPool> compressorPools = PlatformDependent.newConcurrentHashMap();
+
+    private ZstdDictionary(byte[] content) {
+        ensureAvailability();
+        if (content.length == 0) {
+            throw new IllegalArgumentException("empty dictionary");
+        }
+        this.content = content;
+        id = com.github.luben.zstd.Zstd.getDictIdFromDict(content);
+    }
+
+    private static void ensureAvailability() {
+        if (!Zstd.isAvailable()) {
+            throw new IllegalStateException("zstd-jni is not available", Zstd.cause());
+        }
+    }
+
+    /**
+     * Creates a dictionary from its serialized form, for example as stored by the {@code zstd --train} command.
+     * The array is copied.
+     */
+    public static ZstdDictionary of(byte[] content) {
+        return new ZstdDictionary(ObjectUtil.checkNotNull(content, "content").clone());
+    }
+
+    /**
+     * Creates a dictionary from the readable bytes of the given {@link ByteBuf}, which is not modified.
+     */
+    public static ZstdDictionary of(ByteBuf content) {
+        return new ZstdDictionary(ByteBufUtil.getBytes(ObjectUtil.checkNotNull(content, "content")));
+    }
+
+    /**
+     * Trains a new dictionary from the readable bytes of the given samples, which are not modified. The samples
+     * should be representative for the messages that are compressed later, and there should be a lot of them
+     * (usually hundreds to thousands).
+     *
+     * @param samples               the sample messages
+     * @param maxDictionarySize     the maximum size of the dictionary in bytes, usually around 100 KiB
+     */
+    public static ZstdDictionary train(Collection<? extends ByteBuf> samples, int maxDictionarySize) {
+        ObjectUtil.checkNonEmpty(samples, "samples");
+        ObjectUtil.checkPositive(maxDictionarySize, "maxDictionarySize");
+        ensureAvailability();
+
+        byte[][] sampleArrays = new byte[samples.size()][];
+        int i = 0;
+        for (ByteBuf sample : samples) {
+            sampleArrays[i++] = ByteBufUtil.getBytes(sample);
+        }
+        byte[] dictionary = new byte[maxDictionarySize];
+        long size = com.github.luben.zstd.Zstd.trainFromBuffer(sampleArrays, dictionary);
+        if (com.github.luben.zstd.Zstd.isError(size)) {
+            throw new CompressionException("failed to train dictionary: " +
+                    com.github.luben.zstd.Zstd.getErrorName(size));
+        }
+        byte[] content = new byte[(int) size];
+        System.arraycopy(dictionary, 0, content, 0, content.length);
+        return new ZstdDictionary(content);
+    }
+
+    /**
+     * Returns the id of this dictionary, or {@code 0} if this is a raw content dictionary without id.
+     */
+    public long id() {
+        return id;
+    }
+
+    /**
+     * Returns the size of this dictionary in bytes.
+     */
+    public int size() {
+        return content.length;
+    }
+
+    /**
+     * Returns a copy of the serialized form of this dictionary.
+     */
+    public byte[] content() {
+        return content.clone();
+    }
+
+    /**
+     * Returns the digested dictionary to compress with the given compression level.
+     */
+    ZstdDictCompress compressDictionary(int compressionLevel) {
+        synchronized (compressDictionaries) {
+            ZstdDictCompress dictionary = compressDictionaries.get(compressionLevel);
+            if (dictionary == null) {
+                dictionary = new ZstdDictCompress(content, compressionLevel);
+                compressDictionaries.put(compressionLevel, dictionary);
+            }
+            return dictionary;
+        }
+    }
+
+    /**
+     * Returns the digested dictionary to decompress.
+     */
+    ZstdDictDecompress decompressDictionary() {
+        ZstdDictDecompress dictionary = decompressDictionary;
+        if (dictionary == null) {
+            synchronized (this) {
+                dictionary = decompressDictionary;
+                if (dictionary == null) {
+                    dictionary = new ZstdDictDecompress(content);
+                    decompressDictionary = dictionary;
+                }
+            }
+        }
+        return dictionary;
+    }
+
+    /**
+     * Returns the dictionaries mapped by their id, or {@code null} if there are none.
+     */
+    static Map<Long, ZstdDictionary> byId(ZstdDictionary... dictionaries) {
+        if (dictionaries == null || dictionaries.length == 0) {
+            return null;
+        }
+        Map<Long, ZstdDictionary> map = new HashMap<Long, ZstdDictionary>(dictionaries.length * 2);
+        for (ZstdDictionary dictionary : dictionaries) {
+            ObjectUtil.checkNotNull(dictionary, "dictionary");
+            if (map.put(dictionary.id(), dictionary) != null) {
+                throw new IllegalArgumentException("duplicate dictionary id: " + dictionary.id());
+            }
+        }
+        return map;
+    }
+
+    /**
+     * Returns the dictionary with the given id, or {@code null} if the id is {@code 0} and there is no raw content
+     * dictionary.
+     *
+     * @throws DecompressionException if there is no dictionary with the given non-zero id.
+     */
+    static ZstdDictionary forId(Map<Long, ZstdDictionary> dictionaries, long id) {
+        ZstdDictionary dictionary = dictionaries.get(id);
+        if (dictionary == null && id != 0) {
+            throw new DecompressionException("unknown dictionary id: " + id);
+        }
+        return dictionary;
+    }
+
+    /**
+     * Returns the dictionary id of the frame that starts at the reader index of the given buffer.
+     *
+     * @return the dictionary id, {@code 0} if the frame has none or is no Zstandard frame and {@code -1} if more
+     *         bytes are needed.
+     */
+    static long frameDictionaryId(ByteBuf in) {
+        int idx = in.readerIndex();
+        if (in.readableBytes() <= FRAME_HEADER_DESCRIPTOR_OFFSET) {
+            return -1;
+        }
+        if (in.getIntLE(idx) != MAGIC_NUMBER) {
+            // Let the decoder report the error.
+            return 0;
+        }
+        int descriptor = in.getUnsignedByte(idx + FRAME_HEADER_DESCRIPTOR_OFFSET);
+        boolean singleSegment = (descriptor & 0x20) != 0;
+        int idSize = DICTIONARY_ID_SIZES[descriptor & 0x03];
+        // The window descriptor is only present if the frame is not a single segment.
+        int offset = FRAME_HEADER_DESCRIPTOR_OFFSET + 1 + (singleSegment ? 0 : 1);
+        if (in.readableBytes() < offset + idSize) {
+            return -1;
+        }
+        switch (idSize) {
+            case 0:
+                return 0;
+            case 1:
+                return in.getUnsignedByte(idx + offset);
+            case 2:
+                return in.getUnsignedShortLE(idx + offset);
+            default:
+                return in.getUnsignedIntLE(idx + offset);
+        }
+    }
+}
@@ -16,6 +16,7 @@
 package io.netty.handler.codec.compression;
 
 import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdCompressCtx;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
@@ -46,7 +47,9 @@ public final class ZstdEncoder extends MessageToByteEncoder<ByteBuf> {
     private final int blockSize;
     private final int compressionLevel;
     private final int maxEncodeSize;
+    private final ZstdDictionary dictionary;
     private ByteBuf buffer;
+    private ZstdCompressCtx compressCtx;
 
     /**
      * Creates a new Zstd encoder.
@@ -88,11 +91,27 @@ public final class ZstdEncoder extends MessageToByteEncoder<ByteBuf> {
      *           specifies the level of the compression
      */
     public ZstdEncoder(int compressionLevel, int blockSize, int maxEncodeSize) {
+        this(compressionLevel, blockSize, maxEncodeSize, null);
+    }
+
+    /**
+     * @param  blockSize
+     *           is used to calculate the compressionLevel
+     * @param  maxEncodeSize
+     *           specifies the size of the largest compressed object
+     * @param  compressionLevel
+     *           specifies the level of the compression
+     * @param  dictionary
+     *           the {@link ZstdDictionary} to compress with or {@code null} if none should be used. The
+     *           {@link ZstdDecoder} must be created with the same dictionary.
+     */
+    public ZstdEncoder(int compressionLevel, int blockSize, int maxEncodeSize, ZstdDictionary dictionary) {
         super(true);
         this.compressionLevel = ObjectUtil.checkInRange(compressionLevel,
                 MIN_COMPRESSION_LEVEL, MAX_COMPRESSION_LEVEL, "compressionLevel");
         this.blockSize = ObjectUtil.checkPositive(blockSize, "blockSize");
         this.maxEncodeSize = ObjectUtil.checkPositive(maxEncodeSize, "maxEncodeSize");
+        this.dictionary = dictionary;
     }
 
     @Override
@@ -155,10 +174,13 @@ public final class ZstdEncoder extends MessageToByteEncoder<ByteBuf> {
         int compressedLength;
         try {
             ByteBuffer outNioBuffer = out.internalNioBuffer(idx, out.writableBytes());
-            compressedLength = Zstd.compress(
-                    outNioBuffer,
-                    buffer.internalNioBuffer(buffer.readerIndex(), flushableBytes),
-                    compressionLevel);
+            ByteBuffer inNioBuffer = buffer.internalNioBuffer(buffer.readerIndex(), flushableBytes);
+            if (compressCtx == null) {
+                compressedLength = Zstd.compress(outNioBuffer, inNioBuffer, compressionLevel);
+            } else {
+                compressedLength = compressCtx.compressDirectByteBuffer(outNioBuffer, outNioBuffer.position(),
+                        outNioBuffer.remaining(), inNioBuffer, inNioBuffer.position(), inNioBuffer.remaining());
+            }
         } catch (Exception e) {
             throw new CompressionException(e);
         }
@@ -181,6 +203,11 @@ public final class ZstdEncoder extends MessageToByteEncoder<ByteBuf> {
     public void handlerAdded(ChannelHandlerContext ctx) {
         buffer = ctx.alloc().directBuffer(blockSize);
         buffer.clear();
+        if (dictionary != null) {
+            compressCtx = new ZstdCompressCtx();
+            compressCtx.setLevel(compressionLevel);
+            compressCtx.loadDict(dictionary.compressDictionary(compressionLevel));
+        }
     }
 
     @Override
@@ -190,5 +217,9 @@ public final class ZstdEncoder extends MessageToByteEncoder<ByteBuf> {
             buffer.release();
             buffer = null;
         }
+        if (compressCtx != null) {
+            compressCtx.close();
+            compressCtx = null;
+        }
     }
 }
@@ -32,6 +32,7 @@ public class ZstdOptions implements CompressionOptions {
     private final int blockSize;
     private final int compressionLevel;
     private final int maxEncodeSize;
+    private final ZstdDictionary dictionary;
 
     /**
      * Default implementation of {@link ZstdOptions} with{compressionLevel(int)} set to
@@ -51,6 +52,22 @@ public class ZstdOptions implements CompressionOptions {
      *           specifies the level of the compression
      */
     ZstdOptions(int compressionLevel, int blockSize, int maxEncodeSize) {
+        this(compressionLevel, blockSize, maxEncodeSize, null);
+    }
+
+    /**
+     * Create a new {@link ZstdOptions}
+     *
+     * @param  blockSize
+     *           is used to calculate the compressionLevel
+     * @param  maxEncodeSize
+     *           specifies the size of the largest compressed object
+     * @param  compressionLevel
+     *           specifies the level of the compression
+     * @param  dictionary
+     *           the {@link ZstdDictionary} to compress with or {@code null} if none should be used
+     */
+    ZstdOptions(int compressionLevel, int blockSize, int maxEncodeSize, ZstdDictionary dictionary) {
         if (!Zstd.isAvailable()) {
             throw new IllegalStateException("zstd-jni is not available", Zstd.cause());
         }
@@ -59,6 +76,7 @@ public class ZstdOptions implements CompressionOptions {
                 MIN_COMPRESSION_LEVEL, MAX_COMPRESSION_LEVEL, "compressionLevel");
         this.blockSize = ObjectUtil.checkPositive(blockSize, "blockSize");
         this.maxEncodeSize = ObjectUtil.checkPositive(maxEncodeSize, "maxEncodeSize");
+        this.dictionary = dictionary;
     }
 
     public int compressionLevel() {
@@ -72,4 +90,11 @@ public class ZstdOptions implements CompressionOptions {
     public int maxEncodeSize() {
         return maxEncodeSize;
     }
+
+    /**
+     * Returns the {@link ZstdDictionary} to compress with, or {@code null} if none is used.
+     */
+    public ZstdDictionary dictionary() {
+        return dictionary;
+    }
 }
@@ -15,6 +15,7 @@
  */
 package io.netty.handler.codec.protobuf;
 
+import com.google.protobuf.CodedInputStream;
 import com.google.protobuf.ExtensionRegistry;
 import com.google.protobuf.ExtensionRegistryLite;
 import com.google.protobuf.Message;
@@ -30,6 +31,9 @@ import io.netty.handler.codec.LengthFieldPrepender;
 import io.netty.handler.codec.MessageToMessageDecoder;
 import io.netty.util.internal.ObjectUtil;
 
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -62,11 +66,16 @@ import java.util.List;
  *     ch.write(res);
  * }
  * </pre>
+ * If the {@link ByteBuf} is not backed by an array, like a direct or composite {@link ByteBuf}, and protobuf 3 is
+ * used, the message is parsed from the {@link ByteBuffer}s of the {@link ByteBuf} instead of copying it into a
+ * {@code byte[]} first.
  */
 @Sharable
 public class ProtobufDecoder extends MessageToMessageDecoder<ByteBuf> {
 
     private static final boolean HAS_PARSER;
+    private static final Method NEW_INPUT_FROM_BUFFER;
+    private static final Method NEW_INPUT_FROM_BUFFERS;
 
     static {
         boolean hasParser = false;
@@ -79,6 +88,9 @@ public class ProtobufDecoder extends MessageToMessageDecoder<ByteBuf> {
         }
 
         HAS_PARSER = hasParser;
+        // CodedInputStream.newInstance(ByteBuffer) and newInstance(Iterable<ByteBuffer>) were added in protobuf 3.
+        NEW_INPUT_FROM_BUFFER = findMethod(CodedInputStream.class, "newInstance", ByteBuffer.class);
+        NEW_INPUT_FROM_BUFFERS = findMethod(CodedInputStream.class, "newInstance", Iterable.class);
     }
 
     private final MessageLite prototype;
@@ -103,6 +115,22 @@ public class ProtobufDecoder extends MessageToMessageDecoder<ByteBuf> {
     @Override
     protected void decode(ChannelHandlerContext ctx, ByteBuf msg, List<Object> out)
             throws Exception {
+        if (HAS_PARSER && !msg.hasArray()) {
+            CodedInputStream input = newCodedInputStream(msg);
+            if (input != null) {
+                final MessageLite message;
+                if (extensionRegistry == null) {
+                    message = prototype.getParserForType().parseFrom(input);
+                } else {
+                    message = prototype.getParserForType().parseFrom(input, extensionRegistry);
+                }
+                // Like parsing from an array, the message must end with the input and not with an end group tag.
+                input.checkLastTagWas(0);
+                out.add(message);
+                return;
+            }
+        }
+
         final byte[] array;
         final int offset;
         final int length = msg.readableBytes();
@@ -130,4 +158,28 @@ public class ProtobufDecoder extends MessageToMessageDecoder<ByteBuf> {
             }
         }
     }
+
+    /**
+     * Returns a {@link CodedInputStream} which reads the readable bytes of the given {@link ByteBuf} without copying
+     * them, or {@code null} if this is not supported.
+     */
+    private static CodedInputStream newCodedInputStream(ByteBuf msg) throws Exception {
+        int count = msg.nioBufferCount();
+        if (count == 1) {
+            if (NEW_INPUT_FROM_BUFFER != null) {
+                return (CodedInputStream) NEW_INPUT_FROM_BUFFER.invoke(null, msg.nioBuffer());
+            }
+        } else if (count > 1 && NEW_INPUT_FROM_BUFFERS != null) {
+            return (CodedInputStream) NEW_INPUT_FROM_BUFFERS.invoke(null, Arrays.asList(msg.nioBuffers()));
+        }
+        return null;
+    }
+
+    static Method findMethod(Class<?> clazz, String name, Class<?>... parameterTypes) {
+        try {
+            return clazz.getMethod(name, parameterTypes);
+        } catch (Throwable t) {
+            return null;
+        }
+    }
 }
@@ -15,6 +15,7 @@
  */
 package io.netty.handler.codec.protobuf;
 
+import com.google.protobuf.CodedOutputStream;
 import com.google.protobuf.Message;
 import com.google.protobuf.MessageLite;
 import com.google.protobuf.MessageLiteOrBuilder;
@@ -26,10 +27,10 @@ import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
 import io.netty.handler.codec.LengthFieldPrepender;
 import io.netty.handler.codec.MessageToMessageEncoder;
 
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
 import java.util.List;
 
-import static io.netty.buffer.Unpooled.*;
-
 /**
  * Encodes the requested <a href="https://github.com/google/protobuf">Google
  * Protocol Buffers</a> {@link Message} and {@link MessageLite} into a
@@ -57,18 +58,51 @@ import static io.netty.buffer.Unpooled.*;
  *     ch.write(res);
  * }
  * </pre>
+ * The message is serialized directly into a {@link ByteBuf} of its exact size which is allocated by the
+ * {@link ChannelHandlerContext#alloc()}. With protobuf 3 this may be a direct {@link ByteBuf}, otherwise a heap
+ * {@link ByteBuf} is used.
  */
 @Sharable
 public class ProtobufEncoder extends MessageToMessageEncoder<MessageLiteOrBuilder> {
+
+    // CodedOutputStream.newInstance(ByteBuffer) was added in protobuf 3.
+    private static final Method NEW_OUTPUT_FROM_BUFFER =
+            ProtobufDecoder.findMethod(CodedOutputStream.class, "newInstance", ByteBuffer.class);
+
     @Override
     protected void encode(ChannelHandlerContext ctx, MessageLiteOrBuilder msg, List<Object> out)
             throws Exception {
+        final MessageLite message;
         if (msg instanceof MessageLite) {
-            out.add(wrappedBuffer(((MessageLite) msg).toByteArray()));
+            message = (MessageLite) msg;
+        } else if (msg instanceof MessageLite.Builder) {
+            message = ((MessageLite.Builder) msg).build();
+        } else {
             return;
         }
-        if (msg instanceof MessageLite.Builder) {
-            out.add(wrappedBuffer(((MessageLite.Builder) msg).build().toByteArray()));
+
+        final int size = message.getSerializedSize();
+        final ByteBuf buf = NEW_OUTPUT_FROM_BUFFER != null ?
+                ctx.alloc().buffer(size, size) : ctx.alloc().heapBuffer(size, size);
+        boolean release = true;
+        try {
+            final CodedOutputStream output;
+            if (buf.hasArray()) {
+                output = CodedOutputStream.newInstance(buf.array(), buf.arrayOffset() + buf.writerIndex(), size);
+            } else {
+                output = (CodedOutputStream) NEW_OUTPUT_FROM_BUFFER.invoke(
+                        null, buf.internalNioBuffer(buf.writerIndex(), size));
+            }
+            message.writeTo(output);
+            output.flush();
+            output.checkNoSpaceLeft();
+            buf.writerIndex(buf.writerIndex() + size);
+            out.add(buf);
+            release = false;
+        } finally {
+            if (release) {
+                buf.release();
+            }
         }
     }
 }
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AdaptiveCumulatorTest {
+
+    private static final int READ_SIZE = 8 * 1024;
+
+    @Test
+    public void testFrameAlignedReadIsUsedDirectly() {
+        AdaptiveCumulator cumulator = new AdaptiveCumulator();
+        ByteBuf in = Unpooled.buffer().writeInt(1);
+        assertSame(in, cumulator.cumulate(UnpooledByteBufAllocator.DEFAULT, Unpooled.EMPTY_BUFFER, in));
+        in.release();
+    }
+
+    @Test
+    public void testLargeFramesAreComposed() {
+        AdaptiveCumulator cumulator = new AdaptiveCumulator();
+        // Each frame spans 16 reads.
+        byte[] stream = newFrames(3, READ_SIZE * 16);
+        EmbeddedChannel channel = newChannel(cumulator);
+        writeInReads(channel, stream);
+        assertTrue(cumulator.isComposing());
+
+        ByteBuf frames = Unpooled.buffer();
+        boolean composed = false;
+        for (;;) {
+            ByteBuf frame = channel.readInbound();
+            if (frame == null) {
+                break;
+            }
+            // Frames are slices of the reads instead of copies.
+            composed |= isSliceOfComposite(frame);
+            frames.writeInt(frame.readableBytes()).writeBytes(frame);
+            frame.release();
+        }
+        assertTrue(composed);
+        assertEquals(Unpooled.wrappedBuffer(stream), frames);
+        frames.release();
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testSmallFramesAreMerged() {
+        AdaptiveCumulator cumulator = new AdaptiveCumulator();
+        byte[] stream = newFrames(200, 100);
+        EmbeddedChannel channel = newChannel(cumulator);
+        writeInReads(channel, stream);
+        assertFalse(cumulator.isComposing());
+
+        ByteBuf frames = Unpooled.buffer();
+        for (;;) {
+            ByteBuf frame = channel.readInbound();
+            if (frame == null) {
+                break;
+            }
+            assertFalse(isSliceOfComposite(frame));
+            frames.writeInt(frame.readableBytes()).writeBytes(frame);
+            frame.release();
+        }
+        assertEquals(Unpooled.wrappedBuffer(stream), frames);
+        frames.release();
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testComponentsAreLimited() {
+        AdaptiveCumulator cumulator = new AdaptiveCumulator(4);
+        ByteBuf cumulation = Unpooled.EMPTY_BUFFER;
+        // A frame which never completes, so all reads are left over.
+        for (int i = 0; i < 20; i++) {
+            cumulation = cumulator.cumulate(UnpooledByteBufAllocator.DEFAULT, cumulation,
+                    Unpooled.wrappedBuffer(new byte[READ_SIZE]));
+        }
+        assertTrue(cumulator.isComposing());
+        assertTrue(cumulation instanceof CompositeByteBuf);
+        CompositeByteBuf composite = (CompositeByteBuf) cumulation;
+        assertTrue(composite.numComponents() <= 4);
+        assertEquals(20 * READ_SIZE, composite.readableBytes());
+        composite.release();
+    }
+
+    private static boolean isSliceOfComposite(ByteBuf frame) {
+        // Unwrap the leak detection wrapper as well.
+        ByteBuf buf = frame;
+        while (buf.unwrap() != null) {
+            buf = buf.unwrap();
+        }
+        return buf instanceof CompositeByteBuf;
+    }
+
+    private static EmbeddedChannel newChannel(AdaptiveCumulator cumulator) {
+        LengthFieldBasedFrameDecoder decoder = new LengthFieldBasedFrameDecoder(Integer.MAX_VALUE, 0, 4, 0, 4);
+        decoder.setCumulator(cumulator);
+        return new EmbeddedChannel(decoder);
+    }
+
+    private static byte[] newFrames(int count, int length) {
+        Random random = new Random(42);
+        ByteBuf buf = Unpooled.buffer();
+        for (int i = 0; i < count; i++) {
+            byte[] frame = new byte[length];
+            random.nextBytes(frame);
+            buf.writeInt(length).writeBytes(frame);
+        }
+        byte[] stream = new byte[buf.readableBytes()];
+        buf.readBytes(stream);
+        buf.release();
+        return stream;
+    }
+
+    private static void writeInReads(EmbeddedChannel channel, byte[] stream) {
+        for (int i = 0; i < stream.length; i += READ_SIZE) {
+            channel.writeInbound(Unpooled.copiedBuffer(stream, i, Math.min(READ_SIZE, stream.length - i)));
+        }
+    }
+}
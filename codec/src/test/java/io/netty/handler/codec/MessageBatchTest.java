@@ -0,0 +1,176 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MessageBatchTest {
+
+    @Test
+    public void testDecodedMessagesAreBatched() {
+        EmbeddedChannel channel = new EmbeddedChannel(newDecoder());
+        ByteBuf in = Unpooled.buffer();
+        for (int i = 0; i < 100; i++) {
+            in.writeInt(i);
+        }
+        // Add an incomplete message.
+        in.writeShort(0);
+        assertTrue(channel.writeInbound(in));
+
+        MessageBatch batch = channel.readInbound();
+        assertNull(channel.readInbound());
+        assertEquals(100, batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            assertEquals(i, ((ByteBuf) batch.get(i)).getInt(0));
+        }
+        // Releases the messages.
+        assertTrue(batch.release());
+
+        assertTrue(channel.writeInbound(Unpooled.buffer().writeShort(100)));
+        batch = channel.readInbound();
+        assertEquals(1, batch.size());
+        assertEquals(100, ((ByteBuf) batch.get(0)).getInt(0));
+        batch.release();
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testFireChannelReadPassesMessagesOneByOne() {
+        final List<Object> received = new ArrayList<Object>();
+        EmbeddedChannel channel = new EmbeddedChannel(newDecoder(), new ChannelInboundHandlerAdapter() {
+            @Override
+            public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                ((MessageBatch) msg).fireChannelRead(ctx);
+            }
+        }, new ChannelInboundHandlerAdapter() {
+            @Override
+            public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                received.add(msg);
+            }
+        });
+        assertFalse(channel.writeInbound(Unpooled.buffer().writeInt(1).writeInt(2).writeInt(3)));
+        assertEquals(3, received.size());
+        for (int i = 0; i < received.size(); i++) {
+            ByteBuf buf = (ByteBuf) received.get(i);
+            assertEquals(i + 1, buf.getInt(0));
+            buf.release();
+        }
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testRemainingMessagesOnInactive() {
+        ByteToMessageDecoder decoder = new ByteToMessageDecoder() {
+            @Override
+            protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) {
+                if (in.readableBytes() >= 4) {
+                    out.add(in.readRetainedSlice(4));
+                }
+            }
+
+            @Override
+            protected void decodeLast(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
+                super.decodeLast(ctx, in, out);
+                if (in.isReadable()) {
+                    out.add(in.readRetainedSlice(in.readableBytes()));
+                }
+            }
+        };
+        decoder.setBatchOutput(true);
+        EmbeddedChannel channel = new EmbeddedChannel(decoder);
+        channel.config().setAutoRead(false);
+        assertFalse(channel.writeInbound(Unpooled.buffer().writeShort(1)));
+
+        assertTrue(channel.finish());
+        MessageBatch batch = channel.readInbound();
+        assertEquals(1, batch.size());
+        assertEquals(2, ((ByteBuf) batch.get(0)).readableBytes());
+        batch.release();
+    }
+
+    @Test
+    public void testReplayingDecoderMessagesAreBatched() {
+        ReplayingDecoder<Void> decoder = new ReplayingDecoder<Void>() {
+            @Override
+            protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) {
+                out.add(in.readInt());
+            }
+        };
+        decoder.setBatchOutput(true);
+        EmbeddedChannel channel = new EmbeddedChannel(decoder);
+        // The incomplete message makes the decoder replay.
+        assertTrue(channel.writeInbound(Unpooled.buffer().writeInt(1).writeInt(2).writeInt(3).writeShort(0)));
+
+        MessageBatch batch = channel.readInbound();
+        assertNull(channel.readInbound());
+        assertEquals(3, batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            assertEquals(i + 1, batch.get(i));
+        }
+        batch.release();
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testMessagesBatchedBeforeRemovalFromDecode() {
+        ByteToMessageDecoder decoder = new ByteToMessageDecoder() {
+            @Override
+            protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) {
+                if (in.readableBytes() >= 4) {
+                    int value = in.readInt();
+                    out.add(value);
+                    if (value == 2) {
+                        ctx.pipeline().remove(this);
+                    }
+                }
+            }
+        };
+        decoder.setBatchOutput(true);
+        EmbeddedChannel channel = new EmbeddedChannel(decoder);
+        assertTrue(channel.writeInbound(Unpooled.buffer().writeInt(1).writeInt(2).writeInt(3)));
+
+        MessageBatch batch = channel.readInbound();
+        assertEquals(2, batch.size());
+        assertEquals(1, batch.get(0));
+        assertEquals(2, batch.get(1));
+        batch.release();
+        // The remaining bytes are passed on as they are.
+        ByteBuf remaining = channel.readInbound();
+        assertEquals(3, remaining.readInt());
+        remaining.release();
+        assertNull(channel.readInbound());
+        assertFalse(channel.finish());
+    }
+
+    private static ByteToMessageDecoder newDecoder() {
+        ByteToMessageDecoder decoder = new FixedLengthFrameDecoder(4);
+        decoder.setBatchOutput(true);
+        return decoder;
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.compression;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.util.CharsetUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompressorPoolTest {
+
+    private static final byte[] DATA = "Netty is a NIO client server framework, Netty is a NIO client server framework"
+            .getBytes(CharsetUtil.US_ASCII);
+
+    @Test
+    public void testReuse() {
+        final List<Compressor> created = new ArrayList<Compressor>();
+        CompressorPool pool = new CompressorPool(new CompressorPool.Factory() {
+            @Override
+            public Compressor newCompressor() {
+                Compressor compressor = new ZlibCompressor(ZlibWrapper.GZIP);
+                created.add(compressor);
+                return compressor;
+            }
+        }, 1);
+
+        byte[] first = compressAndClose(pool.acquire());
+        assertEquals(1, pool.numPooledForCurrentThread());
+        byte[] second = compressAndClose(pool.acquire());
+
+        // The pooled instance was reset, so the output must be the same.
+        assertEquals(Unpooled.wrappedBuffer(first), Unpooled.wrappedBuffer(second));
+        assertEquals(1, created.size());
+        assertEquals(1, pool.numCreated());
+        assertEquals(1, pool.numReused());
+        assertEquals(0, pool.numDiscarded());
+        assertFalse(created.get(0).isFinished());
+    }
+
+    @Test
+    public void testDiscardWhenFull() {
+        CompressorPool pool = new CompressorPool(new CompressorPool.Factory() {
+            @Override
+            public Compressor newCompressor() {
+                return new ZlibCompressor(ZlibWrapper.ZLIB);
+            }
+        }, 1);
+
+        Compressor first = pool.acquire();
+        Compressor second = pool.acquire();
+        first.close();
+        second.close();
+
+        assertEquals(2, pool.numCreated());
+        assertEquals(1, pool.numDiscarded());
+        assertEquals(1, pool.numPooledForCurrentThread());
+    }
+
+    @Test
+    public void testPoolingDisabled() {
+        CompressorPool pool = new CompressorPool(new CompressorPool.Factory() {
+            @Override
+            public Compressor newCompressor() {
+                return new ZlibCompressor(ZlibWrapper.ZLIB);
+            }
+        }, 0);
+
+        compressAndClose(pool.acquire());
+        compressAndClose(pool.acquire());
+
+        assertEquals(2, pool.numCreated());
+        assertEquals(0, pool.numReused());
+        assertEquals(2, pool.numDiscarded());
+        assertEquals(0, pool.numPooledForCurrentThread());
+    }
+
+    @Test
+    public void testUseAfterClose() {
+        final Compressor compressor = CompressorPool.zlib(ZlibWrapper.GZIP, 6).acquire();
+        compressor.close();
+        // Closing twice must not return the instance to the pool again.
+        compressor.close();
+
+        assertTrue(compressor.isFinished());
+        assertThrows(IllegalStateException.class, new Executable() {
+            @Override
+            public void execute() {
+                compressor.compress(Unpooled.wrappedBuffer(DATA), ByteBufAllocator.DEFAULT);
+            }
+        });
+    }
+
+    @Test
+    public void testSharedPools() {
+        assertSame(CompressorPool.zlib(ZlibWrapper.GZIP, 6), CompressorPool.zlib(ZlibWrapper.GZIP, 6));
+        assertSame(DecompressorPool.zlib(ZlibWrapper.GZIP, true), DecompressorPool.zlib(ZlibWrapper.GZIP, true));
+        assertThrows(IllegalArgumentException.class, new Executable() {
+            @Override
+            public void execute() {
+                CompressorPool.zlib(ZlibWrapper.ZLIB_OR_NONE, 6);
+            }
+        });
+    }
+
+    @Test
+    public void testDecompressorReuse() {
+        DecompressorPool pool = new DecompressorPool(new DecompressorPool.Factory() {
+            @Override
+            public Decompressor newDecompressor() {
+                return new ZlibDecompressor(ZlibWrapper.GZIP);
+            }
+        }, 1);
+        byte[] compressed = compressAndClose(new ZlibCompressor(ZlibWrapper.GZIP));
+
+        for (int i = 0; i < 2; i++) {
+            Decompressor decompressor = pool.acquire();
+            ByteBuf out = decompressor.decompress(Unpooled.wrappedBuffer(compressed), ByteBufAllocator.DEFAULT);
+            try {
+                assertEquals(Unpooled.wrappedBuffer(DATA), out);
+                assertTrue(decompressor.isFinished());
+            } finally {
+                out.release();
+                decompressor.close();
+            }
+        }
+        assertEquals(1, pool.numCreated());
+        assertEquals(1, pool.numReused());
+    }
+
+    private static byte[] compressAndClose(Compressor compressor) {
+        try {
+            ByteBuf compressed = compressor.compress(Unpooled.wrappedBuffer(DATA), ByteBufAllocator.DEFAULT);
+            ByteBuf trailer = compressor.finish(ByteBufAllocator.DEFAULT);
+            byte[] bytes = new byte[compressed.readableBytes() + trailer.readableBytes()];
+            compressed.readBytes(bytes, 0, compressed.readableBytes());
+            trailer.readBytes(bytes, bytes.length - trailer.readableBytes(), trailer.readableBytes());
+            compressed.release();
+            trailer.release();
+            return bytes;
+        } finally {
+            compressor.close();
+        }
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.compression;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DecompressionHandlerTest {
+
+    private static final int CHUNK_SIZE = 1024;
+
+    @Test
+    public void testAutoRead() throws Exception {
+        byte[] data = newData(CHUNK_SIZE * 20 + 3);
+        EmbeddedChannel channel = new EmbeddedChannel(
+                new DecompressionHandler(new ZlibDecompressor(ZlibWrapper.GZIP), CHUNK_SIZE));
+        byte[] compressed = gzip(data);
+        // Split the input so chunks also end in the middle of the compressed data.
+        assertTrue(channel.writeInbound(Unpooled.wrappedBuffer(compressed, 0, 100)));
+        channel.writeInbound(Unpooled.wrappedBuffer(compressed, 100, compressed.length - 100));
+
+        assertArrayEquals(data, readAll(channel));
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testOneChunkPerRead() throws Exception {
+        // A small input which expands a lot, like a decompression bomb.
+        byte[] data = new byte[CHUNK_SIZE * 1024];
+        final AtomicInteger upstreamReads = new AtomicInteger();
+        EmbeddedChannel channel = new EmbeddedChannel(new ChannelOutboundHandlerAdapter() {
+            @Override
+            public void read(ChannelHandlerContext ctx) throws Exception {
+                upstreamReads.incrementAndGet();
+                super.read(ctx);
+            }
+        }, new DecompressionHandler(new ZlibDecompressor(ZlibWrapper.GZIP), CHUNK_SIZE));
+        channel.config().setAutoRead(false);
+        upstreamReads.set(0);
+
+        // The read() done when the channel became active is satisfied with the first chunk.
+        assertTrue(channel.writeInbound(Unpooled.wrappedBuffer(gzip(data))));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        readChunk(channel, out);
+        for (int i = 1; i < data.length / CHUNK_SIZE; i++) {
+            channel.read();
+            readChunk(channel, out);
+        }
+        assertArrayEquals(data, out.toByteArray());
+        assertEquals(0, upstreamReads.get());
+
+        // All data was consumed, so the next read() needs to be passed on.
+        channel.read();
+        assertNull(channel.readInbound());
+        assertEquals(1, upstreamReads.get());
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testReadSatisfiedByLaterInput() throws Exception {
+        byte[] data = newData(CHUNK_SIZE / 2);
+        byte[] compressed = gzip(data);
+        EmbeddedChannel channel = new EmbeddedChannel(
+                new DecompressionHandler(new ZlibDecompressor(ZlibWrapper.GZIP), CHUNK_SIZE));
+        channel.config().setAutoRead(false);
+
+        channel.read();
+        // The GZIP header alone produces no output.
+        assertFalse(channel.writeInbound(Unpooled.wrappedBuffer(compressed, 0, 10)));
+        assertTrue(channel.writeInbound(Unpooled.wrappedBuffer(compressed, 10, compressed.length - 10)));
+        assertArrayEquals(data, readAll(channel));
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testRemainingOutputOnInactive() throws Exception {
+        byte[] data = newData(CHUNK_SIZE * 3);
+        EmbeddedChannel channel = new EmbeddedChannel(
+                new DecompressionHandler(new ZlibDecompressor(ZlibWrapper.GZIP), CHUNK_SIZE));
+        channel.config().setAutoRead(false);
+        channel.writeInbound(Unpooled.wrappedBuffer(gzip(data)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        readChunk(channel, out);
+        assertNull(channel.readInbound());
+
+        assertTrue(channel.finish());
+        out.write(readAll(channel));
+        assertArrayEquals(data, out.toByteArray());
+    }
+
+    @Test
+    public void testReadFromChannelRead() throws Exception {
+        byte[] data = newData(CHUNK_SIZE * 8);
+        final AtomicInteger readCompletes = new AtomicInteger();
+        EmbeddedChannel channel = new EmbeddedChannel(
+                new DecompressionHandler(new ZlibDecompressor(ZlibWrapper.GZIP), CHUNK_SIZE),
+                new ChannelInboundHandlerAdapter() {
+                    @Override
+                    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                        // Request the next chunk before this one is passed on.
+                        ctx.read();
+                        ctx.fireChannelRead(msg);
+                    }
+
+                    @Override
+                    public void channelReadComplete(ChannelHandlerContext ctx) {
+                        readCompletes.incrementAndGet();
+                        ctx.fireChannelReadComplete();
+                    }
+                });
+        channel.config().setAutoRead(false);
+        channel.read();
+
+        assertTrue(channel.writeInbound(Unpooled.wrappedBuffer(gzip(data))));
+        // The chunks must still arrive in order, followed by a single read complete.
+        assertArrayEquals(data, readAll(channel));
+        assertEquals(1, readCompletes.get());
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testPassesOtherMessages() {
+        EmbeddedChannel channel = new EmbeddedChannel(new DecompressionHandler(new ZlibDecompressor(ZlibWrapper.GZIP)));
+        Object msg = new Object();
+        assertTrue(channel.writeInbound(msg));
+        assertEquals(msg, channel.readInbound());
+        assertFalse(channel.finish());
+    }
+
+    private static byte[] newData(int length) {
+        Random random = new Random(42);
+        byte[] data = new byte[length];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) ('a' + random.nextInt(8));
+        }
+        return data;
+    }
+
+    private static void readChunk(EmbeddedChannel channel, ByteArrayOutputStream out) throws IOException {
+        ByteBuf chunk = channel.readInbound();
+        assertEquals(CHUNK_SIZE, chunk.readableBytes());
+        assertNull(channel.readInbound());
+        chunk.readBytes(out, chunk.readableBytes());
+        chunk.release();
+    }
+
+    private static byte[] readAll(EmbeddedChannel channel) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (;;) {
+            ByteBuf buf = channel.readInbound();
+            if (buf == null) {
+                return out.toByteArray();
+            }
+            assertTrue(buf.readableBytes() <= CHUNK_SIZE);
+            buf.readBytes(out, buf.readableBytes());
+            buf.release();
+        }
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GZIPOutputStream gzip = new GZIPOutputStream(out);
+        gzip.write(data);
+        gzip.close();
+        return out.toByteArray();
+    }
+}
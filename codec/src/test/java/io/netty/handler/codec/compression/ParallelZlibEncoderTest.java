@@ -0,0 +1,158 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.compression;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.concurrent.ImmediateExecutor;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.Inflater;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ParallelZlibEncoderTest {
+
+    private static final int BLOCK_SIZE = 1024;
+
+    @Test
+    public void testGzipRoundTrip() throws Exception {
+        testRoundTrip(ZlibWrapper.GZIP);
+    }
+
+    @Test
+    public void testZlibRoundTrip() throws Exception {
+        testRoundTrip(ZlibWrapper.ZLIB);
+    }
+
+    @Test
+    public void testNoneRoundTrip() throws Exception {
+        testRoundTrip(ZlibWrapper.NONE);
+    }
+
+    private static void testRoundTrip(ZlibWrapper wrapper) throws Exception {
+        byte[] data = newData(BLOCK_SIZE * 10 + 17);
+        EmbeddedChannel channel = new EmbeddedChannel(
+                new ParallelZlibEncoder(wrapper, 6, ImmediateExecutor.INSTANCE, BLOCK_SIZE, 2));
+        // Write in chunks that do not line up with the blocks.
+        for (int i = 0; i < data.length; i += 700) {
+            channel.write(Unpooled.wrappedBuffer(data, i, Math.min(700, data.length - i)));
+        }
+        ChannelFuture closeFuture = channel.close();
+        channel.runPendingTasks();
+        assertTrue(closeFuture.isSuccess());
+
+        assertArrayEquals(data, decompress(wrapper, readAll(channel)));
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testFlushEndsBlock() throws Exception {
+        byte[] data = newData(100);
+        EmbeddedChannel channel = new EmbeddedChannel(
+                new ParallelZlibEncoder(ZlibWrapper.NONE, 6, ImmediateExecutor.INSTANCE, BLOCK_SIZE, 2));
+        // The compressed block is written by a task scheduled on the EventLoop, which the EmbeddedChannel runs.
+        ChannelFuture future = channel.writeAndFlush(Unpooled.wrappedBuffer(data));
+        assertTrue(future.isSuccess());
+
+        // Everything written so far must be decodable without the end of the stream.
+        ByteBuf compressed = readAll(channel);
+        Inflater inflater = new Inflater(true);
+        inflater.setInput(ByteBufUtil.getBytes(compressed));
+        compressed.release();
+        byte[] out = new byte[data.length];
+        assertEquals(data.length, inflater.inflate(out));
+        inflater.end();
+        assertArrayEquals(data, out);
+
+        channel.close();
+        channel.runPendingTasks();
+        readAll(channel).release();
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testWritabilityWhileBlocksArePending() {
+        final List<Boolean> writabilityChanges = new ArrayList<Boolean>();
+        EmbeddedChannel channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter() {
+            @Override
+            public void channelWritabilityChanged(ChannelHandlerContext ctx) {
+                writabilityChanges.add(ctx.channel().isWritable());
+            }
+        }, new ParallelZlibEncoder(ZlibWrapper.GZIP, 6, ImmediateExecutor.INSTANCE, BLOCK_SIZE, 2));
+
+        // The first block is not written yet when the second one is submitted.
+        channel.write(Unpooled.wrappedBuffer(newData(BLOCK_SIZE * 2)));
+        assertEquals(Arrays.asList(false, true), writabilityChanges);
+        assertTrue(channel.isWritable());
+
+        channel.close();
+        readAll(channel).release();
+        assertFalse(channel.finish());
+    }
+
+    private static byte[] newData(int length) {
+        Random random = new Random(42);
+        byte[] data = new byte[length];
+        for (int i = 0; i < data.length; i++) {
+            // Compressible but not trivial.
+            data[i] = (byte) ('a' + random.nextInt(8));
+        }
+        return data;
+    }
+
+    private static ByteBuf readAll(EmbeddedChannel channel) {
+        ByteBuf out = Unpooled.buffer();
+        for (;;) {
+            ByteBuf buf = channel.readOutbound();
+            if (buf == null) {
+                return out;
+            }
+            out.writeBytes(buf);
+            buf.release();
+        }
+    }
+
+    private static byte[] decompress(ZlibWrapper wrapper, ByteBuf compressed) throws Exception {
+        EmbeddedChannel decoder = new EmbeddedChannel(new JdkZlibDecoder(wrapper, 0));
+        decoder.writeInbound(compressed);
+        ByteBuf decompressed = Unpooled.buffer();
+        for (;;) {
+            ByteBuf buf = decoder.readInbound();
+            if (buf == null) {
+                break;
+            }
+            decompressed.writeBytes(buf);
+            buf.release();
+        }
+        decoder.finishAndReleaseAll();
+        byte[] bytes = ByteBufUtil.getBytes(decompressed);
+        decompressed.release();
+        return bytes;
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.compression;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SnappyDecompressorTest {
+
+    private static final byte[] DATA = new byte[200 * 1024];
+
+    static {
+        Random random = new Random(7);
+        for (int i = 0; i < DATA.length; i++) {
+            DATA[i] = (byte) ('a' + random.nextInt(4));
+        }
+    }
+
+    @Test
+    public void testRoundTrip() {
+        testRoundTrip(new SnappyCompressor());
+    }
+
+    @Test
+    public void testRoundTripJumboFrames() {
+        testRoundTrip(SnappyCompressor.snappyCompressorWithJumboFrames());
+    }
+
+    private static void testRoundTrip(SnappyCompressor compressor) {
+        SnappyDecompressor decompressor = new SnappyDecompressor(true);
+        try {
+            ByteBuf compressed = compressor.compress(Unpooled.wrappedBuffer(DATA), ByteBufAllocator.DEFAULT);
+            compressed.writeBytes(compressor.finish(ByteBufAllocator.DEFAULT));
+            ByteBuf decompressed = decompressInChunks(decompressor, compressed, 1000);
+            try {
+                assertEquals(Unpooled.wrappedBuffer(DATA), decompressed);
+            } finally {
+                decompressed.release();
+                compressed.release();
+            }
+        } finally {
+            compressor.close();
+            decompressor.close();
+        }
+    }
+
+    @Test
+    public void testMaxOutputLength() {
+        SnappyCompressor compressor = new SnappyCompressor();
+        SnappyDecompressor decompressor = new SnappyDecompressor();
+        ByteBuf compressed = compressor.compress(Unpooled.wrappedBuffer(DATA), ByteBufAllocator.DEFAULT);
+        CompositeByteBuf decompressed = Unpooled.compositeBuffer(Integer.MAX_VALUE);
+        try {
+            for (;;) {
+                // A chunk decompresses to 64 KiB, so most of it is kept for the next calls.
+                ByteBuf out = decompressor.decompress(compressed, ByteBufAllocator.DEFAULT, 1000);
+                if (!out.isReadable()) {
+                    out.release();
+                    break;
+                }
+                assertTrue(out.readableBytes() <= 1000);
+                decompressed.addComponent(true, out);
+            }
+            assertFalse(compressed.isReadable());
+            assertEquals(Unpooled.wrappedBuffer(DATA), decompressed);
+        } finally {
+            decompressed.release();
+            compressed.release();
+            compressor.close();
+            decompressor.close();
+        }
+    }
+
+    @Test
+    public void testSameOutputAsFrameEncoder() {
+        EmbeddedChannel channel = new EmbeddedChannel(new SnappyFrameEncoder());
+        SnappyCompressor compressor = new SnappyCompressor();
+        try {
+            channel.writeOutbound(Unpooled.wrappedBuffer(DATA));
+            ByteBuf expected = channel.readOutbound();
+            ByteBuf actual = compressor.compress(Unpooled.wrappedBuffer(DATA), ByteBufAllocator.DEFAULT);
+            assertEquals(expected, actual);
+            expected.release();
+            actual.release();
+        } finally {
+            compressor.close();
+            assertFalse(channel.finishAndReleaseAll());
+        }
+    }
+
+    @Test
+    public void testCorruptedStream() {
+        final SnappyDecompressor decompressor = new SnappyDecompressor();
+        try {
+            assertThrows(DecompressionException.class, new Executable() {
+                @Override
+                public void execute() {
+                    decompressor.decompress(Unpooled.wrappedBuffer(new byte[] {
+                            0x03, 0x01, 0x00, 0x00, 0x00
+                    }), ByteBufAllocator.DEFAULT);
+                }
+            });
+            // Input is discarded once the stream is corrupted.
+            ByteBuf out = decompressor.decompress(Unpooled.wrappedBuffer(DATA), ByteBufAllocator.DEFAULT);
+            assertFalse(out.isReadable());
+            out.release();
+        } finally {
+            decompressor.close();
+        }
+    }
+
+    private static ByteBuf decompressInChunks(Decompressor decompressor, ByteBuf compressed, int chunkSize) {
+        CompositeByteBuf decompressed = Unpooled.compositeBuffer(Integer.MAX_VALUE);
+        while (compressed.isReadable()) {
+            ByteBuf in = compressed.readSlice(Math.min(chunkSize, compressed.readableBytes()));
+            decompressed.addComponent(true, decompressor.decompress(in, ByteBufAllocator.DEFAULT));
+            assertFalse(in.isReadable());
+        }
+        return decompressed;
+    }
+}
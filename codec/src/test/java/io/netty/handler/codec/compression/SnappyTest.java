@@ -356,4 +356,41 @@ public class SnappyTest {
             expectedDecompressed.release();
         }
     }
+
+    @Test
+    public void testEncodeAndDecodeDirectBuffers() {
+        // Bigger than 32 KiB, so positions in the hash table do not fit in a signed short.
+        byte[] data = new byte[48 * 1024];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i % 251 < 40 ? 'a' : i * 31 >>> 3);
+        }
+        ByteBuf heapIn = Unpooled.wrappedBuffer(data);
+        ByteBuf directIn = Unpooled.directBuffer(data.length).writeBytes(data);
+        // A composite buffer has neither an array nor a memory address, so it is scanned via its accessors.
+        ByteBuf compositeIn = Unpooled.wrappedBuffer(Unpooled.wrappedBuffer(data, 0, data.length / 2),
+                Unpooled.wrappedBuffer(data, data.length / 2, data.length - data.length / 2));
+        ByteBuf heapOut = Unpooled.buffer();
+        ByteBuf directOut = Unpooled.directBuffer();
+        ByteBuf compositeOut = Unpooled.buffer();
+        ByteBuf decoded = Unpooled.directBuffer();
+        try {
+            snappy.encode(heapIn, heapOut, data.length);
+            new Snappy().encode(directIn, directOut, data.length);
+            new Snappy().encode(compositeIn, compositeOut, data.length);
+            assertEquals(heapOut, directOut);
+            assertEquals(heapOut, compositeOut);
+
+            // Decoding into a direct buffer copies back references, including overlapping ones, via its address.
+            snappy.decode(directOut, decoded);
+            assertEquals(Unpooled.wrappedBuffer(data), decoded);
+        } finally {
+            heapIn.release();
+            directIn.release();
+            compositeIn.release();
+            heapOut.release();
+            directOut.release();
+            compositeOut.release();
+            decoded.release();
+        }
+    }
 }
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.compression;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ZlibCompressorTest {
+
+    private static final byte[] DATA = new byte[64 * 1024];
+
+    static {
+        // Use a small alphabet so the data is compressible.
+        Random random = new Random(42);
+        for (int i = 0; i < DATA.length; i++) {
+            DATA[i] = (byte) ('a' + random.nextInt(8));
+        }
+    }
+
+    @Test
+    public void testGzip() throws Exception {
+        ZlibCompressor compressor = new ZlibCompressor(ZlibWrapper.GZIP);
+        try {
+            assertArrayEquals(DATA, gunzip(compressInChunks(compressor, 1000)));
+        } finally {
+            compressor.close();
+        }
+    }
+
+    @Test
+    public void testZlib() throws Exception {
+        ZlibCompressor compressor = new ZlibCompressor(ZlibWrapper.ZLIB);
+        try {
+            ByteBuf compressed = compressInChunks(compressor, 4096);
+            assertArrayEquals(DATA, readFully(new InflaterInputStream(new ByteBufInputStream(compressed, true))));
+        } finally {
+            compressor.close();
+        }
+    }
+
+    @Test
+    public void testEmptyGzipStream() throws Exception {
+        ZlibCompressor compressor = new ZlibCompressor(ZlibWrapper.GZIP);
+        try {
+            assertArrayEquals(new byte[0], gunzip(compressor.finish(ByteBufAllocator.DEFAULT)));
+        } finally {
+            compressor.close();
+        }
+    }
+
+    @Test
+    public void testReset() throws Exception {
+        ZlibCompressor compressor = new ZlibCompressor(ZlibWrapper.GZIP);
+        try {
+            compressInChunks(compressor, 8192).release();
+            assertTrue(compressor.isFinished());
+            compressor.reset();
+            assertFalse(compressor.isFinished());
+            assertArrayEquals(DATA, gunzip(compressInChunks(compressor, 8192)));
+        } finally {
+            compressor.close();
+        }
+    }
+
+    @Test
+    public void testCompressAfterFinishFails() {
+        final ZlibCompressor compressor = new ZlibCompressor(ZlibWrapper.GZIP);
+        try {
+            compressor.finish(ByteBufAllocator.DEFAULT).release();
+            assertThrows(IllegalStateException.class, new Executable() {
+                @Override
+                public void execute() {
+                    compressor.compress(Unpooled.wrappedBuffer(DATA), ByteBufAllocator.DEFAULT);
+                }
+            });
+        } finally {
+            compressor.close();
+        }
+    }
+
+    @Test
+    public void testZlibOrNoneNotAllowed() {
+        assertThrows(IllegalArgumentException.class, new Executable() {
+            @Override
+            public void execute() {
+                new ZlibCompressor(ZlibWrapper.ZLIB_OR_NONE);
+            }
+        });
+    }
+
+    private static ByteBuf compressInChunks(Compressor compressor, int chunkSize) {
+        CompositeByteBuf compressed = Unpooled.compositeBuffer(Integer.MAX_VALUE);
+        for (int i = 0; i < DATA.length; i += chunkSize) {
+            // Use a direct buffer to also cover the copy into a heap buffer.
+            ByteBuf in = Unpooled.directBuffer().writeBytes(DATA, i, Math.min(chunkSize, DATA.length - i));
+            try {
+                compressed.addComponent(true, compressor.compress(in, ByteBufAllocator.DEFAULT));
+                assertFalse(in.isReadable());
+            } finally {
+                in.release();
+            }
+        }
+        compressed.addComponent(true, compressor.finish(ByteBufAllocator.DEFAULT));
+        return compressed;
+    }
+
+    private static byte[] gunzip(ByteBuf compressed) throws IOException {
+        return readFully(new GZIPInputStream(new ByteBufInputStream(compressed, true)));
+    }
+
+    static byte[] readFully(InputStream in) throws IOException {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } finally {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.compression;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.util.CharsetUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ZlibDecompressorTest {
+
+    private static final byte[] DATA = ("Netty is an asynchronous event-driven network application framework "
+            + "for rapid development of maintainable high performance protocol servers & clients.")
+            .getBytes(CharsetUtil.US_ASCII);
+
+    @Test
+    public void testGzipByteByByte() throws Exception {
+        ZlibDecompressor decompressor = new ZlibDecompressor(ZlibWrapper.GZIP);
+        try {
+            // Feeding single bytes also splits the header and the footer.
+            assertArrayEquals(DATA, decompress(decompressor, gzip(DATA), 1));
+            assertTrue(decompressor.isFinished());
+        } finally {
+            decompressor.close();
+        }
+    }
+
+    @Test
+    public void testGzipConcatenated() throws Exception {
+        byte[] first = gzip(DATA);
+        byte[] second = gzip(DATA);
+        byte[] concatenated = new byte[first.length + second.length];
+        System.arraycopy(first, 0, concatenated, 0, first.length);
+        System.arraycopy(second, 0, concatenated, first.length, second.length);
+
+        ZlibDecompressor decompressor = new ZlibDecompressor(ZlibWrapper.GZIP, true);
+        try {
+            byte[] decompressed = decompress(decompressor, concatenated, 7);
+            assertEquals(DATA.length * 2, decompressed.length);
+            assertFalse(decompressor.isFinished());
+        } finally {
+            decompressor.close();
+        }
+    }
+
+    @Test
+    public void testGzipNotConcatenatedIgnoresTrailingData() throws Exception {
+        byte[] first = gzip(DATA);
+        byte[] withTrailer = new byte[first.length + 3];
+        System.arraycopy(first, 0, withTrailer, 0, first.length);
+
+        ZlibDecompressor decompressor = new ZlibDecompressor(ZlibWrapper.GZIP);
+        try {
+            assertArrayEquals(DATA, decompress(decompressor, withTrailer, withTrailer.length));
+            assertTrue(decompressor.isFinished());
+        } finally {
+            decompressor.close();
+        }
+    }
+
+    @Test
+    public void testZlibOrNone() throws Exception {
+        ZlibDecompressor zlib = new ZlibDecompressor(ZlibWrapper.ZLIB_OR_NONE);
+        ZlibDecompressor none = new ZlibDecompressor(ZlibWrapper.ZLIB_OR_NONE);
+        try {
+            assertArrayEquals(DATA, decompress(zlib, deflate(DATA, false), 5));
+            assertArrayEquals(DATA, decompress(none, deflate(DATA, true), 5));
+        } finally {
+            zlib.close();
+            none.close();
+        }
+    }
+
+    @Test
+    public void testReset() throws Exception {
+        ZlibDecompressor decompressor = new ZlibDecompressor(ZlibWrapper.GZIP);
+        try {
+            byte[] compressed = gzip(DATA);
+            // Leave an incomplete stream behind.
+            decompress(decompressor, new byte[] { compressed[0], compressed[1], compressed[2] }, 3);
+            decompressor.reset();
+            assertArrayEquals(DATA, decompress(decompressor, compressed, 16));
+        } finally {
+            decompressor.close();
+        }
+    }
+
+    @Test
+    public void testMaxOutputLength() throws Exception {
+        byte[] data = new byte[64 * 1024];
+        ZlibDecompressor decompressor = new ZlibDecompressor(ZlibWrapper.GZIP);
+        ByteBuf in = Unpooled.wrappedBuffer(gzip(data));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            for (;;) {
+                ByteBuf decompressed = decompressor.decompress(in, ByteBufAllocator.DEFAULT, 1000);
+                try {
+                    if (!decompressed.isReadable()) {
+                        break;
+                    }
+                    assertTrue(decompressed.readableBytes() <= 1000);
+                    decompressed.readBytes(out, decompressed.readableBytes());
+                } finally {
+                    decompressed.release();
+                }
+            }
+            assertFalse(in.isReadable());
+            assertArrayEquals(data, out.toByteArray());
+            assertTrue(decompressor.isFinished());
+        } finally {
+            in.release();
+            decompressor.close();
+        }
+    }
+
+    @Test
+    public void testInvalidGzipHeader() {
+        final ZlibDecompressor decompressor = new ZlibDecompressor(ZlibWrapper.GZIP);
+        try {
+            assertThrows(DecompressionException.class, new Executable() {
+                @Override
+                public void execute() {
+                    decompress(decompressor, DATA, DATA.length);
+                }
+            });
+        } finally {
+            decompressor.close();
+        }
+    }
+
+    private static byte[] decompress(Decompressor decompressor, byte[] compressed, int chunkSize) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int i = 0; i < compressed.length; i += chunkSize) {
+            ByteBuf in = Unpooled.wrappedBuffer(compressed, i, Math.min(chunkSize, compressed.length - i));
+            ByteBuf decompressed = decompressor.decompress(in, ByteBufAllocator.DEFAULT);
+            try {
+                assertFalse(in.isReadable());
+                byte[] bytes = new byte[decompressed.readableBytes()];
+                decompressed.readBytes(bytes);
+                out.write(bytes, 0, bytes.length);
+            } finally {
+                decompressed.release();
+                in.release();
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GZIPOutputStream gzip = new GZIPOutputStream(out);
+        gzip.write(data);
+        gzip.close();
+        return out.toByteArray();
+    }
+
+    private static byte[] deflate(byte[] data, boolean nowrap) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DeflaterOutputStream deflate = new DeflaterOutputStream(out,
+                new Deflater(Deflater.DEFAULT_COMPRESSION, nowrap));
+        deflate.write(data);
+        deflate.close();
+        return out.toByteArray();
+    }
+}
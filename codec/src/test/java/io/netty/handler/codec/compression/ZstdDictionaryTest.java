@@ -0,0 +1,188 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.compression;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.CharsetUtil;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.netty.handler.codec.compression.ZstdConstants.DEFAULT_BLOCK_SIZE;
+import static io.netty.handler.codec.compression.ZstdConstants.DEFAULT_COMPRESSION_LEVEL;
+import static io.netty.handler.codec.compression.ZstdConstants.MAX_BLOCK_SIZE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ZstdDictionaryTest {
+
+    private static ZstdDictionary dictionary;
+
+    @BeforeAll
+    public static void trainDictionary() {
+        List<ByteBuf> samples = new ArrayList<ByteBuf>();
+        for (int i = 0; i < 2000; i++) {
+            samples.add(message(i));
+        }
+        dictionary = ZstdDictionary.train(samples, 16 * 1024);
+        for (ByteBuf sample : samples) {
+            sample.release();
+        }
+    }
+
+    private static ByteBuf message(int i) {
+        return Unpooled.copiedBuffer("{\"id\":" + i + ",\"name\":\"user-" + (i * 7) + "\",\"email\":\"user" + i +
+                "@example.com\",\"active\":" + (i % 3 == 0) + ",\"roles\":[\"reader\",\"writer\"]}",
+                CharsetUtil.US_ASCII);
+    }
+
+    @Test
+    public void testTrainedDictionary() {
+        assertNotEquals(0, dictionary.id());
+        assertTrue(dictionary.size() > 0);
+        ZstdDictionary copy = ZstdDictionary.of(dictionary.content());
+        assertEquals(dictionary.id(), copy.id());
+    }
+
+    @Test
+    public void testEncoderDecoderRoundTrip() {
+        EmbeddedChannel encoder = new EmbeddedChannel(
+                new ZstdEncoder(DEFAULT_COMPRESSION_LEVEL, DEFAULT_BLOCK_SIZE, MAX_BLOCK_SIZE, dictionary));
+        EmbeddedChannel decoder = new EmbeddedChannel(new ZstdDecoder(dictionary));
+        ByteBuf message = message(4242);
+
+        assertTrue(encoder.writeOutbound(message.retainedDuplicate()));
+        ByteBuf compressed = encoder.readOutbound();
+        assertEquals(dictionary.id(), ZstdDictionary.frameDictionaryId(compressed));
+
+        // Feed the decoder byte by byte, so the frame header is incomplete at first.
+        while (compressed.isReadable()) {
+            decoder.writeInbound(compressed.readRetainedSlice(1));
+        }
+        compressed.release();
+        ByteBuf decompressed = readAll(decoder);
+        assertEquals(message, decompressed);
+        decompressed.release();
+        message.release();
+        encoder.finishAndReleaseAll();
+        decoder.finishAndReleaseAll();
+    }
+
+    @Test
+    public void testCompressorDecompressorRoundTrip() {
+        Compressor compressor = new ZstdCompressor(DEFAULT_COMPRESSION_LEVEL, DEFAULT_BLOCK_SIZE, MAX_BLOCK_SIZE,
+                dictionary);
+        Compressor plainCompressor = new ZstdCompressor();
+        Decompressor decompressor = new ZstdDecompressor(dictionary);
+        ByteBuf message = message(4242);
+        try {
+            ByteBuf compressed = compressor.compress(message.duplicate(), ByteBufAllocator.DEFAULT);
+            ByteBuf plain = plainCompressor.compress(message.duplicate(), ByteBufAllocator.DEFAULT);
+            // Small messages are the reason to use a dictionary.
+            assertTrue(compressed.readableBytes() < plain.readableBytes());
+            plain.release();
+
+            CompositeByteBuf out = Unpooled.compositeBuffer();
+            while (compressed.isReadable()) {
+                ByteBuf in = compressed.readRetainedSlice(1);
+                out.addComponent(true, decompressor.decompress(in, ByteBufAllocator.DEFAULT));
+                in.release();
+            }
+            compressed.release();
+            assertEquals(message, out);
+            out.release();
+        } finally {
+            message.release();
+            compressor.close();
+            plainCompressor.close();
+            decompressor.close();
+        }
+    }
+
+    @Test
+    public void testUnknownDictionary() {
+        final EmbeddedChannel decoder = new EmbeddedChannel(new ZstdDecoder(dictionary));
+        Compressor compressor = new ZstdCompressor(DEFAULT_COMPRESSION_LEVEL, DEFAULT_BLOCK_SIZE, MAX_BLOCK_SIZE,
+                ZstdDictionary.of(trainOther()));
+        ByteBuf message = message(1);
+        final ByteBuf compressed = compressor.compress(message, ByteBufAllocator.DEFAULT);
+        message.release();
+        compressor.close();
+
+        assertThrows(DecompressionException.class, new Executable() {
+            @Override
+            public void execute() {
+                decoder.writeInbound(compressed);
+            }
+        });
+        decoder.finishAndReleaseAll();
+    }
+
+    @Test
+    public void testCompressorPoolKeptByDictionary() {
+        ZstdDictionary copy = ZstdDictionary.of(dictionary.content());
+        CompressorPool pool = CompressorPool.zstd(DEFAULT_COMPRESSION_LEVEL, DEFAULT_BLOCK_SIZE, MAX_BLOCK_SIZE, copy);
+        assertSame(pool, CompressorPool.zstd(DEFAULT_COMPRESSION_LEVEL, DEFAULT_BLOCK_SIZE, MAX_BLOCK_SIZE, copy));
+        assertNotSame(pool,
+                CompressorPool.zstd(DEFAULT_COMPRESSION_LEVEL, DEFAULT_BLOCK_SIZE, MAX_BLOCK_SIZE, dictionary));
+        assertEquals(1, copy.compressorPools.size());
+    }
+
+    @Test
+    public void testDuplicateDictionaryId() {
+        assertThrows(IllegalArgumentException.class, new Executable() {
+            @Override
+            public void execute() {
+                new ZstdDecoder(dictionary, ZstdDictionary.of(dictionary.content()));
+            }
+        });
+    }
+
+    private static byte[] trainOther() {
+        List<ByteBuf> samples = new ArrayList<ByteBuf>();
+        for (int i = 0; i < 2000; i++) {
+            samples.add(Unpooled.copiedBuffer("<item index=\"" + i + "\"><value>" + (i * 31) +
+                    "</value><label>other-" + i + "</label></item>", CharsetUtil.US_ASCII));
+        }
+        ZstdDictionary other = ZstdDictionary.train(samples, 16 * 1024);
+        for (ByteBuf sample : samples) {
+            sample.release();
+        }
+        return other.content();
+    }
+
+    private static ByteBuf readAll(EmbeddedChannel channel) {
+        CompositeByteBuf out = Unpooled.compositeBuffer();
+        for (;;) {
+            ByteBuf buf = channel.readInbound();
+            if (buf == null) {
+                return out;
+            }
+            out.addComponent(true, buf);
+        }
+    }
+}
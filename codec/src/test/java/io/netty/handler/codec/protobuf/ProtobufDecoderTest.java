@@ -0,0 +1,196 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.protobuf;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.DescriptorProtos.DescriptorProto;
+import com.google.protobuf.DescriptorProtos.FieldDescriptorProto;
+import com.google.protobuf.DescriptorProtos.FileDescriptorProto;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.DecoderException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The direct and composite buffers are parsed from their {@link ByteBuffer}s with protobuf 3, and copied to a
+ * {@code byte[]} with protobuf 2 which has no {@link CodedInputStream} for {@link ByteBuffer}s.
+ */
+public class ProtobufDecoderTest {
+
+    static final FileDescriptorProto MESSAGE = FileDescriptorProto.newBuilder()
+            .setName("netty.proto")
+            .setPackage("io.netty.handler.codec.protobuf")
+            .addDependency("google/protobuf/descriptor.proto")
+            .addMessageType(DescriptorProto.newBuilder()
+                    .setName("Message")
+                    .addField(FieldDescriptorProto.newBuilder()
+                            .setName("value")
+                            .setNumber(1)
+                            .setType(FieldDescriptorProto.Type.TYPE_STRING)
+                            .setLabel(FieldDescriptorProto.Label.LABEL_OPTIONAL)))
+            .build();
+
+    private EmbeddedChannel ch;
+
+    @BeforeEach
+    public void setUp() {
+        ch = new EmbeddedChannel(new ProtobufDecoder(FileDescriptorProto.getDefaultInstance()));
+    }
+
+    @Test
+    public void testDecodeHeapBuffer() {
+        assertDecoded(Unpooled.wrappedBuffer(MESSAGE.toByteArray()));
+    }
+
+    @Test
+    public void testDecodeHeapBufferWithOffset() {
+        byte[] bytes = MESSAGE.toByteArray();
+        byte[] array = new byte[bytes.length + 16];
+        System.arraycopy(bytes, 0, array, 8, bytes.length);
+        assertDecoded(Unpooled.wrappedBuffer(array).slice(8, bytes.length));
+    }
+
+    @Test
+    public void testDecodeDirectBuffer() {
+        assertDecoded(Unpooled.directBuffer().writeBytes(MESSAGE.toByteArray()));
+    }
+
+    @Test
+    public void testDecodeCompositeBuffer() {
+        assertDecoded(composite(MESSAGE.toByteArray(), true));
+    }
+
+    @Test
+    public void testDecodeCompositeHeapBuffer() {
+        assertDecoded(composite(MESSAGE.toByteArray(), false));
+    }
+
+    @Test
+    public void testDecodeCompositeBufferWithReadBytes() {
+        byte[] bytes = MESSAGE.toByteArray();
+        byte[] prefixed = new byte[bytes.length + 3];
+        System.arraycopy(bytes, 0, prefixed, 3, bytes.length);
+        CompositeByteBuf buf = composite(prefixed, true);
+        buf.skipBytes(3);
+        assertDecoded(buf);
+    }
+
+    @Test
+    public void testDecodeEmptyBuffer() {
+        assertTrue(ch.writeInbound(Unpooled.directBuffer()));
+        FileDescriptorProto decoded = ch.readInbound();
+        assertEquals(FileDescriptorProto.getDefaultInstance(), decoded);
+        assertFalse(ch.finish());
+    }
+
+    @Test
+    public void testEncodedRoundTrip() {
+        EmbeddedChannel encoder = new EmbeddedChannel(new ProtobufEncoder());
+        assertTrue(encoder.writeOutbound(MESSAGE));
+        ByteBuf encoded = encoder.readOutbound();
+        assertFalse(encoder.finish());
+        assertDecoded(encoded);
+    }
+
+    @Test
+    public void testRejectEndGroupTagFromHeapBuffer() {
+        assertEndGroupTagRejected(Unpooled.wrappedBuffer(withEndGroupTag()));
+    }
+
+    @Test
+    public void testRejectEndGroupTagFromDirectBuffer() {
+        assertEndGroupTagRejected(Unpooled.directBuffer().writeBytes(withEndGroupTag()));
+    }
+
+    @Test
+    public void testRejectEndGroupTagFromCompositeBuffer() {
+        assertEndGroupTagRejected(composite(withEndGroupTag(), true));
+    }
+
+    @Test
+    public void testRejectTruncatedDirectBuffer() {
+        byte[] bytes = MESSAGE.toByteArray();
+        final ByteBuf buf = Unpooled.directBuffer().writeBytes(bytes, 0, bytes.length - 1);
+        assertThrows(DecoderException.class, new Executable() {
+            @Override
+            public void execute() {
+                ch.writeInbound(buf);
+            }
+        });
+        assertEquals(0, buf.refCnt());
+        assertFalse(ch.finish());
+    }
+
+    private void assertDecoded(ByteBuf buf) {
+        assertTrue(ch.writeInbound(buf));
+        FileDescriptorProto decoded = ch.readInbound();
+        assertEquals(MESSAGE, decoded);
+        assertEquals(0, buf.refCnt());
+        assertFalse(ch.finish());
+    }
+
+    private void assertEndGroupTagRejected(final ByteBuf buf) {
+        assertThrows(DecoderException.class, new Executable() {
+            @Override
+            public void execute() {
+                ch.writeInbound(buf);
+            }
+        });
+        assertEquals(0, buf.refCnt());
+        assertFalse(ch.finish());
+    }
+
+    /**
+     * Returns the serialized message followed by an end group tag for field 1, which ends the parsing of the
+     * message before the end of the input.
+     */
+    private static byte[] withEndGroupTag() {
+        byte[] bytes = MESSAGE.toByteArray();
+        byte[] array = new byte[bytes.length + 1];
+        System.arraycopy(bytes, 0, array, 0, bytes.length);
+        array[bytes.length] = 0x0C;
+        return array;
+    }
+
+    /**
+     * Splits the given bytes into three components, so the {@link CompositeByteBuf} has no backing array.
+     */
+    private static CompositeByteBuf composite(byte[] bytes, boolean direct) {
+        CompositeByteBuf buf = Unpooled.compositeBuffer();
+        int first = bytes.length / 3;
+        int second = bytes.length * 2 / 3;
+        buf.addComponent(true, component(bytes, 0, first, direct));
+        buf.addComponent(true, component(bytes, first, second - first, direct));
+        buf.addComponent(true, component(bytes, second, bytes.length - second, direct));
+        return buf;
+    }
+
+    private static ByteBuf component(byte[] bytes, int offset, int length, boolean direct) {
+        return direct ? Unpooled.directBuffer(length).writeBytes(bytes, offset, length) :
+                Unpooled.wrappedBuffer(bytes, offset, length);
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.protobuf;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.DescriptorProtos.FileDescriptorProto;
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.Parser;
+import io.netty.buffer.AbstractByteBufAllocator;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.EncoderException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.netty.handler.codec.protobuf.ProtobufDecoderTest.MESSAGE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ProtobufEncoderTest {
+
+    private RecordingAllocator allocator;
+    private EmbeddedChannel ch;
+
+    @BeforeEach
+    public void setUp() {
+        allocator = new RecordingAllocator();
+        ch = new EmbeddedChannel(new ProtobufEncoder());
+        ch.config().setAllocator(allocator);
+    }
+
+    @Test
+    public void testEncodeMessage() {
+        assertTrue(ch.writeOutbound(MESSAGE));
+        assertEncoded();
+    }
+
+    @Test
+    public void testEncodeBuilder() {
+        assertTrue(ch.writeOutbound(MESSAGE.toBuilder()));
+        assertEncoded();
+    }
+
+    @Test
+    public void testEncodeEmptyMessage() {
+        assertTrue(ch.writeOutbound(FileDescriptorProto.getDefaultInstance()));
+        ByteBuf encoded = ch.readOutbound();
+        assertFalse(encoded.isReadable());
+        encoded.release();
+        assertFalse(ch.finish());
+    }
+
+    @Test
+    public void testBufferTypeDependsOnProtobufVersion() {
+        assertTrue(ch.writeOutbound(MESSAGE));
+        ByteBuf encoded = ch.readOutbound();
+        if (ProtobufDecoder.findMethod(CodedOutputStream.class, "newInstance", ByteBuffer.class) == null) {
+            // Protobuf 2 can only write to arrays, so a heap buffer is used even if the allocator prefers direct
+            // buffers.
+            assertTrue(encoded.hasArray());
+        } else {
+            assertFalse(encoded.hasArray());
+        }
+        encoded.release();
+        assertFalse(ch.finish());
+    }
+
+    @Test
+    public void testReleaseBufferWhenWriteToThrows() {
+        final IOException cause = new IOException("writeTo failed");
+        final MessageLite message = new ThrowingMessage(MESSAGE, cause);
+        EncoderException e = assertThrows(EncoderException.class, new Executable() {
+            @Override
+            public void execute() {
+                ch.writeOutbound(message);
+            }
+        });
+        assertSame(cause, e.getCause());
+        assertEquals(1, allocator.buffers.size());
+        assertEquals(0, allocator.buffers.get(0).refCnt());
+        assertNull(ch.readOutbound());
+        assertFalse(ch.finish());
+    }
+
+    private void assertEncoded() {
+        ByteBuf encoded = ch.readOutbound();
+        ByteBuf expected = Unpooled.wrappedBuffer(MESSAGE.toByteArray());
+        assertEquals(expected, encoded);
+        // The buffer has the exact size of the message.
+        assertEquals(expected.readableBytes(), encoded.capacity());
+        assertEquals(expected.readableBytes(), encoded.maxCapacity());
+        assertEquals(1, allocator.buffers.size());
+        encoded.release();
+        assertFalse(ch.finish());
+    }
+
+    private static final class RecordingAllocator extends AbstractByteBufAllocator {
+
+        final List<ByteBuf> buffers = new ArrayList<ByteBuf>();
+
+        RecordingAllocator() {
+            super(true);
+        }
+
+        @Override
+        protected ByteBuf newHeapBuffer(int initialCapacity, int maxCapacity) {
+            return record(UnpooledByteBufAllocator.DEFAULT.heapBuffer(initialCapacity, maxCapacity));
+        }
+
+        @Override
+        protected ByteBuf newDirectBuffer(int initialCapacity, int maxCapacity) {
+            return record(UnpooledByteBufAllocator.DEFAULT.directBuffer(initialCapacity, maxCapacity));
+        }
+
+        private ByteBuf record(ByteBuf buf) {
+            buffers.add(buf);
+            return buf;
+        }
+
+        @Override
+        public boolean isDirectBufferPooled() {
+            return false;
+        }
+    }
+
+    /**
+     * {@link MessageLite} which fails to write itself to a {@link CodedOutputStream}.
+     */
+    private static final class ThrowingMessage implements MessageLite {
+
+        private final MessageLite delegate;
+        private final IOException cause;
+
+        ThrowingMessage(MessageLite delegate, IOException cause) {
+            this.delegate = delegate;
+            this.cause = cause;
+        }
+
+        @Override
+        public void writeTo(CodedOutputStream output) throws IOException {
+            throw cause;
+        }
+
+        @Override
+        public int getSerializedSize() {
+            return delegate.getSerializedSize();
+        }
+
+        @Override
+        public Parser<? extends MessageLite> getParserForType() {
+            return delegate.getParserForType();
+        }
+
+        @Override
+        public ByteString toByteString() {
+            return delegate.toByteString();
+        }
+
+        @Override
+        public byte[] toByteArray() {
+            return delegate.toByteArray();
+        }
+
+        @Override
+        public void writeTo(OutputStream output) throws IOException {
+            throw cause;
+        }
+
+        @Override
+        public void writeDelimitedTo(OutputStream output) throws IOException {
+            throw cause;
+        }
+
+        @Override
+        public Builder newBuilderForType() {
+            return delegate.newBuilderForType();
+        }
+
+        @Override
+        public Builder toBuilder() {
+            return delegate.toBuilder();
+        }
+
+        @Override
+        public MessageLite getDefaultInstanceForType() {
+            return delegate.getDefaultInstanceForType();
+        }
+
+        @Override
+        public boolean isInitialized() {
+            return delegate.isInitialized();
+        }
+    }
+}
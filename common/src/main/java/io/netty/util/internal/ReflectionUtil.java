@@ -16,6 +16,8 @@
 package io.netty.util.internal;
 
 import java.lang.reflect.AccessibleObject;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
 
 public final class ReflectionUtil {
 
@@ -40,6 +42,33 @@ public final class ReflectionUtil {
         }
     }
 
+    /**
+     * Returns {@code true} if {@code type} overrides the method of {@code declaringType} with the given name and
+     * parameter types, which means that {@code type} or one of its super classes below {@code declaringType} declares
+     * it. If this can not be determined, for example because of a {@link SecurityManager}, {@code true} is returned.
+     */
+    public static boolean isOverridden(final Class<?> type, final Class<?> declaringType, final String methodName,
+                                       final Class<?>... parameterTypes) {
+        try {
+            return AccessController.doPrivileged(new PrivilegedAction<Boolean>() {
+                @Override
+                public Boolean run() {
+                    for (Class<?> c = type; c != null && c != declaringType; c = c.getSuperclass()) {
+                        try {
+                            c.getDeclaredMethod(methodName, parameterTypes);
+                            return true;
+                        } catch (NoSuchMethodException ignore) {
+                            // Not declared by this class, check its super class.
+                        }
+                    }
+                    return false;
+                }
+            });
+        } catch (SecurityException e) {
+            return true;
+        }
+    }
+
     private static RuntimeException handleInaccessibleObjectException(RuntimeException e) {
         // JDK 9 can throw an inaccessible object exception here; since Netty compiles
         // against JDK 7 and this exception was only added in JDK 9, we have to weakly
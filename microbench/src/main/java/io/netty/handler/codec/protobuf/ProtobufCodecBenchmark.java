@@ -0,0 +1,149 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.handler.codec.protobuf;
+
+import com.google.protobuf.DescriptorProtos.DescriptorProto;
+import com.google.protobuf.DescriptorProtos.FieldDescriptorProto;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.microbench.channel.EmbeddedChannelWriteReleaseHandlerContext;
+import io.netty.microbench.util.AbstractMicrobenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@Fork(2)
+@Warmup(iterations = 10, time = 400, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 400, timeUnit = TimeUnit.MILLISECONDS)
+public class ProtobufCodecBenchmark extends AbstractMicrobenchmark {
+
+    public enum BufferType {
+        HEAP,
+        DIRECT,
+        COMPOSITE
+    }
+
+    @Param({ "1", "16", "256" })
+    public int fields;
+
+    @Param
+    public BufferType bufferType;
+
+    private final ProtobufDecoder decoder = new ProtobufDecoder(DescriptorProto.getDefaultInstance());
+    private final ProtobufEncoder encoder = new ProtobufEncoder();
+    private final List<Object> out = new ArrayList<Object>();
+    private DescriptorProto message;
+    private ByteBuf encoded;
+    private ChannelHandlerContext ctx;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        DescriptorProto.Builder builder = DescriptorProto.newBuilder().setName("Message");
+        for (int i = 0; i < fields; i++) {
+            builder.addField(FieldDescriptorProto.newBuilder()
+                    .setName("field" + i)
+                    .setNumber(i + 1)
+                    .setType(FieldDescriptorProto.Type.TYPE_STRING)
+                    .setLabel(FieldDescriptorProto.Label.LABEL_OPTIONAL));
+        }
+        message = builder.build();
+        byte[] bytes = message.toByteArray();
+        switch (bufferType) {
+        case HEAP:
+            encoded = Unpooled.wrappedBuffer(bytes);
+            break;
+        case DIRECT:
+            encoded = Unpooled.directBuffer(bytes.length).writeBytes(bytes);
+            break;
+        case COMPOSITE:
+            int half = bytes.length / 2;
+            CompositeByteBuf composite = Unpooled.compositeBuffer();
+            composite.addComponent(true, Unpooled.directBuffer(half).writeBytes(bytes, 0, half));
+            composite.addComponent(true, Unpooled.directBuffer(bytes.length - half)
+                    .writeBytes(bytes, half, bytes.length - half));
+            encoded = composite;
+            break;
+        default:
+            throw new IllegalStateException("Unknown buffer type: " + bufferType);
+        }
+        ctx = new EmbeddedChannelWriteReleaseHandlerContext(PooledByteBufAllocator.DEFAULT,
+                new ChannelInboundHandlerAdapter()) {
+            @Override
+            protected void handleException(Throwable t) {
+                handleUnexpectedException(t);
+            }
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() throws Exception {
+        encoded.release();
+        ctx.close();
+    }
+
+    @Benchmark
+    public Object decode() throws Exception {
+        decoder.decode(ctx, encoded.duplicate(), out);
+        return out.remove(0);
+    }
+
+    @Benchmark
+    public Object decodeCopy() throws Exception {
+        // The way ProtobufDecoder handles a ByteBuf which is not backed by an array if protobuf 2 is used.
+        byte[] array = ByteBufUtil.getBytes(encoded, encoded.readerIndex(), encoded.readableBytes(), false);
+        return DescriptorProto.getDefaultInstance().getParserForType().parseFrom(array);
+    }
+
+    @Benchmark
+    public int encode() throws Exception {
+        encoder.encode(ctx, message, out);
+        ByteBuf buf = (ByteBuf) out.remove(0);
+        int readable = buf.readableBytes();
+        buf.release();
+        return readable;
+    }
+
+    @Benchmark
+    public int encodeToByteArray() {
+        // The way ProtobufEncoder encoded messages before it serialized them into an allocated ByteBuf.
+        ByteBuf buf = Unpooled.wrappedBuffer(message.toByteArray());
+        int readable = buf.readableBytes();
+        buf.release();
+        return readable;
+    }
+}
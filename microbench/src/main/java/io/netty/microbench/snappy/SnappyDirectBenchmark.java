@@ -19,6 +19,11 @@ import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.Unpooled;
 import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.compression.FastLzFrameDecoder;
+import io.netty.handler.codec.compression.FastLzFrameEncoder;
+import io.netty.handler.codec.compression.Lz4FrameDecoder;
+import io.netty.handler.codec.compression.Lz4FrameEncoder;
 import io.netty.handler.codec.compression.Snappy;
 import io.netty.microbench.util.AbstractMicrobenchmark;
 import org.openjdk.jmh.annotations.AuxCounters;
@@ -47,10 +52,19 @@ public class SnappyDirectBenchmark extends AbstractMicrobenchmark {
 
     @Param({ "true", "false" })
     public boolean reuseHashTable;
+    @Param({ "true", "false" })
+    public boolean directInput;
     private ByteBuf buffer;
     private Snappy snappy;
     private ByteBuf in;
     private ByteBuf out;
+    private ByteBuf compressed;
+    private EmbeddedChannel fastLzEncoder;
+    private EmbeddedChannel fastLzDecoder;
+    private ByteBuf fastLzCompressed;
+    private EmbeddedChannel lz4Encoder;
+    private EmbeddedChannel lz4Decoder;
+    private ByteBuf lz4Compressed;
 
     @Param({ "4096", "2048", "1024", "512", "256", "128" })
     private int bufferSizeInBytes;
@@ -82,8 +96,50 @@ public class SnappyDirectBenchmark extends AbstractMicrobenchmark {
         Arrays.fill(compressibleByteArray, (byte) 1);
         buffer.writeBytes(compressibleByteArray);
 
-        in = Unpooled.wrappedBuffer(compressibleByteArray);
+        if (directInput) {
+            in = Unpooled.directBuffer(compressibleByteArray.length).writeBytes(compressibleByteArray);
+        } else {
+            in = Unpooled.wrappedBuffer(compressibleByteArray);
+        }
         out = Unpooled.directBuffer();
+
+        compressed = Unpooled.directBuffer();
+        snappy.encode(in, compressed, in.readableBytes());
+        in.resetReaderIndex();
+
+        fastLzEncoder = new EmbeddedChannel(new FastLzFrameEncoder(false));
+        fastLzDecoder = new EmbeddedChannel(new FastLzFrameDecoder(false));
+        fastLzCompressed = compress(fastLzEncoder, in);
+        lz4Encoder = new EmbeddedChannel(new Lz4FrameEncoder());
+        lz4Decoder = new EmbeddedChannel(new Lz4FrameDecoder());
+        lz4Compressed = compress(lz4Encoder, in);
+    }
+
+    private static ByteBuf compress(EmbeddedChannel encoder, ByteBuf in) {
+        encoder.writeOutbound(in.retainedDuplicate());
+        ByteBuf compressed = Unpooled.directBuffer();
+        for (;;) {
+            ByteBuf buf = encoder.readOutbound();
+            if (buf == null) {
+                return compressed;
+            }
+            compressed.writeBytes(buf);
+            buf.release();
+        }
+    }
+
+    private static ByteBuf drain(EmbeddedChannel channel, boolean outbound) {
+        ByteBuf last = null;
+        for (;;) {
+            ByteBuf buf = outbound ? channel.<ByteBuf>readOutbound() : channel.<ByteBuf>readInbound();
+            if (buf == null) {
+                return last;
+            }
+            if (last != null) {
+                last.release();
+            }
+            last = buf;
+        }
     }
 
     @Benchmark
@@ -98,11 +154,55 @@ public class SnappyDirectBenchmark extends AbstractMicrobenchmark {
         return out;
     }
 
+    @Benchmark
+    public ByteBuf decode() {
+        snappy.reset();
+        snappy.decode(compressed, out);
+        compressed.resetReaderIndex();
+        out.setIndex(0, 0);
+
+        return out;
+    }
+
+    @Benchmark
+    public boolean fastLzEncode() {
+        fastLzEncoder.writeOutbound(in.retainedDuplicate());
+        return drain(fastLzEncoder, true).release();
+    }
+
+    @Benchmark
+    public boolean fastLzDecode() {
+        fastLzDecoder.writeInbound(fastLzCompressed.retainedDuplicate());
+        return drain(fastLzDecoder, false).release();
+    }
+
+    @Benchmark
+    public boolean lz4Encode() {
+        lz4Encoder.writeOutbound(in.retainedDuplicate());
+        return drain(lz4Encoder, true).release();
+    }
+
+    @Benchmark
+    public boolean lz4Decode() {
+        lz4Decoder.writeInbound(lz4Compressed.retainedDuplicate());
+        return drain(lz4Decoder, false).release();
+    }
+
     @TearDown(Level.Trial)
     public void teardown() {
         buffer.release();
         buffer = null;
         out.release();
         out = null;
+        in.release();
+        in = null;
+        compressed.release();
+        compressed = null;
+        fastLzCompressed.release();
+        fastLzEncoder.finishAndReleaseAll();
+        fastLzDecoder.finishAndReleaseAll();
+        lz4Compressed.release();
+        lz4Encoder.finishAndReleaseAll();
+        lz4Decoder.finishAndReleaseAll();
     }
 }
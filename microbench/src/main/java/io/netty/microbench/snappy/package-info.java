@@ -14,6 +14,6 @@
  * under the License.
  */
 /**
- * Benchmarks for Snappy ({@link io.netty.handler.codec.compression.Snappy}).
+ * Benchmarks for Snappy ({@link io.netty.handler.codec.compression.Snappy}), compared with FastLZ and LZ4.
  */
 package io.netty.microbench.snappy;
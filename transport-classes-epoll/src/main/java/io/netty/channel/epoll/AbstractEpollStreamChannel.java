@@ -29,6 +29,7 @@ import io.netty.channel.DefaultFileRegion;
 import io.netty.channel.EventLoop;
 import io.netty.channel.FileRegion;
 import io.netty.channel.RecvByteBufAllocator;
+import io.netty.channel.SharedRecvByteBufAllocator;
 import io.netty.channel.internal.ChannelUtils;
 import io.netty.channel.socket.DuplexChannel;
 import io.netty.channel.unix.FileDescriptor;
@@ -717,7 +718,8 @@ public abstract class AbstractEpollStreamChannel extends AbstractEpollChannel im
             if (byteBuf != null) {
                 if (byteBuf.isReadable()) {
                     readPending = false;
-                    pipeline.fireChannelRead(byteBuf);
+                    pipeline.fireChannelRead(SharedRecvByteBufAllocator.detach(allocHandle, config().getAllocator(),
+                            byteBuf));
                 } else {
                     byteBuf.release();
                 }
@@ -796,6 +798,7 @@ public abstract class AbstractEpollStreamChannel extends AbstractEpollChannel im
                     }
                     allocHandle.incMessagesRead(1);
                     readPending = false;
+                    byteBuf = SharedRecvByteBufAllocator.detach(allocHandle, allocator, byteBuf);
                     pipeline.fireChannelRead(byteBuf);
                     byteBuf = null;
 
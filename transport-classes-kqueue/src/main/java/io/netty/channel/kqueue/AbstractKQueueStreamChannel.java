@@ -28,6 +28,7 @@ import io.netty.channel.ChannelPromise;
 import io.netty.channel.DefaultFileRegion;
 import io.netty.channel.EventLoop;
 import io.netty.channel.FileRegion;
+import io.netty.channel.SharedRecvByteBufAllocator;
 import io.netty.channel.internal.ChannelUtils;
 import io.netty.channel.socket.DuplexChannel;
 import io.netty.channel.unix.IovArray;
@@ -540,6 +541,7 @@ public abstract class AbstractKQueueStreamChannel extends AbstractKQueueChannel
                     }
                     allocHandle.incMessagesRead(1);
                     readPending = false;
+                    byteBuf = SharedRecvByteBufAllocator.detach(allocHandle, allocator, byteBuf);
                     pipeline.fireChannelRead(byteBuf);
                     byteBuf = null;
 
@@ -577,7 +579,8 @@ public abstract class AbstractKQueueStreamChannel extends AbstractKQueueChannel
             if (byteBuf != null) {
                 if (byteBuf.isReadable()) {
                     readPending = false;
-                    pipeline.fireChannelRead(byteBuf);
+                    pipeline.fireChannelRead(SharedRecvByteBufAllocator.detach(allocHandle, config().getAllocator(),
+                            byteBuf));
                 } else {
                     byteBuf.release();
                 }
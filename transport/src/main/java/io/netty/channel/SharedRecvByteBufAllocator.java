@@ -0,0 +1,142 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.channel;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.util.concurrent.FastThreadLocal;
+
+import static io.netty.util.internal.ObjectUtil.checkPositive;
+
+/**
+ * A {@link RecvByteBufAllocator} for stream channels which lets all reads of an {@link EventLoop} land in a single
+ * scratch buffer that is owned by the {@link EventLoop} thread. After each read only the bytes that were actually
+ * received are copied into a right-sized buffer that is passed through the {@link ChannelPipeline}, see
+ * {@link #detach(RecvByteBufAllocator.Handle, ByteBufAllocator, ByteBuf)}.
+ * <p>
+ * This trades one copy per read for never over-allocating receive buffers, which lowers the resident memory and
+ * the allocator churn of servers that handle a large number of mostly idle connections that only exchange small
+ * messages from time to time (long-polling, WebSocket, ...).
+ * <p>
+ * The NIO, epoll and kqueue stream channels support this allocator. A {@link RecvByteBufAllocator.Handle} only
+ * starts to use the scratch buffer once the transport called
+ * {@link #detach(RecvByteBufAllocator.Handle, ByteBufAllocator, ByteBuf)} for it, so the first read of a channel is
+ * done into a buffer of its own. Channels of other transports never call it and so always read into buffers of
+ * their own, which are allocated with the capacity of the scratch buffer.
+ */
+public class SharedRecvByteBufAllocator extends DefaultMaxMessagesRecvByteBufAllocator {
+
+    public static final int DEFAULT_SCRATCH_CAPACITY = 65536;
+
+    private final int scratchCapacity;
+    private final FastThreadLocal<ByteBuf> scratch = new FastThreadLocal<ByteBuf>() {
+        @Override
+        protected ByteBuf initialValue() {
+            return Unpooled.directBuffer(scratchCapacity, scratchCapacity);
+        }
+
+        @Override
+        protected void onRemoval(ByteBuf value) {
+            value.release();
+        }
+    };
+
+    /**
+     * Creates a new instance which uses a scratch buffer of {@value #DEFAULT_SCRATCH_CAPACITY} bytes per thread.
+     */
+    public SharedRecvByteBufAllocator() {
+        this(DEFAULT_SCRATCH_CAPACITY);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param scratchCapacity   the capacity of the scratch buffer of each thread, which is also the maximum
+     *                          number of bytes that are read at once.
+     */
+    public SharedRecvByteBufAllocator(int scratchCapacity) {
+        this.scratchCapacity = checkPositive(scratchCapacity, "scratchCapacity");
+    }
+
+    @SuppressWarnings("deprecation")
+    @Override
+    public Handle newHandle() {
+        return new HandleImpl();
+    }
+
+    @Override
+    public SharedRecvByteBufAllocator respectMaybeMoreData(boolean respectMaybeMoreData) {
+        super.respectMaybeMoreData(respectMaybeMoreData);
+        return this;
+    }
+
+    /**
+     * Returns a buffer which can safely be passed through the {@link ChannelPipeline} for the bytes that were read
+     * into {@code byteBuf}. If {@code byteBuf} is the scratch buffer of a {@link SharedRecvByteBufAllocator}, the
+     * readable bytes are copied into a new buffer allocated by {@code alloc} and the scratch buffer is handed back.
+     * Otherwise {@code byteBuf} is returned as is.
+     *
+     * @param handle    the {@link RecvByteBufAllocator.Handle} that allocated {@code byteBuf}.
+     * @param alloc     the {@link ByteBufAllocator} to use for the copy.
+     * @param byteBuf   the buffer returned by {@link RecvByteBufAllocator.Handle#allocate(ByteBufAllocator)}.
+     */
+    public static ByteBuf detach(RecvByteBufAllocator.Handle handle, ByteBufAllocator alloc, ByteBuf byteBuf) {
+        while (handle instanceof RecvByteBufAllocator.DelegatingHandle) {
+            handle = ((RecvByteBufAllocator.DelegatingHandle) handle).delegate();
+        }
+        if (handle instanceof SharedRecvByteBufAllocator.HandleImpl) {
+            return ((SharedRecvByteBufAllocator.HandleImpl) handle).detach(alloc, byteBuf);
+        }
+        return byteBuf;
+    }
+
+    private final class HandleImpl extends MaxMessageHandle {
+        private ByteBuf scratchInUse;
+        // Whether the transport detaches the buffers before passing them on, so the scratch buffer may be used.
+        private boolean detaching;
+
+        @Override
+        public ByteBuf allocate(ByteBufAllocator alloc) {
+            if (!detaching) {
+                return alloc.ioBuffer(scratchCapacity);
+            }
+            ByteBuf buf = scratch.get();
+            // The scratch buffer is retained while it is used by a read, so a release() done by the transport when
+            // nothing was read just hands it back.
+            scratchInUse = buf.clear().retain();
+            return buf;
+        }
+
+        @Override
+        public int guess() {
+            return scratchCapacity;
+        }
+
+        ByteBuf detach(ByteBufAllocator alloc, ByteBuf byteBuf) {
+            detaching = true;
+            if (byteBuf != scratchInUse) {
+                return byteBuf;
+            }
+            int readable = byteBuf.readableBytes();
+            ByteBuf copy = alloc.ioBuffer(readable, readable);
+            copy.writeBytes(byteBuf, byteBuf.readerIndex(), readable);
+            scratchInUse = null;
+            byteBuf.release();
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.channel;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufAllocatorMetric;
+import io.netty.buffer.ByteBufAllocatorMetricProvider;
+import io.netty.util.UncheckedBooleanSupplier;
+import io.netty.util.internal.MathUtil;
+import io.netty.util.internal.PlatformDependent;
+
+import java.util.concurrent.TimeUnit;
+
+import static io.netty.util.internal.ObjectUtil.checkPositive;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+/**
+ * The {@link RecvByteBufAllocator} that predicts the buffer size from the throughput history of the channel and
+ * the memory pressure of the {@link ByteBufAllocator}.
+ * <p>
+ * Unlike {@link AdaptiveRecvByteBufAllocator}, which only moves one step along a fixed size table based on the
+ * last read, this allocator keeps an exponentially weighted moving average of the number of bytes returned by each
+ * read and sizes the next buffer as the next power of two that leaves room for twice that average. Channels that
+ * exchange small messages therefore converge to small buffers, while bulk transfers that keep filling the buffer
+ * ramp up quickly (by a factor of four per full read) towards the maximum.
+ * <p>
+ * When the used direct memory of the {@link ByteBufAllocator} exceeds the configured threshold the allocator
+ * drops the head room, shrinks the guess immediately and halves the number of reads that are performed per
+ * read loop, so that memory is handed out to the channels that actually need it. The memory usage is sampled
+ * at most once every 100 milliseconds and shared by all channels that use the same instance.
+ */
+public class ThroughputAwareRecvByteBufAllocator extends DefaultMaxMessagesRecvByteBufAllocator {
+
+    public static final int DEFAULT_MINIMUM = 64;
+    // Use an initial value that is bigger than the common MTU of 1500
+    public static final int DEFAULT_INITIAL = 2048;
+    public static final int DEFAULT_MAXIMUM = 65536;
+
+    private static final long PRESSURE_CHECK_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    // The weight of a new sample in the moving average, expressed as a right shift (1/8).
+    private static final int AVERAGE_SHIFT = 3;
+    // The factor (as a left shift) applied to the guess when a read filled the whole buffer.
+    private static final int RAMP_UP_SHIFT = 2;
+
+    private final int minimum;
+    private final int initial;
+    private final int maximum;
+    private final long memoryPressureThreshold;
+
+    private volatile long lastPressureCheckNanos;
+    private volatile boolean underPressure;
+
+    /**
+     * Creates a new predictor with the default parameters.  With the default parameters, the expected buffer size
+     * starts from {@code 2048}, does not go down below {@code 64}, and does not go up above {@code 65536}. Memory
+     * pressure is signalled once the allocator uses more than three quarters of
+     * {@link PlatformDependent#maxDirectMemory()}.
+     */
+    public ThroughputAwareRecvByteBufAllocator() {
+        this(DEFAULT_MINIMUM, DEFAULT_INITIAL, DEFAULT_MAXIMUM);
+    }
+
+    /**
+     * Creates a new predictor with the specified parameters and the default memory pressure threshold.
+     *
+     * @param minimum  the inclusive lower bound of the expected buffer size
+     * @param initial  the initial buffer size when no feed back was received
+     * @param maximum  the inclusive upper bound of the expected buffer size
+     */
+    public ThroughputAwareRecvByteBufAllocator(int minimum, int initial, int maximum) {
+        this(minimum, initial, maximum, PlatformDependent.maxDirectMemory() / 4 * 3);
+    }
+
+    /**
+     * Creates a new predictor with the specified parameters.
+     *
+     * @param minimum                   the inclusive lower bound of the expected buffer size
+     * @param initial                   the initial buffer size when no feed back was received
+     * @param maximum                   the inclusive upper bound of the expected buffer size
+     * @param memoryPressureThreshold   the number of direct memory bytes used by the {@link ByteBufAllocator} above
+     *                                  which reads become more conservative
+     */
+    public ThroughputAwareRecvByteBufAllocator(int minimum, int initial, int maximum, long memoryPressureThreshold) {
+        checkPositive(minimum, "minimum");
+        if (initial < minimum) {
+            throw new IllegalArgumentException("initial: " + initial);
+        }
+        if (maximum < initial) {
+            throw new IllegalArgumentException("maximum: " + maximum);
+        }
+        this.minimum = minimum;
+        this.initial = initial;
+        this.maximum = maximum;
+        this.memoryPressureThreshold = checkPositive(memoryPressureThreshold, "memoryPressureThreshold");
+        // Make sure the first read loop samples the allocator.
+        lastPressureCheckNanos = System.nanoTime() - PRESSURE_CHECK_INTERVAL_NANOS;
+    }
+
+    @SuppressWarnings("deprecation")
+    @Override
+    public Handle newHandle() {
+        return new HandleImpl();
+    }
+
+    @Override
+    public ThroughputAwareRecvByteBufAllocator respectMaybeMoreData(boolean respectMaybeMoreData) {
+        super.respectMaybeMoreData(respectMaybeMoreData);
+        return this;
+    }
+
+    /**
+     * Returns {@code true} if the given {@link ByteBufAllocator} uses more direct memory than the configured
+     * threshold. The result is cached for 100 milliseconds as computing the metric of a pooled allocator needs to
+     * visit all of its arenas.
+     */
+    boolean isUnderMemoryPressure(ByteBufAllocator alloc) {
+        long now = System.nanoTime();
+        if (now - lastPressureCheckNanos < PRESSURE_CHECK_INTERVAL_NANOS) {
+            return underPressure;
+        }
+        boolean pressure = false;
+        if (alloc instanceof ByteBufAllocatorMetricProvider) {
+            ByteBufAllocatorMetric metric = ((ByteBufAllocatorMetricProvider) alloc).metric();
+            pressure = metric.usedDirectMemory() > memoryPressureThreshold;
+        }
+        underPressure = pressure;
+        lastPressureCheckNanos = now;
+        return pressure;
+    }
+
+    private int sizeFor(int averageBytes, boolean headRoom) {
+        long size = headRoom ? (long) averageBytes << 1 : averageBytes;
+        size = min(max(size, minimum), maximum);
+        return max(minimum, min(maximum, MathUtil.safeFindNextPositivePowerOfTwo((int) size)));
+    }
+
+    private final class HandleImpl extends MaxMessageHandle {
+        private int nextReceiveBufferSize = initial;
+        private int averageBytesRead = initial >>> 1;
+        private int readsInLoop;
+        private boolean pressureChecked;
+        private boolean pressure;
+        private boolean decreaseNow;
+
+        @Override
+        public void reset(ChannelConfig config) {
+            super.reset(config);
+            readsInLoop = 0;
+            pressureChecked = false;
+            pressure = false;
+        }
+
+        @Override
+        public ByteBuf allocate(ByteBufAllocator alloc) {
+            if (!pressureChecked) {
+                pressureChecked = true;
+                pressure = isUnderMemoryPressure(alloc);
+                if (pressure) {
+                    // Give back the head room right away, the channel has to prove it needs more.
+                    nextReceiveBufferSize = min(nextReceiveBufferSize, sizeFor(averageBytesRead, false));
+                }
+            }
+            return alloc.ioBuffer(guess());
+        }
+
+        @Override
+        public int guess() {
+            return nextReceiveBufferSize;
+        }
+
+        @Override
+        public void lastBytesRead(int bytes) {
+            if (bytes > 0) {
+                readsInLoop++;
+                averageBytesRead += (bytes - averageBytesRead) >> AVERAGE_SHIFT;
+                // If we read as much as we asked for there is most likely more data pending, ramp up quickly to
+                // avoid going back to the selector for large transfers.
+                if (bytes == attemptedBytesRead() && !pressure) {
+                    nextReceiveBufferSize = (int) min((long) nextReceiveBufferSize << RAMP_UP_SHIFT, maximum);
+                    decreaseNow = false;
+                }
+            }
+            super.lastBytesRead(bytes);
+        }
+
+        @Override
+        public boolean continueReading(UncheckedBooleanSupplier maybeMoreDataSupplier) {
+            return super.continueReading(maybeMoreDataSupplier) &&
+                    (!pressure || readsInLoop < max(1, maxMessagesPerRead() >>> 1));
+        }
+
+        @Override
+        public void readComplete() {
+            if (readsInLoop == 0) {
+                return;
+            }
+            int target = sizeFor(averageBytesRead, !pressure);
+            if (target > nextReceiveBufferSize) {
+                nextReceiveBufferSize = target;
+                decreaseNow = false;
+            } else if (target < nextReceiveBufferSize && lastBytesRead() < attemptedBytesRead()) {
+                // Only shrink if the last read did not fill the buffer, and (unless memory is scarce) only after
+                // two consecutive read loops asked for it, to not oscillate on bursty traffic.
+                if (pressure || decreaseNow) {
+                    nextReceiveBufferSize = target;
+                    decreaseNow = false;
+                } else {
+                    decreaseNow = true;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.channel.pool;
+
+/**
+ * Exposes metrics of a {@link ChannelPool}.
+ */
+public interface ChannelPoolMetric {
+
+    /**
+     * Returns the number of {@link io.netty.channel.Channel}s that are idle in the pool.
+     */
+    int idleChannels();
+
+    /**
+     * Returns the number of successful acquires.
+     */
+    long acquireCount();
+
+    /**
+     * Returns the total time in nanoseconds that successful acquires had to wait until they were notified.
+     */
+    long totalAcquireWaitNanos();
+
+    /**
+     * Returns the number of {@link io.netty.channel.Channel}s that were connected by the pool.
+     */
+    long createdChannels();
+
+    /**
+     * Returns the number of {@link io.netty.channel.Channel}s that were connected by the pool and are closed now.
+     */
+    long closedChannels();
+
+    /**
+     * Returns the number of idle {@link io.netty.channel.Channel}s that were closed by the pool because they were
+     * idle for too long, exceeded their maximum lifetime or failed a periodic health check.
+     */
+    long evictedChannels();
+}
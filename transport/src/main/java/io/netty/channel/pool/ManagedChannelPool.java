@@ -0,0 +1,413 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.channel.pool;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.util.AttributeKey;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
+import io.netty.util.concurrent.Promise;
+import io.netty.util.internal.LongCounter;
+import io.netty.util.internal.PlatformDependent;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.netty.util.internal.ObjectUtil.checkPositive;
+import static io.netty.util.internal.ObjectUtil.checkPositiveOrZero;
+
+/**
+ * {@link SimpleChannelPool} that maintains its idle {@link Channel}s in the background:
+ * <ul>
+ *     <li>it connects new {@link Channel}s until at least {@code minIdle} {@link Channel}s are idle, so the first
+ *     acquires after start-up do not pay for connecting (and handshaking),</li>
+ *     <li>it closes {@link Channel}s that were idle for longer than {@code idleTimeoutMillis} as long as more than
+ *     {@code minIdle} {@link Channel}s are idle,</li>
+ *     <li>it closes {@link Channel}s that were connected more than {@code maxLifetimeMillis} ago, so connections
+ *     are rotated regularly,</li>
+ *     <li>it runs the {@link ChannelHealthChecker} on idle {@link Channel}s every
+ *     {@code healthCheckIntervalMillis}.</li>
+ * </ul>
+ * A value of {@code 0} disables the respective timeout. The maintenance runs every {@code maintenanceIntervalMillis}
+ * on one of the {@link io.netty.channel.EventLoop}s of the {@link Bootstrap}, starting one interval after the pool was
+ * created. Use {@link #metric()} to observe acquire latency and connection churn.
+ * <p>
+ * Together with {@link AbstractChannelPoolMap} this can be used to keep a warm, self-healing pool per remote host.
+ */
+public class ManagedChannelPool extends SimpleChannelPool {
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(ManagedChannelPool.class);
+
+    private static final AttributeKey<Long> CREATED_NANOS =
+            AttributeKey.newInstance("io.netty.channel.pool.ManagedChannelPool.created");
+    private static final AttributeKey<Long> IDLE_SINCE_NANOS =
+            AttributeKey.newInstance("io.netty.channel.pool.ManagedChannelPool.idleSince");
+    private static final AttributeKey<Long> CHECKED_NANOS =
+            AttributeKey.newInstance("io.netty.channel.pool.ManagedChannelPool.checked");
+
+    private final Deque<IdleChannel> idleChannels = PlatformDependent.newConcurrentDeque();
+    private final AtomicInteger idleChannelCount = new AtomicInteger();
+    private final AtomicInteger pendingConnects = new AtomicInteger();
+    private final LongCounter acquireCount = PlatformDependent.newLongCounter();
+    private final LongCounter acquireWaitNanos = PlatformDependent.newLongCounter();
+    private final LongCounter createdChannels = PlatformDependent.newLongCounter();
+    private final LongCounter closedChannels = PlatformDependent.newLongCounter();
+    private final LongCounter evictedChannels = PlatformDependent.newLongCounter();
+    private final ChannelPoolMetric metric = new ManagedChannelPoolMetric();
+    private final ChannelFutureListener closeListener = new ChannelFutureListener() {
+        @Override
+        public void operationComplete(ChannelFuture future) {
+            closedChannels.increment();
+        }
+    };
+
+    private final int minIdle;
+    private final long idleTimeoutNanos;
+    private final long maxLifetimeNanos;
+    private final long healthCheckIntervalNanos;
+    private final boolean lastRecentUsed;
+    private final ScheduledFuture<?> maintenanceFuture;
+    private volatile boolean closed;
+
+    /**
+     * Creates a new instance using the {@link ChannelHealthChecker#ACTIVE}, which pre-connects and keeps
+     * {@code minIdle} idle {@link Channel}s and closes additional idle {@link Channel}s after
+     * {@code idleTimeoutMillis}.
+     *
+     * @param bootstrap         the {@link Bootstrap} that is used for connections
+     * @param handler           the {@link ChannelPoolHandler} that will be notified for the different pool actions
+     * @param minIdle           the number of idle {@link Channel}s to keep connected
+     * @param idleTimeoutMillis the time after which idle {@link Channel}s above {@code minIdle} are closed, or
+     *                          {@code 0} to disable
+     */
+    public ManagedChannelPool(Bootstrap bootstrap, ChannelPoolHandler handler, int minIdle, long idleTimeoutMillis) {
+        this(bootstrap, handler, ChannelHealthChecker.ACTIVE, minIdle, idleTimeoutMillis, 0, 0, 1000);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param bootstrap                 the {@link Bootstrap} that is used for connections
+     * @param handler                   the {@link ChannelPoolHandler} that will be notified for the different pool
+     *                                  actions
+     * @param healthCheck               the {@link ChannelHealthChecker} that will be used to check if a
+     *                                  {@link Channel} is still healthy when obtain from the {@link ChannelPool}
+     *                                  and during the periodic health checks
+     * @param minIdle                   the number of idle {@link Channel}s to keep connected
+     * @param idleTimeoutMillis         the time after which idle {@link Channel}s above {@code minIdle} are closed,
+     *                                  or {@code 0} to disable
+     * @param maxLifetimeMillis         the time after which {@link Channel}s are closed once they are idle, or
+     *                                  {@code 0} to disable
+     * @param healthCheckIntervalMillis the interval in which idle {@link Channel}s are checked with the
+     *                                  {@link ChannelHealthChecker}, or {@code 0} to disable
+     * @param maintenanceIntervalMillis the interval in which the maintenance task runs
+     */
+    public ManagedChannelPool(Bootstrap bootstrap, ChannelPoolHandler handler, ChannelHealthChecker healthCheck,
+                              int minIdle, long idleTimeoutMillis, long maxLifetimeMillis,
+                              long healthCheckIntervalMillis, long maintenanceIntervalMillis) {
+        this(bootstrap, handler, healthCheck, minIdle, idleTimeoutMillis, maxLifetimeMillis,
+                healthCheckIntervalMillis, maintenanceIntervalMillis, true);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param bootstrap                 the {@link Bootstrap} that is used for connections
+     * @param handler                   the {@link ChannelPoolHandler} that will be notified for the different pool
+     *                                  actions
+     * @param healthCheck               the {@link ChannelHealthChecker} that will be used to check if a
+     *                                  {@link Channel} is still healthy when obtain from the {@link ChannelPool}
+     *                                  and during the periodic health checks
+     * @param minIdle                   the number of idle {@link Channel}s to keep connected
+     * @param idleTimeoutMillis         the time after which idle {@link Channel}s above {@code minIdle} are closed,
+     *                                  or {@code 0} to disable
+     * @param maxLifetimeMillis         the time after which {@link Channel}s are closed once they are idle, or
+     *                                  {@code 0} to disable
+     * @param healthCheckIntervalMillis the interval in which idle {@link Channel}s are checked with the
+     *                                  {@link ChannelHealthChecker}, or {@code 0} to disable
+     * @param maintenanceIntervalMillis the interval in which the maintenance task runs
+     * @param lastRecentUsed            {@code true} {@link Channel} selection will be LIFO, if {@code false} FIFO.
+     */
+    public ManagedChannelPool(Bootstrap bootstrap, ChannelPoolHandler handler, ChannelHealthChecker healthCheck,
+                              int minIdle, long idleTimeoutMillis, long maxLifetimeMillis,
+                              long healthCheckIntervalMillis, long maintenanceIntervalMillis,
+                              boolean lastRecentUsed) {
+        super(bootstrap, handler, healthCheck, true, lastRecentUsed);
+        this.minIdle = checkPositiveOrZero(minIdle, "minIdle");
+        idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(checkPositiveOrZero(idleTimeoutMillis, "idleTimeoutMillis"));
+        maxLifetimeNanos = TimeUnit.MILLISECONDS.toNanos(checkPositiveOrZero(maxLifetimeMillis, "maxLifetimeMillis"));
+        healthCheckIntervalNanos = TimeUnit.MILLISECONDS.toNanos(
+                checkPositiveOrZero(healthCheckIntervalMillis, "healthCheckIntervalMillis"));
+        checkPositive(maintenanceIntervalMillis, "maintenanceIntervalMillis");
+        this.lastRecentUsed = lastRecentUsed;
+
+        EventExecutor executor = bootstrap.config().group().next();
+        maintenanceFuture = executor.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                maintain();
+            }
+        }, maintenanceIntervalMillis, maintenanceIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns the {@link ChannelPoolMetric} of this pool.
+     */
+    public ChannelPoolMetric metric() {
+        return metric;
+    }
+
+    @Override
+    public Future<Channel> acquire(Promise<Channel> promise) {
+        final long start = System.nanoTime();
+        promise.addListener(new FutureListener<Channel>() {
+            @Override
+            public void operationComplete(Future<Channel> future) {
+                if (future.isSuccess()) {
+                    acquireCount.increment();
+                    acquireWaitNanos.add(System.nanoTime() - start);
+                }
+            }
+        });
+        return super.acquire(promise);
+    }
+
+    @Override
+    protected ChannelFuture connectChannel(Bootstrap bs) {
+        ChannelFuture f = super.connectChannel(bs);
+        f.addListener(new ChannelFutureListener() {
+            @Override
+            public void operationComplete(ChannelFuture future) {
+                if (future.isSuccess()) {
+                    Channel channel = future.channel();
+                    channel.attr(CREATED_NANOS).set(System.nanoTime());
+                    createdChannels.increment();
+                    channel.closeFuture().addListener(closeListener);
+                }
+            }
+        });
+        return f;
+    }
+
+    @Override
+    protected Channel pollChannel() {
+        for (;;) {
+            IdleChannel idleChannel = lastRecentUsed ? idleChannels.pollLast() : idleChannels.pollFirst();
+            if (idleChannel == null) {
+                return null;
+            }
+            if (!idleChannel.claim()) {
+                // Taken out of the pool by the maintenance task.
+                continue;
+            }
+            Channel channel = idleChannel.channel;
+            if (!isExpired(channel, System.nanoTime())) {
+                return channel;
+            }
+            evict(channel);
+        }
+    }
+
+    @Override
+    protected boolean offerChannel(Channel channel) {
+        return offerIdleChannel(channel, System.nanoTime());
+    }
+
+    private boolean offerIdleChannel(Channel channel, long idleSince) {
+        channel.attr(IDLE_SINCE_NANOS).set(idleSince);
+        if (channel.attr(CHECKED_NANOS).get() == null) {
+            channel.attr(CHECKED_NANOS).set(idleSince);
+        }
+        idleChannelCount.incrementAndGet();
+        if (idleChannels.offer(new IdleChannel(channel))) {
+            return true;
+        }
+        idleChannelCount.decrementAndGet();
+        return false;
+    }
+
+    private boolean isExpired(Channel channel, long now) {
+        if (maxLifetimeNanos == 0) {
+            return false;
+        }
+        Long created = channel.attr(CREATED_NANOS).get();
+        return created != null && now - created >= maxLifetimeNanos;
+    }
+
+    private void evict(Channel channel) {
+        evictedChannels.increment();
+        channel.close();
+    }
+
+    private void maintain() {
+        if (closed) {
+            return;
+        }
+        long now = System.nanoTime();
+        // The least recently used Channels are at the head of the deque.
+        Iterator<IdleChannel> iterator = idleChannels.iterator();
+        while (iterator.hasNext()) {
+            IdleChannel idleChannel = iterator.next();
+            final Channel channel = idleChannel.channel;
+            boolean idleTooLong = idleTimeoutNanos != 0 && idleChannelCount.get() > minIdle &&
+                    now - channel.attr(IDLE_SINCE_NANOS).get() >= idleTimeoutNanos;
+            if (!channel.isActive() || idleTooLong || isExpired(channel, now)) {
+                if (claim(idleChannel, iterator)) {
+                    evict(channel);
+                }
+            } else if (healthCheckIntervalNanos != 0 &&
+                    now - channel.attr(CHECKED_NANOS).get() >= healthCheckIntervalNanos &&
+                    claim(idleChannel, iterator)) {
+                channel.eventLoop().execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        checkIdleChannel(channel);
+                    }
+                });
+            }
+        }
+        warmUp();
+    }
+
+    /**
+     * Takes the given idle {@link Channel} out of the pool. Returns {@code false} if it was acquired concurrently.
+     */
+    private boolean claim(IdleChannel idleChannel, Iterator<IdleChannel> iterator) {
+        if (idleChannel.claim()) {
+            // Removing through the iterator is O(1), unlike searching the deque for the entry.
+            iterator.remove();
+            return true;
+        }
+        return false;
+    }
+
+    private void checkIdleChannel(final Channel channel) {
+        try {
+            Future<Boolean> f = healthChecker().isHealthy(channel);
+            if (f.isDone()) {
+                notifyIdleHealthCheck(channel, f);
+            } else {
+                f.addListener(new FutureListener<Boolean>() {
+                    @Override
+                    public void operationComplete(Future<Boolean> future) {
+                        notifyIdleHealthCheck(channel, future);
+                    }
+                });
+            }
+        } catch (Throwable cause) {
+            logger.debug("Health check of idle channel {} failed.", channel, cause);
+            evict(channel);
+        }
+    }
+
+    private void notifyIdleHealthCheck(Channel channel, Future<Boolean> future) {
+        if (!closed && future.isSuccess() && future.getNow()) {
+            channel.attr(CHECKED_NANOS).set(System.nanoTime());
+            // Keep the original idle timestamp, the health check is not a use of the channel.
+            offerIdleChannel(channel, channel.attr(IDLE_SINCE_NANOS).get());
+        } else {
+            evict(channel);
+        }
+    }
+
+    private void warmUp() {
+        int missing = minIdle - idleChannelCount.get() - pendingConnects.get();
+        for (int i = 0; i < missing; i++) {
+            pendingConnects.incrementAndGet();
+            connectChannel(bootstrap().clone()).addListener(new ChannelFutureListener() {
+                @Override
+                public void operationComplete(ChannelFuture future) {
+                    pendingConnects.decrementAndGet();
+                    if (!future.isSuccess()) {
+                        logger.debug("Failed to pre-connect a channel.", future.cause());
+                    } else if (closed || !offerChannel(future.channel())) {
+                        future.channel().close();
+                    }
+                }
+            });
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        maintenanceFuture.cancel(false);
+        super.close();
+    }
+
+    /**
+     * An entry of the idle {@link Channel}s. It is claimed exactly once, either by {@link #pollChannel()} or by the
+     * maintenance task, so both can take it out of the pool without searching the deque. A {@link Channel} that is
+     * offered again gets a new entry.
+     */
+    private final class IdleChannel {
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        final Channel channel;
+
+        IdleChannel(Channel channel) {
+            this.channel = channel;
+        }
+
+        boolean claim() {
+            if (claimed.compareAndSet(false, true)) {
+                idleChannelCount.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private final class ManagedChannelPoolMetric implements ChannelPoolMetric {
+        @Override
+        public int idleChannels() {
+            return idleChannelCount.get();
+        }
+
+        @Override
+        public long acquireCount() {
+            return acquireCount.value();
+        }
+
+        @Override
+        public long totalAcquireWaitNanos() {
+            return acquireWaitNanos.value();
+        }
+
+        @Override
+        public long createdChannels() {
+            return createdChannels.value();
+        }
+
+        @Override
+        public long closedChannels() {
+            return closedChannels.value();
+        }
+
+        @Override
+        public long evictedChannels() {
+            return evictedChannels.value();
+        }
+    }
+}
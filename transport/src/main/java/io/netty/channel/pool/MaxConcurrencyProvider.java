@@ -0,0 +1,31 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.channel.pool;
+
+import io.netty.channel.Channel;
+
+/**
+ * Provides the number of requests that may be in flight on a {@link Channel} at the same time, which is used by
+ * {@link MultiplexedChannelPool} to decide how many leases a connection can serve.
+ */
+public interface MaxConcurrencyProvider {
+
+    /**
+     * Returns the maximum number of concurrent leases of the given {@link Channel}. The value may change over the
+     * lifetime of the {@link Channel}, for example when the remote peer sends new settings.
+     */
+    int maxConcurrency(Channel channel);
+}
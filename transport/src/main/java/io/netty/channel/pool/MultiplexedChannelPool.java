@@ -0,0 +1,420 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.channel.pool;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelInitializer;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.GlobalEventExecutor;
+import io.netty.util.concurrent.Promise;
+import io.netty.util.internal.ObjectUtil;
+
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+import static io.netty.util.internal.ObjectUtil.checkNotNull;
+import static io.netty.util.internal.ObjectUtil.checkPositive;
+
+/**
+ * {@link ChannelPool} implementation for protocols that can have more than one request in flight per connection,
+ * like HTTP/2 or pipelined Redis / memcache.
+ * <p>
+ * Instead of handing out a {@link Channel} exclusively, this pool leases a slot of a connection: the same
+ * {@link Channel} is returned by {@link #acquire()} until it has as many outstanding leases as its
+ * {@link MaxConcurrencyProvider} allows. Leases are balanced by always picking the connection with the fewest
+ * outstanding leases, and a new connection is only opened once all existing connections are saturated. Each lease
+ * must be given back via {@link #release(Channel)} once the request completed.
+ * <p>
+ * For HTTP/2 the leased {@link Channel} is the parent connection, on which a stream can be opened, for example
+ * via {@code Http2StreamChannelBootstrap}.
+ * <p>
+ * All state is maintained by a single {@link EventExecutor} of the {@link Bootstrap} group, which also notifies the
+ * {@link ChannelPoolHandler} about acquires and releases.
+ */
+public class MultiplexedChannelPool implements ChannelPool {
+
+    private final Bootstrap bootstrap;
+    private final ChannelPoolHandler handler;
+    private final MaxConcurrencyProvider maxConcurrency;
+    private final EventExecutor executor;
+    private final int maxConnections;
+    private final int maxPendingAcquires;
+
+    // There is no need to worry about synchronization as everything that modifies the state is done by the above
+    // EventExecutor.
+    private final List<Connection> connections = new ArrayList<Connection>();
+    private final Map<Channel, Connection> connectionsByChannel = new IdentityHashMap<Channel, Connection>();
+    private final Queue<Promise<Channel>> pendingAcquires = new ArrayDeque<Promise<Channel>>();
+    private int pendingConnects;
+    private boolean closed;
+    private volatile int connectionCount;
+
+    /**
+     * Creates a new instance which allows the same number of concurrent leases on every connection, like a
+     * configured pipelining depth.
+     *
+     * @param bootstrap                 the {@link Bootstrap} that is used for connections
+     * @param handler                   the {@link ChannelPoolHandler} that will be notified for the different pool
+     *                                  actions
+     * @param maxConcurrencyPerChannel  the maximum number of leases per connection
+     * @param maxConnections            the maximum number of connections
+     */
+    public MultiplexedChannelPool(Bootstrap bootstrap, ChannelPoolHandler handler,
+                                  final int maxConcurrencyPerChannel, int maxConnections) {
+        this(bootstrap, handler, new MaxConcurrencyProvider() {
+            @Override
+            public int maxConcurrency(Channel channel) {
+                return maxConcurrencyPerChannel;
+            }
+        }, maxConnections, Integer.MAX_VALUE);
+        checkPositive(maxConcurrencyPerChannel, "maxConcurrencyPerChannel");
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param bootstrap             the {@link Bootstrap} that is used for connections
+     * @param handler               the {@link ChannelPoolHandler} that will be notified for the different pool actions
+     * @param maxConcurrency        the {@link MaxConcurrencyProvider} which tells how many leases a connection can
+     *                              serve
+     * @param maxConnections        the maximum number of connections
+     * @param maxPendingAcquires    the maximum number of pending acquires. Once this is exceed acquire tries will
+     *                              be failed.
+     */
+    public MultiplexedChannelPool(Bootstrap bootstrap, final ChannelPoolHandler handler,
+                                  MaxConcurrencyProvider maxConcurrency, int maxConnections,
+                                  int maxPendingAcquires) {
+        this.handler = checkNotNull(handler, "handler");
+        this.maxConcurrency = checkNotNull(maxConcurrency, "maxConcurrency");
+        this.maxConnections = checkPositive(maxConnections, "maxConnections");
+        this.maxPendingAcquires = checkPositive(maxPendingAcquires, "maxPendingAcquires");
+        // Clone the original Bootstrap as we want to set our own handler
+        this.bootstrap = checkNotNull(bootstrap, "bootstrap").clone();
+        this.bootstrap.handler(new ChannelInitializer<Channel>() {
+            @Override
+            protected void initChannel(Channel ch) throws Exception {
+                assert ch.eventLoop().inEventLoop();
+                handler.channelCreated(ch);
+            }
+        });
+        executor = bootstrap.config().group().next();
+    }
+
+    /**
+     * Returns the number of connections that are currently open.
+     */
+    public int connectionCount() {
+        return connectionCount;
+    }
+
+    @Override
+    public final Future<Channel> acquire() {
+        return acquire(executor.<Channel>newPromise());
+    }
+
+    @Override
+    public Future<Channel> acquire(final Promise<Channel> promise) {
+        checkNotNull(promise, "promise");
+        if (executor.inEventLoop()) {
+            acquire0(promise);
+        } else {
+            submit(new Runnable() {
+                @Override
+                public void run() {
+                    acquire0(promise);
+                }
+            }, promise);
+        }
+        return promise;
+    }
+
+    private void acquire0(Promise<Channel> promise) {
+        assert executor.inEventLoop();
+        if (closed) {
+            promise.tryFailure(new IllegalStateException("MultiplexedChannelPool was closed"));
+            return;
+        }
+        if (pendingAcquires.isEmpty()) {
+            Connection connection = leastLoadedConnection();
+            if (connection != null) {
+                lease(connection, promise);
+                return;
+            }
+        }
+        if (pendingAcquires.size() >= maxPendingAcquires) {
+            promise.tryFailure(new IllegalStateException("Too many outstanding acquire operations"));
+            return;
+        }
+        pendingAcquires.add(promise);
+        runPendingAcquires();
+    }
+
+    private Connection leastLoadedConnection() {
+        Connection best = null;
+        for (int i = 0; i < connections.size(); i++) {
+            Connection connection = connections.get(i);
+            if (!connection.channel.isActive()) {
+                continue;
+            }
+            if (connection.leases < maxConcurrency.maxConcurrency(connection.channel) &&
+                    (best == null || connection.leases < best.leases)) {
+                best = connection;
+            }
+        }
+        return best;
+    }
+
+    private void lease(Connection connection, Promise<Channel> promise) {
+        connection.leases++;
+        try {
+            handler.channelAcquired(connection.channel);
+        } catch (Throwable cause) {
+            connection.leases--;
+            promise.tryFailure(cause);
+            return;
+        }
+        if (!promise.trySuccess(connection.channel)) {
+            // Promise was completed in the meantime (like cancelled), give the lease back.
+            connection.leases--;
+        }
+    }
+
+    private void runPendingAcquires() {
+        assert executor.inEventLoop();
+        for (;;) {
+            Promise<Channel> promise = pendingAcquires.peek();
+            if (promise == null) {
+                return;
+            }
+            if (promise.isDone()) {
+                // Cancelled by the user.
+                pendingAcquires.remove();
+                continue;
+            }
+            Connection connection = leastLoadedConnection();
+            if (connection == null) {
+                break;
+            }
+            pendingAcquires.remove();
+            lease(connection, promise);
+        }
+        // All connections are saturated, open a new one if we are allowed to.
+        if (pendingConnects == 0 && connections.size() < maxConnections) {
+            connect();
+        }
+    }
+
+    private void connect() {
+        pendingConnects++;
+        ChannelFuture future;
+        try {
+            future = bootstrap.clone().connect();
+        } catch (Throwable cause) {
+            connectFailed(cause);
+            return;
+        }
+        future.addListener(new ChannelFutureListener() {
+            @Override
+            public void operationComplete(final ChannelFuture future) {
+                if (executor.inEventLoop()) {
+                    connectComplete(future);
+                } else {
+                    submit(new Runnable() {
+                        @Override
+                        public void run() {
+                            connectComplete(future);
+                        }
+                    });
+                }
+            }
+        });
+    }
+
+    private void connectComplete(ChannelFuture future) {
+        assert executor.inEventLoop();
+        if (!future.isSuccess()) {
+            connectFailed(future.cause());
+            return;
+        }
+        pendingConnects--;
+        final Channel channel = future.channel();
+        if (closed) {
+            channel.close();
+            return;
+        }
+        final Connection connection = new Connection(channel);
+        connections.add(connection);
+        connectionsByChannel.put(channel, connection);
+        connectionCount = connections.size();
+        channel.closeFuture().addListener(new ChannelFutureListener() {
+            @Override
+            public void operationComplete(ChannelFuture future) {
+                submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        connections.remove(connection);
+                        connectionsByChannel.remove(channel);
+                        connectionCount = connections.size();
+                        if (!closed) {
+                            runPendingAcquires();
+                        }
+                    }
+                });
+            }
+        });
+        runPendingAcquires();
+    }
+
+    private void connectFailed(Throwable cause) {
+        assert executor.inEventLoop();
+        pendingConnects--;
+        if (connections.isEmpty()) {
+            // Nobody can serve the pending acquires.
+            for (;;) {
+                Promise<Channel> promise = pendingAcquires.poll();
+                if (promise == null) {
+                    break;
+                }
+                promise.tryFailure(cause);
+            }
+        }
+    }
+
+    @Override
+    public final Future<Void> release(Channel channel) {
+        return release(channel, executor.<Void>newPromise());
+    }
+
+    @Override
+    public Future<Void> release(final Channel channel, final Promise<Void> promise) {
+        checkNotNull(channel, "channel");
+        checkNotNull(promise, "promise");
+        if (executor.inEventLoop()) {
+            release0(channel, promise);
+        } else {
+            submit(new Runnable() {
+                @Override
+                public void run() {
+                    release0(channel, promise);
+                }
+            }, promise);
+        }
+        return promise;
+    }
+
+    private void release0(Channel channel, Promise<Void> promise) {
+        assert executor.inEventLoop();
+        Connection connection = connectionsByChannel.get(channel);
+        if (connection != null ? connection.leases == 0 : channel.isActive()) {
+            // Inactive channels were already removed from the pool when they were closed.
+            promise.tryFailure(new IllegalArgumentException(
+                    "Channel " + channel + " was not acquired from this ChannelPool"));
+            return;
+        }
+        if (connection != null) {
+            connection.leases--;
+        }
+        try {
+            handler.channelReleased(channel);
+        } catch (Throwable cause) {
+            promise.tryFailure(cause);
+            return;
+        }
+        promise.trySuccess(null);
+        if (!closed) {
+            runPendingAcquires();
+        }
+    }
+
+    private void submit(Runnable task) {
+        executor.execute(task);
+    }
+
+    private void submit(Runnable task, Promise<?> promise) {
+        try {
+            executor.execute(task);
+        } catch (Throwable cause) {
+            promise.tryFailure(cause);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            closeAsync().await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Closes the pool and all its connections in an async manner.
+     *
+     * @return Future which represents completion of the close task
+     */
+    public Future<Void> closeAsync() {
+        final Promise<Void> closeComplete = GlobalEventExecutor.INSTANCE.newPromise();
+        if (executor.inEventLoop()) {
+            close0(closeComplete);
+        } else {
+            submit(new Runnable() {
+                @Override
+                public void run() {
+                    close0(closeComplete);
+                }
+            }, closeComplete);
+        }
+        return closeComplete;
+    }
+
+    private void close0(Promise<Void> closeComplete) {
+        assert executor.inEventLoop();
+        closed = true;
+        for (;;) {
+            Promise<Channel> promise = pendingAcquires.poll();
+            if (promise == null) {
+                break;
+            }
+            promise.tryFailure(new ClosedChannelException());
+        }
+        for (Connection connection : connections) {
+            connection.channel.close();
+        }
+        connections.clear();
+        connectionsByChannel.clear();
+        connectionCount = 0;
+        closeComplete.trySuccess(null);
+    }
+
+    private static final class Connection {
+        final Channel channel;
+        int leases;
+
+        Connection(Channel channel) {
+            this.channel = ObjectUtil.checkNotNull(channel, "channel");
+        }
+    }
+}
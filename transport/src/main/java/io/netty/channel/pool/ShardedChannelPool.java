@@ -0,0 +1,309 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.channel.pool;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.EventLoop;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import io.netty.util.concurrent.Promise;
+import io.netty.util.internal.ObjectUtil;
+import io.netty.util.internal.PlatformDependent;
+import io.netty.util.internal.ThreadExecutorMap;
+
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.netty.util.internal.ObjectUtil.checkPositive;
+
+/**
+ * {@link ChannelPool} implementation that keeps the idle {@link Channel}s in one shard per {@link EventLoop} of the
+ * {@link Bootstrap} and enforces a maximum number of concurrent connections without funneling all operations through
+ * a single {@link EventExecutor} like {@link FixedChannelPool} does.
+ * <p>
+ * When called from one of the {@link EventLoop}s of the {@link Bootstrap}, {@link #acquire(Promise)} prefers idle
+ * {@link Channel}s that are registered on the calling {@link EventLoop} and registers new {@link Channel}s on it, so
+ * that the caller can use the {@link Channel} without a thread hop. Idle {@link Channel}s of other shards are only
+ * taken if the own shard is empty.
+ * <p>
+ * The number of acquired {@link Channel}s is tracked with an atomic counter. Once {@code maxConnections} is reached,
+ * acquires are queued and served by the next release.
+ */
+public class ShardedChannelPool extends SimpleChannelPool {
+
+    private final EventExecutor[] loops;
+    private final Deque<Channel>[] shards;
+    private final Map<EventExecutor, Integer> shardIndexes;
+    private final int maxConnections;
+    private final int maxPendingAcquires;
+    private final AtomicInteger acquiredChannelCount = new AtomicInteger();
+    private final AtomicInteger pendingAcquireCount = new AtomicInteger();
+    private final Queue<Promise<Channel>> pendingAcquires = new ConcurrentLinkedQueue<Promise<Channel>>();
+    private volatile boolean closed;
+
+    /**
+     * Creates a new instance using the {@link ChannelHealthChecker#ACTIVE}.
+     *
+     * @param bootstrap         the {@link Bootstrap} that is used for connections
+     * @param handler           the {@link ChannelPoolHandler} that will be notified for the different pool actions
+     * @param maxConnections    the number of maximal active connections, once this is reached new tries to acquire
+     *                          a {@link Channel} will be delayed until a connection is returned to the pool again.
+     */
+    public ShardedChannelPool(Bootstrap bootstrap, ChannelPoolHandler handler, int maxConnections) {
+        this(bootstrap, handler, ChannelHealthChecker.ACTIVE, maxConnections, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param bootstrap             the {@link Bootstrap} that is used for connections
+     * @param handler               the {@link ChannelPoolHandler} that will be notified for the different pool actions
+     * @param healthCheck           the {@link ChannelHealthChecker} that will be used to check if a {@link Channel} is
+     *                              still healthy when obtain from the {@link ChannelPool}
+     * @param maxConnections        the number of maximal active connections, once this is reached new tries to
+     *                              acquire a {@link Channel} will be delayed until a connection is returned to the
+     *                              pool again.
+     * @param maxPendingAcquires    the maximum number of pending acquires. Once this is exceed acquire tries will
+     *                              be failed.
+     */
+    public ShardedChannelPool(Bootstrap bootstrap, ChannelPoolHandler handler, ChannelHealthChecker healthCheck,
+                              int maxConnections, int maxPendingAcquires) {
+        this(bootstrap, handler, healthCheck, maxConnections, maxPendingAcquires, true);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param bootstrap             the {@link Bootstrap} that is used for connections
+     * @param handler               the {@link ChannelPoolHandler} that will be notified for the different pool actions
+     * @param healthCheck           the {@link ChannelHealthChecker} that will be used to check if a {@link Channel} is
+     *                              still healthy when obtain from the {@link ChannelPool}
+     * @param maxConnections        the number of maximal active connections, once this is reached new tries to
+     *                              acquire a {@link Channel} will be delayed until a connection is returned to the
+     *                              pool again.
+     * @param maxPendingAcquires    the maximum number of pending acquires. Once this is exceed acquire tries will
+     *                              be failed.
+     * @param releaseHealthCheck    will check channel health before offering back if this parameter set to
+     *                              {@code true}.
+     */
+    @SuppressWarnings("unchecked")
+    public ShardedChannelPool(Bootstrap bootstrap, ChannelPoolHandler handler, ChannelHealthChecker healthCheck,
+                              int maxConnections, int maxPendingAcquires, boolean releaseHealthCheck) {
+        super(bootstrap, handler, healthCheck, releaseHealthCheck, true);
+        this.maxConnections = checkPositive(maxConnections, "maxConnections");
+        this.maxPendingAcquires = checkPositive(maxPendingAcquires, "maxPendingAcquires");
+
+        List<EventExecutor> executors = new ArrayList<EventExecutor>();
+        for (EventExecutor executor : bootstrap.config().group()) {
+            executors.add(executor);
+        }
+        loops = executors.toArray(new EventExecutor[0]);
+        shards = new Deque[loops.length];
+        shardIndexes = new IdentityHashMap<EventExecutor, Integer>(loops.length);
+        for (int i = 0; i < loops.length; i++) {
+            shards[i] = PlatformDependent.newConcurrentDeque();
+            shardIndexes.put(loops[i], i);
+        }
+    }
+
+    /** Returns the number of acquired channels that this pool thinks it has. */
+    public int acquiredChannelCount() {
+        return acquiredChannelCount.get();
+    }
+
+    @Override
+    public Future<Channel> acquire(final Promise<Channel> promise) {
+        ObjectUtil.checkNotNull(promise, "promise");
+        if (closed) {
+            promise.tryFailure(new IllegalStateException("ShardedChannelPool was closed"));
+            return promise;
+        }
+        if (tryReserve()) {
+            acquireReserved(promise);
+        } else if (pendingAcquireCount.incrementAndGet() > maxPendingAcquires) {
+            pendingAcquireCount.decrementAndGet();
+            promise.tryFailure(new IllegalStateException("Too many outstanding acquire operations"));
+        } else {
+            pendingAcquires.offer(promise);
+            // A release may have happened between the failed reservation and the offer, so try to serve the queue.
+            runPendingAcquires();
+        }
+        return promise;
+    }
+
+    private boolean tryReserve() {
+        for (;;) {
+            int count = acquiredChannelCount.get();
+            if (count >= maxConnections) {
+                return false;
+            }
+            if (acquiredChannelCount.compareAndSet(count, count + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void releaseReservation() {
+        int count = acquiredChannelCount.decrementAndGet();
+        assert count >= 0;
+        runPendingAcquires();
+    }
+
+    private void runPendingAcquires() {
+        while (!pendingAcquires.isEmpty() && tryReserve()) {
+            Promise<Channel> promise = pendingAcquires.poll();
+            if (promise == null) {
+                // Someone else served the queue in the meantime.
+                acquiredChannelCount.decrementAndGet();
+                continue;
+            }
+            pendingAcquireCount.decrementAndGet();
+            if (closed) {
+                acquiredChannelCount.decrementAndGet();
+                promise.tryFailure(new ClosedChannelException());
+            } else {
+                acquireReserved(promise);
+            }
+        }
+    }
+
+    private void acquireReserved(final Promise<Channel> promise) {
+        // Use an extra promise so a cancellation of the user promise can not release the reservation twice.
+        Promise<Channel> p = ImmediateEventExecutor.INSTANCE.newPromise();
+        p.addListener(new FutureListener<Channel>() {
+            @Override
+            public void operationComplete(Future<Channel> future) {
+                if (future.isSuccess()) {
+                    Channel channel = future.getNow();
+                    if (closed) {
+                        // Since the pool is closed, we have no choice but to close the channel
+                        channel.close();
+                        acquiredChannelCount.decrementAndGet();
+                        promise.tryFailure(new IllegalStateException("ShardedChannelPool was closed"));
+                    } else if (!promise.trySuccess(channel)) {
+                        // Promise was completed in the meantime (like cancelled), just release the channel again
+                        release(channel);
+                    }
+                } else {
+                    releaseReservation();
+                    promise.tryFailure(future.cause());
+                }
+            }
+        });
+        super.acquire(p);
+    }
+
+    @Override
+    public Future<Void> release(final Channel channel, final Promise<Void> promise) {
+        ObjectUtil.checkNotNull(promise, "promise");
+        Promise<Void> p = ImmediateEventExecutor.INSTANCE.newPromise();
+        super.release(channel, p.addListener(new FutureListener<Void>() {
+            @Override
+            public void operationComplete(Future<Void> future) {
+                if (future.isSuccess()) {
+                    releaseReservation();
+                    promise.trySuccess(null);
+                } else {
+                    Throwable cause = future.cause();
+                    // Check if the exception was not because of we passed the Channel to the wrong pool.
+                    if (!(cause instanceof IllegalArgumentException)) {
+                        releaseReservation();
+                    }
+                    promise.tryFailure(cause);
+                }
+            }
+        }));
+        return promise;
+    }
+
+    @Override
+    protected ChannelFuture connectChannel(Bootstrap bs) {
+        // Register new channels on the calling EventLoop so they end up in its shard once released.
+        int index = callerIndex();
+        if (index != -1 && loops[index] instanceof EventLoop) {
+            return bs.clone((EventLoop) loops[index]).connect();
+        }
+        return bs.connect();
+    }
+
+    @Override
+    protected Channel pollChannel() {
+        int index = callerIndex();
+        if (index != -1) {
+            Channel channel = shards[index].pollLast();
+            if (channel != null) {
+                return channel;
+            }
+        }
+        // Steal from the other shards, starting at a random one to spread the contention.
+        int start = PlatformDependent.threadLocalRandom().nextInt(shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            Channel channel = shards[(start + i) % shards.length].pollLast();
+            if (channel != null) {
+                return channel;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    protected boolean offerChannel(Channel channel) {
+        Integer index = shardIndexes.get(channel.eventLoop());
+        if (index == null) {
+            // The Channel was registered on an EventLoop that is not part of the Bootstrap group.
+            index = 0;
+        }
+        return shards[index].offer(channel);
+    }
+
+    /**
+     * Returns the index of the shard of the calling {@link EventLoop}, or {@code -1} if not called from one of the
+     * {@link EventLoop}s of the {@link Bootstrap}.
+     */
+    private int callerIndex() {
+        EventExecutor executor = ThreadExecutorMap.currentExecutor();
+        if (executor == null) {
+            return -1;
+        }
+        Integer index = shardIndexes.get(executor);
+        return index == null ? -1 : index;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        for (;;) {
+            Promise<Channel> promise = pendingAcquires.poll();
+            if (promise == null) {
+                break;
+            }
+            pendingAcquireCount.decrementAndGet();
+            promise.tryFailure(new ClosedChannelException());
+        }
+        super.close();
+    }
+}
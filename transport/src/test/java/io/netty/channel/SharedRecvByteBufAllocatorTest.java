@@ -0,0 +1,129 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.channel;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.util.CharsetUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SharedRecvByteBufAllocatorTest {
+    private final ByteBufAllocator alloc = UnpooledByteBufAllocator.DEFAULT;
+    private ChannelConfig config;
+
+    @BeforeEach
+    public void setup() {
+        config = mock(ChannelConfig.class);
+        when(config.isAutoRead()).thenReturn(true);
+    }
+
+    private RecvByteBufAllocator.Handle newDetachingHandle(SharedRecvByteBufAllocator allocator) {
+        RecvByteBufAllocator.Handle handle = allocator.newHandle();
+        handle.reset(config);
+        // The first read of a channel is done into a buffer of its own.
+        ByteBuf buf = handle.allocate(alloc);
+        assertSame(buf, SharedRecvByteBufAllocator.detach(handle, alloc, buf));
+        buf.release();
+        return handle;
+    }
+
+    @Test
+    public void readsLandInSharedBuffer() {
+        SharedRecvByteBufAllocator allocator = new SharedRecvByteBufAllocator(1024);
+        RecvByteBufAllocator.Handle first = newDetachingHandle(allocator);
+        RecvByteBufAllocator.Handle second = newDetachingHandle(allocator);
+
+        ByteBuf buf = first.allocate(alloc);
+        assertEquals(1024, buf.capacity());
+        assertEquals(1024, first.guess());
+        // Nothing was read, the transport releases the buffer.
+        buf.release();
+        assertEquals(1, buf.refCnt());
+
+        // Another channel on the same thread gets the same buffer.
+        assertSame(buf, second.allocate(alloc));
+        buf.release();
+    }
+
+    @Test
+    public void handleWithoutDetachDoesNotShare() {
+        SharedRecvByteBufAllocator allocator = new SharedRecvByteBufAllocator(1024);
+        RecvByteBufAllocator.Handle handle = allocator.newHandle();
+        handle.reset(config);
+
+        ByteBuf first = handle.allocate(alloc);
+        ByteBuf second = handle.allocate(alloc);
+        assertNotSame(first, second);
+        assertEquals(1024, first.capacity());
+        first.release();
+        assertEquals(0, first.refCnt());
+        second.release();
+    }
+
+    @Test
+    public void detachCopiesReadBytes() {
+        SharedRecvByteBufAllocator allocator = new SharedRecvByteBufAllocator(1024);
+        RecvByteBufAllocator.Handle handle = newDetachingHandle(allocator);
+
+        ByteBuf buf = handle.allocate(alloc);
+        buf.writeCharSequence("hello", CharsetUtil.US_ASCII);
+        ByteBuf detached = SharedRecvByteBufAllocator.detach(handle, alloc, buf);
+        assertNotSame(buf, detached);
+        assertEquals(5, detached.capacity());
+        assertEquals("hello", detached.toString(CharsetUtil.US_ASCII));
+        assertEquals(1, buf.refCnt());
+        detached.release();
+
+        // The next read starts with a cleared buffer.
+        assertEquals(0, handle.allocate(alloc).readableBytes());
+        buf.release();
+    }
+
+    @Test
+    public void detachUnwrapsDelegatingHandle() {
+        SharedRecvByteBufAllocator allocator = new SharedRecvByteBufAllocator(1024);
+        RecvByteBufAllocator.Handle handle = new RecvByteBufAllocator.DelegatingHandle(allocator.newHandle());
+        handle.reset(config);
+        ByteBuf first = handle.allocate(alloc);
+        assertSame(first, SharedRecvByteBufAllocator.detach(handle, alloc, first));
+        first.release();
+
+        ByteBuf buf = handle.allocate(alloc);
+        buf.writeByte(1);
+        ByteBuf detached = SharedRecvByteBufAllocator.detach(handle, alloc, buf);
+        assertNotSame(buf, detached);
+        assertEquals(1, detached.readableBytes());
+        detached.release();
+    }
+
+    @Test
+    public void detachReturnsOtherBuffersAsIs() {
+        RecvByteBufAllocator.Handle handle = new AdaptiveRecvByteBufAllocator().newHandle();
+        handle.reset(config);
+
+        ByteBuf buf = handle.allocate(alloc);
+        assertSame(buf, SharedRecvByteBufAllocator.detach(handle, alloc, buf));
+        buf.release();
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.channel;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ThroughputAwareRecvByteBufAllocatorTest {
+    private ChannelConfig config;
+    private final ByteBufAllocator alloc = UnpooledByteBufAllocator.DEFAULT;
+
+    @BeforeEach
+    public void setup() {
+        config = mock(ChannelConfig.class);
+        when(config.isAutoRead()).thenReturn(true);
+    }
+
+    private RecvByteBufAllocator.ExtendedHandle newHandle(long memoryPressureThreshold) {
+        ThroughputAwareRecvByteBufAllocator allocator =
+                new ThroughputAwareRecvByteBufAllocator(64, 2048, 65536, memoryPressureThreshold);
+        allocator.maxMessagesPerRead(4);
+        RecvByteBufAllocator.ExtendedHandle handle = (RecvByteBufAllocator.ExtendedHandle) allocator.newHandle();
+        handle.reset(config);
+        return handle;
+    }
+
+    @Test
+    public void rampUpWhenBufferIsFilled() {
+        RecvByteBufAllocator.ExtendedHandle handle = newHandle(Long.MAX_VALUE);
+        allocReadExpected(handle, alloc, 2048);
+        allocReadExpected(handle, alloc, 8192);
+        allocReadExpected(handle, alloc, 32768);
+        allocReadExpected(handle, alloc, 65536);
+        handle.readComplete();
+
+        // The last read filled the buffer so we must not shrink even if the average is lower.
+        handle.reset(config);
+        allocReadExpected(handle, alloc, 65536);
+    }
+
+    @Test
+    public void smallMessagesConvergeToSmallBuffers() {
+        RecvByteBufAllocator.ExtendedHandle handle = newHandle(Long.MAX_VALUE);
+        for (int i = 0; i < 64; i++) {
+            handle.reset(config);
+            allocRead(handle, alloc, handle.guess(), 200);
+            handle.readComplete();
+        }
+        assertEquals(512, handle.guess());
+    }
+
+    @Test
+    public void doesNotGrowBeforeReadingAnything() {
+        RecvByteBufAllocator.ExtendedHandle handle = newHandle(Long.MAX_VALUE);
+        handle.readComplete();
+        assertEquals(2048, handle.guess());
+    }
+
+    @Test
+    public void memoryPressureLimitsReads() {
+        UnpooledByteBufAllocator pressureAlloc = new UnpooledByteBufAllocator(true);
+        ByteBuf held = pressureAlloc.directBuffer(1024);
+        try {
+            RecvByteBufAllocator.ExtendedHandle handle = newHandle(512);
+            // The head room is given back and full reads do not ramp up anymore.
+            allocReadExpected(handle, pressureAlloc, 1024);
+            allocReadExpected(handle, pressureAlloc, 1024);
+            // Only half of maxMessagesPerRead is allowed.
+            assertFalse(handle.continueReading());
+        } finally {
+            held.release();
+        }
+    }
+
+    @Test
+    public void noMemoryPressureKeepsReading() {
+        RecvByteBufAllocator.ExtendedHandle handle = newHandle(Long.MAX_VALUE);
+        allocReadExpected(handle, alloc, 2048);
+        allocReadExpected(handle, alloc, 8192);
+        assertTrue(handle.continueReading());
+    }
+
+    @Test
+    public void throwsIfInitialIsBiggerThenMaximum() {
+        assertThrows(IllegalArgumentException.class, new Executable() {
+            @Override
+            public void execute() {
+                new ThroughputAwareRecvByteBufAllocator(64, 4096 , 1024);
+            }
+        });
+    }
+
+    @Test
+    public void throwsIfInitialIsSmallerThenMinimum() {
+        assertThrows(IllegalArgumentException.class, new Executable() {
+            @Override
+            public void execute() {
+                new ThroughputAwareRecvByteBufAllocator(512, 64 , 1024);
+            }
+        });
+    }
+
+    private static void allocReadExpected(RecvByteBufAllocator.ExtendedHandle handle,
+                                          ByteBufAllocator alloc,
+                                          int expectedSize) {
+        allocRead(handle, alloc, expectedSize, expectedSize);
+    }
+
+    private static void allocRead(RecvByteBufAllocator.ExtendedHandle handle,
+                                  ByteBufAllocator alloc,
+                                  int expectedBufferSize,
+                                  int lastRead) {
+        ByteBuf buf = handle.allocate(alloc);
+        assertEquals(expectedBufferSize, buf.capacity());
+        handle.attemptedBytesRead(expectedBufferSize);
+        handle.lastBytesRead(lastRead);
+        handle.incMessagesRead(1);
+        buf.release();
+    }
+}
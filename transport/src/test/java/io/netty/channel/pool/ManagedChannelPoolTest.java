@@ -0,0 +1,191 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.channel.pool;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.local.LocalAddress;
+import io.netty.channel.local.LocalChannel;
+import io.netty.channel.local.LocalServerChannel;
+import io.netty.util.AttributeKey;
+import io.netty.util.concurrent.Future;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.concurrent.TimeUnit;
+
+import static io.netty.channel.pool.ChannelPoolTestUtils.getLocalAddrId;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ManagedChannelPoolTest {
+    private static final AttributeKey<Boolean> UNHEALTHY = AttributeKey.valueOf("ManagedChannelPoolTest.unhealthy");
+    private static EventLoopGroup group;
+
+    private Bootstrap cb;
+    private Channel sc;
+
+    @BeforeAll
+    public static void createEventLoop() {
+        group = new DefaultEventLoopGroup();
+    }
+
+    @AfterAll
+    public static void destroyEventLoop() {
+        if (group != null) {
+            group.shutdownGracefully();
+        }
+    }
+
+    @BeforeEach
+    public void startServer() {
+        LocalAddress addr = new LocalAddress(getLocalAddrId());
+        cb = new Bootstrap();
+        cb.remoteAddress(addr);
+        cb.group(group)
+          .channel(LocalChannel.class);
+
+        ServerBootstrap sb = new ServerBootstrap();
+        sb.group(group)
+          .channel(LocalServerChannel.class)
+          .childHandler(new ChannelInitializer<LocalChannel>() {
+              @Override
+              public void initChannel(LocalChannel ch) throws Exception {
+                  ch.pipeline().addLast(new ChannelInboundHandlerAdapter());
+              }
+          });
+        sc = sb.bind(addr).syncUninterruptibly().channel();
+    }
+
+    @AfterEach
+    public void stopServer() {
+        sc.close().syncUninterruptibly();
+    }
+
+    @Test
+    @Timeout(value = 5000, unit = TimeUnit.MILLISECONDS)
+    public void testWarmUp() throws Exception {
+        CountingChannelPoolHandler handler = new CountingChannelPoolHandler();
+        ManagedChannelPool pool = new ManagedChannelPool(cb, handler, ChannelHealthChecker.ACTIVE,
+                2, 0, 0, 0, 10);
+        ChannelPoolMetric metric = pool.metric();
+        while (metric.idleChannels() < 2) {
+            Thread.sleep(10);
+        }
+        assertEquals(2, handler.channelCount());
+
+        Channel channel = pool.acquire().syncUninterruptibly().getNow();
+        while (metric.acquireCount() < 1) {
+            Thread.sleep(10);
+        }
+        assertTrue(metric.totalAcquireWaitNanos() >= 0);
+
+        // The pool refills to minIdle while the channel is acquired.
+        while (metric.createdChannels() < 3) {
+            Thread.sleep(10);
+        }
+        pool.release(channel).syncUninterruptibly();
+        pool.close();
+    }
+
+    @Test
+    @Timeout(value = 5000, unit = TimeUnit.MILLISECONDS)
+    public void testMaintenanceStartsAfterInterval() throws Exception {
+        ManagedChannelPool pool = new ManagedChannelPool(cb, new CountingChannelPoolHandler(),
+                ChannelHealthChecker.ACTIVE, 1, 0, 0, 0, 500);
+        ChannelPoolMetric metric = pool.metric();
+        // The maintenance task does not run before the constructor returned.
+        assertEquals(0, metric.createdChannels());
+        while (metric.idleChannels() < 1) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, metric.createdChannels());
+        pool.close();
+    }
+
+    @Test
+    @Timeout(value = 5000, unit = TimeUnit.MILLISECONDS)
+    public void testIdleTimeout() throws Exception {
+        ManagedChannelPool pool = new ManagedChannelPool(cb, new CountingChannelPoolHandler(),
+                ChannelHealthChecker.ACTIVE, 0, 50, 0, 0, 10);
+        ChannelPoolMetric metric = pool.metric();
+
+        Channel channel = pool.acquire().syncUninterruptibly().getNow();
+        pool.release(channel).syncUninterruptibly();
+
+        // The channel is closed by the maintenance task once it was idle for too long.
+        channel.closeFuture().syncUninterruptibly();
+        assertEquals(0, metric.idleChannels());
+        assertEquals(1, metric.evictedChannels());
+        while (metric.closedChannels() < 1) {
+            Thread.sleep(10);
+        }
+        pool.close();
+    }
+
+    @Test
+    @Timeout(value = 5000, unit = TimeUnit.MILLISECONDS)
+    public void testMaxLifetime() throws Exception {
+        ManagedChannelPool pool = new ManagedChannelPool(cb, new CountingChannelPoolHandler(),
+                ChannelHealthChecker.ACTIVE, 0, 0, 100, 0, 60000);
+
+        Channel channel = pool.acquire().syncUninterruptibly().getNow();
+        pool.release(channel).syncUninterruptibly();
+        Thread.sleep(150);
+
+        // The expired channel is not handed out anymore.
+        Channel channel2 = pool.acquire().syncUninterruptibly().getNow();
+        assertNotSame(channel, channel2);
+        channel.closeFuture().syncUninterruptibly();
+        assertEquals(1, pool.metric().evictedChannels());
+        pool.release(channel2).syncUninterruptibly();
+        pool.close();
+    }
+
+    @Test
+    @Timeout(value = 5000, unit = TimeUnit.MILLISECONDS)
+    public void testPeriodicHealthCheck() throws Exception {
+        final ChannelHealthChecker unhealthy = new ChannelHealthChecker() {
+            @Override
+            public Future<Boolean> isHealthy(Channel channel) {
+                return channel.eventLoop().newSucceededFuture(channel.attr(UNHEALTHY).get() == null);
+            }
+        };
+        ManagedChannelPool pool = new ManagedChannelPool(cb, new CountingChannelPoolHandler(), unhealthy,
+                0, 0, 0, 20, 10);
+
+        Channel channel = pool.acquire().syncUninterruptibly().getNow();
+        pool.release(channel).syncUninterruptibly();
+        assertFalse(channel.closeFuture().isDone());
+        channel.attr(UNHEALTHY).set(Boolean.TRUE);
+
+        channel.closeFuture().syncUninterruptibly();
+        assertEquals(0, pool.metric().idleChannels());
+        assertEquals(1, pool.metric().evictedChannels());
+        pool.close();
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.channel.pool;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.DefaultEventLoop;
+import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.local.LocalAddress;
+import io.netty.channel.local.LocalChannel;
+import io.netty.channel.local.LocalServerChannel;
+import io.netty.util.concurrent.Future;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import static io.netty.channel.pool.ChannelPoolTestUtils.getLocalAddrId;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MultiplexedChannelPoolTest {
+    private static EventLoopGroup group;
+
+    private Bootstrap cb;
+    private Channel sc;
+
+    @BeforeAll
+    public static void createEventLoop() {
+        group = new DefaultEventLoopGroup();
+    }
+
+    @AfterAll
+    public static void destroyEventLoop() {
+        if (group != null) {
+            group.shutdownGracefully();
+        }
+    }
+
+    @BeforeEach
+    public void startServer() {
+        LocalAddress addr = new LocalAddress(getLocalAddrId());
+        cb = new Bootstrap();
+        cb.remoteAddress(addr);
+        cb.group(group)
+          .channel(LocalChannel.class);
+
+        ServerBootstrap sb = new ServerBootstrap();
+        sb.group(group)
+          .channel(LocalServerChannel.class)
+          .childHandler(new ChannelInitializer<LocalChannel>() {
+              @Override
+              public void initChannel(LocalChannel ch) throws Exception {
+                  ch.pipeline().addLast(new ChannelInboundHandlerAdapter());
+              }
+          });
+        sc = sb.bind(addr).syncUninterruptibly().channel();
+    }
+
+    @AfterEach
+    public void stopServer() {
+        sc.close().syncUninterruptibly();
+    }
+
+    @Test
+    public void testSharesConnectionUntilSaturated() throws Exception {
+        CountingChannelPoolHandler handler = new CountingChannelPoolHandler();
+        MultiplexedChannelPool pool = new MultiplexedChannelPool(cb, handler, 2, 2);
+
+        Channel first = pool.acquire().syncUninterruptibly().getNow();
+        Channel second = pool.acquire().syncUninterruptibly().getNow();
+        assertSame(first, second);
+        assertEquals(1, pool.connectionCount());
+
+        // The first connection is saturated, so a new one is opened.
+        Channel third = pool.acquire().syncUninterruptibly().getNow();
+        assertNotSame(first, third);
+        assertEquals(2, pool.connectionCount());
+        assertEquals(2, handler.channelCount());
+        assertEquals(3, handler.acquiredCount());
+
+        // The least loaded connection is preferred.
+        Channel fourth = pool.acquire().syncUninterruptibly().getNow();
+        assertSame(third, fourth);
+
+        pool.release(first).syncUninterruptibly();
+        pool.release(second).syncUninterruptibly();
+        pool.release(third).syncUninterruptibly();
+        pool.release(fourth).syncUninterruptibly();
+        assertEquals(4, handler.releasedCount());
+        pool.close();
+    }
+
+    @Test
+    public void testAcquireWaitsForLease() throws Exception {
+        MultiplexedChannelPool pool = new MultiplexedChannelPool(cb, new CountingChannelPoolHandler(), 1, 1);
+
+        Channel channel = pool.acquire().syncUninterruptibly().getNow();
+        Future<Channel> future = pool.acquire();
+        assertFalse(future.await(100, TimeUnit.MILLISECONDS));
+
+        pool.release(channel).syncUninterruptibly();
+        assertSame(channel, future.syncUninterruptibly().getNow());
+        pool.release(channel).syncUninterruptibly();
+        pool.close();
+    }
+
+    @Test
+    public void testReleaseWithoutLeaseFails() throws Exception {
+        MultiplexedChannelPool pool = new MultiplexedChannelPool(cb, new CountingChannelPoolHandler(), 1, 1);
+
+        Channel channel = pool.acquire().syncUninterruptibly().getNow();
+        pool.release(channel).syncUninterruptibly();
+        assertInstanceOf(IllegalArgumentException.class, pool.release(channel).await().cause());
+        pool.close();
+    }
+
+    @Test
+    public void testClosedConnectionIsReplaced() throws Exception {
+        MultiplexedChannelPool pool = new MultiplexedChannelPool(cb, new CountingChannelPoolHandler(), 8, 1);
+
+        Channel channel = pool.acquire().syncUninterruptibly().getNow();
+        channel.close().syncUninterruptibly();
+        // Releasing a lease of a closed connection is fine.
+        pool.release(channel).syncUninterruptibly();
+
+        Channel channel2 = pool.acquire().syncUninterruptibly().getNow();
+        assertNotSame(channel, channel2);
+        assertTrue(channel2.isActive());
+        pool.release(channel2).syncUninterruptibly();
+        pool.close();
+        channel2.closeFuture().syncUninterruptibly();
+    }
+
+    @Test
+    public void testCloseFromEventLoop() throws Exception {
+        EventLoop loop = new DefaultEventLoop();
+        try {
+            final MultiplexedChannelPool pool = new MultiplexedChannelPool(
+                    cb.clone(loop), new CountingChannelPoolHandler(), 1, 1);
+            final Channel channel = pool.acquire().syncUninterruptibly().getNow();
+
+            // Closing the pool from its own event loop must not wait for a task queued behind the caller.
+            Future<Void> future = loop.submit(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    pool.close();
+                    return null;
+                }
+            });
+            assertTrue(future.await(5, TimeUnit.SECONDS));
+            assertTrue(future.isSuccess());
+            assertEquals(0, pool.connectionCount());
+            channel.closeFuture().syncUninterruptibly();
+        } finally {
+            loop.shutdownGracefully();
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.channel.pool;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.local.LocalAddress;
+import io.netty.channel.local.LocalChannel;
+import io.netty.channel.local.LocalServerChannel;
+import io.netty.util.concurrent.Future;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import static io.netty.channel.pool.ChannelPoolTestUtils.getLocalAddrId;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ShardedChannelPoolTest {
+    private static EventLoopGroup group;
+
+    private Bootstrap cb;
+    private Channel sc;
+
+    @BeforeAll
+    public static void createEventLoop() {
+        group = new DefaultEventLoopGroup(4);
+    }
+
+    @AfterAll
+    public static void destroyEventLoop() {
+        if (group != null) {
+            group.shutdownGracefully();
+        }
+    }
+
+    @BeforeEach
+    public void startServer() {
+        LocalAddress addr = new LocalAddress(getLocalAddrId());
+        cb = new Bootstrap();
+        cb.remoteAddress(addr);
+        cb.group(group)
+          .channel(LocalChannel.class);
+
+        ServerBootstrap sb = new ServerBootstrap();
+        sb.group(group)
+          .channel(LocalServerChannel.class)
+          .childHandler(new ChannelInitializer<LocalChannel>() {
+              @Override
+              public void initChannel(LocalChannel ch) throws Exception {
+                  ch.pipeline().addLast(new ChannelInboundHandlerAdapter());
+              }
+          });
+        sc = sb.bind(addr).syncUninterruptibly().channel();
+    }
+
+    @AfterEach
+    public void stopServer() {
+        sc.close().syncUninterruptibly();
+    }
+
+    @Test
+    public void testAcquireWaitsForRelease() throws Exception {
+        CountingChannelPoolHandler handler = new CountingChannelPoolHandler();
+        ShardedChannelPool pool = new ShardedChannelPool(cb, handler, 1);
+
+        Channel channel = pool.acquire().syncUninterruptibly().getNow();
+        assertEquals(1, pool.acquiredChannelCount());
+        Future<Channel> future = pool.acquire();
+        assertFalse(future.isDone());
+
+        pool.release(channel).syncUninterruptibly();
+        assertTrue(future.await(1, TimeUnit.SECONDS));
+
+        Channel channel2 = future.getNow();
+        assertSame(channel, channel2);
+        assertEquals(1, handler.channelCount());
+        assertEquals(2, handler.acquiredCount());
+        assertEquals(1, handler.releasedCount());
+        assertEquals(1, pool.acquiredChannelCount());
+
+        pool.release(channel2).syncUninterruptibly();
+        assertEquals(0, pool.acquiredChannelCount());
+        channel2.close().syncUninterruptibly();
+        pool.close();
+    }
+
+    @Test
+    public void testTooManyPendingAcquires() throws Exception {
+        ShardedChannelPool pool = new ShardedChannelPool(cb, new CountingChannelPoolHandler(),
+                ChannelHealthChecker.ACTIVE, 1, 1);
+
+        Channel channel = pool.acquire().syncUninterruptibly().getNow();
+        Future<Channel> pending = pool.acquire();
+        Future<Channel> failed = pool.acquire().await();
+        assertFalse(pending.isDone());
+        assertInstanceOf(IllegalStateException.class, failed.cause());
+
+        pool.release(channel).syncUninterruptibly();
+        assertSame(channel, pending.syncUninterruptibly().getNow());
+        pool.release(channel).syncUninterruptibly();
+        channel.close().syncUninterruptibly();
+        pool.close();
+    }
+
+    @Test
+    public void testPrefersCallerEventLoop() throws Exception {
+        final ShardedChannelPool pool = new ShardedChannelPool(cb, new CountingChannelPoolHandler(), 8);
+        final EventLoop loop = group.next();
+
+        Channel channel = acquireOn(loop, pool);
+        assertSame(loop, channel.eventLoop());
+        pool.release(channel).syncUninterruptibly();
+
+        // The idle channel is taken from the shard of the calling EventLoop.
+        assertSame(channel, acquireOn(loop, pool));
+        pool.release(channel).syncUninterruptibly();
+
+        // Other EventLoops steal it if they have no idle channel of their own.
+        EventLoop other = group.next();
+        while (other == loop) {
+            other = group.next();
+        }
+        assertSame(channel, acquireOn(other, pool));
+        pool.release(channel).syncUninterruptibly();
+
+        channel.close().syncUninterruptibly();
+        pool.close();
+    }
+
+    @Test
+    public void testAcquireAfterClose() throws Exception {
+        ShardedChannelPool pool = new ShardedChannelPool(cb, new CountingChannelPoolHandler(), 1);
+        pool.close();
+        assertInstanceOf(IllegalStateException.class, pool.acquire().await().cause());
+    }
+
+    private static Channel acquireOn(EventLoop loop, final ChannelPool pool) throws Exception {
+        return loop.submit(new Callable<Future<Channel>>() {
+            @Override
+            public Future<Channel> call() {
+                return pool.acquire();
+            }
+        }).get().syncUninterruptibly().getNow();
+    }
+}